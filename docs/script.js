@@ -1,10 +1,44 @@
+// 预渲染的静态页（static/ 下）在 <html> 上标明站点根目录与版面；index.html 没有这两个属性
+const ROOT = document.documentElement.dataset.root || "";
+
+// 版面：?edition=tech 读取 data/tech/ 下的数据；不带参数为默认版面（data/）
+const EDITION = (() => {
+  const pre = document.documentElement.dataset.edition;
+  if (pre !== undefined) return pre;
+  const e = new URLSearchParams(location.search).get("edition");
+  return e && /^[a-z0-9-]+$/.test(e) ? e : "";
+})();
+const DATA_BASE = ROOT + (EDITION ? "data/" + EDITION + "/" : "data/");
+
+// 已请求过的数据（url -> Promise），切换日期、预取时复用
+const dataCache = new Map();
+
+// 当前显示的日期与各栏目的列表容器（栏目名 -> .card-list），供实时更新局部重绘
+let currentDate = null;
+let currentLists = new Map();
+
+function fetchJson(url) {
+  if (!dataCache.has(url)) {
+    const p = fetch(url + "?_=" + Date.now()).then(res => {
+      if (!res.ok) throw new Error(url + " 加载失败");
+      return res.json();
+    });
+    // 失败的请求不缓存，下次重新拉取
+    p.catch(() => dataCache.delete(url));
+    dataCache.set(url, p);
+  }
+  return dataCache.get(url);
+}
+
 async function loadDates() {
   const status = document.getElementById("status");
   const select = document.getElementById("date-select");
+  // 静态页已显示的日期（脚本接管后不重新请求）
+  const shown = document.getElementById("columns").dataset.date;
   status.textContent = "加载日期列表…";
 
   try {
-    const res = await fetch("data/date.json?_=" + Date.now());
+    const res = await fetch(DATA_BASE + "date.json?_=" + Date.now());
     if (!res.ok) throw new Error("date.json 加载失败");
     const data = await res.json();
 
@@ -14,20 +48,29 @@ async function loadDates() {
       return;
     }
 
-    select.innerHTML = "";
+    const frag = document.createDocumentFragment();
     dates.forEach(d => {
       const opt = document.createElement("option");
       opt.value = d;
       opt.textContent = d;
-      select.appendChild(opt);
+      frag.appendChild(opt);
     });
+    select.innerHTML = "";
+    select.appendChild(frag);
 
     status.textContent = "";
-    await loadDataForDate(dates[0]);
+    const first = dates.includes(shown) ? shown : dates[0];
+    select.value = first;
+    await loadDataForDate(first);
+    prefetchAdjacent(dates, dates.indexOf(first));
 
     select.addEventListener("change", async () => {
       await loadDataForDate(select.value);
+      prefetchAdjacent(dates, dates.indexOf(select.value));
     });
+
+    // 实时推送只针对默认版面
+    if (!EDITION) subscribeUpdates(select);
   } catch (e) {
     console.error(e);
     status.textContent = "加载日期失败：" + e.message;
@@ -37,71 +80,278 @@ async function loadDates() {
 async function loadDataForDate(dateStr) {
   const status = document.getElementById("status");
   const columnsEl = document.getElementById("columns");
+
+  // 静态页已渲染好这一天：接管现有栏目，不再请求
+  if (columnsEl.dataset.date === dateStr) {
+    delete columnsEl.dataset.date;
+    adoptColumns(columnsEl);
+    currentDate = dateStr;
+    return;
+  }
+  delete columnsEl.dataset.date;
+
   status.textContent = "加载 " + dateStr + " 的数据…";
   columnsEl.innerHTML = "";
+  currentDate = dateStr;
+  currentLists = new Map();
 
+  // 优先按栏目分片加载；没有分片（旧数据、其他托管位置）时退回整份文件
+  let index = null;
   try {
-    const res = await fetch("data/NewsPage-" + dateStr + ".json?_=" + Date.now());
-    if (!res.ok) throw new Error("数据文件不存在");
-    const data = await res.json();
-
-    // 动态栏目：拿到所有 key，排除 date
-    const categories = Object.keys(data).filter(k => k !== "date");
+    index = await fetchJson(shardBase(dateStr) + "index.json");
+  } catch (e) {
+    index = null;
+  }
 
-    if (categories.length === 0) {
-      columnsEl.innerHTML = `<div class="empty">该日期文件没有任何栏目</div>`;
-      status.textContent = "已加载 " + dateStr + " 数据（无栏目）。";
-      return;
+  try {
+    if (index && Array.isArray(index.categories)) {
+      await loadShards(dateStr, index, columnsEl);
+    } else {
+      await loadWholeFile(dateStr, columnsEl);
     }
+    status.textContent = "已加载 " + dateStr + " 数据。";
+  } catch (e) {
+    console.error(e);
+    status.textContent = "加载失败：" + e.message;
+    columnsEl.innerHTML = `<div class="empty">暂无数据</div>`;
+  }
+}
+
+function shardBase(dateStr) {
+  return DATA_BASE + "shards/" + dateStr + "/";
+}
 
-    // 逐个生成 column
-    categories.forEach((catName) => {
-      const column = document.createElement("div");
-      column.className = "column";
+// 先一次性插入所有栏目骨架，再并行请求各分片，哪个先到先渲染哪个
+async function loadShards(dateStr, index, columnsEl) {
+  const categories = index.categories;
+  if (categories.length === 0) {
+    columnsEl.innerHTML = `<div class="empty">该日期文件没有任何栏目</div>`;
+    return;
+  }
 
-      const h2 = document.createElement("h2");
-      h2.textContent = catName;
+  const frag = document.createDocumentFragment();
+  const lists = categories.map(cat => {
+    const { column, list } = createColumn(cat.name, cat.staleSince);
+    list.innerHTML = '<div class="empty">加载中…</div>';
+    frag.appendChild(column);
+    currentLists.set(cat.name, list);
+    return list;
+  });
+  columnsEl.appendChild(frag);
 
-      // 手机端折叠：点标题折叠/展开
-      h2.addEventListener("click", () => {
-        column.classList.toggle("collapsed");
-      });
+  await Promise.all(categories.map((cat, i) =>
+    fetchJson(shardBase(dateStr) + cat.file)
+      .then(items => renderList(lists[i], items))
+      .catch(e => {
+        console.error(e);
+        lists[i].innerHTML = '<div class="empty">暂无数据</div>';
+      })
+  ));
+}
 
-      const list = document.createElement("div");
-      list.className = "card-list";
+async function loadWholeFile(dateStr, columnsEl) {
+  const data = await fetchJson(DATA_BASE + "NewsPage-" + dateStr + ".json");
 
-      column.appendChild(h2);
-      column.appendChild(list);
-      columnsEl.appendChild(column);
+  // 动态栏目：拿到所有 key，排除 date 与 meta
+  const categories = Object.keys(data).filter(k => k !== "date" && k !== "meta");
+  const stale = (data.meta && data.meta.stale) || {};
 
-      renderList(list, data[catName] || []);
+  if (categories.length === 0) {
+    columnsEl.innerHTML = `<div class="empty">该日期文件没有任何栏目</div>`;
+    return;
+  }
+
+  const frag = document.createDocumentFragment();
+  categories.forEach((catName) => {
+    const { column, list } = createColumn(catName, stale[catName]);
+    renderList(list, data[catName] || []);
+    frag.appendChild(column);
+  });
+  columnsEl.appendChild(frag);
+}
+
+// 预渲染的栏目：补上折叠事件，登记列表容器供实时更新
+function adoptColumns(columnsEl) {
+  currentLists = new Map();
+  columnsEl.querySelectorAll(".column").forEach(column => {
+    const h2 = column.querySelector("h2");
+    h2.addEventListener("click", () => {
+      column.classList.toggle("collapsed");
     });
+    currentLists.set(h2.textContent, column.querySelector(".card-list"));
+  });
+}
 
-    status.textContent = "已加载 " + dateStr + " 数据。";
-  } catch (e) {
-    console.error(e);
-    status.textContent = "加载失败：" + e.message;
-    columnsEl.innerHTML = `<div class="empty">暂无数据</div>`;
+function createColumn(catName, staleSince) {
+  const column = document.createElement("div");
+  column.className = "column";
+
+  const h2 = document.createElement("h2");
+  h2.textContent = catName;
+
+  // 手机端折叠：点标题折叠/展开
+  h2.addEventListener("click", () => {
+    column.classList.toggle("collapsed");
+  });
+
+  const list = document.createElement("div");
+  list.className = "card-list";
+
+  column.appendChild(h2);
+  column.appendChild(list);
+  setStaleNote(column, staleSince);
+  return { column, list };
+}
+
+// 本次抓取失败、沿用了上一次成功结果的栏目：标题下注明结果时间；since 为空时去掉标注
+function setStaleNote(column, since) {
+  let note = column.querySelector(".stale-note");
+  if (!since) {
+    if (note) note.remove();
+    return;
+  }
+  if (!note) {
+    note = document.createElement("div");
+    note.className = "stale-note";
+    column.insertBefore(note, column.querySelector(".card-list"));
   }
+  note.textContent = "暂未更新，显示 " + formatTime(since) + " 的结果";
+}
+
+// 与静态页一致，按东京时间显示
+function formatTime(ms) {
+  return new Date(ms).toLocaleString("zh-CN", {
+    timeZone: "Asia/Tokyo", month: "2-digit", day: "2-digit", hour: "2-digit", minute: "2-digit", hour12: false
+  });
 }
 
+// 整个栏目拼成一段 HTML，一次解析、一次插入
 function renderList(container, arr) {
   if (!arr || arr.length === 0) {
     container.innerHTML = '<div class="empty">暂无数据</div>';
     return;
   }
+  const tpl = document.createElement("template");
+  tpl.innerHTML = arr.map((item, idx) =>
+    `<div class="card"><span class="card-index">${idx + 1}.</span>` +
+    `<a href="${escapeAttr(item.link)}" target="_blank" rel="noopener noreferrer">${escapeHtml(item.title)}</a>` +
+    // 同一事件出现在多个榜单（服务端聚类得出）
+    (item.sources > 1 ? `<span class="card-badge" title="${item.sources} 个榜单同时上榜">${item.sources}榜</span>` : "") +
+    `</div>`
+  ).join("");
   container.innerHTML = "";
-  arr.forEach((item, idx) => {
-    const div = document.createElement("div");
-    div.className = "card";
-    div.innerHTML = `
-      <span class="card-index">${idx + 1}.</span>
-      <a href="${item.link}" target="_blank" rel="noopener noreferrer">${escapeHtml(item.title)}</a>
-    `;
-    container.appendChild(div);
+  container.appendChild(tpl.content);
+}
+
+// 实时更新：由内置服务器的 /events（SSE）推送条目变化。
+// 静态托管（如 GitHub Pages）没有该接口，首次连接失败后即关闭，不再重试。
+function subscribeUpdates(select) {
+  if (!window.EventSource) return;
+  const source = new EventSource(ROOT + "events");
+  let opened = false;
+  const pending = new Set();
+
+  source.onopen = () => { opened = true; };
+  source.onerror = () => {
+    if (!opened) source.close();
+  };
+
+  ["added", "removed", "reranked"].forEach(type => {
+    source.addEventListener(type, e => {
+      const change = JSON.parse(e.data);
+      if (change.date === currentDate) pending.add(change.category);
+    });
+  });
+
+  source.addEventListener("published", e => {
+    const { date } = JSON.parse(e.data);
+    if (![...select.options].some(o => o.value === date)) {
+      // 新的一天：加入日期列表，不打断当前浏览
+      const opt = document.createElement("option");
+      opt.value = date;
+      opt.textContent = date;
+      select.insertBefore(opt, select.firstChild);
+    }
+    if (date === currentDate && pending.size > 0) {
+      refreshCategories(date, [...pending]);
+    }
+    pending.clear();
+  });
+
+  // 断点已丢失：整页数据重新加载
+  source.addEventListener("reset", () => {
+    pending.clear();
+    if (currentDate) {
+      invalidateDate(currentDate);
+      loadDataForDate(currentDate);
+    }
   });
 }
 
+// 只重新拉取并重绘发生变化的栏目；栏目集合变了（或没有分片）就整页重载
+async function refreshCategories(dateStr, names) {
+  invalidateDate(dateStr);
+  try {
+    const index = await fetchJson(shardBase(dateStr) + "index.json");
+    const byName = new Map(index.categories.map(cat => [cat.name, cat]));
+    if (byName.size !== currentLists.size || names.some(n => !currentLists.has(n) || !byName.has(n))) {
+      throw new Error("栏目已变化");
+    }
+    await Promise.all(names.map(n =>
+      fetchJson(shardBase(dateStr) + byName.get(n).file).then(items => {
+        if (currentDate !== dateStr) return;
+        const list = currentLists.get(n);
+        renderList(list, items);
+        setStaleNote(list.parentElement, byName.get(n).staleSince);
+      })
+    ));
+    document.getElementById("status").textContent = "已更新 " + dateStr + " 数据。";
+  } catch (e) {
+    if (currentDate === dateStr) loadDataForDate(dateStr);
+  }
+}
+
+function invalidateDate(dateStr) {
+  for (const url of [...dataCache.keys()]) {
+    if (url.startsWith(shardBase(dateStr)) || url === DATA_BASE + "NewsPage-" + dateStr + ".json") {
+      dataCache.delete(url);
+    }
+  }
+}
+
+// 空闲时预取前后相邻日期的分片，切换日期时无需等待网络
+function prefetchAdjacent(dates, i) {
+  const idle = window.requestIdleCallback || (cb => setTimeout(cb, 200));
+  [dates[i - 1], dates[i + 1]].filter(Boolean).forEach(d => {
+    idle(() => {
+      fetchJson(shardBase(d) + "index.json")
+        .then(index => (index.categories || []).forEach(cat => {
+          idle(() => fetchJson(shardBase(d) + cat.file).catch(() => {}));
+        }))
+        .catch(() => {});
+    });
+  });
+}
+
+// 版面切换：data/editions.json 列出全部版面，只有一个版面时不显示
+async function loadEditions() {
+  const nav = document.getElementById("editions");
+  // 静态页已带有版面链接（指向各版面的静态页）
+  if (nav.children.length > 0) return;
+  try {
+    const data = await fetchJson(ROOT + "data/editions.json");
+    const editions = data.editions || [];
+    if (editions.length < 2) return;
+    nav.innerHTML = editions.map(e => {
+      const href = e.dir ? "?edition=" + encodeURIComponent(e.dir) : "./";
+      const cls = e.dir === EDITION ? ' class="active"' : "";
+      return `<a href="${escapeAttr(href)}"${cls}>${escapeHtml(e.title)}</a>`;
+    }).join("");
+  } catch (e) {
+    // 没有版面列表（旧数据）时不显示
+  }
+}
+
 function escapeHtml(str) {
   return String(str)
     .replace(/&/g, "&amp;")
@@ -109,4 +359,11 @@ function escapeHtml(str) {
     .replace(/>/g, "&gt;");
 }
 
-document.addEventListener("DOMContentLoaded", loadDates);
+function escapeAttr(str) {
+  return escapeHtml(str).replace(/"/g, "&quot;");
+}
+
+document.addEventListener("DOMContentLoaded", () => {
+  loadEditions();
+  loadDates();
+});
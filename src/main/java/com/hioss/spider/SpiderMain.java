@@ -1,13 +1,43 @@
 package com.hioss.spider;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
-import com.github.houbb.opencc4j.util.ZhConverterUtil;
+import com.hioss.spider.archive.HeadlineArchive;
+import com.hioss.spider.bulk.BulkCrawler;
+import com.hioss.spider.bulk.CategorySink;
+import com.hioss.spider.bulk.FeedList;
+import com.hioss.spider.bulk.FeedSpec;
+import com.hioss.spider.checkpoint.SourceCheckpoints;
+import com.hioss.spider.cluster.StoryClusterer;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.CliArgs;
+import com.hioss.spider.common.FetchMetrics;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.coord.CoordDir;
+import com.hioss.spider.coord.CrawlWorker;
+import com.hioss.spider.coord.PartMerger;
 import com.hioss.spider.dto.HotItem;
 import com.hioss.spider.dto.PathWithDate;
-import com.hioss.spider.news.*;
-
+import com.hioss.spider.edition.Edition;
+import com.hioss.spider.edition.EditionRunner;
+import com.hioss.spider.edition.Editions;
+import com.hioss.spider.edition.PageMerge;
+import com.hioss.spider.fallback.LastKnownGood;
+import com.hioss.spider.fallback.StaleWhileRevalidate;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.rank.HeatRanking;
+import com.hioss.spider.raw.Backfill;
+import com.hioss.spider.raw.RawCapture;
+import com.hioss.spider.raw.RawStore;
+import com.hioss.spider.render.StaticPages;
+import com.hioss.spider.serve.BoardEventHub;
+import com.hioss.spider.serve.SiteServer;
+import com.hioss.spider.trace.Allocations;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageRecording;
+import com.hioss.spider.trace.StageSummary;
+import com.hioss.spider.trace.StageTimer;
+import jdk.jfr.Recording;
+
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
@@ -16,11 +46,23 @@ import java.net.http.HttpResponse;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 /**
  * 全球资讯
@@ -31,6 +73,32 @@ import java.util.Objects;
  * <p>程序被定时任务（GitHub Actions每天上午11点执行一次，
  * 用于自动更新热点新闻数据。
  *
+ * <p>运行方式：
+ * <pre>
+ * （无参数）                         单进程抓取全部来源，按 editions.json 发布各版面
+ * --worker [--coord-dir=coord]       协同模式 worker：通过共享目录中的文件锁领取来源，写出分片结果
+ * --merge  [--coord-dir=coord]       协同模式 merger：等待全部分片后组装 NewsPage 并发布
+ *          [--wait=600]              worker/merger 的最长等待秒数
+ * --serve  [--port=8080]             内置服务器：从内存提供 docs/ 站点，发布后自动刷新，
+ *                                    并通过 /events（SSE）推送热榜条目变化
+ *          [--root=docs] [--threads=N]
+ * --jfr[=spider.jfr]                 （抓取模式）JFR 记录各阶段耗时，结束时写出并打印阶段汇总
+ * --no-raw                           （抓取模式）不保存原始响应（默认存入 raw/，见 {@link RawStore}）
+ * --no-checkpoint                    （单进程抓取）不写、不复用来源检查点（默认见 {@link SourceCheckpoints}）
+ *          [--checkpoint-dir=checkpoints] [--checkpoint-max-age=3600]
+ *                                    中断后重新运行同一天时，复用多少秒内的检查点
+ * --no-fallback                      （单进程抓取）来源失败或超时时不先发布最近一次成功的结果（默认见 {@link StaleWhileRevalidate}）
+ *          [--latency-budget=20] [--refresh-window=180] [--lkg-dir=last-known-good]
+ *                                    每个来源最多等多少秒；发布后后台刷新最多再等多少秒，成功则重新发布
+ * --sources=weibo,bbc               局部刷新：只重抓这些来源，合并进当天已发布的 NewsPage，其余栏目原样保留；
+ *          [--date=YYYY-MM-DD]       合并进指定日期的页面（默认当天）；内容有变化的文件才重写、上传
+ * --bulk=feeds.json                  批量模式：按订阅列表抓取大量 JSON / RSS 源，按栏目写入 bulk/日期/（见 {@link BulkCrawler}）
+ *          [--bulk-out=bulk] [--concurrency=64] [--per-host=2]
+ *                                    全局与单个域名同时在抓的上限
+ * --backfill                         用当前解析器重新解析 raw/ 中存下的原始响应，重写对应日期的 NewsPage，不联网
+ *          [--from=YYYY-MM-DD] [--to=YYYY-MM-DD] [--raw-dir=raw] [--parallelism=N]
+ * </pre>
+ *
  * @author      程春海
  * @version     1.0
  * @since       2025-11-18
@@ -38,61 +106,227 @@ import java.util.Objects;
  */
 public class SpiderMain {
 
-    private static final ObjectMapper MAPPER = new ObjectMapper();
     private static final String FILE_UPLOAD_API_URL = "https://hioss9.com/api/file/upload-github-api";
-    private static final String FILE_UPLOAD_API_KEY_ENV = "FILE_UPLOAD_API_KEY";
+    public static final String FILE_UPLOAD_API_KEY_ENV = "FILE_UPLOAD_API_KEY";
+    // 按栏目分片的子目录（docs/data/shards/<date>/）
+    private static final String SHARDS_DIR = "shards";
+    // 协同模式：共享目录与等待上限（秒）
+    private static final String DEFAULT_COORD_DIR = "coord";
+    private static final long DEFAULT_COORD_WAIT_SECONDS = 600;
+    // 内置服务器默认端口
+    private static final int DEFAULT_SERVE_PORT = 8080;
+    // SSE 发送线程数：空闲连接不占线程，只在有事件要写出时才用到
+    private static final int SSE_DISPATCH_THREADS = 4;
+    // 版面列表（docs/data 下），前端据此显示版面切换
+    private static final String EDITIONS_FILE = "editions.json";
+    // --jfr 未指定文件名时的输出文件
+    private static final String DEFAULT_JFR_FILE = "spider.jfr";
+    // 来源检查点的默认有效期（秒）
+    private static final long DEFAULT_CHECKPOINT_MAX_AGE_SECONDS = 3600;
+    // 来源的等待上限、后台刷新的总时长与重试间隔（秒）
+    private static final long DEFAULT_LATENCY_BUDGET_SECONDS = 20;
+    private static final long DEFAULT_REFRESH_WINDOW_SECONDS = 180;
+    private static final long REFRESH_RETRY_SECONDS = 30;
+    // 批量模式的输出目录与并发上限
+    private static final String DEFAULT_BULK_OUT = "bulk";
+    private static final int DEFAULT_BULK_CONCURRENCY = 64;
+    private static final int DEFAULT_BULK_PER_HOST = 2;
     private static final HttpClient HTTP_CLIENT = HttpClient.newBuilder()
             .followRedirects(HttpClient.Redirect.NORMAL)
             .build();
 
     public static void main(String[] args) throws Exception {
+        CliArgs cli = CliArgs.parse(args);
         LocalDate today = LocalDate.now(ZoneId.of("Asia/Tokyo"));
-        String dateStr = today.toString();
+        // 局部刷新可以指定日期，修补某天的个别栏目
+        String dateStr = cli.has("sources") && cli.has("date") ? LocalDate.parse(cli.get("date", "")).toString()
+                : today.toString();
+
+        // --- 内置服务器：常驻进程，抓取仍由定时任务另行发布 ---
+        if (cli.has("serve")) {
+            runServe(cli);
+            return;
+        }
 
-        // --- BBC ---
-        List<HotItem> bbc = fetchBBC();
-        bbc.forEach(item -> item.setTitle(ZhConverterUtil.toSimple(item.getTitle())));
+        // --- JFR：记录 fetch / parse / convert / serialize / upload 各阶段 ---
+        Path jfrFile = cli.has("jfr") ? Paths.get(cli.get("jfr", DEFAULT_JFR_FILE)) : null;
+        Recording recording = jfrFile == null ? null : StageRecording.start(jfrFile);
+        try {
+            crawl(cli, dateStr);
+        } finally {
+            if (recording != null) {
+                recording.stop();
+                recording.close();
+                System.out.println("JFR recording written to " + jfrFile.toAbsolutePath());
+                System.out.print(StageSummary.summarize(jfrFile));
+            }
+        }
+    }
 
-        // --- 百度 ---
-        List<HotItem> baidu = fetchBaidu();
+    private static void crawl(CliArgs cli, String dateStr) throws Exception {
+        // --- 回填：只读 raw/ 与现有 NewsPage，不抓取 ---
+        if (cli.has("backfill")) {
+            runBackfill(cli);
+            return;
+        }
 
-        // --- 头条 ---
-        List<HotItem> toutiao = fetchToutiao();
+        // --- 批量模式：订阅列表中的大量源，结果不进 NewsPage，也不存原始响应 ---
+        if (cli.has("bulk")) {
+            runBulk(cli, dateStr);
+            return;
+        }
 
-        // --- 微博 ---
-        List<HotItem> weibo = fetchWeibo();
+        // --- 原始响应：解析前存下，解析器修复后可以回填出错的日期 ---
+        RawCapture capture = cli.has("no-raw") ? null : RawCapture.begin(new RawStore(rawDir(cli)), dateStr);
+        try {
+            fetchAndPublish(cli, dateStr);
+        } finally {
+            if (capture != null) {
+                Path manifest = capture.finish();
+                if (manifest != null) {
+                    System.out.println("Captured " + capture.size() + " raw response(s) -> " + manifest);
+                }
+            }
+        }
+    }
 
-        // --- IT时代周刊 ---
-        List<HotItem> itdaily = fetchItdaily();
+    private static void fetchAndPublish(CliArgs cli, String dateStr) throws Exception {
+        // --- 多进程协同：worker 只领取来源、抓取并写出分片结果 ---
+        if (cli.has("worker")) {
+            runWorker(cli, dateStr);
+            return;
+        }
 
-        // --- 懂球帝 ---
-        List<HotItem> dongqiudi = fetchDongqiudi();
+        // --- 多进程协同：合并各 worker 的分片结果后发布 ---
+        if (cli.has("merge")) {
+            runMerge(cli, dateStr);
+            return;
+        }
 
-        // --- 创建 JSON ----
-        ObjectNode root = MAPPER.createObjectNode();
-        root.put("date", dateStr);
-        root.set("百度热搜", toArrayNode(baidu));
-        root.set("新浪微博热搜", toArrayNode(weibo));
-        root.set("今日头条热榜", toArrayNode(toutiao));
-        root.set("BBC中文网热点", toArrayNode(bbc));
-        root.set("IT之家日榜", toArrayNode(itdaily));
-        root.set("懂球帝热门推荐", toArrayNode(dongqiudi));
+        // --- 局部刷新：只重抓指定来源，其余栏目沿用已发布的页面 ---
+        if (cli.has("sources")) {
+            runPartial(cli, dateStr);
+            return;
+        }
+
+        // --- 单进程：各版面并发组装，每个来源只抓一次；
+        //     每个来源完成即写检查点，中断后重跑同一天只抓缺失或过期的来源 ---
+        SourceCheckpoints checkpoints = cli.has("no-checkpoint") ? null
+                : new SourceCheckpoints(Paths.get(cli.get("checkpoint-dir", SourceCheckpoints.DEFAULT_DIR.toString())),
+                dateStr, Duration.ofSeconds(cli.getLong("checkpoint-max-age", DEFAULT_CHECKPOINT_MAX_AGE_SECONDS)));
+        Function<String, List<HotItem>> fetcher = key -> NewsSources.get(key).fetch();
+        if (checkpoints != null) {
+            checkpoints.pruneOtherDates();
+            fetcher = checkpoints.wrap(fetcher);
+        }
+
+        // --- 失败或超时的来源先用最近一次成功的结果，不让整页等它；后台继续刷新 ---
+        StaleWhileRevalidate fallback = cli.has("no-fallback") ? null : new StaleWhileRevalidate(
+                new LastKnownGood(Paths.get(cli.get("lkg-dir", LastKnownGood.DEFAULT_DIR.toString()))),
+                Duration.ofSeconds(cli.getLong("latency-budget", DEFAULT_LATENCY_BUDGET_SECONDS)),
+                Duration.ofSeconds(REFRESH_RETRY_SECONDS),
+                Duration.ofSeconds(cli.getLong("refresh-window", DEFAULT_REFRESH_WINDOW_SECONDS)));
+        if (fallback != null) {
+            fetcher = fallback.wrap(fetcher);
+        }
+
+        try {
+            EditionRunner runner = new EditionRunner(fetcher);
+            Map<Edition, Map<String, List<HotItem>>> editions = runner.run(Editions.ALL);
+            int reused = checkpoints == null ? 0 : checkpoints.getReused().size();
+            System.out.println("Fetched " + (runner.getFetchCount() - reused) + " source(s)"
+                    + (reused > 0 ? " (" + reused + " reused from checkpoints)" : "")
+                    + " for " + editions.size() + " edition(s).");
+            publishEditions(dateStr, editions, fallback == null ? Map.of() : fallback.getStale());
+
+            // --- 后台刷新成功的来源：换上新结果重新发布 ---
+            if (fallback != null) {
+                Map<String, List<HotItem>> refreshed = fallback.awaitRefreshes();
+                if (!refreshed.isEmpty()) {
+                    System.out.println("Republishing with refreshed source(s): " + String.join(", ", refreshed.keySet()));
+                    Map<Edition, Map<String, List<HotItem>>> again = new LinkedHashMap<>();
+                    for (Edition e : editions.keySet()) {
+                        again.put(e, e.categories(key -> refreshed.containsKey(key) ? refreshed.get(key) : runner.get(key)));
+                    }
+                    publishEditions(dateStr, again, fallback.getStale());
+                }
+            }
+        } finally {
+            if (fallback != null) {
+                fallback.close();
+            }
+        }
+    }
 
-        Path dataDir = Paths.get("docs", "data");
+    // ===== 按版面发布，最后写出版面列表与抓取统计 =====
+    private static void publishEditions(String dateStr, Map<Edition, Map<String, List<HotItem>>> editions,
+                                        Map<String, Long> stale) throws Exception {
+        List<Edition> all = new ArrayList<>(editions.keySet());
+        try (StaticPages pages = new StaticPages(Paths.get("docs"))) {
+            for (Map.Entry<Edition, Map<String, List<HotItem>>> e : editions.entrySet()) {
+                publish(dateStr, e.getKey(), e.getValue(), stale, pages, all);
+            }
+            Editions.writeIndex(Paths.get("docs", "data", EDITIONS_FILE), all);
+            System.out.println("Rendered " + pages.await() + " static page(s) -> docs/" + StaticPages.DIR);
+        }
+
+        // --- 抓取统计（传输字节 / 解压后字节）与各阶段堆分配 ---
+        System.out.print(FetchMetrics.summary());
+        System.out.print(Allocations.summary());
+    }
+
+    // ===== 写出某版面当天 JSON、date.json 与静态页；默认版面另外归档并上传 =====
+    // stale：沿用旧结果的来源短名 -> 旧结果的抓取时间，在页面中按栏目标注
+    private static void publish(String dateStr, Edition edition, Map<String, List<HotItem>> categories,
+                                Map<String, Long> stale, StaticPages pages, List<Edition> editions) throws Exception {
+        Path dataDir = dataDir(edition);
+        String label = edition.isDefault() ? "" : edition.getDir() + "/";
         if (!Files.exists(dataDir)) {
             Files.createDirectories(dataDir);
         }
 
+        Map<String, Long> staleCategories = new LinkedHashMap<>();
+        for (String key : edition.getSources()) {
+            if (stale.containsKey(key)) {
+                staleCategories.put(NewsSources.get(key).getCategory(), stale.get(key));
+            }
+        }
+
+        // --- 跨来源聚类：标题去首尾空白，标注簇编号与同时上榜的栏目数 ---
+        try (StageTimer t = StageTimer.start(Stage.CONVERT, "cluster", null)) {
+            t.items(new StoryClusterer().annotate(categories));
+        }
+
+        // --- 综合热榜：各栏目分数校准后归并取前 K 条，放在最前面 ---
+        categories = HeatRanking.withCombined(categories, edition.getCombined());
+
+        // --- 按栏目分片（前端先渲染先到的栏目）；先于整份文件写出，
+        //     内置服务器看到 NewsPage 变化并推送时，分片已经就绪 ---
+        try (StageTimer t = StageTimer.start(Stage.SERIALIZE, label + SHARDS_DIR, null)) {
+            NewsPageWriter.writeShards(dataDir.resolve(SHARDS_DIR).resolve(dateStr), dateStr, categories, staleCategories);
+            t.items(categories.size());
+        }
+
+        // 流式写出 + 原子发布：前端不会读到写了一半的文件
         Path todayFile = dataDir.resolve("NewsPage-" + dateStr + ".json");
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(todayFile.toFile(), root);
+        try (StageTimer t = StageTimer.start(Stage.SERIALIZE, label + todayFile.getFileName(), null)) {
+            NewsPageWriter.writeNewsPage(todayFile, dateStr, categories, staleCategories);
+            t.bytes(Files.size(todayFile)).items(categories.values().stream().mapToInt(List::size).sum());
+        }
 
         // --- 清理旧文件 ---
-        cleanOldFiles(dataDir);
+        cleanOldFiles(dataDir, edition.isDefault());
 
         // --- date.json ---
         Path dateFile = generateDateJson(dataDir);
 
-        // --- 上传到 Cloudflare R2 的 GitHub 目录 ---
+        // --- 静态页：后台渲染，与上传及后续版面的写出重叠 ---
+        pages.submit(edition, dataDir, editions);
+
+        // --- 上传到 Cloudflare R2 的 GitHub 目录（按文件名存放，只上传默认版面） ---
+        if (!edition.isDefault()) {
+            return;
+        }
         if (hasFileUploadApiKey()) {
             uploadJsonToR2(todayFile);
             uploadJsonToR2(dateFile);
@@ -101,55 +335,268 @@ public class SpiderMain {
         }
     }
 
-    // ===== BBC 中文网 =====
-    private static List<HotItem> fetchBBC() {
-        GetBbcNews spider = new GetBbcNews();
-        return spider.start();
-    }
+    // ===== 协同模式：worker =====
+    private static void runWorker(CliArgs cli, String dateStr) throws Exception {
+        String workerId = cli.get("worker-id", CoordDir.defaultWorkerId());
+        CrawlWorker worker = new CrawlWorker(coordDir(cli, dateStr), workerId, NewsSources.ALL,
+                Duration.ofSeconds(cli.getLong("wait", DEFAULT_COORD_WAIT_SECONDS)));
 
-    // ===== 百度热搜 =====
-    private static List<HotItem> fetchBaidu() {
-        GetBaiduNews spider = new GetBaiduNews();
-        return spider.start();
+        int fetched = worker.run();
+        System.out.println("Worker " + workerId + " fetched " + fetched + " source(s).");
+        System.out.print(FetchMetrics.summary());
+        System.out.print(Allocations.summary());
     }
 
-    // ===== 头条热榜 =====
-    private static List<HotItem> fetchToutiao() {
-        GetToutiaoNews spider = new GetToutiaoNews();
-        return spider.start();
+    // ===== 协同模式：merger（同一天只允许一个） =====
+    private static void runMerge(CliArgs cli, String dateStr) throws Exception {
+        CoordDir dir = coordDir(cli, dateStr);
+        try (CoordDir.Lease lease = dir.tryClaimMerge(CoordDir.defaultWorkerId())) {
+            if (lease == null) {
+                System.err.println("Another merger is already running for " + dateStr + "; exiting.");
+                return;
+            }
+            Map<String, List<HotItem>> categories = PartMerger.merge(dir, NewsSources.ALL,
+                    Duration.ofSeconds(cli.getLong("wait", DEFAULT_COORD_WAIT_SECONDS)));
+
+            // 分片结果按栏目名汇总，再分发给各版面
+            Map<Edition, Map<String, List<HotItem>>> editions = new LinkedHashMap<>();
+            for (Edition e : Editions.ALL) {
+                editions.put(e, e.categories(key -> categories.get(NewsSources.get(key).getCategory())));
+            }
+            publishEditions(dateStr, editions, Map.of());
+        }
     }
 
-    // ===== 微博热搜 =====
-    private static List<HotItem> fetchWeibo() {
-        GetWeiboNews spider = new GetWeiboNews();
-        return spider.start();
+    // ===== 局部刷新：重抓指定来源，合并进已有的 NewsPage =====
+    private static void runPartial(CliArgs cli, String dateStr) throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (String key : cli.get("sources", "").split(",")) {
+            if (!key.isBlank()) {
+                keys.add(NewsSources.get(key.trim()).getKey());
+            }
+        }
+        if (keys.isEmpty()) {
+            throw new IllegalArgumentException("--sources needs source keys, e.g. --sources=weibo,bbc");
+        }
+
+        LocalDate date = LocalDate.parse(dateStr);
+        HeadlineArchive archive = new HeadlineArchive(HeadlineArchive.DEFAULT_DIR);
+        Path defaultPage = dataDir(Editions.defaultEdition()).resolve("NewsPage-" + dateStr + ".json");
+        if (!Files.exists(defaultPage) && archive.pages().get(date) == null) {
+            System.err.println("No NewsPage for " + dateStr + " to merge into; run a full crawl first.");
+            return;
+        }
+
+        // --- 并发抓取；没有结果的来源保留原栏目，不用空栏目覆盖 ---
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(keys.size(), r -> {
+            Thread t = new Thread(r, "partial-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        Map<String, List<HotItem>> results = new LinkedHashMap<>();
+        try {
+            Map<String, CompletableFuture<List<HotItem>>> futures = new LinkedHashMap<>();
+            for (String key : keys) {
+                futures.put(key, CompletableFuture.supplyAsync(() -> NewsSources.get(key).fetch(), pool));
+            }
+            for (Map.Entry<String, CompletableFuture<List<HotItem>>> e : futures.entrySet()) {
+                List<HotItem> items = e.getValue().join();
+                if (items == null || items.isEmpty()) {
+                    System.err.println("Source " + e.getKey() + " returned nothing; keeping its published category.");
+                } else {
+                    results.put(e.getKey(), items);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (results.isEmpty()) {
+            System.out.println("No source refreshed; " + dateStr + " left unchanged.");
+            return;
+        }
+        System.out.println("Refreshed " + String.join(", ", results.keySet()) + " for " + dateStr + ".");
+
+        // 最近一次成功的结果随之更新，之后的失败回退不会退回更旧的数据
+        if (!cli.has("no-fallback")) {
+            LastKnownGood lkg = new LastKnownGood(Paths.get(cli.get("lkg-dir", LastKnownGood.DEFAULT_DIR.toString())));
+            for (Map.Entry<String, List<HotItem>> e : results.entrySet()) {
+                try {
+                    lkg.put(e.getKey(), NewsSources.get(e.getKey()).getCategory(), e.getValue());
+                } catch (IOException ex) {
+                    System.err.println("Could not save last-known-good for " + e.getKey() + ": " + ex.getMessage());
+                }
+            }
+        }
+
+        // --- 合并：内容不变的版面不重写；重写了的版面更新 date.json 与静态页，默认版面上传有变化的文件 ---
+        int written = 0;
+        try (StaticPages pages = new StaticPages(Paths.get("docs"))) {
+            for (Edition edition : Editions.ALL) {
+                Path dataDir = dataDir(edition);
+                Path page = dataDir.resolve("NewsPage-" + dateStr + ".json");
+                List<Path> rewritten = mergePage(date, edition, results, archive);
+                written += rewritten.size();
+                if (!rewritten.contains(page)) {
+                    continue;
+                }
+
+                Path dateFile = dataDir.resolve("date.json");
+                byte[] oldDates = Files.exists(dateFile) ? Files.readAllBytes(dateFile) : null;
+                generateDateJson(dataDir);
+                boolean datesChanged = !Arrays.equals(oldDates, Files.readAllBytes(dateFile));
+                pages.render(edition, dataDir, Editions.ALL);
+
+                if (!edition.isDefault()) {
+                    continue;
+                }
+                if (hasFileUploadApiKey()) {
+                    uploadJsonToR2(page);
+                    if (datesChanged) {
+                        uploadJsonToR2(dateFile);
+                    }
+                } else {
+                    System.out.println(FILE_UPLOAD_API_KEY_ENV + " is not configured; skipping R2 upload.");
+                }
+            }
+        }
+        System.out.println("Partial refresh rewrote " + written + " file(s).");
     }
 
-    // ===== 微博热搜 =====
-    private static List<HotItem> fetchItdaily() {
-        GetIthomeDailyNews spider = new GetIthomeDailyNews();
-        return spider.start();
+    // ===== 批量模式 =====
+    private static void runBulk(CliArgs cli, String dateStr) throws Exception {
+        String listFile = cli.get("bulk", "");
+        if (listFile.isEmpty()) {
+            throw new IllegalArgumentException("--bulk needs a feed list, e.g. --bulk=feeds.json");
+        }
+        List<FeedSpec> feeds = FeedList.load(Paths.get(listFile));
+        BulkCrawler crawler = new BulkCrawler(
+                (int) cli.getLong("concurrency", DEFAULT_BULK_CONCURRENCY),
+                (int) cli.getLong("per-host", DEFAULT_BULK_PER_HOST));
+        Path out = Paths.get(cli.get("bulk-out", DEFAULT_BULK_OUT)).resolve(dateStr);
+        System.out.println("Bulk crawling " + feeds.size() + " feed(s) -> " + out);
+
+        BulkCrawler.Summary summary;
+        try (CategorySink sink = new CategorySink(out)) {
+            summary = crawler.run(feeds, sink);
+        }
+        System.out.println("Bulk crawl finished: " + summary);
     }
 
-    // ===== 微博热搜 =====
-    private static List<HotItem> fetchDongqiudi() {
-        GetDongqiudiHotNews spider = new GetDongqiudiHotNews();
-        return spider.start();
+    // ===== 回填：用当前解析器重新解析原始响应，重写 NewsPage =====
+    private static void runBackfill(CliArgs cli) throws Exception {
+        RawStore store = new RawStore(rawDir(cli));
+        LocalDate from = cli.has("from") ? LocalDate.parse(cli.get("from", "")) : LocalDate.MIN;
+        LocalDate to = cli.has("to") ? LocalDate.parse(cli.get("to", "")) : LocalDate.MAX;
+        List<LocalDate> dates = store.dates().stream()
+                .filter(d -> !d.isBefore(from) && !d.isAfter(to))
+                .toList();
+        if (dates.isEmpty()) {
+            System.out.println("No raw responses in " + store.getDir() + " for the given range.");
+            return;
+        }
+
+        int parallelism = (int) cli.getLong("parallelism", Runtime.getRuntime().availableProcessors());
+        Map<LocalDate, Map<String, List<HotItem>>> parsed = Backfill.reparse(store, dates, parallelism);
+
+        HeadlineArchive archive = new HeadlineArchive(HeadlineArchive.DEFAULT_DIR);
+        int written = 0;
+        for (Map.Entry<LocalDate, Map<String, List<HotItem>>> day : parsed.entrySet()) {
+            System.out.println(day.getKey() + ": re-parsed " + String.join(", ", day.getValue().keySet()));
+            for (Edition edition : Editions.ALL) {
+                written += mergePage(day.getKey(), edition, day.getValue(), archive).size();
+            }
+        }
+        System.out.println("Backfill rewrote " + written + " page(s) for " + dates.size() + " day(s).");
+
+        // 静态页与重写后的 NewsPage 保持一致
+        try (StaticPages pages = new StaticPages(Paths.get("docs"))) {
+            int rendered = 0;
+            for (Edition edition : Editions.ALL) {
+                rendered += pages.render(edition, dataDir(edition), Editions.ALL);
+            }
+            System.out.println("Rendered " + rendered + " static page(s) -> docs/" + StaticPages.DIR);
+        }
     }
 
-    private static ArrayNode toArrayNode(List<HotItem> list) {
-        ArrayNode arr = MAPPER.createArrayNode();
-        for (HotItem i : list) {
-            ObjectNode o = MAPPER.createObjectNode();
-            o.put("title", i.getTitle());
-            o.put("link", i.getLink());
-            arr.add(o);
+    /**
+     * 把部分来源的新结果合并进某版面某天的 NewsPage（回填与局部刷新共用）：
+     * 重写 docs/data 中仍在发布的那份，默认版面另外写归档。
+     * results 中没有的来源沿用原页面中的栏目（见 {@link PageMerge}）；内容不变的文件不重写。
+     *
+     * @return 重写了的文件（docs/data 中的页面、归档页面）
+     */
+    private static List<Path> mergePage(LocalDate date, Edition edition, Map<String, List<HotItem>> results,
+                                        HeadlineArchive archive) throws IOException {
+        List<Path> written = new ArrayList<>();
+        if (edition.getSources().stream().noneMatch(results::containsKey)) {
+            return written;
+        }
+        String dateStr = date.toString();
+        Path published = dataDir(edition).resolve("NewsPage-" + dateStr + ".json");
+        boolean isPublished = Files.exists(published);
+        if (!isPublished && !edition.isDefault()) {
+            return written;
+        }
+
+        // 未重抓的栏目从旧页面原样复制，只重新计算重抓的栏目与综合热榜
+        Path archived = edition.isDefault() ? archive.pages().get(date) : null;
+        PageMerge.Previous previous = isPublished ? () -> Files.newInputStream(published)
+                : archived != null ? () -> new ByteArrayInputStream(archive.load(archived)) : null;
+        PageMerge merged = PageMerge.merge(edition, dateStr, results, previous);
+        Map<String, List<HotItem>> categories = merged.getCategories();
+        Map<String, Long> stale = merged.getStale();
+        byte[] bytes = merged.getBytes();
+
+        if (isPublished && !Arrays.equals(Files.readAllBytes(published), bytes)) {
+            AtomicFiles.write(published, bytes);
+            written.add(published);
+            System.out.println("  rewrote " + published);
+
+            // 分片与整份文件保持一致
+            Path shards = dataDir(edition).resolve(SHARDS_DIR).resolve(dateStr);
+            if (Files.isDirectory(shards)) {
+                NewsPageWriter.writeShards(shards, dateStr, categories, stale);
+            }
         }
-        return arr;
+        if (edition.isDefault() && archive.save(date, bytes)) {
+            written.add(archive.page(date));
+            System.out.println("  rewrote " + archive.page(date));
+        }
+        return written;
+    }
+
+    // ===== 内置服务器 =====
+    private static void runServe(CliArgs cli) throws IOException {
+        int threads = (int) cli.getLong("threads", Runtime.getRuntime().availableProcessors() * 2L);
+        SiteServer server = new SiteServer(Paths.get(cli.get("root", "docs")),
+                (int) cli.getLong("port", DEFAULT_SERVE_PORT), threads).start();
+        BoardEventHub events = new BoardEventHub(server.getCache(), SSE_DISPATCH_THREADS);
+        server.addRefreshListener(events::onRefresh);
+        server.addHandler("/events", events::handle);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            events.close();
+            server.close();
+        }));
+
+        System.out.println("Serving " + server.getCache().getRoot() + " (" + server.getCache().size()
+                + " files) on http://localhost:" + server.getPort() + "/");
+    }
+
+    private static Path dataDir(Edition edition) {
+        return edition.isDefault() ? Paths.get("docs", "data") : Paths.get("docs", "data", edition.getDir());
+    }
+
+    private static Path rawDir(CliArgs cli) {
+        return Paths.get(cli.get("raw-dir", RawStore.DEFAULT_DIR.toString()));
+    }
+
+    private static CoordDir coordDir(CliArgs cli, String dateStr) {
+        return new CoordDir(Paths.get(cli.get("coord-dir", DEFAULT_COORD_DIR)), dateStr);
     }
 
     // ===== 清理旧文件 =====
-    private static void cleanOldFiles(Path dir) throws IOException {
+    private static void cleanOldFiles(Path dir, boolean archive) throws IOException {
         final List<Path> files;
         try (var stream = Files.list(dir)) {
             files = stream
@@ -168,10 +615,49 @@ public class SpiderMain {
 
         list.sort((a, b) -> b.getDate().compareTo(a.getDate()));
 
+        // 删除前先归档（内容相同的跳过）；归档失败时本次不删除，避免丢失历史。
+        // 其他版面是默认版面的子集，不另行归档
+        if (archive) {
+            try (StageTimer t = StageTimer.start(Stage.SERIALIZE, "archive", null)) {
+                t.items(new HeadlineArchive(HeadlineArchive.DEFAULT_DIR).saveAll(dir));
+            } catch (IOException e) {
+                System.err.println("Archiving failed, keeping old files: " + e.getMessage());
+                return;
+            }
+        }
+
         // json文件保存10天
         for (int i = 10; i < list.size(); i++) {
             Files.deleteIfExists(list.get(i).getPath());
         }
+
+        // 分片目录与保留的日期保持一致
+        Set<String> kept = new HashSet<>();
+        for (int i = 0; i < Math.min(10, list.size()); i++) {
+            kept.add(list.get(i).getDate().toString());
+        }
+        Path shards = dir.resolve(SHARDS_DIR);
+        if (Files.isDirectory(shards)) {
+            final List<Path> dateDirs;
+            try (var stream = Files.list(shards)) {
+                dateDirs = stream.filter(Files::isDirectory).toList();
+            }
+            for (Path d : dateDirs) {
+                if (!kept.contains(d.getFileName().toString())) {
+                    deleteRecursively(d);
+                }
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path dir) throws IOException {
+        final List<Path> paths;
+        try (var stream = Files.walk(dir)) {
+            paths = stream.sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path p : paths) {
+            Files.deleteIfExists(p);
+        }
     }
 
     // ===== date.json =====
@@ -193,16 +679,16 @@ public class SpiderMain {
                     .toList();
         }
 
-        ArrayNode arr = MAPPER.createArrayNode();
+        List<String> dates = new ArrayList<>(list.size());
         for (PathWithDate pw : list) {
-            arr.add(pw.getDate().toString());
+            dates.add(pw.getDate().toString());
         }
 
-        ObjectNode root = MAPPER.createObjectNode();
-        root.set("dates", arr);
-
         Path dateJson = dir.resolve("date.json");
-        MAPPER.writerWithDefaultPrettyPrinter().writeValue(dateJson.toFile(), root);
+        try (StageTimer t = StageTimer.start(Stage.SERIALIZE, dateJson.getFileName().toString(), null)) {
+            NewsPageWriter.writeDates(dateJson, dates);
+            t.bytes(Files.size(dateJson)).items(dates.size());
+        }
         return dateJson;
     }
 
@@ -217,7 +703,11 @@ public class SpiderMain {
                 .POST(HttpRequest.BodyPublishers.ofFile(jsonFile))
                 .build();
 
-        HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> response;
+        try (StageTimer t = StageTimer.start(Stage.UPLOAD, jsonFile.getFileName().toString(), FILE_UPLOAD_API_URL)) {
+            t.bytes(Files.size(jsonFile));
+            response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+        }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
             throw new IOException("R2 upload failed for " + jsonFile.getFileName()
                     + ": HTTP " + response.statusCode() + " - " + response.body());
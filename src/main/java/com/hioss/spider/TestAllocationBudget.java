@@ -0,0 +1,101 @@
+package com.hioss.spider;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSource;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.trace.Allocations;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * 测试：各来源解析器的堆分配预算
+ * 用 fixtures 目录下的固定样本（&lt;页面短名&gt;.json / .xml / .html，共用页面的来源用同一份）反复解析，
+ * 预热后取每次解析在当前线程分配字节数的中位数，超过 alloc-budget.properties 中声明的预算即失败。
+ *
+ * <pre>
+ * java -cp ... com.hioss.spider.TestAllocationBudget [fixtures]
+ * </pre>
+ */
+public class TestAllocationBudget {
+
+    private static final String[] EXTENSIONS = {".json", ".xml", ".html"};
+    private static final int WARMUP = 200;
+    private static final int RUNS = 31;
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("开始测试 解析器分配预算...");
+        if (!Allocations.isSupported()) {
+            System.out.println("[SKIP] 当前 JVM 不支持按线程统计分配");
+            return;
+        }
+
+        Path dir = Paths.get(args.length > 0 ? args[0] : "fixtures");
+        Properties budgets = new Properties();
+        try (InputStream in = Files.newInputStream(dir.resolve("alloc-budget.properties"))) {
+            budgets.load(in);
+        }
+
+        boolean ok = true;
+        System.out.println(String.format("  %-10s %9s %6s %12s %12s %12s %6s",
+                "source", "fixture B", "items", "median B", "min B", "budget B", "used"));
+        for (NewsSource source : NewsSources.ALL) {
+            String key = source.getKey();
+            Path fixture = fixture(dir, source.getPage());
+            String budget = budgets.getProperty(key);
+            if (fixture == null || budget == null) {
+                ok &= check(key + " 缺少样本或预算", false);
+                continue;
+            }
+
+            byte[] body = Files.readAllBytes(fixture);
+            List<HotItem> items = source.parse(new ByteArrayInputStream(body));
+            for (int i = 0; i < WARMUP; i++) {
+                source.parse(new ByteArrayInputStream(body));
+            }
+            long[] samples = new long[RUNS];
+            for (int i = 0; i < RUNS; i++) {
+                ByteArrayInputStream in = new ByteArrayInputStream(body);
+                long before = Allocations.current();
+                source.parse(in);
+                samples[i] = Allocations.current() - before;
+            }
+            Arrays.sort(samples);
+            long median = samples[RUNS / 2];
+            long limit = Long.parseLong(budget.trim());
+
+            System.out.println(String.format("  %-10s %9d %6d %12d %12d %12d %5.0f%%",
+                    key, body.length, items.size(), median, samples[0], limit, 100.0 * median / limit));
+            ok &= check(key + " 解析出 10 条", items.size() == 10
+                    && items.stream().allMatch(it -> !it.getTitle().isBlank() && !it.getLink().isBlank()));
+            ok &= check(key + " 分配不超过预算", median <= limit);
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static Path fixture(Path dir, String key) {
+        for (String ext : EXTENSIONS) {
+            Path p = dir.resolve(key + ext);
+            if (Files.isRegularFile(p)) {
+                return p;
+            }
+        }
+        return null;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
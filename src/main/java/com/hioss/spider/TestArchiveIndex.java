@@ -0,0 +1,191 @@
+package com.hioss.spider;
+
+import com.hioss.spider.archive.ArchiveHit;
+import com.hioss.spider.archive.ArchiveIndex;
+import com.hioss.spider.archive.ArchiveQuery;
+import com.hioss.spider.archive.HeadlineArchive;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * 测试：历史热榜归档查询
+ * 先用三天的构造数据检查关键字（汉字二元组、英文词、单字）、域名、日期范围、来源过滤与名次排序，
+ * 以及索引写出后重新加载、归档变化后自动重建；再生成约三年的随机数据，打印建索引、加载与查询耗时。
+ */
+public class TestArchiveIndex {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 归档查询...");
+        Path tmp = Files.createTempDirectory("archive-test");
+        boolean ok = true;
+        try {
+            Path data = tmp.resolve("data");
+            page(data, "2026-08-01",
+                    List.of(new HotItem("台风杜苏芮登陆福建", "https://www.baidu.com/s?wd=1"),
+                            new HotItem("苹果发布iPhone17", "https://www.baidu.com/s?wd=2")),
+                    List.of(new HotItem("杜苏芮台风登陆", "https://s.weibo.com/weibo?q=1"),
+                            new HotItem("台风过后风登顶再登陆", "https://s.weibo.com/weibo?q=2")),
+                    List.of(new HotItem("台风登陆后 多地停课", "https://www.bbc.com/zhongwen/simp/1")));
+            page(data, "2026-08-02",
+                    List.of(new HotItem("台风登陆带来强降雨", "https://www.baidu.com/s?wd=3")),
+                    List.of(new HotItem("火", "https://s.weibo.com/weibo?q=3"),
+                            new HotItem("iPhone 17 销量", "https://s.weibo.com/weibo?q=4")),
+                    List.of());
+            page(data, "2026-08-03",
+                    List.of(new HotItem("某地山火已扑灭", "https://www.baidu.com/s?wd=4")),
+                    List.of(new HotItem("台风登陆一周年", "https://s.weibo.com/weibo?q=5")),
+                    List.of(new HotItem("英国大选", "https://www.bbc.com/zhongwen/simp/2")));
+
+            HeadlineArchive archive = new HeadlineArchive(tmp.resolve("archive"));
+            ok &= check("saveAll 归档 3 天", archive.saveAll(data) == 3);
+            ok &= check("内容未变时不重复写", archive.saveAll(data) == 0);
+
+            ArchiveIndex index = archive.index();
+            ok &= check("索引 3 天 11 条", index.getDateCount() == 3 && index.getDocCount() == 11);
+
+            // 关键字须连续出现：「台风过后风登顶再登陆」含全部二元组，但不含「台风登陆」
+            ArchiveIndex.Result r = index.search(new ArchiveQuery().keyword("台风登陆"));
+            ok &= check("关键字命中 4 条", r.getTotal() == 4
+                    && r.getHits().stream().noneMatch(h -> h.getTitle().contains("风登顶")));
+            // 名次升序，名次相同时日期新的在前
+            ok &= check("名次排序", titles(r).equals(List.of(
+                    "台风登陆一周年", "台风登陆带来强降雨", "杜苏芮台风登陆", "台风登陆后 多地停课")));
+            ok &= check("按栏目统计", r.getBoards().size() == 3
+                    && r.getBoards().get(0).getCategory().equals("新浪微博热搜")
+                    && r.getBoards().get(0).getDays() == 2
+                    && r.getBoards().get(0).getFirstDate().equals(LocalDate.parse("2026-08-01"))
+                    && r.getBoards().get(0).getLastDate().equals(LocalDate.parse("2026-08-03")));
+
+            ok &= check("日期范围", index.search(new ArchiveQuery().keyword("台风登陆")
+                    .from(LocalDate.parse("2026-08-02")).to(LocalDate.parse("2026-08-02"))).getTotal() == 1);
+            ok &= check("来源过滤（短名）", index.search(new ArchiveQuery().keyword("台风登陆")
+                    .source("weibo")).getTotal() == 2);
+            ok &= check("来源过滤（栏目名）", index.search(new ArchiveQuery().keyword("台风登陆")
+                    .source("BBC中文网热点")).getTotal() == 1);
+            ok &= check("英文词（大小写、全角无关）", index.search(new ArchiveQuery().keyword("ＩＰＨＯＮＥ")).getTotal() == 2);
+            ok &= check("多个词同时出现", index.search(new ArchiveQuery().keyword("iphone 销量")).getTotal() == 1);
+            ok &= check("单个汉字（顺序扫描）", index.search(new ArchiveQuery().keyword("火")).getTotal() == 2);
+            ok &= check("域名", index.search(new ArchiveQuery().host("bbc.com")).getTotal() == 2);
+            ok &= check("域名 + 关键字", index.search(new ArchiveQuery().host("bbc.com").keyword("大选")).getTotal() == 1);
+            ok &= check("未出现的词", index.search(new ArchiveQuery().keyword("地震")).getTotal() == 0);
+            ok &= check("limit", index.search(new ArchiveQuery().limit(3)).getHits().size() == 3
+                    && index.search(new ArchiveQuery().limit(3)).getTotal() == 11);
+
+            // 重新加载：内容不变时直接读索引文件，结果一致
+            ok &= check("重新加载", titles(archive.index().search(new ArchiveQuery().keyword("台风登陆"))).equals(titles(r)));
+
+            // 归档变化后自动重建
+            page(data, "2026-08-04", List.of(new HotItem("台风登陆再上热搜", "https://www.baidu.com/s?wd=5")),
+                    List.of(), List.of());
+            archive.saveAll(data);
+            ok &= check("新增一天后重建", archive.index().search(new ArchiveQuery().keyword("台风登陆")).getTotal() == 5);
+
+            System.out.println("--------------------------------------------------");
+            scale(tmp.resolve("scale"));
+        } finally {
+            try (var stream = Files.walk(tmp)) {
+                for (Path p : stream.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 约三年、每天 6 个栏目各 10 条的随机标题，打印耗时
+     */
+    private static void scale(Path dir) throws Exception {
+        Random rnd = new Random(42);
+        String[] categories = {"百度热搜", "新浪微博热搜", "今日头条热榜", "BBC中文网热点", "IT之家日榜", "懂球帝热门推荐"};
+        Path pages = dir.resolve("pages");
+        LocalDate start = LocalDate.parse("2024-01-01");
+        int daysCount = 3 * 365;
+        for (int d = 0; d < daysCount; d++) {
+            Map<String, List<HotItem>> day = new LinkedHashMap<>();
+            for (String c : categories) {
+                List<HotItem> items = new ArrayList<>();
+                for (int i = 0; i < 10; i++) {
+                    StringBuilder t = new StringBuilder();
+                    int len = 8 + rnd.nextInt(12);
+                    for (int k = 0; k < len; k++) {
+                        // 常用字集中出现（近似真实标题的字频），二元组会大量重复
+                        t.appendCodePoint(0x4E00 + (int) Math.abs(rnd.nextGaussian() * 400) % 3000);
+                    }
+                    if (rnd.nextInt(200) == 0) {
+                        t.insert(rnd.nextInt(t.length()), "台风登陆");
+                    }
+                    items.add(new HotItem(t.toString(), "https://news" + rnd.nextInt(5) + ".example.com/" + d + "/" + i));
+                }
+                day.put(c, items);
+            }
+            String date = start.plusDays(d).toString();
+            NewsPageWriter.writeNewsPage(pages.resolve("NewsPage-" + date + ".json"), date, day);
+        }
+
+        HeadlineArchive archive = new HeadlineArchive(dir);
+        long t0 = System.nanoTime();
+        archive.index();
+        long t1 = System.nanoTime();
+        ArchiveIndex loaded = archive.index();
+        long t2 = System.nanoTime();
+        System.out.printf("规模：%d 天 %d 条，%d 个词项，倒排表 %d 字节%n",
+                loaded.getDateCount(), loaded.getDocCount(), loaded.getTermCount(), loaded.getPostingBytes());
+        System.out.printf("建索引 %.0f ms，加载 %.0f ms%n", (t1 - t0) / 1e6, (t2 - t1) / 1e6);
+
+        ArchiveQuery[] queries = {
+                new ArchiveQuery().keyword("台风登陆"),
+                new ArchiveQuery().keyword("台风登陆").from(LocalDate.parse("2025-01-01")).to(LocalDate.parse("2025-12-31")),
+                new ArchiveQuery().keyword("一二"),
+                new ArchiveQuery().host("news1.example.com").source("weibo").limit(5),
+                new ArchiveQuery().keyword("丁"),
+        };
+        for (ArchiveQuery q : queries) {
+            ArchiveIndex.Result r = null;
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < 5; i++) {
+                long s = System.nanoTime();
+                r = loaded.search(q);
+                best = Math.min(best, System.nanoTime() - s);
+            }
+            System.out.printf("查询 [%s%s] %d 条命中，%.2f ms%n", q.getKeyword() == null ? "" : q.getKeyword(),
+                    q.getHost() == null ? "" : " host:" + q.getHost(), r.getTotal(), best / 1e6);
+        }
+    }
+
+    private static void page(Path dir, String date, List<HotItem> baidu, List<HotItem> weibo, List<HotItem> bbc)
+            throws Exception {
+        Map<String, List<HotItem>> categories = new LinkedHashMap<>();
+        categories.put("百度热搜", baidu);
+        categories.put("新浪微博热搜", weibo);
+        categories.put("BBC中文网热点", bbc);
+        NewsPageWriter.writeNewsPage(dir.resolve("NewsPage-" + date + ".json"), date, categories);
+    }
+
+    private static List<String> titles(ArchiveIndex.Result r) {
+        List<String> out = new ArrayList<>();
+        for (ArchiveHit h : r.getHits()) {
+            out.add(h.getTitle());
+        }
+        return out;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
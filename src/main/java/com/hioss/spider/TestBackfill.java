@@ -0,0 +1,124 @@
+package com.hioss.spider;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSource;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.raw.Backfill;
+import com.hioss.spider.raw.RawCapture;
+import com.hioss.spider.raw.RawEntry;
+import com.hioss.spider.raw.RawStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试：原始响应存储与回填
+ * 用 fixtures 目录下的样本模拟三次运行（两天，第二天跑两次且第二次只有部分来源），检查：
+ * 内容相同的响应只存一份、读回与写入一致、同一天后一次运行覆盖前一次，
+ * 以及在 fork/join 池上重新解析的结果与直接解析样本一致。
+ */
+public class TestBackfill {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 原始响应存储与回填...");
+        Path fixtures = Paths.get(args.length > 0 ? args[0] : "fixtures");
+        Path dir = Files.createTempDirectory("raw-test");
+        RawStore store = new RawStore(dir);
+        boolean ok = true;
+
+        try {
+            LocalDate day1 = LocalDate.of(2026, 10, 18);
+            LocalDate day2 = LocalDate.of(2026, 10, 19);
+
+            // 第一天：全部来源
+            RawCapture run1 = RawCapture.begin(store, day1.toString());
+            for (NewsSource s : NewsSources.ALL) {
+                RawCapture.record(s.getKey(), "https://example.com/" + s.getKey(), fixture(fixtures, s.getPage()));
+            }
+            run1.finish();
+
+            // 第二天第一次：全部来源（内容与第一天相同，不应新增对象）
+            RawCapture run2 = RawCapture.begin(store, day2.toString());
+            for (NewsSource s : NewsSources.ALL) {
+                RawCapture.record(s.getKey(), "https://example.com/" + s.getKey(), fixture(fixtures, s.getPage()));
+            }
+            run2.finish();
+            Thread.sleep(1100);
+
+            // 第二天第二次：微博换成只有 3 条的响应
+            byte[] weibo = "{\"data\":{\"realtime\":[{\"word\":\"甲\"},{\"word\":\"乙\"},{\"word\":\"丙\"}]}}"
+                    .getBytes(StandardCharsets.UTF_8);
+            RawCapture run3 = RawCapture.begin(store, day2.toString());
+            RawCapture.record("weibo", "https://example.com/weibo", weibo);
+            run3.finish();
+            RawCapture.record("toutiao", "https://example.com/late", weibo);
+
+            long objects;
+            try (var stream = Files.walk(dir.resolve("objects"))) {
+                objects = stream.filter(Files::isRegularFile).count();
+            }
+            // 共用一个页面的来源（IT之家各榜单）记下的是同一份响应
+            long pages = NewsSources.ALL.stream().map(NewsSource::getPage).distinct().count();
+            ok &= check("相同内容只存一份（对象数 " + objects + "）", objects == pages + 1);
+            ok &= check("清单按日期列出", store.dates().equals(List.of(day1, day2)));
+
+            Map<String, RawEntry> latest = store.latest(day2);
+            ok &= check("后一次运行覆盖同一来源", latest.size() == NewsSources.ALL.size()
+                    && latest.get("weibo").getBytes() == weibo.length
+                    && latest.get("toutiao").getUrl().equals("https://example.com/toutiao"));
+            try (InputStream in = store.open(latest.get("weibo").getSha256())) {
+                ok &= check("读回内容一致", Arrays.equals(in.readAllBytes(), weibo));
+            }
+
+            Map<LocalDate, Map<String, List<HotItem>>> parsed = Backfill.reparse(store, List.of(day1, day2), 4);
+            boolean same = true;
+            for (NewsSource s : NewsSources.ALL) {
+                List<HotItem> expected = s.parse(new ByteArrayInputStream(fixture(fixtures, s.getPage())));
+                same &= titles(parsed.get(day1).get(s.getKey())).equals(titles(expected));
+            }
+            ok &= check("重新解析与直接解析一致", same && parsed.get(day1).size() == NewsSources.ALL.size());
+            ok &= check("第二天微博用最后一次的响应", titles(parsed.get(day2).get("weibo")).equals(List.of("甲", "乙", "丙")));
+            ok &= check("没有清单的日期结果为空",
+                    Backfill.reparse(store, List.of(LocalDate.of(2026, 1, 1)), 2).get(LocalDate.of(2026, 1, 1)).isEmpty());
+        } finally {
+            try (var stream = Files.walk(dir)) {
+                for (Path p : stream.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static byte[] fixture(Path dir, String key) throws Exception {
+        for (String ext : new String[]{".json", ".xml", ".html"}) {
+            Path p = dir.resolve(key + ext);
+            if (Files.isRegularFile(p)) {
+                return Files.readAllBytes(p);
+            }
+        }
+        throw new IllegalStateException("No fixture for " + key);
+    }
+
+    private static List<String> titles(List<HotItem> items) {
+        return items.stream().map(HotItem::getTitle).toList();
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,312 @@
+package com.hioss.spider;
+
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.serve.BoardEventHub;
+import com.hioss.spider.serve.SiteServer;
+import com.hioss.spider.store.HeadlineStore;
+import com.hioss.spider.store.SnapshotDiff;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试：热榜变化的 SSE 推送
+ * 先检查 SnapshotDiff 的新增 / 移除 / 名次变化，再起一个内置服务器，检查：
+ * 发布后客户端按顺序收到各条变化、带 Last-Event-ID 重连从断点补发、断点已被环形缓冲区覆盖时收到 reset，
+ * 以及不读数据的慢客户端在队列写满后被断开、卡住的发送线程随之释放，不会拖住其他客户端。
+ */
+public class TestBoardEventHub {
+
+    private static final String DATE = "2026-10-19";
+    private static final long TIMEOUT_SECONDS = 20;
+    // 每条标题很长，让慢客户端的套接字缓冲区尽快写满
+    private static final String PADDING = "很长的标题".repeat(120);
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 SSE 推送...");
+        boolean ok = true;
+
+        // 1. SnapshotDiff：新增、移除、名次变化、整个栏目消失
+        HeadlineStore store = new HeadlineStore();
+        Map<String, List<HotItem>> before = new LinkedHashMap<>();
+        before.put("X", items("甲", "乙", "丙"));
+        before.put("Y", items("丁"));
+        Map<String, List<HotItem>> after = new LinkedHashMap<>();
+        after.put("X", items("乙", "甲", "戊"));
+        List<SnapshotDiff.Change> diff = SnapshotDiff.diff(store.put("a", before), store.put("b", after));
+        List<String> got = new ArrayList<>();
+        diff.forEach(c -> got.add(c.getType() + " " + c.getCategory() + " " + c.getTitle() + " " + c.getOldRank() + "->" + c.getRank()));
+        System.out.println("  " + got);
+        ok &= check("新增 / 移除 / 名次变化", got.equals(List.of(
+                "REMOVED X 丙 3->0", "RERANKED X 乙 2->1", "RERANKED X 甲 1->2", "ADDED X 戊 0->3", "REMOVED Y 丁 1->0")));
+        ok &= check("没有旧快照时全部为新增", SnapshotDiff.diff(null, store.get("b")).stream()
+                .allMatch(c -> c.getType() == SnapshotDiff.Type.ADDED));
+
+        Path root = Files.createTempDirectory("sse-test");
+        Path data = root.resolve("data");
+        Files.createDirectories(data);
+        NewsPageWriter.writeDates(data.resolve("date.json"), List.of(DATE));
+        publish(data, items("甲", "乙", "丙"));
+
+        // 两个发送线程：一个被慢客户端卡住时，另一个照常服务其他客户端
+        SiteServer server = new SiteServer(root, 0, 4).start();
+        BoardEventHub hub = new BoardEventHub(server.getCache(), 2);
+        server.addRefreshListener(hub::onRefresh);
+        server.addHandler("/events", hub::handle);
+        int port = server.getPort();
+
+        try (EventReader c1 = new EventReader(port, null)) {
+            waitFor(hub, 1);
+
+            // 2. 发布后按顺序收到各条变化，最后是 published
+            publish(data, items("乙", "甲", "戊"));
+            server.refresh();
+            List<String[]> first = c1.until("published");
+            List<String> types = new ArrayList<>();
+            first.forEach(e -> types.add(e[1]));
+            ok &= check("收到变化 " + types, types.equals(List.of("removed", "reranked", "reranked", "added", "published"))
+                    && first.get(0)[0].equals("1") && first.get(4)[0].equals("5"));
+
+            // 3. 带 Last-Event-ID 重连：从断点之后补发
+            try (EventReader c2 = new EventReader(port, "2")) {
+                List<String[]> replay = c2.until("published");
+                ok &= check("从断点补发", replay.size() == 3 && replay.get(0)[0].equals("3")
+                        && replay.get(0)[2].equals(first.get(2)[2]));
+                waitFor(hub, 2);
+
+                // 4. 不读数据的慢客户端：写出卡住后队列写满即断开，并释放卡住的发送线程；
+                //    接连两个慢客户端，前一个占着的线程若没释放，后一个会卡住剩下的线程，其他客户端就收不到事件
+                boolean allRounds = true;
+                boolean dropped = true;
+                long lastId = 5;
+                int round = 0;
+                for (int k = 0; k < 2; k++) {
+                    try (Socket slow = connectSlow(port)) {
+                        waitFor(hub, 3);
+                        int start = round;
+                        while (allRounds && hub.clientCount() == 3 && round - start < 40) {
+                            lastId = round(data, server, round++, lastId, c1, c2);
+                            allRounds = lastId > 0;
+                        }
+                        dropped &= hub.clientCount() == 2 && closedByServer(slow);
+                    }
+                }
+                // 再发几轮，让最早的事件被环形缓冲区覆盖
+                while (allRounds && lastId < 4200) {
+                    lastId = round(data, server, round++, lastId, c1, c2);
+                    allRounds = lastId > 0;
+                }
+                ok &= check("其他客户端每一轮都收齐（" + round + " 轮，事件 " + lastId + " 条）", allRounds);
+                ok &= check("两个慢客户端先后被断开、连接已关闭", dropped);
+
+                // 5. 断点已被环形缓冲区覆盖，或来自重启前的服务器：要求整页重载
+                try (EventReader c3 = new EventReader(port, "2");
+                     EventReader c4 = new EventReader(port, String.valueOf(lastId + 1000))) {
+                    ok &= check("断点被覆盖时 reset", c3.next()[1].equals("reset"));
+                    ok &= check("断点超前时 reset", c4.next()[1].equals("reset"));
+                }
+            }
+        } finally {
+            hub.close();
+            server.close();
+            try (var stream = Files.walk(root)) {
+                for (Path p : stream.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.deleteIfExists(p);
+                }
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static List<HotItem> items(String... titles) {
+        List<HotItem> out = new ArrayList<>();
+        for (String t : titles) {
+            out.add(new HotItem(t, "https://example.com/" + t));
+        }
+        return out;
+    }
+
+    private static void publish(Path data, List<HotItem> items) throws IOException {
+        Map<String, List<HotItem>> page = new LinkedHashMap<>();
+        page.put("X", items);
+        NewsPageWriter.writeNewsPage(data.resolve("NewsPage-" + DATE + ".json"), DATE, page);
+    }
+
+    /**
+     * 发布一轮（整栏 100 条换新），等两个客户端都收到本轮的 published
+     *
+     * @return 本轮最后一个事件的编号；有客户端漏收或编号不连续时返回 -1
+     */
+    private static long round(Path data, SiteServer server, int r, long lastId, EventReader... readers)
+            throws Exception {
+        List<HotItem> page = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            page.add(new HotItem("第" + r + "轮第" + i + "条" + PADDING, "https://example.com/" + r + "/" + i));
+        }
+        publish(data, page);
+        server.refresh();
+        long last = -1;
+        for (EventReader reader : readers) {
+            List<String[]> events = reader.until("published");
+            if (!consecutive(events, lastId)) {
+                return -1;
+            }
+            last = Long.parseLong(events.get(events.size() - 1)[0]);
+        }
+        return last;
+    }
+
+    /**
+     * 连上 /events 后不再读取；接收缓冲区很小，服务端很快写不出去
+     */
+    private static Socket connectSlow(int port) throws IOException {
+        Socket slow = new Socket();
+        slow.setReceiveBufferSize(4096);
+        slow.connect(new InetSocketAddress("127.0.0.1", port));
+        OutputStream req = slow.getOutputStream();
+        req.write("GET /events HTTP/1.1\r\nHost: localhost\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+        req.flush();
+        return slow;
+    }
+
+    private static void waitFor(BoardEventHub hub, int clients) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS);
+        while (hub.clientCount() != clients && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * 一轮事件的编号紧接上一轮、中间没有缺口
+     */
+    private static boolean consecutive(List<String[]> events, long lastId) {
+        for (String[] e : events) {
+            if (Long.parseLong(e[0]) != ++lastId) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 读完已缓冲的数据后应当读到连接结束
+     */
+    private static boolean closedByServer(Socket socket) throws IOException {
+        socket.setSoTimeout((int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS));
+        InputStream in = socket.getInputStream();
+        byte[] buf = new byte[65536];
+        try {
+            while (in.read(buf) >= 0) {
+                // 丢弃
+            }
+            return true;
+        } catch (SocketTimeoutException e) {
+            return false;
+        } catch (IOException e) {
+            // 连接被重置
+            return true;
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+
+    /**
+     * 在后台线程读取 SSE 流，每个事件为 {id, event, data}
+     */
+    private static final class EventReader implements AutoCloseable {
+        private final BlockingQueue<String[]> events = new LinkedBlockingQueue<>();
+        private final InputStream in;
+
+        EventReader(int port, String lastEventId) throws IOException, InterruptedException {
+            HttpRequest.Builder req = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/events"));
+            if (lastEventId != null) {
+                req.header("Last-Event-ID", lastEventId);
+            }
+            in = HTTP.send(req.build(), HttpResponse.BodyHandlers.ofInputStream()).body();
+            Thread t = new Thread(() -> read(in), "sse-reader");
+            t.setDaemon(true);
+            t.start();
+        }
+
+        private void read(InputStream in) {
+            try (BufferedReader r = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                String id = null;
+                String event = null;
+                String data = null;
+                String line;
+                while ((line = r.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (event != null) {
+                            events.add(new String[]{id, event, data});
+                        }
+                        id = event = data = null;
+                    } else if (line.startsWith("id: ")) {
+                        id = line.substring(4);
+                    } else if (line.startsWith("event: ")) {
+                        event = line.substring(7);
+                    } else if (line.startsWith("data: ")) {
+                        data = line.substring(6);
+                    }
+                }
+            } catch (IOException ignored) {
+                // 关闭连接
+            }
+        }
+
+        String[] next() throws InterruptedException {
+            String[] e = events.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            if (e == null) {
+                throw new IllegalStateException("No SSE event within " + TIMEOUT_SECONDS + "s");
+            }
+            return e;
+        }
+
+        /**
+         * 读到指定类型的事件为止（含该事件）
+         */
+        List<String[]> until(String event) throws InterruptedException {
+            List<String[]> out = new ArrayList<>();
+            String[] e;
+            do {
+                e = next();
+                out.add(e);
+            } while (!e[1].equals(event));
+            return out;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
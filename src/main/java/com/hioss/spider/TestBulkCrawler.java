@@ -0,0 +1,211 @@
+package com.hioss.spider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hioss.spider.bulk.BulkCrawler;
+import com.hioss.spider.bulk.CategorySink;
+import com.hioss.spider.bulk.CrawlFrontier;
+import com.hioss.spider.bulk.FeedList;
+import com.hioss.spider.bulk.FeedParser;
+import com.hioss.spider.bulk.FeedSpec;
+import com.hioss.spider.common.Json;
+import com.hioss.spider.dto.HotItem;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试：批量模式
+ * 抓取边界按优先级出队、同优先级在域名间轮转、单个域名不超过并发上限；JSON / RSS / Atom 都能解析、订阅列表校验。
+ * 再在本地桩服务器（127.0.0.1 与 localhost 视为两个域名）上抓取 300 个订阅源，
+ * 检查全局与单个域名的同时在抓数不超过上限、每个订阅源都写入了所属栏目、失败的订阅源记入 index.json。
+ */
+public class TestBulkCrawler {
+
+    private static final int FEEDS = 300;
+    private static final int CONCURRENCY = 8;
+    private static final int PER_HOST = 3;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 批量模式...");
+        boolean ok = true;
+
+        // --- 抓取边界 ---
+        CrawlFrontier frontier = new CrawlFrontier(1);
+        for (int i = 0; i < 3; i++) {
+            frontier.add(new FeedSpec("https://a.example/" + i, "A", 10, 0));
+        }
+        frontier.add(new FeedSpec("https://b.example/0", "B", 10, 0));
+        frontier.add(new FeedSpec("https://c.example/0", "C", 10, 5));
+        List<String> order = new ArrayList<>();
+        for (int round = 0; round < 4 && !frontier.isFinished(); round++) {
+            List<FeedSpec> polled = new ArrayList<>();
+            for (FeedSpec f; (f = frontier.poll()) != null; ) {
+                polled.add(f);
+                order.add(f.getUrl().substring(8));
+            }
+            polled.forEach(frontier::done);
+        }
+        ok &= check("高优先级先出队、每个域名每轮一个", order.equals(List.of(
+                "c.example/0", "a.example/0", "b.example/0", "a.example/1", "a.example/2")));
+        ok &= check("全部出队后结束", frontier.isFinished());
+
+        CrawlFrontier capped = new CrawlFrontier(2);
+        for (int i = 0; i < 5; i++) {
+            capped.add(new FeedSpec("https://a.example/" + i, "A", 10, 0));
+        }
+        FeedSpec first = capped.poll();
+        capped.poll();
+        ok &= check("域名达到上限后不再出队", capped.poll() == null && capped.inFlight() == 2 && capped.queued() == 3);
+        capped.done(first);
+        ok &= check("完成一个后释放名额", capped.poll() != null && capped.poll() == null);
+
+        // --- 解析 ---
+        FeedSpec auto = new FeedSpec("https://example.com/feed", "X", 2, 0);
+        List<HotItem> json = FeedParser.parse(bytes("\n {\"data\":{\"list\":[{\"word\":\"一\",\"url\":\"u1\"},"
+                + "{\"word\":\"二\",\"url\":\"u2\"},{\"word\":\"三\",\"url\":\"u3\"}]}}"), auto);
+        ok &= check("JSON 接口按启发式解析并截断", json.size() == 2 && json.get(1).getTitle().equals("二"));
+        List<HotItem> rss = FeedParser.parse(bytes("\uFEFF<?xml version=\"1.0\"?><rss><channel><title>频道</title>"
+                + "<item><title>第一条 &amp; 更多</title><link>https://example.com/1</link></item>"
+                + "<item><title><![CDATA[第二条]]></title><link>https://example.com/2</link></item></channel></rss>"), auto);
+        ok &= check("RSS 解析（不含频道标题）", rss.size() == 2 && rss.get(0).getTitle().equals("第一条 & 更多")
+                && rss.get(1).getTitle().equals("第二条") && rss.get(1).getLink().equals("https://example.com/2"));
+        List<HotItem> atom = FeedParser.parse(bytes("<feed xmlns=\"http://www.w3.org/2005/Atom\"><title>站点</title>"
+                + "<entry><title>Atom 条目</title><link rel=\"edit\" href=\"/edit/1\"/><link rel=\"alternate\" href=\"/posts/1\"/></entry>"
+                + "</feed>"), auto);
+        ok &= check("Atom 解析并补全相对链接", atom.size() == 1
+                && atom.get(0).getLink().equals("https://example.com/posts/1"));
+
+        ok &= check("订阅列表校验", rejects("[{\"url\":\"ftp://x/y\",\"category\":\"A\"}]")
+                && rejects("[{\"url\":\"https://x/y\"}]")
+                && rejects("[{\"url\":\"https://x/y\",\"category\":\"A\",\"limit\":0}]")
+                && rejects("[{\"url\":\"https://x/y\",\"category\":\"A\",\"format\":\"csv\"}]")
+                && FeedList.load(bytes("[{\"url\":\"https://x/y\",\"category\":\"A\",\"format\":\"rss\"}]")).size() == 1);
+
+        // --- 本地桩服务器上的批量抓取 ---
+        System.setProperty("spider.rate.127.0.0.1", "10000/10000");
+        System.setProperty("spider.rate.localhost", "10000/10000");
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        Map<String, AtomicInteger> activeByHost = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> maxByHost = new ConcurrentHashMap<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress(0), 0);
+        ExecutorService pool = Executors.newCachedThreadPool();
+        server.setExecutor(pool);
+        server.createContext("/", ex -> {
+            String host = ex.getRequestHeaders().getFirst("Host").replaceAll(":\\d+$", "");
+            int now = active.incrementAndGet();
+            int nowHost = activeByHost.computeIfAbsent(host, h -> new AtomicInteger()).incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            maxByHost.computeIfAbsent(host, h -> new AtomicInteger()).accumulateAndGet(nowHost, Math::max);
+            try {
+                Thread.sleep(5);
+                String path = ex.getRequestURI().getPath();
+                if (path.endsWith("/500")) {
+                    respond(ex, 500, "");
+                } else if (path.endsWith(".xml")) {
+                    respond(ex, 200, "<rss><channel><item><title>" + path + "</title><link>" + path + "</link></item></channel></rss>");
+                } else {
+                    respond(ex, 200, "{\"data\":[{\"title\":\"" + path + "\",\"url\":\"" + path + "\"}]}");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                active.decrementAndGet();
+                activeByHost.get(host).decrementAndGet();
+            }
+        });
+        server.start();
+
+        Path tmp = Files.createTempDirectory("bulk-test");
+        try {
+            int port = server.getAddress().getPort();
+            List<FeedSpec> feeds = new ArrayList<>();
+            for (int i = 0; i < FEEDS; i++) {
+                String host = i % 3 == 0 ? "localhost" : "127.0.0.1";
+                String path = "/feed/" + i + (i % 2 == 0 ? ".xml" : ".json");
+                feeds.add(new FeedSpec("http://" + host + ":" + port + path, "栏目" + (i % 4), 10, i % 5));
+            }
+            feeds.add(new FeedSpec("http://127.0.0.1:" + port + "/feed/500", "栏目0", 10, 0));
+
+            BulkCrawler.Summary summary;
+            try (CategorySink sink = new CategorySink(tmp.resolve("out"))) {
+                summary = new BulkCrawler(CONCURRENCY, PER_HOST).run(feeds, sink);
+            }
+            System.out.println("  " + summary + ", max in flight " + maxActive.get() + ", per host " + maxByHost);
+            ok &= check("全部订阅源都有结果", summary.getSucceeded() == FEEDS && summary.getFailed() == 1
+                    && summary.getItems() == FEEDS);
+            ok &= check("全局同时在抓数不超过上限", maxActive.get() <= CONCURRENCY);
+            ok &= check("单个域名同时在抓数不超过上限", maxByHost.size() == 2
+                    && maxByHost.values().stream().allMatch(m -> m.get() <= PER_HOST));
+
+            JsonNode index = Json.readTree(Files.newInputStream(tmp.resolve("out").resolve("index.json")));
+            int lines = 0;
+            boolean grouped = true;
+            for (JsonNode c : index.get("categories")) {
+                List<String> rows = Files.readAllLines(tmp.resolve("out").resolve(c.get("file").asText()));
+                lines += rows.size();
+                grouped &= rows.size() == c.get("feeds").asInt();
+                int n = Integer.parseInt(c.get("name").asText().substring(2));
+                for (String row : rows) {
+                    String title = Json.readTree(bytes(row)).get("items").get(0).get("title").asText();
+                    grouped &= Integer.parseInt(title.replaceAll("\\D", "")) % 4 == n;
+                }
+            }
+            ok &= check("每个订阅源一行、写入所属栏目", lines == FEEDS && grouped && index.get("categories").size() == 4);
+            ok &= check("失败的订阅源记入 index.json", index.get("failed").size() == 1
+                    && index.get("failed").get(0).get("url").asText().endsWith("/feed/500"));
+        } finally {
+            server.stop(0);
+            pool.shutdownNow();
+            try (var walk = Files.walk(tmp)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static ByteArrayInputStream bytes(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static boolean rejects(String list) throws IOException {
+        try {
+            FeedList.load(bytes(list));
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static void respond(HttpExchange ex, int code, String body) throws IOException {
+        byte[] b = body.getBytes(StandardCharsets.UTF_8);
+        ex.sendResponseHeaders(code, b.length == 0 ? -1 : b.length);
+        try (OutputStream out = ex.getResponseBody()) {
+            out.write(b);
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
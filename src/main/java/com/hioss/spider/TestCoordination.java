@@ -0,0 +1,97 @@
+package com.hioss.spider;
+
+import com.hioss.spider.coord.CoordDir;
+import com.hioss.spider.coord.CrawlWorker;
+import com.hioss.spider.coord.PartMerger;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSource;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试：多进程协同抓取
+ * 启动 3 个 worker 子进程抓取 6 个模拟来源（每个耗时 1 秒），
+ * 在第一个 worker 持有租约时将其强制杀掉，检查其余 worker 接手后合并结果完整。
+ */
+public class TestCoordination {
+
+    private static final String DATE = "2000-01-01";
+    private static final int WORKERS = 3;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && "--worker".equals(args[0])) {
+            runWorker(Paths.get(args[1]), args[2]);
+            return;
+        }
+
+        System.out.println("开始测试 多进程协同抓取...");
+        Path base = Files.createTempDirectory("coord-test");
+
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String cp = System.getProperty("java.class.path");
+        List<Process> workers = new ArrayList<>();
+        for (int i = 0; i < WORKERS; i++) {
+            workers.add(new ProcessBuilder(java, "-cp", cp, TestCoordination.class.getName(),
+                    "--worker", base.toString(), "w" + i)
+                    .inheritIO()
+                    .start());
+        }
+
+        // 等 worker 都领到租约后，杀掉第一个
+        Thread.sleep(700);
+        workers.get(0).destroyForcibly();
+        System.out.println("已强制结束 w0");
+
+        for (Process p : workers) {
+            if (!p.waitFor(60, TimeUnit.SECONDS)) {
+                p.destroyForcibly();
+            }
+        }
+
+        Map<String, List<HotItem>> merged = PartMerger.merge(new CoordDir(base, DATE), fakeSources(null),
+                Duration.ofSeconds(5));
+
+        System.out.println("--------------------------------------------------");
+        boolean ok = merged.size() == fakeSources(null).size();
+        for (Map.Entry<String, List<HotItem>> e : merged.entrySet()) {
+            String by = e.getValue().isEmpty() ? "(缺失)" : e.getValue().get(0).getTitle();
+            System.out.println(e.getKey() + " -> " + by);
+            ok &= !e.getValue().isEmpty() && !by.endsWith("w0");
+        }
+        System.out.println("--------------------------------------------------");
+        System.out.println("测试结束：" + (ok ? "通过" : "失败"));
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static void runWorker(Path base, String workerId) throws Exception {
+        new CrawlWorker(new CoordDir(base, DATE), workerId, fakeSources(workerId), Duration.ofSeconds(30)).run();
+    }
+
+    /**
+     * 模拟来源：耗时 1 秒，标题记录抓取它的 worker
+     */
+    private static List<NewsSource> fakeSources(String workerId) {
+        List<NewsSource> list = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            String key = "s" + i;
+            list.add(new NewsSource(key, "来源" + i, () -> {
+                try {
+                    Thread.sleep(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return List.of(new HotItem(key + " by " + workerId, "https://example.com/" + key));
+            }));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,180 @@
+package com.hioss.spider;
+
+import com.hioss.spider.archive.HeadlineArchive;
+import com.hioss.spider.compress.DictCodec;
+import com.hioss.spider.compress.DictionaryTrainer;
+import com.hioss.spider.compress.PresetDictionary;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 测试：预置字典压缩与归档
+ * 用 docs/data 中的 NewsPage 检查编码往返、字典版本 / 内容不符与数据截断时报错、
+ * 用前几天训练的字典压缩之后几天比 gzip 小；再在临时目录检查归档够天数后自动训练、旧的未压缩 .json 可读与整体重写。
+ */
+public class TestDictCodec {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 预置字典压缩...");
+        List<Path> files;
+        try (var stream = Files.list(Paths.get("docs/data"))) {
+            files = stream.filter(p -> p.getFileName().toString().matches("NewsPage-.*\\.json")).sorted().toList();
+        }
+        if (files.size() < HeadlineArchive.MIN_TRAINING_PAGES + 2) {
+            System.out.println("[FAIL] docs/data 中的 NewsPage 不足 " + (HeadlineArchive.MIN_TRAINING_PAGES + 2) + " 份");
+            System.exit(1);
+        }
+        List<byte[]> pages = new ArrayList<>();
+        for (Path p : files) {
+            pages.add(Files.readAllBytes(p));
+        }
+        List<byte[]> training = pages.subList(0, pages.size() - 2);
+        List<byte[]> heldOut = pages.subList(pages.size() - 2, pages.size());
+        boolean ok = true;
+
+        byte[] trained = DictionaryTrainer.train(training, DictionaryTrainer.MAX_SIZE);
+        PresetDictionary dict = new PresetDictionary(1, trained);
+        ok &= check("字典不超过 32 KiB", dict.size() > 0 && dict.size() <= DictionaryTrainer.MAX_SIZE);
+
+        byte[] page = heldOut.get(0);
+        byte[] plain = DictCodec.encode(page, null);
+        byte[] encoded = DictCodec.encode(page, dict);
+        ok &= check("无字典往返", DictCodec.version(plain) == 0 && Arrays.equals(DictCodec.decode(plain, v -> null), page));
+        ok &= check("有字典往返", DictCodec.version(encoded) == 1 && Arrays.equals(DictCodec.decode(encoded, v -> dict), page));
+        ok &= check("空内容往返", DictCodec.decode(DictCodec.encode(new byte[0], dict), v -> dict).length == 0);
+
+        PresetDictionary other = new PresetDictionary(1, Arrays.copyOf(trained, trained.length - 1));
+        ok &= check("字典缺失时报错", fails(() -> DictCodec.decode(encoded, v -> null)));
+        ok &= check("字典内容不符时报错（Adler-32）", fails(() -> DictCodec.decode(encoded, v -> other)));
+        ok &= check("数据截断时报错", fails(() -> DictCodec.decode(Arrays.copyOf(encoded, encoded.length / 2), v -> dict)));
+        ok &= check("非本格式数据报错", fails(() -> DictCodec.decode(gzip(page), v -> dict)));
+
+        long raw = 0;
+        long gz = 0;
+        long wpz = 0;
+        for (byte[] p : heldOut) {
+            raw += p.length;
+            gz += gzip(p).length;
+            wpz += DictCodec.encode(p, dict).length;
+        }
+        System.out.printf("       未参与训练的 %d 天：原始 %d B，gzip %d B，预置字典 %d B（%.1f%%）%n",
+                heldOut.size(), raw, gz, wpz, 100.0 * wpz / gz);
+        ok &= check("未参与训练的页面比 gzip 至少小 10%", wpz < gz * 0.9);
+
+        ok &= archive(files);
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 归档：不够天数时不用字典；够天数时 saveAll 先训练第一版；旧 .json 可读，recompress 全部换成最新字典
+     */
+    private static boolean archive(List<Path> files) throws Exception {
+        Path tmp = Files.createTempDirectory("dict-test");
+        boolean ok = true;
+        try {
+            int few = HeadlineArchive.MIN_TRAINING_PAGES - 2;
+            Path data = tmp.resolve("data");
+            Files.createDirectories(data);
+            for (Path p : files.subList(0, few)) {
+                Files.copy(p, data.resolve(p.getFileName()));
+            }
+            HeadlineArchive archive = new HeadlineArchive(tmp.resolve("archive"));
+            ok &= check("不够天数：saveAll 写入 " + few + " 天", archive.saveAll(data) == few);
+            ok &= check("不够天数：不训练字典", archive.dictionary() == null
+                    && versions(archive).stream().allMatch(v -> v == 0));
+
+            // 一份旧格式的未压缩页面
+            Path legacy = files.get(few);
+            Files.copy(legacy, archive.page(date(legacy)).resolveSibling(legacy.getFileName()));
+            ok &= check("旧 .json 可读", Arrays.equals(archive.load(archive.pages().get(date(legacy))), Files.readAllBytes(legacy)));
+
+            for (Path p : files) {
+                Files.copy(p, data.resolve(p.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            }
+            // 与已归档内容相同的旧 .json 不重写，留给 recompress
+            int written = archive.saveAll(data);
+            PresetDictionary dict = archive.dictionary();
+            ok &= check("够天数：saveAll 训练 v1 并写入新页面", dict != null && dict.getVersion() == 1
+                    && written == files.size() - few - 1);
+            ok &= check("新页面使用 v1", versions(archive).stream().filter(v -> v == 1).count() == files.size() - few - 1);
+
+            ok &= check("recompress 重写早先的 " + (few + 1) + " 天", archive.recompress() == few + 1
+                    && versions(archive).stream().allMatch(v -> v == 1));
+            ok &= check("旧 .json 被压缩版替换", !Files.exists(archive.page(date(legacy)).resolveSibling(legacy.getFileName())));
+            ok &= check("再次 recompress 不重写", archive.recompress() == 0);
+            boolean same = true;
+            for (Path p : files) {
+                same &= Arrays.equals(archive.load(archive.page(date(p))), Files.readAllBytes(p));
+            }
+            ok &= check("压缩后内容与原文一致", same);
+            ok &= check("内容未变时不重复写", archive.saveAll(data) == 0);
+            ok &= check("索引可从压缩页面建立", archive.rebuild().getDateCount() == files.size());
+        } finally {
+            try (var walk = Files.walk(tmp)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+        return ok;
+    }
+
+    /**
+     * 各归档页面的字典版本（未压缩的 .json 记 -1）
+     */
+    private static List<Integer> versions(HeadlineArchive archive) throws IOException {
+        List<Integer> out = new ArrayList<>();
+        for (Map.Entry<LocalDate, Path> e : archive.pages().entrySet()) {
+            byte[] b = Files.readAllBytes(e.getValue());
+            out.add(DictCodec.isEncoded(b) ? DictCodec.version(b) : -1);
+        }
+        return out;
+    }
+
+    private static LocalDate date(Path newsPage) {
+        String name = newsPage.getFileName().toString();
+        return LocalDate.parse(name.substring("NewsPage-".length(), "NewsPage-".length() + 10));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private static boolean fails(Action action) {
+        try {
+            action.run();
+            return false;
+        } catch (IOException e) {
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.hioss.spider;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.edition.Edition;
+import com.hioss.spider.edition.EditionRunner;
+import com.hioss.spider.edition.Editions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试：多版面共用一次抓取
+ * 用计数的假抓取（每次耗时 200ms，让各版面的请求确实重叠）跑 editions.json 中的全部版面，
+ * 检查每个来源只抓一次、各版面的栏目与条数限制，以及版面之间的条目互不影响。
+ */
+public class TestEditionRunner {
+
+    public static void main(String[] args) {
+        System.out.println("开始测试 多版面抓取去重...");
+
+        Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+        EditionRunner runner = new EditionRunner(key -> {
+            calls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            List<HotItem> items = new ArrayList<>();
+            for (int i = 1; i <= 10; i++) {
+                items.add(new HotItem(key + " 标题 " + i, "https://example.com/" + key + "/" + i));
+            }
+            return items;
+        });
+
+        long start = System.nanoTime();
+        Map<Edition, Map<String, List<HotItem>>> pages = runner.run(Editions.ALL);
+        long ms = (System.nanoTime() - start) / 1_000_000;
+
+        boolean ok = true;
+        List<String> keys = Editions.sourceKeys(Editions.ALL);
+        ok &= check("每个来源只抓一次 " + calls, calls.size() == keys.size()
+                && calls.values().stream().allMatch(c -> c.get() == 1)
+                && runner.getFetchCount() == keys.size());
+
+        for (Map.Entry<Edition, Map<String, List<HotItem>>> e : pages.entrySet()) {
+            Edition edition = e.getKey();
+            StringBuilder sb = new StringBuilder();
+            e.getValue().forEach((cat, items) -> sb.append(cat).append('=').append(items.size()).append(' '));
+            System.out.println("  " + edition.getName() + " (" + (edition.isDefault() ? "docs/data" : "docs/data/" + edition.getDir()) + "): " + sb);
+            ok &= check(edition.getName() + " 栏目数与配置一致", e.getValue().size() == edition.getSources().size());
+        }
+
+        Edition general = Editions.defaultEdition();
+        Edition tech = pages.keySet().stream().filter(e -> e.getName().equals("tech")).findFirst().orElseThrow();
+        ok &= check("tech 的 BBC 限 5 条", pages.get(tech).get("BBC中文网热点").size() == 5
+                && pages.get(tech).get("IT之家日榜").size() == 10);
+
+        // 一个版面里改写条目（如聚类去空白）不影响其他版面
+        pages.get(general).get("BBC中文网热点").get(0).setTitle("改写");
+        ok &= check("版面之间条目独立", pages.get(tech).get("BBC中文网热点").get(0).getTitle().equals("bbc 标题 1")
+                && runner.get("bbc").get(0).getTitle().equals("bbc 标题 1"));
+
+        System.out.println("耗时 " + ms + " ms（" + keys.size() + " 个来源、" + pages.size() + " 个版面）");
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
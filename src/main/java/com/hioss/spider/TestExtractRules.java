@@ -0,0 +1,80 @@
+package com.hioss.spider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.extract.ExtractRules;
+import com.hioss.spider.extract.JsonExtractor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试：声明式抽取规则
+ * 检查微博规则的广告过滤与原先 asInt(0) == 1 的写法一致（1、true、1.0、"1" 都跳过，0、false 保留），
+ * 标题 / 链接按字段顺序回退、链接模板做 URL 编码、热度值解析、条数上限，
+ * 以及用 fixtures 样本抽取时跳过广告位、不超过 limit 条。
+ */
+public class TestExtractRules {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 抽取规则...");
+        Path fixtures = Paths.get(args.length > 0 ? args[0] : "fixtures");
+        JsonExtractor weibo = ExtractRules.json("weibo");
+        boolean ok = true;
+
+        // 1. 广告标记：数值与布尔按值比较
+        JsonNode root = MAPPER.readTree("{\"data\":{\"realtime\":["
+                + "{\"word\":\"整数广告\",\"is_ad\":1},"
+                + "{\"word\":\"布尔广告\",\"is_ad\":true},"
+                + "{\"word\":\"浮点广告\",\"is_ad\":1.0},"
+                + "{\"word\":\"文本广告\",\"is_ad\":\"1\"},"
+                + "{\"word\":\"话题广告\",\"topic_ad\":true},"
+                + "{\"word\":\"普通一\",\"is_ad\":0,\"num\":\"123万\"},"
+                + "{\"word\":\"普通二\",\"is_ad\":false},"
+                + "{\"word\":\"普通三\",\"is_ad\":null},"
+                + "{\"note\":\"带注释 & 空格\",\"word\":\"普通四\"}"
+                + "]}}");
+        List<HotItem> items = weibo.extract(root);
+        List<String> titles = new ArrayList<>();
+        items.forEach(i -> titles.add(i.getTitle()));
+        System.out.println("  " + titles);
+        ok &= check("广告标记 1 / true / 1.0 / \"1\" 都跳过", titles.stream().noneMatch(t -> t.endsWith("广告")));
+        ok &= check("0 / false / null / 缺省保留", titles.equals(List.of("普通一", "普通二", "普通三", "带注释 & 空格")));
+        ok &= check("链接模板做 URL 编码", items.get(3).getLink()
+                .equals("https://s.weibo.com/weibo?q=%E5%B8%A6%E6%B3%A8%E9%87%8A+%26+%E7%A9%BA%E6%A0%BC"));
+        ok &= check("热度值解析 " + items.get(0).getHeat(), items.get(0).getHeat() == 1230000);
+
+        // 2. 条数上限
+        StringBuilder many = new StringBuilder("{\"data\":{\"realtime\":[");
+        for (int i = 0; i < 30; i++) {
+            many.append(i == 0 ? "" : ",").append("{\"word\":\"第").append(i).append("条\"}");
+        }
+        many.append("]}}");
+        ok &= check("最多保留 10 条", weibo.extract(MAPPER.readTree(many.toString())).size() == 10);
+        ok &= check("路径不存在时为空", weibo.extract(MAPPER.readTree("{\"ok\":0}")).isEmpty());
+
+        // 3. fixtures 样本：跳过广告位
+        Path sample = fixtures.resolve("weibo.json");
+        if (Files.isRegularFile(sample)) {
+            List<HotItem> fromFixture = weibo.extract(MAPPER.readTree(sample.toFile()));
+            ok &= check("样本抽取 10 条且不含广告位", fromFixture.size() == 10
+                    && fromFixture.stream().noneMatch(i -> i.getTitle().startsWith("推广")));
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
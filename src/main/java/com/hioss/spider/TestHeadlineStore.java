@@ -0,0 +1,136 @@
+package com.hioss.spider;
+
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.store.HeadlineStore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试：列式内存热榜存储
+ * 检查字符串池去重（多个快照中的相同标题只存一份）、NewsPage 写出再读入后各字段一致、
+ * 视图只读，并把 docs/data 下的 NewsPage-*.json 全部读入，核对条目总数。
+ */
+public class TestHeadlineStore {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 HeadlineStore...");
+        boolean ok = true;
+
+        // 1. 字符串池去重：两天中重复的标题、链接只存一份
+        HeadlineStore store = new HeadlineStore();
+        Map<String, List<HotItem>> day1 = new LinkedHashMap<>();
+        day1.put("甲栏", List.of(item("标题一", "https://a/1"), item("标题二", "https://a/2")));
+        day1.put("乙栏", List.of(item("标题三", "https://b/3")));
+        Map<String, List<HotItem>> day2 = new LinkedHashMap<>();
+        day2.put("甲栏", List.of(item("标题二", "https://a/2"), item("标题四", "https://a/4")));
+        day2.put("乙栏", List.of(item("标题一", "https://b/1")));
+        HeadlineStore.Snapshot s1 = store.put("2026-10-18", day1);
+        HeadlineStore.Snapshot s2 = store.put("2026-10-19", day2);
+        ok &= check("去重标题数 " + store.uniqueTitles(), store.uniqueTitles() == 4);
+        ok &= check("去重链接数 " + store.uniqueLinks(), store.uniqueLinks() == 5);
+        ok &= check("条目总数 " + store.totalItems(), store.totalItems() == 6);
+        ok &= check("相同标题共用编号", s1.titleId(0) == s2.titleId(2) && s1.titleId(1) == s2.titleId(0));
+        ok &= check("最新与前一个快照", store.latest() == s2 && store.previous("2026-10-19") == s1);
+
+        // 2. 写出 NewsPage 再读入：名次、标题、链接、聚类结果与热度值一致
+        Map<String, List<HotItem>> page = new LinkedHashMap<>();
+        page.put("微博", List.of(item("银行能办结婚证了", "https://w/1", 3, 2, 1200000),
+                item("女子凌晨倒24瓶爱心水", "https://w/2", 0, 0, 980000)));
+        page.put("百度", List.of(item("银行可以办结婚证", "https://b/1", 3, 2, 4900000)));
+        page.put("BBC", List.of(item("Headline", "https://bbc/1")));
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        NewsPageWriter.writeNewsPage(buf, "2026-10-20", page);
+        HeadlineStore.Snapshot s3 = store.load("2026-10-20", new ByteArrayInputStream(buf.toByteArray()));
+        ok &= check("栏目与顺序一致 " + s3.categories(), s3.categories().equals(new ArrayList<>(page.keySet())));
+        boolean same = true;
+        for (Map.Entry<String, List<HotItem>> e : page.entrySet()) {
+            List<HotItem> view = s3.items(e.getKey());
+            same &= view.size() == e.getValue().size();
+            for (int i = 0; same && i < view.size(); i++) {
+                HotItem a = e.getValue().get(i);
+                HotItem b = view.get(i);
+                same &= a.getTitle().equals(b.getTitle()) && a.getLink().equals(b.getLink())
+                        && a.getCluster() == b.getCluster() && a.getSources() == b.getSources()
+                        && a.getHeat() == b.getHeat();
+            }
+        }
+        ok &= check("读入后各字段一致", same);
+        ok &= check("按行取值一致", s3.rank(1) == 2 && s3.cluster(0) == 3 && s3.spread(0) == 2
+                && s3.heat(2) == 4900000 && s3.source(2).equals("百度"));
+        ok &= check("不存在的栏目为空列表", s3.items("没有").isEmpty());
+
+        // 3. 视图只读：列表与条目的所有修改都抛异常
+        List<HotItem> view = s3.items("微博");
+        HotItem pooled = view.get(0);
+        boolean readOnly = rejects(() -> view.add(new HotItem()))
+                & rejects(() -> pooled.setTitle("x"))
+                & rejects(() -> pooled.setLink("x"))
+                & rejects(() -> pooled.setCluster(9))
+                & rejects(() -> pooled.setSources(9))
+                & rejects(() -> pooled.setHeat(9));
+        ok &= check("视图只读", readOnly && pooled.getCluster() == 3 && pooled.getHeat() == 1200000);
+
+        // 4. docs/data 下的全部 NewsPage
+        Path dataDir = Paths.get("docs", "data");
+        if (Files.isDirectory(dataDir)) {
+            HeadlineStore all = new HeadlineStore();
+            final List<Path> files;
+            try (var stream = Files.list(dataDir)) {
+                files = stream
+                        .filter(f -> f.getFileName().toString().matches("NewsPage-\\d{4}-\\d{2}-\\d{2}\\.json"))
+                        .sorted()
+                        .toList();
+            }
+            int expected = 0;
+            for (Path f : files) {
+                all.load(f.getFileName().toString().substring(9, 19), f);
+                expected += NewsPageReader.read(f).values().stream().mapToInt(List::size).sum();
+            }
+            System.out.println("docs/data：快照 " + all.snapshots().size() + "，条目 " + all.totalItems()
+                    + "，去重标题 " + all.uniqueTitles() + "，去重链接 " + all.uniqueLinks());
+            ok &= check("docs/data 全部读入", all.snapshots().size() == files.size() && all.totalItems() == expected
+                    && all.uniqueTitles() <= expected);
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static HotItem item(String title, String link) {
+        return new HotItem(title, link);
+    }
+
+    private static HotItem item(String title, String link, int cluster, int sources, long heat) {
+        HotItem i = new HotItem(title, link);
+        i.setCluster(cluster);
+        i.setSources(sources);
+        i.setHeat(heat);
+        return i;
+    }
+
+    private static boolean rejects(Runnable action) {
+        try {
+            action.run();
+            return false;
+        } catch (UnsupportedOperationException e) {
+            return true;
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
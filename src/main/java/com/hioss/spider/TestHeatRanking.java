@@ -0,0 +1,117 @@
+package com.hioss.spider;
+
+import com.hioss.spider.cluster.StoryClusterer;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.GetBaiduNews;
+import com.hioss.spider.news.GetToutiaoNews;
+import com.hioss.spider.news.GetWeiboNews;
+import com.hioss.spider.rank.HeatRanking;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 测试：综合热榜
+ * 检查 fixtures 样本中微博、头条、百度的热度值能否抽出，不同量纲的栏目校准后能否公平归并，
+ * 同一事件只保留一条，热度值经 NewsPage 写出再读回保持不变。
+ */
+public class TestHeatRanking {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 综合热榜...");
+        boolean ok = true;
+
+        // 1. 抽取热度值
+        List<HotItem> weibo;
+        List<HotItem> toutiao;
+        List<HotItem> baidu;
+        try (InputStream in = Files.newInputStream(Paths.get("fixtures/weibo.json"))) {
+            weibo = GetWeiboNews.parse(in);
+        }
+        try (InputStream in = Files.newInputStream(Paths.get("fixtures/toutiao.json"))) {
+            toutiao = GetToutiaoNews.parse(in);
+        }
+        try (InputStream in = Files.newInputStream(Paths.get("fixtures/baidu.html"))) {
+            baidu = GetBaiduNews.parse(in);
+        }
+        ok &= check("微博热度 " + first(weibo), !weibo.isEmpty() && weibo.get(0).getHeat() == 1200000);
+        ok &= check("头条热度（字符串） " + first(toutiao), !toutiao.isEmpty() && toutiao.get(0).getHeat() == 30000000);
+        ok &= check("百度热搜指数 " + first(baidu), !baidu.isEmpty() && baidu.get(0).getHeat() == 4900000);
+
+        // 2. 量纲差别很大的栏目：各栏目第一名分数相同，第二名不会因为原始热度大而排到别的栏目第一名前面
+        Map<String, List<HotItem>> sample = new LinkedHashMap<>();
+        sample.put("A", new ArrayList<>(List.of(
+                item("甲一", 900), item("甲二", 800), item("甲三", 100))));
+        sample.put("B", new ArrayList<>(List.of(
+                item("乙一", 90000000), item("乙二", 80000000), item("乙三", 10000000))));
+        sample.put("C", new ArrayList<>(List.of(
+                item("丙一", 0), item("丙二", 0))));
+        List<HotItem> top = HeatRanking.topK(sample, 4);
+        ok &= check("各栏目第一名先于第二名 " + titles(top),
+                top.size() == 4 && titles(top.subList(0, 3)).containsAll(List.of("甲一", "乙一", "丙一")));
+        ok &= check("综合热榜不带原始热度", top.stream().allMatch(i -> i.getHeat() == 0));
+
+        // 3. 同一事件在多个栏目出现：只保留一条
+        Map<String, List<HotItem>> dup = new LinkedHashMap<>();
+        dup.put("A", new ArrayList<>(List.of(
+                item("银行能办结婚证了", 500), item("四川一升学宴突发事故致5人死亡", 400))));
+        dup.put("B", new ArrayList<>(List.of(
+                item("女子凌晨倒24瓶爱心水只为拿走空瓶", 0), item("四川一升学宴突发事故5人死亡", 0))));
+        new StoryClusterer().annotate(dup);
+        Map<String, List<HotItem>> withCombined = HeatRanking.withCombined(dup, 10);
+        List<HotItem> combined = withCombined.get(HeatRanking.CATEGORY);
+        Set<Integer> clusters = new HashSet<>();
+        combined.forEach(i -> clusters.add(i.getCluster()));
+        ok &= check("综合热榜在最前 " + withCombined.keySet(),
+                withCombined.keySet().iterator().next().equals(HeatRanking.CATEGORY) && withCombined.size() == 3);
+        ok &= check("同一事件只保留一条 " + titles(combined),
+                combined.size() == 3 && clusters.size() == 3
+                        && combined.stream().filter(i -> i.getSources() == 2).count() == 1);
+        ok &= check("k=0 不生成", HeatRanking.withCombined(dup, 0) == dup);
+
+        // 4. 热度值随 NewsPage 写出、读回
+        Map<String, List<HotItem>> page = new LinkedHashMap<>();
+        page.put("微博热搜", weibo);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        NewsPageWriter.writeNewsPage(buf, "2026-10-19", page, Map.of());
+        Map<String, List<HotItem>> read = NewsPageReader.read(new ByteArrayInputStream(buf.toByteArray()));
+        ok &= check("热度值读回一致", read.get("微博热搜").get(0).getHeat() == weibo.get(0).getHeat());
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static HotItem item(String title, long heat) {
+        HotItem i = new HotItem(title, "https://example.com/" + title);
+        i.setHeat(heat);
+        return i;
+    }
+
+    private static String first(List<HotItem> items) {
+        return items.isEmpty() ? "(empty)" : items.get(0).getTitle() + " = " + items.get(0).getHeat();
+    }
+
+    private static List<String> titles(List<HotItem> items) {
+        List<String> out = new ArrayList<>();
+        items.forEach(i -> out.add(i.getTitle()));
+        return out;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,90 @@
+package com.hioss.spider;
+
+import com.hioss.spider.common.HostRateLimiter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 测试：按域名限速
+ * 检查同一域名的许可按速率依次放行、不同域名互不影响、容量内的突发立即放行，
+ * 以及子域名按后缀匹配到配置（各域名仍各自一个桶）。
+ */
+public class TestHostRateLimiter {
+
+    // 计时容差：延迟调度器与 CI 机器的抖动
+    private static final long SLACK_MS = 40;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 按域名限速...");
+        boolean ok = true;
+
+        // 1. 同一域名：10 次/秒、容量 1，5 个许可大约每 100ms 放行一个
+        HostRateLimiter limiter = new HostRateLimiter("default=1000/1000,a.test=10/1");
+        long start = System.nanoTime();
+        List<Long> times = elapsed(limiter, "https://a.test/x", 5, start);
+        System.out.println("a.test 放行时刻(ms)：" + times);
+        boolean spaced = true;
+        for (int i = 1; i < times.size(); i++) {
+            spaced &= times.get(i) - times.get(i - 1) >= 100 - SLACK_MS;
+        }
+        ok &= check("同一域名按速率间隔放行", spaced);
+        ok &= check("总耗时约 400ms", times.get(4) >= 400 - SLACK_MS && times.get(4) < 400 + 10 * SLACK_MS);
+
+        // 2. 不同域名互不影响：a.test 排满时 b.test 立即放行
+        CompletableFuture<?> queued = null;
+        for (int i = 0; i < 5; i++) {
+            queued = limiter.acquire("a.test");
+        }
+        start = System.nanoTime();
+        limiter.acquire("https://b.test/").get(1, TimeUnit.SECONDS);
+        long other = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ok &= check("a.test 排队时 b.test 立即放行（" + other + "ms）", other < SLACK_MS && !queued.isDone());
+        queued.join();
+
+        // 3. 突发：1 次/秒、容量 3，前 3 个立即放行，第 4 个约 1 秒后
+        limiter = new HostRateLimiter("c.test=1/3");
+        start = System.nanoTime();
+        times = elapsed(limiter, "c.test", 4, start);
+        System.out.println("c.test 放行时刻(ms)：" + times);
+        ok &= check("容量内的突发立即放行", times.get(2) < SLACK_MS);
+        ok &= check("超出容量后按速率等待", times.get(3) >= 1000 - SLACK_MS);
+
+        // 4. 子域名按后缀匹配到 c.test 的配置（1 次/秒、容量 3），各自一个桶
+        start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire("https://www.c.test/page");
+        }
+        CompletableFuture<Void> sub = limiter.acquire("https://www.c.test/page");
+        ok &= check("acquire 立即返回，不阻塞调用线程",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < SLACK_MS && !sub.isDone());
+        sub.join();
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        ok &= check("子域名按后缀匹配（第 4 个等待 " + waited + "ms）", waited >= 1000 - SLACK_MS);
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 连续申请 n 个许可，返回各自放行时距 start 的毫秒数
+     */
+    private static List<Long> elapsed(HostRateLimiter limiter, String host, int n, long start) {
+        List<CompletableFuture<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            futures.add(limiter.acquire(host).thenApply(v -> TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+        List<Long> out = new ArrayList<>();
+        futures.forEach(f -> out.add(f.join()));
+        return out;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,147 @@
+package com.hioss.spider;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hioss.spider.common.FetchMetrics;
+import com.hioss.spider.common.HttpFetcher;
+import com.hioss.spider.common.Json;
+import com.hioss.spider.raw.RawCapture;
+import com.hioss.spider.raw.RawEntry;
+import com.hioss.spider.raw.RawStore;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 测试：HttpFetcher 的压缩协商与流式解压
+ * 在本地启动一个桩服务器，分别返回 gzip / deflate（zlib 与裸流）/ 不压缩 的同一份 JSON，
+ * 检查解析结果一致，并打印每种响应的传输字节数与解压后字节数；
+ * 再在采集原始响应时检查：解析器只读一部分或解析失败，存下的仍是完整的解压后响应体。
+ */
+public class TestHttpFetcher {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 HttpFetcher 压缩协商...");
+
+        StringBuilder sb = new StringBuilder("{\"data\":[");
+        for (int i = 0; i < 200; i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"title\":\"热搜标题").append(i).append("\",\"url\":\"https://www.baidu.com/s?wd=")
+                    .append(i).append("\"}");
+        }
+        sb.append("]}");
+        byte[] json = sb.toString().getBytes(StandardCharsets.UTF_8);
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/gzip", ex -> respond(ex, "gzip", gzip(json)));
+        server.createContext("/deflate", ex -> respond(ex, "deflate", deflate(json, false)));
+        server.createContext("/raw-deflate", ex -> respond(ex, "deflate", deflate(json, true)));
+        server.createContext("/identity", ex -> {
+            // 客户端必须声明 Accept-Encoding，否则视为失败
+            String accept = ex.getRequestHeaders().getFirst("Accept-Encoding");
+            respond(ex, null, accept != null && accept.contains("gzip") ? json : new byte[0]);
+        });
+        server.start();
+
+        JsonNode expected = Json.readTree(new ByteArrayInputStream(json));
+        String base = "http://127.0.0.1:" + server.getAddress().getPort();
+        boolean ok = true;
+        try {
+            for (String path : new String[]{"/gzip", "/deflate", "/raw-deflate", "/identity"}) {
+                JsonNode actual = HttpFetcher.fetch("stub" + path,
+                        HttpFetcher.request(base + path).build(), Json::readTree);
+                boolean same = expected.equals(actual);
+                long wire = FetchMetrics.wireBytes("stub" + path);
+                long decoded = FetchMetrics.decodedBytes("stub" + path);
+                boolean bytesOk = decoded == json.length && ("/identity".equals(path) ? wire == decoded : wire < decoded);
+
+                System.out.println((same && bytesOk ? "OK   " : "FAIL ") + path
+                        + "  wire=" + wire + "  decoded=" + decoded);
+                ok &= same && bytesOk;
+            }
+
+            // 原始响应采集：边解析边复制
+            Path rawDir = Files.createTempDirectory("raw-fetch-test");
+            RawStore store = new RawStore(rawDir);
+            RawCapture capture = RawCapture.begin(store, "2026-10-19");
+            JsonNode captured = HttpFetcher.fetch("capture-full", HttpFetcher.request(base + "/gzip").build(), Json::readTree);
+            HttpFetcher.fetch("capture-partial", HttpFetcher.request(base + "/gzip").build(), in -> in.readNBytes(16));
+            boolean failed = false;
+            try {
+                HttpFetcher.fetch("capture-failed", HttpFetcher.request(base + "/deflate").build(), in -> {
+                    in.readNBytes(100);
+                    throw new IOException("parser failed");
+                });
+            } catch (IOException e) {
+                failed = true;
+            }
+            capture.finish();
+            Map<String, RawEntry> entries = store.latest(LocalDate.of(2026, 10, 19));
+            boolean captureOk = expected.equals(captured) && failed && entries.size() == 3;
+            for (RawEntry e : entries.values()) {
+                try (InputStream in = store.open(e.getSha256())) {
+                    captureOk &= Arrays.equals(in.readAllBytes(), json);
+                }
+            }
+            System.out.println((captureOk ? "OK   " : "FAIL ") + "raw capture (full / partial read / failed parse): "
+                    + entries.keySet());
+            ok &= captureOk;
+            try (var walk = Files.walk(rawDir)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(f -> f.toFile().delete());
+            }
+        } finally {
+            server.stop(0);
+        }
+
+        System.out.println("--------------------------------------------------");
+        System.out.print(FetchMetrics.summary());
+        System.out.println("测试结束：" + (ok ? "全部通过" : "存在失败"));
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static void respond(com.sun.net.httpserver.HttpExchange ex, String encoding, byte[] body) throws IOException {
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+        if (encoding != null) {
+            ex.getResponseHeaders().set("Content-Encoding", encoding);
+        }
+        ex.sendResponseHeaders(200, body.length);
+        try (OutputStream os = ex.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bos)) {
+            gz.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] data, boolean nowrap) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, nowrap);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(bos, deflater)) {
+            out.write(data);
+        } finally {
+            deflater.end();
+        }
+        return bos.toByteArray();
+    }
+}
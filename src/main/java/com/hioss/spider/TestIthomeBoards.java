@@ -0,0 +1,124 @@
+package com.hioss.spider;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.GetIthomeDailyNews;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.news.PageBoards;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 测试：IT之家日榜 / 周榜 / 月榜共用一次下载
+ * 用 fixtures/ithome.html 检查三个分栏各自解析、互不混入，页面没有分栏 id 时仍按旧做法取日榜，
+ * 以及三个来源取数时页面只下载一次、下载失败时不保留结果。
+ */
+public class TestIthomeBoards {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 IT之家多榜单...");
+        Path fixture = Paths.get(args.length > 0 ? args[0] : "fixtures", "ithome.html");
+        byte[] html = Files.readAllBytes(fixture);
+        boolean ok = true;
+
+        // 1. 三个分栏
+        List<HotItem> daily = parse(html, GetIthomeDailyNews.DAILY);
+        List<HotItem> weekly = parse(html, GetIthomeDailyNews.WEEKLY);
+        List<HotItem> monthly = parse(html, GetIthomeDailyNews.MONTHLY);
+        print("日榜", daily);
+        print("周榜", weekly);
+        print("月榜", monthly);
+        ok &= check("日榜取前 10 条", daily.size() == 10 && daily.get(0).getLink().endsWith("/0/801/000.htm"));
+        ok &= check("周榜从 d-2 开始", !weekly.isEmpty() && weekly.get(0).getLink().endsWith("/0/802/000.htm"));
+        ok &= check("月榜有条目", !monthly.isEmpty());
+        Set<String> links = new HashSet<>();
+        int total = 0;
+        for (List<HotItem> board : List.of(daily, weekly, monthly)) {
+            for (HotItem i : board) {
+                links.add(i.getLink());
+                total++;
+            }
+        }
+        ok &= check("三个榜单互不混入", links.size() == total);
+        ok &= check("日榜与单独解析一致",
+                titles(daily).equals(titles(GetIthomeDailyNews.parse(new ByteArrayInputStream(html)))));
+        ok &= check("来源表中的周榜解析一致",
+                titles(weekly).equals(titles(NewsSources.get(GetIthomeDailyNews.WEEKLY).parse(new ByteArrayInputStream(html)))));
+
+        // 2. 页面改版、没有分栏 id：“日榜”之后的链接都算日榜
+        String plain = new String(html, StandardCharsets.UTF_8).replaceAll("\\sid=\"d-\\d\"", "");
+        List<HotItem> fallback = parse(plain.getBytes(StandardCharsets.UTF_8), GetIthomeDailyNews.DAILY);
+        ok &= check("没有分栏 id 时取日榜", titles(fallback).equals(titles(daily)));
+        ok &= check("没有分栏 id 时周榜为空", parse(plain.getBytes(StandardCharsets.UTF_8), GetIthomeDailyNews.WEEKLY).isEmpty());
+
+        // 3. 三个来源只下载一次；下载失败不保留
+        AtomicInteger downloads = new AtomicInteger();
+        PageBoards boards = new PageBoards(() -> {
+            downloads.incrementAndGet();
+            try (InputStream in = new ByteArrayInputStream(html)) {
+                return Map.of(
+                        GetIthomeDailyNews.DAILY, GetIthomeDailyNews.parse(in, GetIthomeDailyNews.DAILY),
+                        GetIthomeDailyNews.WEEKLY, weekly,
+                        GetIthomeDailyNews.MONTHLY, monthly);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        int n = boards.board(GetIthomeDailyNews.DAILY).size() + boards.board(GetIthomeDailyNews.WEEKLY).size()
+                + boards.board(GetIthomeDailyNews.MONTHLY).size();
+        ok &= check("三个榜单共下载 " + downloads.get() + " 次", downloads.get() == 1 && n == total);
+        boards.board(GetIthomeDailyNews.DAILY).clear();
+        ok &= check("返回的列表是副本", boards.board(GetIthomeDailyNews.DAILY).size() == daily.size());
+
+        AtomicInteger failures = new AtomicInteger();
+        PageBoards failing = new PageBoards(() -> {
+            failures.incrementAndGet();
+            return Map.of();
+        });
+        List<HotItem> failedDaily = failing.board(GetIthomeDailyNews.DAILY);
+        List<HotItem> failedWeekly = failing.board(GetIthomeDailyNews.WEEKLY);
+        ok &= check("下载失败后重新下载", failures.get() == 2);
+        ok &= check("下载失败时各榜单为空列表", failedDaily != null && failedDaily.isEmpty()
+                && failedWeekly != null && failedWeekly.isEmpty());
+        PageBoards nothing = new PageBoards(() -> null);
+        List<HotItem> missing = nothing.board(GetIthomeDailyNews.MONTHLY);
+        ok &= check("没有结果时为空列表", missing != null && missing.isEmpty());
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static List<HotItem> parse(byte[] html, String board) throws Exception {
+        return GetIthomeDailyNews.parse(new ByteArrayInputStream(html), board);
+    }
+
+    private static List<String> titles(List<HotItem> items) {
+        List<String> out = new ArrayList<>();
+        items.forEach(i -> out.add(i.getTitle() + " " + i.getLink()));
+        return out;
+    }
+
+    private static void print(String name, List<HotItem> items) {
+        System.out.println(name + "（" + items.size() + " 条）");
+        for (HotItem i : items) {
+            System.out.println("  " + i.getTitle());
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
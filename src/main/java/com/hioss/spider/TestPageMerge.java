@@ -0,0 +1,145 @@
+package com.hioss.spider;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hioss.spider.cluster.StoryClusterer;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.edition.Edition;
+import com.hioss.spider.edition.Editions;
+import com.hioss.spider.edition.PageMerge;
+import com.hioss.spider.news.NewsSource;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.rank.HeatRanking;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试：局部刷新合并已有页面
+ * 用 fixtures 样本按完整抓取的做法发布默认版面，再只刷新微博，检查：
+ * 其余栏目的字节与原页面完全相同，微博栏目与综合热榜重新计算，
+ * 与其他栏目同一事件的新条目沿用已有簇编号，刷新了的栏目去掉旧结果标注，同样的结果再合并一次内容不变。
+ */
+public class TestPageMerge {
+
+    private static final String DATE = "2026-10-19";
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 局部刷新合并...");
+        Path fixtures = Paths.get(args.length > 0 ? args[0] : "fixtures");
+        Edition edition = Editions.defaultEdition();
+        boolean ok = true;
+
+        // 1. 按完整抓取发布：聚类、综合热榜、微博沿用旧结果
+        Map<String, List<HotItem>> fetched = new HashMap<>();
+        for (String key : edition.getSources()) {
+            NewsSource s = NewsSources.get(key);
+            fetched.put(key, s.parse(new ByteArrayInputStream(fixture(fixtures, s.getPage()))));
+        }
+        // 微博与百度第一条是同一事件：发布的页面中百度第一条带簇编号
+        HotItem first = fetched.get("baidu").get(0);
+        fetched.get("weibo").add(0, new HotItem(first.getTitle(), "https://s.weibo.com/weibo?q=first"));
+        Map<String, List<HotItem>> categories = edition.categories(fetched::get);
+        new StoryClusterer().annotate(categories);
+        categories = HeatRanking.withCombined(categories, edition.getCombined());
+        String weibo = NewsSources.get("weibo").getCategory();
+        String baidu = NewsSources.get("baidu").getCategory();
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        NewsPageWriter.writeNewsPage(buf, DATE, categories, Map.of(weibo, 1760000000000L));
+        byte[] page = buf.toByteArray();
+
+        // 2. 只刷新微博：第一条与百度第一条是同一事件，其余是新条目
+        HotItem same = categories.get(baidu).get(0);
+        List<HotItem> refreshed = new ArrayList<>();
+        refreshed.add(new HotItem(same.getTitle(), "https://s.weibo.com/weibo?q=same"));
+        refreshed.add(new HotItem("局部刷新测试条目甲", "https://s.weibo.com/weibo?q=a"));
+        refreshed.add(new HotItem("火星探测器传回首张彩色照片", "https://s.weibo.com/weibo?q=b"));
+        PageMerge merged = PageMerge.merge(edition, DATE, Map.of("weibo", refreshed),
+                () -> new ByteArrayInputStream(page));
+        byte[] out = merged.getBytes();
+
+        boolean identical = true;
+        for (String category : categories.keySet()) {
+            if (category.equals(weibo) || category.equals(HeatRanking.CATEGORY)) {
+                continue;
+            }
+            byte[] before = slice(page, category);
+            boolean equal = before != null && Arrays.equals(before, slice(out, category));
+            if (!equal) {
+                System.out.println("  栏目字节不同：" + category);
+            }
+            identical &= equal;
+        }
+        ok &= check("其余栏目字节不变", identical);
+
+        Map<String, Long> stale = new HashMap<>();
+        Map<String, List<HotItem>> read = NewsPageReader.read(new ByteArrayInputStream(out), stale);
+        ok &= check("栏目与顺序不变", new ArrayList<>(read.keySet()).equals(new ArrayList<>(categories.keySet())));
+        List<HotItem> newWeibo = read.get(weibo);
+        ok &= check("微博栏目为新结果", newWeibo.size() == 3 && newWeibo.get(1).getTitle().equals("局部刷新测试条目甲"));
+        ok &= check("同一事件沿用百度的簇编号",
+                newWeibo.get(0).getCluster() == same.getCluster() && newWeibo.get(0).getSources() == 2);
+        int maxOld = NewsPageReader.read(new ByteArrayInputStream(page)).values().stream()
+                .flatMap(List::stream).mapToInt(HotItem::getCluster).max().orElse(0);
+        // 只在一个栏目上榜的新事件不写出簇编号，取合并结果中的
+        List<HotItem> mergedWeibo = merged.getCategories().get(weibo);
+        ok &= check("新事件的簇编号接在已有编号之后", mergedWeibo.get(1).getCluster() > maxOld
+                && mergedWeibo.get(2).getCluster() > mergedWeibo.get(1).getCluster() && newWeibo.get(1).getCluster() == 0);
+        ok &= check("综合热榜重新计算", !Arrays.equals(slice(page, HeatRanking.CATEGORY), slice(out, HeatRanking.CATEGORY))
+                && read.get(HeatRanking.CATEGORY).stream().anyMatch(i -> i.getTitle().equals("局部刷新测试条目甲")));
+        ok &= check("刷新了的栏目去掉旧结果标注", stale.isEmpty());
+
+        // 3. 同样的结果再合并一次：内容不变（局部刷新不重写文件）
+        PageMerge again = PageMerge.merge(edition, DATE, Map.of("weibo", refreshed), () -> new ByteArrayInputStream(out));
+        ok &= check("再次合并内容不变", Arrays.equals(out, again.getBytes()));
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * 文档中某个栏目条目数组的原始字节
+     */
+    private static byte[] slice(byte[] doc, String category) throws Exception {
+        try (JsonParser p = NewsPageReader.newParser(new ByteArrayInputStream(doc))) {
+            p.nextToken();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                long from = p.getTokenLocation().getByteOffset();
+                p.skipChildren();
+                if (field.equals(category)) {
+                    return Arrays.copyOfRange(doc, (int) from, (int) p.getCurrentLocation().getByteOffset());
+                }
+            }
+        }
+        return null;
+    }
+
+    private static byte[] fixture(Path dir, String key) throws Exception {
+        for (String ext : new String[]{".json", ".xml", ".html"}) {
+            Path p = dir.resolve(key + ext);
+            if (Files.isRegularFile(p)) {
+                return Files.readAllBytes(p);
+            }
+        }
+        throw new IllegalStateException("No fixture for " + key);
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,138 @@
+package com.hioss.spider;
+
+import com.hioss.spider.checkpoint.SourceCheckpoints;
+import com.hioss.spider.common.SourceResultFiles;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+import com.hioss.spider.edition.EditionRunner;
+import com.hioss.spider.edition.Editions;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 测试：来源检查点与中断后续跑
+ * 第一次运行在最后一个来源处抛异常（模拟进程中途退出），其余来源的检查点应已写出；
+ * 第二次运行同一天只抓那一个来源。再检查过期、空结果、读不出的检查点不复用，以及换日后清理旧目录。
+ */
+public class TestSourceCheckpoints {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 来源检查点...");
+        Path tmp = Files.createTempDirectory("checkpoint-test");
+        boolean ok = true;
+        try {
+            List<String> keys = Editions.sourceKeys(Editions.ALL);
+            String last = keys.get(keys.size() - 1);
+            Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+            Function<String, List<HotItem>> fetcher = key -> {
+                calls.computeIfAbsent(key, k -> new AtomicInteger()).incrementAndGet();
+                return items(key);
+            };
+
+            // 1) 最后一个来源抓取时“崩溃”
+            SourceCheckpoints first = new SourceCheckpoints(tmp, "2026-08-22", Duration.ofHours(1));
+            boolean crashed = false;
+            try {
+                new EditionRunner(first.wrap(key -> {
+                    if (key.equals(last)) {
+                        // 等其他来源都完成后再“崩溃”（各版面并发，最后一个来源未必最后被请求）
+                        awaitCheckpoints(first, keys.subList(0, keys.size() - 1));
+                        throw new IllegalStateException("killed");
+                    }
+                    return fetcher.apply(key);
+                })).run(Editions.ALL);
+            } catch (RuntimeException e) {
+                crashed = true;
+            }
+            ok &= check("第一次运行中断", crashed);
+            long written = keys.stream().filter(k -> Files.exists(first.file(k))).count();
+            ok &= check("已完成的 " + (keys.size() - 1) + " 个来源都有检查点", written == keys.size() - 1
+                    && !Files.exists(first.file(last)));
+
+            // 2) 同一天续跑：只抓缺失的来源
+            calls.clear();
+            SourceCheckpoints resumed = new SourceCheckpoints(tmp, "2026-08-22", Duration.ofHours(1));
+            EditionRunner runner = new EditionRunner(resumed.wrap(fetcher));
+            Map<?, Map<String, List<HotItem>>> pages = runner.run(Editions.ALL);
+            ok &= check("续跑只抓 " + last + "：" + calls.keySet(), calls.keySet().equals(Set.of(last)));
+            ok &= check("复用 " + (keys.size() - 1) + " 个检查点", resumed.getReused().size() == keys.size() - 1);
+            ok &= check("续跑结果完整", pages.values().stream().allMatch(p -> p.values().stream().noneMatch(List::isEmpty)));
+            ok &= check("检查点条目与原抓取一致",
+                    titles(resumed.fresh(keys.get(0)).getItems()).equals(titles(items(keys.get(0)))));
+
+            // 3) 过期的检查点不复用
+            String key = keys.get(0);
+            SourceResult old = SourceResultFiles.read(resumed.file(key));
+            old.setFetchedAt(System.currentTimeMillis() - Duration.ofHours(2).toMillis());
+            SourceResultFiles.write(resumed.file(key), old);
+            ok &= check("超过有效期的检查点不复用", resumed.fresh(key) == null);
+            calls.clear();
+            resumed.wrap(fetcher).apply(key);
+            ok &= check("过期后重新抓取并刷新检查点", calls.containsKey(key) && resumed.fresh(key) != null);
+
+            // 4) 空结果（抓取失败）不写检查点；读不出的检查点视为不存在
+            SourceCheckpoints other = new SourceCheckpoints(tmp, "2026-08-23", Duration.ofHours(1));
+            other.wrap(k -> new ArrayList<>()).apply(key);
+            ok &= check("空结果不写检查点", !Files.exists(other.file(key)));
+            Files.createDirectories(other.getRoot());
+            Files.writeString(other.file(key), "{\"key\":\"" + key + "\",\"items\":[");
+            ok &= check("读不出的检查点不复用", other.fresh(key) == null);
+
+            // 5) 换日后清理其他日期
+            ok &= check("清理其他日期的目录", other.pruneOtherDates() == 1
+                    && !Files.exists(resumed.getRoot()) && Files.exists(other.getRoot()));
+        } finally {
+            try (var walk = Files.walk(tmp)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static void awaitCheckpoints(SourceCheckpoints checkpoints, List<String> keys) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline && !keys.stream().allMatch(k -> Files.exists(checkpoints.file(k)))) {
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static List<HotItem> items(String key) {
+        List<HotItem> items = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            items.add(new HotItem(key + " 标题 " + i, "https://example.com/" + key + "/" + i));
+        }
+        return items;
+    }
+
+    private static List<String> titles(List<HotItem> items) {
+        List<String> out = new ArrayList<>();
+        for (HotItem item : items) {
+            out.add(item.getTitle());
+        }
+        return out;
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,139 @@
+package com.hioss.spider;
+
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+import com.hioss.spider.fallback.LastKnownGood;
+import com.hioss.spider.fallback.StaleWhileRevalidate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 测试：失败或超时的来源沿用最近一次成功的结果
+ * 超时、空结果的来源立即返回旧结果并记下旧结果的时间，没有旧结果的返回空列表；
+ * 超时的那次抓取在后台完成后取回新结果并更新记录，一直失败的来源到时限后放弃。
+ * 最后检查 NewsPage 的 meta.stale 与分片索引的 staleSince 能写出、读回，且不当作栏目。
+ */
+public class TestStaleWhileRevalidate {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 沿用旧结果与后台刷新...");
+        Path tmp = Files.createTempDirectory("lkg-test");
+        boolean ok = true;
+        try {
+            LastKnownGood store = new LastKnownGood(tmp.resolve("last-known-good"));
+            store.put("baidu", "百度热搜", List.of(new HotItem("旧的百度", "https://example.com/b0")));
+            store.put("toutiao", "今日头条热榜", List.of(new HotItem("旧的头条", "https://example.com/t0")));
+            long oldBaidu = store.get("baidu").getFetchedAt();
+            long oldToutiao = store.get("toutiao").getFetchedAt();
+            ok &= check("空结果不记录", storeEmpty(store));
+
+            AtomicInteger baiduCalls = new AtomicInteger();
+            AtomicInteger toutiaoCalls = new AtomicInteger();
+            Function<String, List<HotItem>> fetcher = key -> {
+                switch (key) {
+                    case "weibo":
+                        return List.of(new HotItem("新的微博", "https://example.com/w1"));
+                    case "baidu":
+                        // 第一次抓取很慢：超出等待上限，但在后台刷新时限内完成
+                        baiduCalls.incrementAndGet();
+                        sleep(600);
+                        return List.of(new HotItem("新的百度", "https://example.com/b1"));
+                    case "toutiao":
+                        toutiaoCalls.incrementAndGet();
+                        return List.of();
+                    default:
+                        throw new IllegalStateException("connection refused");
+                }
+            };
+
+            StaleWhileRevalidate swr = new StaleWhileRevalidate(store, Duration.ofMillis(200),
+                    Duration.ofMillis(100), Duration.ofMillis(1500));
+            Function<String, List<HotItem>> wrapped = swr.wrap(fetcher);
+
+            ok &= check("成功的来源原样返回", wrapped.apply("weibo").get(0).getTitle().equals("新的微博"));
+            ok &= check("成功的结果记为最近一次成功", store.get("weibo") != null
+                    && store.get("weibo").getItems().get(0).getTitle().equals("新的微博"));
+
+            long start = System.nanoTime();
+            List<HotItem> baidu = wrapped.apply("baidu");
+            long waitedMs = (System.nanoTime() - start) / 1_000_000;
+            ok &= check("超时的来源立即返回旧结果", baidu.get(0).getTitle().equals("旧的百度") && waitedMs < 500);
+            ok &= check("空结果的来源返回旧结果", wrapped.apply("toutiao").get(0).getTitle().equals("旧的头条"));
+            ok &= check("没有旧结果的来源返回空列表", wrapped.apply("bbc").isEmpty());
+            Map<String, Long> stale = swr.getStale();
+            ok &= check("记下旧结果的抓取时间", stale.equals(Map.of("baidu", oldBaidu, "toutiao", oldToutiao)));
+
+            Map<String, List<HotItem>> refreshed = swr.awaitRefreshes();
+            swr.close();
+            ok &= check("后台刷新取回超时来源的新结果", refreshed.keySet().equals(Set.of("baidu"))
+                    && refreshed.get("baidu").get(0).getTitle().equals("新的百度"));
+            ok &= check("超时的那次抓取没有重复发起", baiduCalls.get() == 1);
+            ok &= check("一直失败的来源按间隔重试", toutiaoCalls.get() >= 3);
+            ok &= check("刷新成功后不再算作旧结果", swr.getStale().equals(Map.of("toutiao", oldToutiao)));
+            SourceResult lkg = store.get("baidu");
+            ok &= check("刷新结果更新记录", lkg.getItems().get(0).getTitle().equals("新的百度")
+                    && lkg.getFetchedAt() >= oldBaidu);
+
+            // NewsPage 标注
+            Map<String, List<HotItem>> day = new LinkedHashMap<>();
+            day.put("百度热搜", List.of(new HotItem("旧的百度", "https://example.com/b0")));
+            day.put("新浪微博热搜", List.of(new HotItem("新的微博", "https://example.com/w1")));
+            Path page = tmp.resolve("NewsPage-2026-08-22.json");
+            NewsPageWriter.writeNewsPage(page, "2026-08-22", day, Map.of("百度热搜", oldBaidu));
+            Map<String, Long> readBack = new HashMap<>();
+            Map<String, List<HotItem>> read = NewsPageReader.read(page, readBack);
+            ok &= check("meta.stale 写出并读回", readBack.equals(Map.of("百度热搜", oldBaidu)));
+            ok &= check("meta 不当作栏目", read.keySet().equals(day.keySet())
+                    && NewsPageReader.read(page).keySet().equals(day.keySet()));
+
+            Path plain = tmp.resolve("NewsPage-2026-08-21.json");
+            NewsPageWriter.writeNewsPage(plain, "2026-08-21", day);
+            ok &= check("没有旧结果时不写 meta", !Files.readString(plain).contains("\"meta\""));
+
+            Path shards = tmp.resolve("shards");
+            NewsPageWriter.writeShards(shards, "2026-08-22", day, Map.of("百度热搜", oldBaidu));
+            String index = Files.readString(shards.resolve("index.json"));
+            ok &= check("分片索引标注 staleSince", index.matches("(?s).*\"staleSince\"\\s*:\\s*" + oldBaidu + "\\b.*")
+                    && index.indexOf("staleSince") == index.lastIndexOf("staleSince"));
+        } finally {
+            try (var walk = Files.walk(tmp)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean storeEmpty(LastKnownGood store) throws Exception {
+        store.put("ithome", "IT之家日榜", List.of());
+        return store.get("ithome") == null && !Files.exists(store.file("ithome"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
@@ -0,0 +1,125 @@
+package com.hioss.spider;
+
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.edition.Edition;
+import com.hioss.spider.edition.Editions;
+import com.hioss.spider.render.Html;
+import com.hioss.spider.render.StaticPages;
+import com.hioss.spider.render.Template;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 测试：预渲染静态页
+ * 检查转义与 script.js 的 escapeHtml / escapeAttr 一致、卡片标记与 renderList 输出相同、模板区块不配对时报错；
+ * 再在临时目录渲染默认版面：每个日期一页加 index.html，内容不变时不重写，日期不再保留时删除对应页面，
+ * 版面切换只列出已有静态页的版面。
+ */
+public class TestStaticPages {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 预渲染静态页...");
+        boolean ok = true;
+
+        ok &= check("escapeHtml 只转义 & < >", Html.escapeHtml("a<b>&\"c\"").equals("a&lt;b&gt;&amp;\"c\""));
+        ok &= check("escapeAttr 另转义 \"", Html.escapeAttr("a<b>&\"c\"").equals("a&lt;b&gt;&amp;&quot;c&quot;"));
+        ok &= check("null 与 String(null) 一致", Html.escapeHtml(null).equals("null"));
+
+        Template t = Template.compile("<a href=\"{{v}}\">{{v}}</a>{{#list}}[{{x}}{{#flag}}!{{/flag}}]{{/list}}{{^list}}empty{{/list}}");
+        ok &= check("标签内按属性转义、标签外按文本转义", t.render(Map.of("v", "\"<&>\"", "list", List.of()))
+                .equals("<a href=\"&quot;&lt;&amp;&gt;&quot;\">\"&lt;&amp;&gt;\"</a>empty"));
+        ok &= check("列表区块与外层取值", t.render(Map.of("v", "", "flag", true,
+                "list", List.of(Map.of("x", 1), Map.of("x", 2, "flag", false))))
+                .equals("<a href=\"\"></a>[1!][2]"));
+        ok &= check("区块不配对时报错", fails("{{#a}}x") && fails("{{#a}}x{{/b}}") && fails("x{{/a}}") && fails("{{a"));
+
+        Path tmp = Files.createTempDirectory("static-test");
+        try {
+            Path data = tmp.resolve("docs").resolve("data");
+            Map<String, List<HotItem>> day = new LinkedHashMap<>();
+            HotItem hot = new HotItem("<script>alert(\"x\")</script> & 台风", "https://example.com/?a=1&b=\"2\"");
+            hot.setCluster(1);
+            hot.setSources(3);
+            day.put("百度热搜", List.of(hot, new HotItem("第二条", "https://example.com/2")));
+            day.put("新浪微博热搜", List.of());
+            for (String date : List.of("2026-08-20", "2026-08-21", "2026-08-22")) {
+                NewsPageWriter.writeNewsPage(data.resolve("NewsPage-" + date + ".json"), date, day);
+            }
+
+            Edition general = Editions.defaultEdition();
+            StaticPages pages = new StaticPages(tmp.resolve("docs"));
+            Path out = pages.dir(general);
+            ok &= check("首次渲染 3 天 + index", pages.render(general, data, Editions.ALL) == 4);
+            ok &= check("内容未变时不重写", pages.render(general, data, Editions.ALL) == 0);
+
+            String html = Files.readString(out.resolve("2026-08-22.html"));
+            String card = "<div class=\"card\"><span class=\"card-index\">1.</span>"
+                    + "<a href=\"https://example.com/?a=1&amp;b=&quot;2&quot;\" target=\"_blank\" rel=\"noopener noreferrer\">"
+                    + "&lt;script&gt;alert(\"x\")&lt;/script&gt; &amp; 台风</a>"
+                    + "<span class=\"card-badge\" title=\"3 个榜单同时上榜\">3榜</span></div>";
+            ok &= check("卡片与 renderList 输出相同", html.contains(card));
+            ok &= check("没有未转义的标题", !html.contains("<script>alert"));
+            ok &= check("空栏目显示暂无数据", html.contains("<h2>新浪微博热搜</h2><div class=\"card-list\"><div class=\"empty\">暂无数据</div>"));
+            ok &= check("日期列表与选中项", html.contains("<option value=\"2026-08-22\" selected>")
+                    && html.contains("<a href=\"2026-08-20.html\">2026-08-20</a>"));
+            ok &= check("脚本接管所需的属性", html.contains("data-root=\"../\"") && html.contains("data-date=\"2026-08-22\""));
+
+            String index = Files.readString(out.resolve("index.html"));
+            ok &= check("index 为最新一天并指向该页", index.contains("data-date=\"2026-08-22\"")
+                    && index.contains("<link rel=\"canonical\" href=\"2026-08-22.html\">")
+                    && !html.contains("rel=\"canonical\""));
+
+            Files.delete(data.resolve("NewsPage-2026-08-22.json"));
+            int written = pages.render(general, data, Editions.ALL);
+            ok &= check("删除已不保留的日期", !Files.exists(out.resolve("2026-08-22.html"))
+                    && Files.readString(out.resolve("index.html")).contains("data-date=\"2026-08-21\""));
+            ok &= check("日期列表变化后其他页面重写", written == 3);
+
+            // 版面切换：其他版面还没有静态页时不列出，只剩当前版面时整个不显示；渲染过后才加上
+            Edition other = Editions.ALL.stream().filter(e -> !e.isDefault()).findFirst().orElseThrow();
+            String otherHref = "../static/" + other.getDir() + "/index.html";
+            ok &= check("未渲染的版面不在切换中", !Files.readString(out.resolve("index.html")).contains(otherHref)
+                    && Files.readString(out.resolve("index.html")).contains("<nav id=\"editions\" class=\"editions\"></nav>"));
+            Path otherData = data.resolve(other.getDir());
+            NewsPageWriter.writeNewsPage(otherData.resolve("NewsPage-2026-08-21.json"), "2026-08-21", day);
+            pages.render(other, otherData, Editions.ALL);
+            String otherIndex = Files.readString(pages.dir(other).resolve("index.html"));
+            ok &= check("新版面链接回已有的默认版面", otherIndex.contains("href=\"../../static/index.html\""));
+            ok &= check("新版面渲染后加入切换", pages.render(general, data, Editions.ALL) == 3
+                    && Files.readString(out.resolve("index.html")).contains(otherHref));
+
+            pages.submit(general, data, Editions.ALL);
+            ok &= check("后台渲染", pages.await() == 0);
+            pages.close();
+        } finally {
+            try (var walk = Files.walk(tmp)) {
+                walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+
+        System.out.println(ok ? "测试结束：全部通过" : "测试结束：存在失败项");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean fails(String template) {
+        try {
+            Template.compile(template);
+            return false;
+        } catch (IllegalArgumentException e) {
+            return true;
+        }
+    }
+
+    private static boolean check(String name, boolean passed) {
+        System.out.println((passed ? "[OK]   " : "[FAIL] ") + name);
+        return passed;
+    }
+}
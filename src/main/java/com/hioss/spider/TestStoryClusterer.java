@@ -0,0 +1,107 @@
+package com.hioss.spider;
+
+import com.hioss.spider.cluster.StoryClusterer;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 测试：跨来源近似重复聚类
+ * 先用构造数据检查空白 / 标点 / 全角差异与措辞差异能否归为一簇、无关标题不被合并，
+ * 写出 NewsPage 时只有多个栏目同时上榜的条目带聚类字段，
+ * 再对 docs/data 下每天的数据聚类，打印出现在多个栏目中的事件。
+ */
+public class TestStoryClusterer {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("开始测试 跨来源聚类...");
+
+        Map<String, List<HotItem>> sample = new LinkedHashMap<>();
+        sample.put("A", new ArrayList<>(List.of(
+                new HotItem("  四川一升学宴突发事故致5人死亡 ", "a1"),
+                new HotItem("银行能办结婚证了", "a2"))));
+        sample.put("B", new ArrayList<>(List.of(
+                new HotItem("四川一升学宴突发事故5人死亡", "b1"),
+                new HotItem("银行能办结婚证了！", "b2"),
+                new HotItem("ＧＰＴ－５正式发布", "b3"))));
+        sample.put("C", new ArrayList<>(List.of(
+                new HotItem("四川一升学宴突发事故 5死17伤", "c1"),
+                new HotItem("gpt-5 正式发布", "c2"),
+                new HotItem("女子凌晨倒24瓶爱心水只为拿走空瓶", "c3"))));
+
+        int clusters = new StoryClusterer().annotate(sample);
+        List<HotItem> a = sample.get("A");
+        List<HotItem> b = sample.get("B");
+        List<HotItem> c = sample.get("C");
+
+        boolean ok = clusters == 4
+                && a.get(0).getTitle().equals("四川一升学宴突发事故致5人死亡")
+                && a.get(0).getCluster() == b.get(0).getCluster() && b.get(0).getCluster() == c.get(0).getCluster()
+                && a.get(0).getSources() == 3
+                && a.get(1).getCluster() == b.get(1).getCluster() && a.get(1).getSources() == 2
+                && b.get(2).getCluster() == c.get(1).getCluster() && b.get(2).getSources() == 2
+                && c.get(2).getSources() == 1;
+
+        for (Map.Entry<String, List<HotItem>> e : sample.entrySet()) {
+            for (HotItem i : e.getValue()) {
+                System.out.println(e.getKey() + " #" + i.getCluster() + " x" + i.getSources() + " " + i.getTitle());
+            }
+        }
+
+        // 写出 NewsPage：只有多个栏目同时上榜的条目带 cluster / sources
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        NewsPageWriter.writeNewsPage(buf, "2026-10-19", sample);
+        Map<String, List<HotItem>> read = NewsPageReader.read(new ByteArrayInputStream(buf.toByteArray()));
+        boolean written = read.get("A").get(0).getSources() == 3
+                && read.get("A").get(0).getCluster() == a.get(0).getCluster()
+                && read.get("C").get(2).getCluster() == 0 && read.get("C").get(2).getSources() == 0
+                && !buf.toString(StandardCharsets.UTF_8).contains("\"sources\" : 1");
+        System.out.println("单独上榜的条目不写聚类字段：" + (written ? "通过" : "失败"));
+        ok &= written;
+        System.out.println("--------------------------------------------------");
+
+        // 实际数据：每天出现在多个栏目中的事件
+        final List<Path> files;
+        try (var stream = Files.list(Paths.get("docs", "data"))) {
+            files = stream
+                    .filter(f -> f.getFileName().toString().matches("NewsPage-\\d{4}-\\d{2}-\\d{2}\\.json"))
+                    .sorted()
+                    .toList();
+        }
+        for (Path f : files) {
+            Map<String, List<HotItem>> day = NewsPageReader.read(f);
+            new StoryClusterer().annotate(day);
+
+            Map<Integer, List<String>> multi = new TreeMap<>();
+            for (Map.Entry<String, List<HotItem>> e : day.entrySet()) {
+                for (HotItem i : e.getValue()) {
+                    if (i.getSources() > 1) {
+                        multi.computeIfAbsent(i.getCluster(), k -> new ArrayList<>())
+                                .add(e.getKey() + "：" + i.getTitle());
+                    }
+                }
+            }
+            for (List<String> titles : multi.values()) {
+                System.out.println(f.getFileName() + " " + titles);
+            }
+        }
+
+        System.out.println("--------------------------------------------------");
+        System.out.println("测试结束：" + (ok ? "通过" : "失败"));
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.hioss.spider.archive;
+
+import java.time.LocalDate;
+
+/**
+ * 一条命中的历史条目
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class ArchiveHit {
+
+    private final LocalDate date;
+    private final String category;
+    private final int rank;
+    private final String title;
+    private final String link;
+
+    ArchiveHit(LocalDate date, String category, int rank, String title, String link) {
+        this.date = date;
+        this.category = category;
+        this.rank = rank;
+        this.title = title;
+        this.link = link;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * 当天在该栏目中的名次（从 1 开始）
+     */
+    public int getRank() {
+        return rank;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getLink() {
+        return link;
+    }
+
+    @Override
+    public String toString() {
+        return date + " " + category + " #" + rank + " " + title;
+    }
+}
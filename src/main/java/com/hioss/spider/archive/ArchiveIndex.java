@@ -0,0 +1,581 @@
+package com.hioss.spider.archive;
+
+import com.hioss.spider.cluster.TitleNormalizer;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSource;
+import com.hioss.spider.news.NewsSources;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 历史热榜的倒排索引（只读，整体加载到内存）
+ *
+ * <p>每个条目（某天、某栏目、某名次的一条标题）是一个文档，编号按日期升序分配，
+ * 所以日期范围就是一段连续的编号区间，不需要额外的日期索引。
+ * 词项见 {@link ArchiveTerms}：汉字二元组、英文 / 数字词与 host: 域名；
+ * 倒排表按 {@link Postings} 做差值 + varint 压缩。
+ *
+ * <p>查询时从最短的倒排表出发，跳跃式求交集，再用规范化标题核对关键字是否连续出现
+ * （二元组只能说明字都在，不能说明顺序）。只有孤立的单个汉字、没有可用词项时才按日期区间顺序扫描。
+ *
+ * <pre>
+ * 文件格式（DataOutputStream，大端）：
+ *   int magic, int version, UTF stamp
+ *   int 栏目数, UTF 栏目名 ...
+ *   int 日期数, (int epochDay, int 首个文档编号) ...
+ *   int 文档数, (short 栏目, short 名次, UTF 标题, UTF 链接) ...
+ *   int 词项数, (UTF 词项, int 字节数, byte[] 倒排表) ...
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class ArchiveIndex {
+
+    private static final int MAGIC = 0x57504158; // "WPAX"
+    private static final int VERSION = 1;
+
+    private final String stamp;
+    private final String[] categories;
+    private final int[] days;           // 日期序号 -> epochDay
+    private final int[] dateFirstDoc;   // 日期序号 -> 首个文档编号，末尾多一个哨兵
+    private final short[] docCategory;
+    private final short[] docRank;
+    private final int[] docDate;        // 文档 -> 日期序号
+    private final String[] titles;
+    private final String[] links;
+    private final Map<String, byte[]> postings;
+    // 规范化标题，核对关键字时按需计算；并发填充时各线程算出的值相同，无需加锁
+    private final String[] titleKeys;
+
+    private ArchiveIndex(String stamp, String[] categories, int[] days, int[] dateFirstDoc,
+                         short[] docCategory, short[] docRank, String[] titles, String[] links,
+                         Map<String, byte[]> postings) {
+        this.stamp = stamp;
+        this.categories = categories;
+        this.days = days;
+        this.dateFirstDoc = dateFirstDoc;
+        this.docCategory = docCategory;
+        this.docRank = docRank;
+        this.titles = titles;
+        this.links = links;
+        this.postings = postings;
+        this.titleKeys = new String[titles.length];
+
+        this.docDate = new int[titles.length];
+        for (int d = 0; d < days.length; d++) {
+            Arrays.fill(docDate, dateFirstDoc[d], dateFirstDoc[d + 1], d);
+        }
+    }
+
+    // ===== 建索引 =====
+
+    /**
+     * 读取一份 NewsPage 文件：栏目名 -> 条目
+     */
+    @FunctionalInterface
+    public interface PageReader {
+        Map<String, List<HotItem>> read(Path page) throws IOException;
+    }
+
+    /**
+     * 从未压缩的 NewsPage 文件建索引
+     *
+     * @param pages 日期 -> NewsPage 文件
+     * @param stamp 调用方用来判断索引是否过期的标记，原样保存
+     */
+    public static ArchiveIndex build(Map<LocalDate, Path> pages, String stamp) throws IOException {
+        return build(pages, stamp, NewsPageReader::read);
+    }
+
+    /**
+     * 从 NewsPage 文件建索引
+     *
+     * @param pages 日期 -> NewsPage 文件
+     * @param stamp 调用方用来判断索引是否过期的标记，原样保存
+     * @param reader 文件读取方式（归档中的文件是压缩的，见 {@link HeadlineArchive#read}）
+     */
+    public static ArchiveIndex build(Map<LocalDate, Path> pages, String stamp, PageReader reader) throws IOException {
+        Map<String, Integer> categoryIds = new LinkedHashMap<>();
+        List<String> titles = new ArrayList<>();
+        List<String> links = new ArrayList<>();
+        List<Short> cats = new ArrayList<>();
+        List<Short> ranks = new ArrayList<>();
+        Map<String, IntList> terms = new HashMap<>();
+
+        TreeMap<LocalDate, Path> sorted = new TreeMap<>(pages);
+        int[] days = new int[sorted.size()];
+        int[] firstDoc = new int[sorted.size() + 1];
+        int d = 0;
+        for (Map.Entry<LocalDate, Path> page : sorted.entrySet()) {
+            days[d] = (int) page.getKey().toEpochDay();
+            firstDoc[d] = titles.size();
+            for (Map.Entry<String, List<HotItem>> e : reader.read(page.getValue()).entrySet()) {
+                int cat = categoryIds.computeIfAbsent(e.getKey(), k -> categoryIds.size());
+                int rank = 0;
+                for (HotItem item : e.getValue()) {
+                    rank++;
+                    int doc = titles.size();
+                    String title = item.getTitle() == null ? "" : item.getTitle();
+                    String link = item.getLink() == null ? "" : item.getLink();
+                    titles.add(title);
+                    links.add(link);
+                    cats.add((short) cat);
+                    ranks.add((short) rank);
+                    for (String t : ArchiveTerms.titleTerms(title)) {
+                        terms.computeIfAbsent(t, k -> new IntList()).add(doc);
+                    }
+                    for (String t : ArchiveTerms.hostTerms(link)) {
+                        terms.computeIfAbsent(t, k -> new IntList()).add(doc);
+                    }
+                }
+            }
+            d++;
+        }
+        firstDoc[d] = titles.size();
+
+        int n = titles.size();
+        short[] docCategory = new short[n];
+        short[] docRank = new short[n];
+        for (int i = 0; i < n; i++) {
+            docCategory[i] = cats.get(i);
+            docRank[i] = ranks.get(i);
+        }
+        Map<String, byte[]> postings = new HashMap<>(terms.size() * 2);
+        for (Map.Entry<String, IntList> e : terms.entrySet()) {
+            postings.put(e.getKey(), Postings.encode(e.getValue().values, e.getValue().size));
+        }
+        return new ArchiveIndex(stamp, categoryIds.keySet().toArray(new String[0]), days, firstDoc,
+                docCategory, docRank, titles.toArray(new String[0]), links.toArray(new String[0]), postings);
+    }
+
+    // ===== 读写 =====
+
+    public void write(Path file) throws IOException {
+        AtomicFiles.write(file, os -> {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(stamp);
+
+            out.writeInt(categories.length);
+            for (String c : categories) {
+                out.writeUTF(c);
+            }
+            out.writeInt(days.length);
+            for (int d = 0; d < days.length; d++) {
+                out.writeInt(days[d]);
+                out.writeInt(dateFirstDoc[d]);
+            }
+            out.writeInt(titles.length);
+            for (int i = 0; i < titles.length; i++) {
+                out.writeShort(docCategory[i]);
+                out.writeShort(docRank[i]);
+                out.writeUTF(titles[i]);
+                out.writeUTF(links[i]);
+            }
+
+            // 词项按字典序写出，同样的数据得到同样的文件
+            List<String> keys = new ArrayList<>(postings.keySet());
+            keys.sort(Comparator.naturalOrder());
+            out.writeInt(keys.size());
+            for (String k : keys) {
+                byte[] p = postings.get(k);
+                out.writeUTF(k);
+                out.writeInt(p.length);
+                out.write(p);
+            }
+            out.flush();
+        });
+    }
+
+    public static ArchiveIndex read(Path file) throws IOException {
+        try (InputStream is = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(is, 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Unsupported archive index: " + file);
+            }
+            String stamp = in.readUTF();
+
+            String[] categories = new String[in.readInt()];
+            for (int i = 0; i < categories.length; i++) {
+                categories[i] = in.readUTF();
+            }
+            int dates = in.readInt();
+            int[] days = new int[dates];
+            int[] firstDoc = new int[dates + 1];
+            for (int d = 0; d < dates; d++) {
+                days[d] = in.readInt();
+                firstDoc[d] = in.readInt();
+            }
+            int n = in.readInt();
+            firstDoc[dates] = n;
+            short[] docCategory = new short[n];
+            short[] docRank = new short[n];
+            String[] titles = new String[n];
+            String[] links = new String[n];
+            for (int i = 0; i < n; i++) {
+                docCategory[i] = in.readShort();
+                docRank[i] = in.readShort();
+                titles[i] = in.readUTF();
+                links[i] = in.readUTF();
+            }
+            int termCount = in.readInt();
+            Map<String, byte[]> postings = new HashMap<>(termCount * 2);
+            for (int i = 0; i < termCount; i++) {
+                String term = in.readUTF();
+                byte[] p = new byte[in.readInt()];
+                in.readFully(p);
+                postings.put(term, p);
+            }
+            return new ArchiveIndex(stamp, categories, days, firstDoc, docCategory, docRank, titles, links, postings);
+        }
+    }
+
+    // ===== 查询 =====
+
+    /**
+     * 执行查询
+     *
+     * @throws IllegalArgumentException 来源既不是已知短名也不是索引中的栏目名
+     */
+    public Result search(ArchiveQuery query) {
+        int lo = query.getFrom() == null ? 0 : firstDocOnOrAfter(query.getFrom());
+        int hi = query.getTo() == null ? titles.length : firstDocOnOrAfter(query.getTo().plusDays(1));
+        boolean[] allowed = resolveCategories(query.getSources());
+
+        // 关键字：每个词的规范化形式须连续出现；词项用来缩小候选
+        List<String> keys = new ArrayList<>();
+        List<byte[]> lists = new ArrayList<>();
+        for (String w : query.getWords()) {
+            String key = TitleNormalizer.key(w);
+            if (!key.isEmpty()) {
+                keys.add(key);
+            }
+            for (String t : ArchiveTerms.titleTerms(w)) {
+                lists.add(postings.get(t));
+            }
+        }
+        if (query.getHost() != null && !query.getHost().isBlank()) {
+            String t = ArchiveTerms.hostTerm(query.getHost());
+            lists.add(t == null ? null : postings.get(t));
+        }
+
+        Collector collector = new Collector(query.getLimit());
+        if (lists.contains(null) || (!query.getWords().isEmpty() && keys.isEmpty())) {
+            // 某个词项从未出现过，或关键字里没有可检索的字（只有标点等）
+            return collector.result();
+        }
+
+        if (lists.isEmpty()) {
+            for (int doc = lo; doc < hi; doc++) {
+                consider(doc, allowed, keys, collector);
+            }
+            return collector.result();
+        }
+
+        lists.sort(Comparator.comparingInt(p -> p.length));
+        Postings.Cursor[] cursors = new Postings.Cursor[lists.size()];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = new Postings.Cursor(lists.get(i));
+        }
+
+        int doc = cursors[0].advance(lo);
+        while (doc < hi) {
+            int next = doc;
+            for (int i = 1; i < cursors.length; i++) {
+                int d = cursors[i].advance(doc);
+                if (d != doc) {
+                    next = d;
+                    break;
+                }
+            }
+            if (next == doc) {
+                consider(doc, allowed, keys, collector);
+                doc = cursors[0].next();
+            } else {
+                doc = cursors[0].advance(next);
+            }
+        }
+        return collector.result();
+    }
+
+    private void consider(int doc, boolean[] allowed, List<String> keys, Collector collector) {
+        if (allowed != null && !allowed[docCategory[doc]]) {
+            return;
+        }
+        if (!keys.isEmpty()) {
+            String titleKey = titleKeys[doc];
+            if (titleKey == null) {
+                titleKey = TitleNormalizer.key(titles[doc]);
+                titleKeys[doc] = titleKey;
+            }
+            for (String k : keys) {
+                if (!titleKey.contains(k)) {
+                    return;
+                }
+            }
+        }
+        collector.add(doc);
+    }
+
+    private int firstDocOnOrAfter(LocalDate date) {
+        int i = Arrays.binarySearch(days, (int) date.toEpochDay());
+        if (i < 0) {
+            i = -i - 1;
+        }
+        return dateFirstDoc[i];
+    }
+
+    private boolean[] resolveCategories(Set<String> sources) {
+        if (sources.isEmpty()) {
+            return null;
+        }
+        boolean[] allowed = new boolean[categories.length];
+        for (String s : sources) {
+            String name = categoryName(s);
+            for (int c = 0; c < categories.length; c++) {
+                if (categories[c].equals(name)) {
+                    allowed[c] = true;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    private String categoryName(String source) {
+        for (String c : categories) {
+            if (c.equals(source)) {
+                return c;
+            }
+        }
+        for (NewsSource s : NewsSources.ALL) {
+            if (s.getKey().equals(source)) {
+                return s.getCategory();
+            }
+        }
+        throw new IllegalArgumentException("Unknown source: " + source);
+    }
+
+    // ===== 统计信息 =====
+
+    public String getStamp() {
+        return stamp;
+    }
+
+    public int getDocCount() {
+        return titles.length;
+    }
+
+    public int getDateCount() {
+        return days.length;
+    }
+
+    public int getTermCount() {
+        return postings.size();
+    }
+
+    public long getPostingBytes() {
+        long sum = 0;
+        for (byte[] p : postings.values()) {
+            sum += p.length;
+        }
+        return sum;
+    }
+
+    public LocalDate getFirstDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[0]);
+    }
+
+    public LocalDate getLastDate() {
+        return days.length == 0 ? null : LocalDate.ofEpochDay(days[days.length - 1]);
+    }
+
+    // ===== 结果 =====
+
+    /**
+     * 收集命中：名次最高的 limit 条（有界堆）与按栏目的上榜统计
+     */
+    private final class Collector {
+        // 越好越靠前：名次小、日期新
+        private final Comparator<Integer> better = Comparator
+                .<Integer>comparingInt(doc -> docRank[doc])
+                .thenComparing(Comparator.<Integer>comparingInt(doc -> docDate[doc]).reversed())
+                .thenComparingInt(doc -> doc);
+        private final int limit;
+        private final PriorityQueue<Integer> top;
+        private final Map<Integer, Board> boards = new LinkedHashMap<>();
+        private int total;
+
+        Collector(int limit) {
+            this.limit = limit;
+            // 堆顶是当前最差的一条
+            this.top = new PriorityQueue<>(Math.max(1, limit + 1), better.reversed());
+        }
+
+        void add(int doc) {
+            total++;
+            if (limit > 0) {
+                top.add(doc);
+                if (top.size() > limit) {
+                    top.poll();
+                }
+            }
+            // 文档按日期升序到达，最后一次上榜日期变化即为新的一天
+            Board b = boards.computeIfAbsent((int) docCategory[doc], c -> new Board(categories[c]));
+            int date = docDate[doc];
+            if (b.lastDate != date) {
+                b.days++;
+                if (b.firstDate < 0) {
+                    b.firstDate = date;
+                }
+                b.lastDate = date;
+            }
+            b.hits++;
+            b.bestRank = Math.min(b.bestRank, docRank[doc]);
+        }
+
+        Result result() {
+            List<Integer> docs = new ArrayList<>(top);
+            docs.sort(better);
+            List<ArchiveHit> hits = new ArrayList<>(docs.size());
+            for (int doc : docs) {
+                hits.add(new ArchiveHit(LocalDate.ofEpochDay(days[docDate[doc]]), categories[docCategory[doc]],
+                        docRank[doc], titles[doc], links[doc]));
+            }
+            List<BoardSummary> summaries = new ArrayList<>();
+            for (Board b : boards.values()) {
+                summaries.add(new BoardSummary(b.category, b.days, b.hits, b.bestRank,
+                        LocalDate.ofEpochDay(days[b.firstDate]), LocalDate.ofEpochDay(days[b.lastDate])));
+            }
+            summaries.sort(Comparator.comparingInt(BoardSummary::getDays).reversed()
+                    .thenComparing(BoardSummary::getFirstDate));
+            return new Result(total, hits, summaries);
+        }
+    }
+
+    private static final class Board {
+        private final String category;
+        private int days;
+        private int hits;
+        private int bestRank = Integer.MAX_VALUE;
+        private int firstDate = -1;
+        private int lastDate = -1;
+
+        Board(String category) {
+            this.category = category;
+        }
+    }
+
+    /**
+     * 查询结果：命中总数、名次最高的若干条、按栏目的上榜统计
+     */
+    public static final class Result {
+        private final int total;
+        private final List<ArchiveHit> hits;
+        private final List<BoardSummary> boards;
+
+        Result(int total, List<ArchiveHit> hits, List<BoardSummary> boards) {
+            this.total = total;
+            this.hits = hits;
+            this.boards = boards;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public List<ArchiveHit> getHits() {
+            return hits;
+        }
+
+        /**
+         * 每个栏目的上榜情况，上榜天数多的在前
+         */
+        public List<BoardSummary> getBoards() {
+            return boards;
+        }
+    }
+
+    /**
+     * 某栏目中命中条目的上榜情况
+     */
+    public static final class BoardSummary {
+        private final String category;
+        private final int days;
+        private final int hits;
+        private final int bestRank;
+        private final LocalDate firstDate;
+        private final LocalDate lastDate;
+
+        BoardSummary(String category, int days, int hits, int bestRank, LocalDate firstDate, LocalDate lastDate) {
+            this.category = category;
+            this.days = days;
+            this.hits = hits;
+            this.bestRank = bestRank;
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public int getDays() {
+            return days;
+        }
+
+        public int getHits() {
+            return hits;
+        }
+
+        public int getBestRank() {
+            return bestRank;
+        }
+
+        public LocalDate getFirstDate() {
+            return firstDate;
+        }
+
+        public LocalDate getLastDate() {
+            return lastDate;
+        }
+    }
+
+    /**
+     * 建索引时的可增长 int 数组（避免装箱）
+     */
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int v) {
+            // 同一文档的重复词项已在分词时去重
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = v;
+        }
+    }
+}
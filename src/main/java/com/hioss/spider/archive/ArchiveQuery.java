@@ -0,0 +1,106 @@
+package com.hioss.spider.archive;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 归档查询条件；各条件之间是「且」的关系，未设置的条件不过滤
+ *
+ * <pre>
+ * keyword   关键字，空白分隔的多个词须同时出现在标题中
+ * host      链接域名（含子域名），如 bbc.com
+ * from/to   日期范围（含两端）
+ * sources   来源短名（如 weibo）或栏目名（如 新浪微博热搜）
+ * limit     返回的最多条数，按名次从高到低，名次相同时新的在前
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class ArchiveQuery {
+
+    public static final int DEFAULT_LIMIT = 20;
+
+    private String keyword;
+    private String host;
+    private LocalDate from;
+    private LocalDate to;
+    private final Set<String> sources = new LinkedHashSet<>();
+    private int limit = DEFAULT_LIMIT;
+
+    public ArchiveQuery keyword(String keyword) {
+        this.keyword = keyword;
+        return this;
+    }
+
+    public ArchiveQuery host(String host) {
+        this.host = host;
+        return this;
+    }
+
+    public ArchiveQuery from(LocalDate from) {
+        this.from = from;
+        return this;
+    }
+
+    public ArchiveQuery to(LocalDate to) {
+        this.to = to;
+        return this;
+    }
+
+    public ArchiveQuery source(String source) {
+        this.sources.add(source);
+        return this;
+    }
+
+    public ArchiveQuery limit(int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("limit must be >= 0: " + limit);
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public String getKeyword() {
+        return keyword;
+    }
+
+    /**
+     * 关键字按空白拆成的词
+     */
+    public List<String> getWords() {
+        List<String> out = new ArrayList<>();
+        if (keyword != null) {
+            for (String w : keyword.trim().split("\\s+")) {
+                if (!w.isEmpty()) {
+                    out.add(w);
+                }
+            }
+        }
+        return out;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public Set<String> getSources() {
+        return sources;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,86 @@
+package com.hioss.spider.archive;
+
+import com.hioss.spider.common.CliArgs;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+/**
+ * 历史热榜查询（命令行）
+ *
+ * <p>回答「某件事哪几天上过哪个榜、最高排第几」：先输出按栏目的上榜统计，再输出名次最高的若干条。
+ *
+ * <pre>
+ * --q=台风 登陆                  关键字，空白分隔的词须同时出现
+ * --host=bbc.com                链接域名（含子域名）
+ * --from=2026-01-01 --to=2026-06-30
+ * --source=weibo,百度热搜        来源短名或栏目名，逗号分隔
+ * --limit=20
+ * --archive=archive             归档目录
+ * --sync=docs/data              查询前先把该目录中的 NewsPage 归档
+ * --reindex                     强制重建索引
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class ArchiveSearch {
+
+    public static void main(String[] args) throws Exception {
+        CliArgs cli = CliArgs.parse(args);
+        HeadlineArchive archive = new HeadlineArchive(Paths.get(cli.get("archive", HeadlineArchive.DEFAULT_DIR.toString())));
+
+        if (cli.has("sync")) {
+            int n = archive.saveAll(Paths.get(cli.get("sync", "docs/data")));
+            System.out.println("Archived " + n + " new or changed page(s).");
+        }
+
+        long t0 = System.nanoTime();
+        ArchiveIndex index = cli.has("reindex") ? archive.rebuild() : archive.index();
+        long t1 = System.nanoTime();
+        System.out.printf("Index: %d item(s), %d day(s) (%s ~ %s), %d term(s), %d posting bytes, loaded in %.1f ms%n",
+                index.getDocCount(), index.getDateCount(), index.getFirstDate(), index.getLastDate(),
+                index.getTermCount(), index.getPostingBytes(), (t1 - t0) / 1e6);
+
+        ArchiveQuery query = new ArchiveQuery()
+                .keyword(cli.get("q", null))
+                .host(cli.get("host", null))
+                .limit((int) cli.getLong("limit", ArchiveQuery.DEFAULT_LIMIT));
+        if (cli.has("from")) {
+            query.from(LocalDate.parse(cli.get("from", null)));
+        }
+        if (cli.has("to")) {
+            query.to(LocalDate.parse(cli.get("to", null)));
+        }
+        if (cli.has("source")) {
+            for (String s : cli.get("source", "").split(",")) {
+                if (!s.isBlank()) {
+                    query.source(s.trim());
+                }
+            }
+        }
+
+        long q0 = System.nanoTime();
+        ArchiveIndex.Result result = index.search(query);
+        long q1 = System.nanoTime();
+        System.out.printf("%d match(es) in %.2f ms%n", result.getTotal(), (q1 - q0) / 1e6);
+
+        if (!result.getBoards().isEmpty()) {
+            System.out.println();
+            System.out.printf("%-16s %5s %5s %5s  %-10s  %-10s%n", "board", "days", "hits", "best", "first", "last");
+            for (ArchiveIndex.BoardSummary b : result.getBoards()) {
+                System.out.printf("%-16s %5d %5d %5s  %-10s  %-10s%n", b.getCategory(), b.getDays(), b.getHits(),
+                        "#" + b.getBestRank(), b.getFirstDate(), b.getLastDate());
+            }
+        }
+
+        if (!result.getHits().isEmpty()) {
+            System.out.println();
+            for (ArchiveHit h : result.getHits()) {
+                System.out.printf("%s  %-16s #%-3d %s  %s%n", h.getDate(), h.getCategory(), h.getRank(),
+                        h.getTitle(), h.getLink());
+            }
+        }
+    }
+}
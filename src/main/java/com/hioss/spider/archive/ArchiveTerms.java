@@ -0,0 +1,123 @@
+package com.hioss.spider.archive;
+
+import java.net.URI;
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * 归档索引的分词规则（建索引与查询共用）
+ *
+ * <pre>
+ * 汉字      相邻两字组成二元组，如「台风登陆」-> 台风 / 风登 / 登陆；孤立的单个汉字不入索引
+ * 字母      连续字母为一个词（NFKC + 小写），如「iPhone17」-> iphone / 17
+ * 数字      连续数字为一个词
+ * 链接      host:域名，去掉 www.，并逐级加上上级域名，如 host:news.qq.com / host:qq.com
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+final class ArchiveTerms {
+
+    static final String HOST_PREFIX = "host:";
+
+    private ArchiveTerms() {
+    }
+
+    /**
+     * 标题（或查询关键字）的词项，按出现顺序去重
+     */
+    static Set<String> titleTerms(String text) {
+        Set<String> out = new LinkedHashSet<>();
+        if (text == null) {
+            return out;
+        }
+        String s = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        int n = s.length();
+        int i = 0;
+        int prevIdeo = -1;
+        while (i < n) {
+            int cp = s.codePointAt(i);
+            int len = Character.charCount(cp);
+            if (Character.isIdeographic(cp)) {
+                if (prevIdeo >= 0) {
+                    out.add(new StringBuilder(4).appendCodePoint(prevIdeo).appendCodePoint(cp).toString());
+                }
+                prevIdeo = cp;
+                i += len;
+            } else if (Character.isLetter(cp) || Character.isDigit(cp)) {
+                boolean digit = Character.isDigit(cp);
+                int end = i;
+                while (end < n) {
+                    int c = s.codePointAt(end);
+                    if (Character.isIdeographic(c) || Character.isDigit(c) != digit
+                            || !(Character.isLetter(c) || Character.isDigit(c))) {
+                        break;
+                    }
+                    end += Character.charCount(c);
+                }
+                out.add(s.substring(i, end));
+                prevIdeo = -1;
+                i = end;
+            } else {
+                // 标点、空白打断汉字二元组
+                prevIdeo = -1;
+                i += len;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 链接的域名词项；无法解析时为空
+     */
+    static Set<String> hostTerms(String link) {
+        Set<String> out = new LinkedHashSet<>();
+        String host = host(link);
+        if (host == null) {
+            return out;
+        }
+        out.add(HOST_PREFIX + host);
+        // 逐级加上上级域名，至少保留两段
+        int dot = host.indexOf('.');
+        while (dot >= 0 && host.indexOf('.', dot + 1) >= 0) {
+            host = host.substring(dot + 1);
+            out.add(HOST_PREFIX + host);
+            dot = host.indexOf('.');
+        }
+        return out;
+    }
+
+    /**
+     * 查询用的域名词项（与 {@link #hostTerms} 的首项规则一致）；参数可以是域名或完整链接
+     */
+    static String hostTerm(String hostOrLink) {
+        String h = hostOrLink.contains("://") ? host(hostOrLink) : normalizeHost(hostOrLink);
+        return h == null ? null : HOST_PREFIX + h;
+    }
+
+    private static String host(String link) {
+        if (link == null || link.isBlank()) {
+            return null;
+        }
+        try {
+            return normalizeHost(URI.create(link.trim()).getHost());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String normalizeHost(String host) {
+        if (host == null || host.isBlank()) {
+            return null;
+        }
+        String h = host.trim().toLowerCase(Locale.ROOT);
+        if (h.startsWith("www.")) {
+            h = h.substring(4);
+        }
+        return h.isEmpty() ? null : h;
+    }
+}
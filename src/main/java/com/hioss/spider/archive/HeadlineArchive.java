@@ -0,0 +1,291 @@
+package com.hioss.spider.archive;
+
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.compress.DictCodec;
+import com.hioss.spider.compress.DictionaryStore;
+import com.hioss.spider.compress.DictionaryTrainer;
+import com.hioss.spider.compress.PresetDictionary;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 热榜历史归档目录
+ *
+ * <pre>
+ * archive/
+ *   pages/NewsPage-YYYY-MM-DD.json.wpz   每天一份，内容与 docs/data 中的 NewsPage 相同，用预置字典压缩（见 {@link DictCodec}）；
+ *                                        docs/data 只保留 10 天，这里长期保存。旧的未压缩 .json 照常可读
+ *   dict/headlines-vN.dict               预置字典，按版本只增不改（见 {@link DictionaryStore}）
+ *   .index/headlines.idx                 由 pages 派生的倒排索引（不提交，过期时自动重建）
+ * </pre>
+ *
+ * 发布时 {@link #saveAll(Path)} 把 docs/data 中的 NewsPage 同步过来（内容相同的跳过），之后才清理旧文件。
+ * 还没有字典时，归档够 {@link #MIN_TRAINING_PAGES} 天就自动训练第一版；之后重新训练见 {@link DictionaryTrainer}。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class HeadlineArchive {
+
+    public static final Path DEFAULT_DIR = Paths.get("archive");
+
+    /**
+     * 少于这么多天时不训练字典：样本太少，训练出的字典只是这几天的原文
+     */
+    public static final int MIN_TRAINING_PAGES = 7;
+
+    private static final String PAGES_DIR = "pages";
+    private static final String DICT_DIR = "dict";
+    private static final String INDEX_FILE = ".index/headlines.idx";
+    private static final String COMPRESSED_SUFFIX = ".wpz";
+    private static final Pattern PAGE_NAME = Pattern.compile("^NewsPage-(\\d{4}-\\d{2}-\\d{2})\\.json(\\.wpz)?$");
+
+    private final Path dir;
+    private final DictionaryStore dictionaries;
+
+    public HeadlineArchive(Path dir) {
+        this.dir = dir;
+        this.dictionaries = new DictionaryStore(dir.resolve(DICT_DIR));
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * 归档一份 NewsPage；已有相同内容时不写
+     *
+     * @return 是否写入了新内容
+     */
+    public boolean save(Path newsPage) throws IOException {
+        Matcher m = PAGE_NAME.matcher(newsPage.getFileName().toString());
+        if (!m.matches()) {
+            throw new IllegalArgumentException("Not a NewsPage file: " + newsPage);
+        }
+        return save(LocalDate.parse(m.group(1)), load(newsPage));
+    }
+
+    /**
+     * 归档某天的 NewsPage 内容；已有相同内容时不写
+     *
+     * @param json NewsPage 文档（未压缩）
+     * @return 是否写入了新内容
+     */
+    public boolean save(LocalDate date, byte[] json) throws IOException {
+        Path target = page(date);
+        Path legacy = legacyPage(date);
+        Path existing = Files.exists(target) ? target : Files.exists(legacy) ? legacy : null;
+        if (existing != null && Arrays.equals(load(existing), json)) {
+            return false;
+        }
+        AtomicFiles.write(target, DictCodec.encode(json, dictionary()));
+        Files.deleteIfExists(legacy);
+        return true;
+    }
+
+    /**
+     * 归档目录中的全部 NewsPage
+     *
+     * @return 写入（新增或更新）的文件数
+     */
+    public int saveAll(Path dataDir) throws IOException {
+        Map<LocalDate, Path> incoming = list(dataDir);
+        // 第一次够天数时先训练字典，这一批就用上
+        if (dictionaries.latest() == null) {
+            Map<LocalDate, Path> samples = new TreeMap<>(pages());
+            samples.putAll(incoming);
+            if (samples.size() >= MIN_TRAINING_PAGES) {
+                train(samples, DictionaryTrainer.MAX_SIZE);
+            }
+        }
+
+        int written = 0;
+        for (Path p : incoming.values()) {
+            if (save(p)) {
+                written++;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * 读取一份 NewsPage（归档中的压缩文件或普通 .json），返回未压缩的内容
+     */
+    public byte[] load(Path page) throws IOException {
+        byte[] bytes = Files.readAllBytes(page);
+        if (!page.getFileName().toString().endsWith(COMPRESSED_SUFFIX)) {
+            return bytes;
+        }
+        return DictCodec.decode(bytes, dictionaries::get);
+    }
+
+    /**
+     * 读取一份 NewsPage：栏目名 -> 条目
+     */
+    public Map<String, List<HotItem>> read(Path page) throws IOException {
+        return NewsPageReader.read(new ByteArrayInputStream(load(page)));
+    }
+
+    /**
+     * 某天归档 NewsPage 的位置（不一定存在）
+     */
+    public Path page(LocalDate date) {
+        return dir.resolve(PAGES_DIR).resolve("NewsPage-" + date + ".json" + COMPRESSED_SUFFIX);
+    }
+
+    /**
+     * 新归档使用的字典：已发布的最新版本；还没有字典且归档够天数时先训练第一版；否则为 null（不用字典）
+     */
+    public PresetDictionary dictionary() throws IOException {
+        PresetDictionary d = dictionaries.latest();
+        if (d != null) {
+            return d;
+        }
+        Map<LocalDate, Path> pages = pages();
+        return pages.size() < MIN_TRAINING_PAGES ? null : train(pages, DictionaryTrainer.MAX_SIZE);
+    }
+
+    /**
+     * 用全部归档训练并发布下一版字典（之后的归档使用新版；已有文件不变，见 {@link #recompress()}）
+     */
+    public PresetDictionary train(int size) throws IOException {
+        return train(pages(), size);
+    }
+
+    /**
+     * 用最新字典重写全部归档页面（含旧的未压缩 .json）
+     *
+     * @return 重写的文件数
+     */
+    public int recompress() throws IOException {
+        PresetDictionary dict = dictionary();
+        int written = 0;
+        for (Map.Entry<LocalDate, Path> e : pages().entrySet()) {
+            Path p = e.getValue();
+            byte[] current = Files.readAllBytes(p);
+            if (dict != null && DictCodec.isEncoded(current) && DictCodec.version(current) == dict.getVersion()) {
+                continue;
+            }
+            AtomicFiles.write(page(e.getKey()), DictCodec.encode(load(p), dict));
+            Files.deleteIfExists(legacyPage(e.getKey()));
+            written++;
+        }
+        return written;
+    }
+
+    private PresetDictionary train(Map<LocalDate, Path> pages, int size) throws IOException {
+        List<byte[]> samples = new ArrayList<>(pages.size());
+        for (Path p : pages.values()) {
+            samples.add(load(p));
+        }
+        return dictionaries.add(DictionaryTrainer.train(samples, size));
+    }
+
+    private Path legacyPage(LocalDate date) {
+        return dir.resolve(PAGES_DIR).resolve("NewsPage-" + date + ".json");
+    }
+
+    /**
+     * 已归档的 NewsPage：日期 -> 文件（按日期升序）
+     */
+    public Map<LocalDate, Path> pages() throws IOException {
+        return list(dir.resolve(PAGES_DIR));
+    }
+
+    /**
+     * 加载索引；归档内容变化过（或索引不存在、格式不兼容）时先重建
+     */
+    public ArchiveIndex index() throws IOException {
+        Map<LocalDate, Path> pages = pages();
+        String stamp = stamp(pages);
+        Path file = dir.resolve(INDEX_FILE);
+        if (Files.exists(file)) {
+            try {
+                ArchiveIndex index = ArchiveIndex.read(file);
+                if (index.getStamp().equals(stamp)) {
+                    return index;
+                }
+            } catch (IOException e) {
+                System.err.println("Archive index unreadable, rebuilding: " + e.getMessage());
+            }
+        }
+        return build(pages, stamp);
+    }
+
+    /**
+     * 无条件重建索引
+     */
+    public ArchiveIndex rebuild() throws IOException {
+        Map<LocalDate, Path> pages = pages();
+        return build(pages, stamp(pages));
+    }
+
+    private ArchiveIndex build(Map<LocalDate, Path> pages, String stamp) throws IOException {
+        ArchiveIndex index = ArchiveIndex.build(pages, stamp, this::read);
+        index.write(dir.resolve(INDEX_FILE));
+        return index;
+    }
+
+    /**
+     * 归档内容的标记：文件名、大小与修改时间的摘要，任一文件变化都会改变
+     */
+    private static String stamp(Map<LocalDate, Path> pages) throws IOException {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            for (Path p : pages.values()) {
+                String line = p.getFileName() + " " + Files.size(p) + " " + Files.getLastModifiedTime(p).toMillis() + "\n";
+                md.update(line.getBytes(StandardCharsets.UTF_8));
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : md.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return pages.size() + ":" + sb;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Map<LocalDate, Path> list(Path dir) throws IOException {
+        Map<LocalDate, Path> out = new TreeMap<>();
+        if (!Files.isDirectory(dir)) {
+            return out;
+        }
+        final List<Path> files;
+        try (var stream = Files.list(dir)) {
+            files = stream.toList();
+        }
+        for (Path p : files) {
+            Matcher m = PAGE_NAME.matcher(p.getFileName().toString());
+            if (m.matches()) {
+                try {
+                    // 压缩版与旧的 .json 同时存在时（重写中途中断）以压缩版为准
+                    LocalDate date = LocalDate.parse(m.group(1));
+                    if (m.group(2) != null || !out.containsKey(date)) {
+                        out.put(date, p);
+                    }
+                } catch (Exception ignored) {
+                }
+            }
+        }
+        return out;
+    }
+}
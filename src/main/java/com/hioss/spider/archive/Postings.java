@@ -0,0 +1,91 @@
+package com.hioss.spider.archive;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * 倒排表编码：升序文档编号取差值，再按 varint（每字节 7 位，最高位表示后面还有字节）写出
+ *
+ * <p>同一天的条目编号相邻，热词的差值大多只有 1~2 个字节。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+final class Postings {
+
+    private Postings() {
+    }
+
+    /**
+     * 编码升序、无重复的文档编号
+     */
+    static byte[] encode(int[] docs, int count) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(count + 4);
+        int prev = -1;
+        for (int i = 0; i < count; i++) {
+            int gap = docs[i] - prev;
+            if (gap <= 0) {
+                throw new IllegalArgumentException("Postings must be strictly increasing");
+            }
+            writeVarint(out, gap);
+            prev = docs[i];
+        }
+        return out.toByteArray();
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, int v) {
+        while ((v & ~0x7F) != 0) {
+            out.write((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.write(v);
+    }
+
+    /**
+     * 顺序解码游标
+     */
+    static final class Cursor {
+        private final byte[] buf;
+        private int pos;
+        private int doc = -1;
+
+        Cursor(byte[] buf) {
+            this.buf = buf;
+        }
+
+        /**
+         * 前进到下一个编号；没有更多时返回 {@link Integer#MAX_VALUE}
+         */
+        int next() {
+            if (pos >= buf.length) {
+                doc = Integer.MAX_VALUE;
+                return doc;
+            }
+            int v = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buf[pos++];
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            doc += v;
+            return doc;
+        }
+
+        /**
+         * 前进到第一个不小于 target 的编号
+         */
+        int advance(int target) {
+            int d = doc;
+            while (d < target) {
+                d = next();
+            }
+            return d;
+        }
+
+        int doc() {
+            return doc;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.hioss.spider.bench;
+
+import com.hioss.spider.news.NewsSource;
+import com.hioss.spider.news.NewsSources;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 本地样本服务器：把 fixtures 目录下的 &lt;页面短名&gt;.json / .xml / .html 提供在 /&lt;页面短名&gt;
+ * （页面短名见 {@link NewsSource#getPage()}，多数来源即来源短名），
+ * 配合 {@link com.hioss.spider.common.Endpoints} 让整条抓取流程不联网运行
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class FixtureServer implements AutoCloseable {
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            ".json", "application/json; charset=UTF-8",
+            ".xml", "application/xml; charset=UTF-8",
+            ".html", "text/html; charset=UTF-8");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Path> fixtures = new LinkedHashMap<>();
+
+    /**
+     * 在 127.0.0.1 的空闲端口启动
+     *
+     * @param dir 样本目录；每个页面取第一个存在的 .json / .xml / .html
+     */
+    public FixtureServer(Path dir) throws IOException {
+        for (NewsSource s : NewsSources.ALL) {
+            if (fixtures.containsKey(s.getPage())) {
+                continue;
+            }
+            for (String ext : new String[]{".json", ".xml", ".html"}) {
+                Path p = dir.resolve(s.getPage() + ext);
+                if (Files.isRegularFile(p)) {
+                    fixtures.put(s.getPage(), p);
+                    break;
+                }
+            }
+        }
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "fixture-server");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", ex -> {
+            try {
+                Path file = fixtures.get(ex.getRequestURI().getPath().substring(1));
+                if (file == null) {
+                    ex.sendResponseHeaders(404, -1);
+                    return;
+                }
+                byte[] body = Files.readAllBytes(file);
+                String name = file.getFileName().toString();
+                ex.getResponseHeaders().set("Content-Type", CONTENT_TYPES.get(name.substring(name.lastIndexOf('.'))));
+                ex.sendResponseHeaders(200, body.length);
+                try (OutputStream out = ex.getResponseBody()) {
+                    out.write(body);
+                }
+            } finally {
+                ex.close();
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * 供 -Dspider.fixtureBase 使用的地址
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * 有样本的页面短名 -> 样本文件
+     */
+    public Map<String, Path> getFixtures() {
+        return fixtures;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,248 @@
+package com.hioss.spider.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hioss.spider.SpiderMain;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.CliArgs;
+import com.hioss.spider.common.Endpoints;
+import com.hioss.spider.common.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 整条抓取到发布流程的耗时基准与退化门禁
+ *
+ * <pre>
+ * java -cp ... com.hioss.spider.bench.PipelineBenchmark [--runs=5] [--warmup=1] [--fixtures=fixtures]
+ *          [--baseline=fixtures/pipeline-baseline.properties] [--update-baseline] [--keep]
+ * </pre>
+ *
+ * 在本地启动 {@link FixtureServer} 提供 fixtures 下的样本，每次运行都新开一个 JVM（{@link PipelineRun}），
+ * 工作目录是新的临时目录（docs/、archive/、raw/ 都写在那里，不动仓库），不上传、不用检查点、不等后台刷新。
+ * 前 warmup 次不计入；其余各次的墙钟时间、CPU 时间、峰值 RSS 与各阶段耗时之和给出 p50 / p90 / max。
+ *
+ * <p>与基准文件比较各指标的 p50：超过 基准 × (1 + tolerance) + slack 即为退化，以退出码 1 结束。
+ * 基准文件的格式与说明见 fixtures/pipeline-baseline.properties；--update-baseline 用本次的 p50 重写基准值
+ * （保留容差设置）。--keep 保留各次运行的临时目录以便查看日志。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class PipelineBenchmark {
+
+    private static final String DEFAULT_BASELINE = "fixtures/pipeline-baseline.properties";
+    private static final double DEFAULT_TOLERANCE = 0.5;
+    private static final String RESULT_FILE = "result.json";
+    private static final String LOG_FILE = "run.log";
+
+    public static void main(String[] args) throws Exception {
+        CliArgs cli = CliArgs.parse(args);
+        int runs = (int) cli.getLong("runs", 5);
+        int warmup = (int) cli.getLong("warmup", 1);
+        Path fixtures = Paths.get(cli.get("fixtures", "fixtures"));
+        Path baselineFile = Paths.get(cli.get("baseline", DEFAULT_BASELINE));
+
+        // 指标名 -> 各次运行的值（按配置顺序）
+        Map<String, List<Double>> samples = new LinkedHashMap<>();
+        try (FixtureServer server = new FixtureServer(fixtures)) {
+            System.out.println("Serving " + server.getFixtures().size() + " fixture(s) at " + server.baseUrl()
+                    + "; " + warmup + " warm-up + " + runs + " measured run(s)");
+            for (int i = 0; i < warmup + runs; i++) {
+                Map<String, Double> run = runOnce(server.baseUrl(), cli.has("keep"));
+                boolean measured = i >= warmup;
+                System.out.printf("  run %d%s: wall %.0f ms, cpu %.0f ms%n", i + 1, measured ? "" : " (warm-up)",
+                        run.get("wall_ms"), run.get("cpu_ms"));
+                if (measured) {
+                    run.forEach((k, v) -> samples.computeIfAbsent(k, x -> new ArrayList<>()).add(v));
+                }
+            }
+        }
+
+        Properties baseline = new Properties();
+        if (Files.exists(baselineFile)) {
+            try (InputStream in = Files.newInputStream(baselineFile)) {
+                baseline.load(in);
+            }
+        }
+
+        System.out.println();
+        System.out.printf("%-20s %10s %10s %10s %10s %10s  %s%n", "metric", "p50", "p90", "max", "baseline", "limit", "");
+        int compared = 0;
+        int regressions = 0;
+        Map<String, Double> p50s = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Double>> e : samples.entrySet()) {
+            String metric = e.getKey();
+            List<Double> values = new ArrayList<>(e.getValue());
+            Collections.sort(values);
+            double p50 = percentile(values, 50);
+            p50s.put(metric, p50);
+            if (p50 < 0) {
+                // 指标不可用（如非 Linux 的峰值 RSS）
+                System.out.printf("%-20s %10s%n", metric, "n/a");
+                continue;
+            }
+
+            String base = baseline.getProperty(metric);
+            String status = "";
+            String baseText = "-";
+            String limitText = "-";
+            if (base != null) {
+                double b = Double.parseDouble(base);
+                double limit = b * (1 + tolerance(baseline, metric)) + slack(baseline, metric);
+                baseText = String.format("%.0f", b);
+                limitText = String.format("%.0f", limit);
+                compared++;
+                if (p50 > limit) {
+                    status = "REGRESSED";
+                    regressions++;
+                } else {
+                    status = "ok";
+                }
+            }
+            System.out.printf("%-20s %10.0f %10.0f %10.0f %10s %10s  %s%n", metric, p50,
+                    percentile(values, 90), values.get(values.size() - 1), baseText, limitText, status);
+        }
+
+        if (cli.has("update-baseline")) {
+            writeBaseline(baselineFile, p50s, runs);
+            System.out.println("Baseline written to " + baselineFile);
+            return;
+        }
+        if (compared == 0) {
+            System.err.println("No baseline at " + baselineFile + "; record one with --update-baseline.");
+            System.exit(2);
+        }
+        if (regressions > 0) {
+            System.err.println(regressions + " metric(s) regressed beyond the baseline tolerance.");
+            System.exit(1);
+        }
+        System.out.println("Within baseline tolerances.");
+    }
+
+    /**
+     * 在新 JVM、新临时目录中跑一次完整流程，返回 {@link PipelineRun} 写出的指标
+     */
+    private static Map<String, Double> runOnce(String fixtureBase, boolean keep) throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("pipeline-bench");
+        try {
+            Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+            List<String> command = List.of(java.toString(),
+                    "-D" + Endpoints.FIXTURE_BASE_PROPERTY + "=" + fixtureBase,
+                    "-Dfile.encoding=UTF-8",
+                    "-cp", absoluteClasspath(),
+                    PipelineRun.class.getName(),
+                    dir.resolve(RESULT_FILE).toString(),
+                    // 每次都完整抓取；失败的来源不在后台等待刷新
+                    "--no-checkpoint", "--refresh-window=0");
+            ProcessBuilder pb = new ProcessBuilder(command)
+                    .directory(dir.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(dir.resolve(LOG_FILE).toFile());
+            // 基准运行不上传
+            pb.environment().remove(SpiderMain.FILE_UPLOAD_API_KEY_ENV);
+            int code = pb.start().waitFor();
+            if (code != 0 || !Files.exists(dir.resolve(RESULT_FILE))) {
+                String log = Files.readString(dir.resolve(LOG_FILE), StandardCharsets.UTF_8);
+                throw new IllegalStateException("Benchmark run failed with exit code " + code + ":\n" + log);
+            }
+
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            JsonNode root;
+            try (InputStream in = Files.newInputStream(dir.resolve(RESULT_FILE))) {
+                root = Json.readTree(in);
+            }
+            for (Iterator<Map.Entry<String, JsonNode>> it = root.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> f = it.next();
+                metrics.put(f.getKey(), f.getValue().asDouble());
+            }
+            return metrics;
+        } finally {
+            if (keep) {
+                System.out.println("  kept " + dir);
+            } else {
+                try (Stream<Path> walk = Files.walk(dir)) {
+                    walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+                }
+            }
+        }
+    }
+
+    /**
+     * 子进程的工作目录不同，类路径里的相对路径要先转成绝对路径
+     */
+    private static String absoluteClasspath() {
+        return Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+                .map(p -> Paths.get(p).toAbsolutePath().toString())
+                .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    /**
+     * 最近秩百分位（values 已排序）
+     */
+    static double percentile(List<Double> values, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * values.size());
+        return values.get(Math.max(0, Math.min(values.size(), rank) - 1));
+    }
+
+    private static double tolerance(Properties baseline, String metric) {
+        String v = baseline.getProperty(metric + ".tolerance", baseline.getProperty("tolerance"));
+        return v == null ? DEFAULT_TOLERANCE : Double.parseDouble(v);
+    }
+
+    /**
+     * 绝对余量：_ms 指标取 slack.ms，_kb 指标取 slack.kb，避免很小的值因抖动误报
+     */
+    private static double slack(Properties baseline, String metric) {
+        String unit = metric.substring(metric.lastIndexOf('_') + 1);
+        return Double.parseDouble(baseline.getProperty("slack." + unit, "0"));
+    }
+
+    /**
+     * 重写基准值：保留文件中已有的注释与容差设置，只替换（或追加）各指标的值
+     */
+    private static void writeBaseline(Path file, Map<String, Double> p50s, int runs) throws IOException {
+        List<String> lines = Files.exists(file)
+                ? Files.readAllLines(file, StandardCharsets.UTF_8)
+                : new ArrayList<>(List.of(
+                        "# 整条流程的基准（PipelineBenchmark），各指标为 " + runs + " 次运行的 p50",
+                        "tolerance=" + DEFAULT_TOLERANCE));
+        List<String> out = new ArrayList<>();
+        for (String line : lines) {
+            int eq = line.indexOf('=');
+            String key = eq > 0 && !line.startsWith("#") ? line.substring(0, eq).trim() : null;
+            if (key != null && p50s.containsKey(key)) {
+                continue;
+            }
+            out.add(line);
+        }
+        for (Map.Entry<String, Double> e : p50s.entrySet()) {
+            if (e.getValue() >= 0) {
+                out.add(e.getKey() + "=" + Math.round(e.getValue()));
+            }
+        }
+        AtomicFiles.write(file, stream -> {
+            PrintWriter w = new PrintWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+            out.forEach(w::println);
+            w.flush();
+        });
+    }
+}
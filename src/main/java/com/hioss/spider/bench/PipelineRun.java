@@ -0,0 +1,87 @@
+package com.hioss.spider.bench;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.hioss.spider.SpiderMain;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageSummary;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基准测试的一次运行（由 {@link PipelineBenchmark} 在独立 JVM、临时工作目录中启动）
+ *
+ * <pre>
+ * java -Dspider.fixtureBase=... -cp ... com.hioss.spider.bench.PipelineRun &lt;result.json&gt; [SpiderMain 参数...]
+ * </pre>
+ *
+ * 以 --jfr 运行完整的 {@link SpiderMain}，结束后写出本次的指标：
+ * {"wall_ms", "cpu_ms", "peak_rss_kb", "stage.fetch_ms", ...}。
+ * 峰值 RSS 取 /proc/self/status 的 VmHWM，读不到（非 Linux）时为 -1。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class PipelineRun {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: PipelineRun <result.json> [SpiderMain args...]");
+            System.exit(2);
+        }
+        Path result = Paths.get(args[0]).toAbsolutePath();
+        Path jfr = result.resolveSibling("run.jfr");
+        List<String> spiderArgs = new ArrayList<>(Arrays.asList(args).subList(1, args.length));
+        spiderArgs.add("--jfr=" + jfr);
+
+        long start = System.nanoTime();
+        SpiderMain.main(spiderArgs.toArray(new String[0]));
+        long wallNanos = System.nanoTime() - start;
+
+        long cpuNanos = ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                .getProcessCpuTime();
+        long rssKb = peakRssKb();
+        Map<Stage, Long> stages = StageSummary.stageNanos(jfr);
+
+        AtomicFiles.write(result, out -> {
+            try (JsonGenerator g = NewsPageWriter.newGenerator(out)) {
+                g.writeStartObject();
+                g.writeNumberField("wall_ms", wallNanos / 1e6);
+                g.writeNumberField("cpu_ms", cpuNanos / 1e6);
+                g.writeNumberField("peak_rss_kb", rssKb);
+                for (Stage s : Stage.values()) {
+                    g.writeNumberField("stage." + s.getLabel() + "_ms", stages.getOrDefault(s, 0L) / 1e6);
+                }
+                g.writeEndObject();
+            }
+        });
+        // SpiderMain 留下的线程池不应拖住这次运行
+        System.exit(0);
+    }
+
+    /**
+     * 进程的峰值常驻内存（KiB）；没有 /proc 时返回 -1
+     */
+    static long peakRssKb() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"))) {
+                if (line.startsWith("VmHWM:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | RuntimeException ignored) {
+            // 非 Linux
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,171 @@
+package com.hioss.spider.bulk;
+
+import com.hioss.spider.common.HttpFetcher;
+import com.hioss.spider.dto.HotItem;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * 批量抓取大量订阅源（JSON 热榜接口、RSS / Atom）
+ *
+ * <p>订阅源先全部放进 {@link CrawlFrontier}，调度线程按优先级与域名公平性出队，
+ * 全局同时在抓的不超过 maxInFlight 个。请求走 {@link HttpFetcher#fetchAsync} 的异步 HttpClient，
+ * 等待响应时不占线程；每个订阅源解析完立即写入 {@link CategorySink}，结果不在内存中累积。
+ * 内存占用只与 maxInFlight（同时在解析的响应）有关，与订阅源总数无关。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class BulkCrawler {
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String ACCEPT = "application/json, application/rss+xml, application/atom+xml, application/xml;q=0.9, text/xml;q=0.9, */*;q=0.8";
+
+    private final int maxInFlight;
+    private final int perHost;
+    private final Function<FeedSpec, CompletableFuture<List<HotItem>>> fetcher;
+
+    /**
+     * @param maxInFlight 全局同时在抓的上限
+     * @param perHost     同一域名同时在抓的上限
+     */
+    public BulkCrawler(int maxInFlight, int perHost) {
+        this(maxInFlight, perHost, BulkCrawler::fetch);
+    }
+
+    /**
+     * @param fetcher 抓取并解析一个订阅源；非 2xx 响应返回 null
+     */
+    BulkCrawler(int maxInFlight, int perHost, Function<FeedSpec, CompletableFuture<List<HotItem>>> fetcher) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight must be at least 1");
+        }
+        this.maxInFlight = maxInFlight;
+        this.perHost = perHost;
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * 抓取全部订阅源，返回时所有结果都已写入 sink（sink 由调用方关闭）
+     */
+    public Summary run(List<FeedSpec> feeds, CategorySink sink) throws InterruptedException {
+        CrawlFrontier frontier = new CrawlFrontier(perHost);
+        feeds.forEach(frontier::add);
+
+        Semaphore slots = new Semaphore(maxInFlight);
+        Semaphore finished = new Semaphore(0);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicLong items = new AtomicLong();
+        long start = System.nanoTime();
+
+        while (!frontier.isFinished()) {
+            slots.acquire();
+            FeedSpec feed = frontier.poll();
+            if (feed == null) {
+                // 剩下的订阅源所在域名都已满额：等任意一个完成再试
+                slots.release();
+                finished.acquire();
+                finished.drainPermits();
+                continue;
+            }
+
+            CompletableFuture<List<HotItem>> attempt;
+            try {
+                attempt = fetcher.apply(feed);
+            } catch (RuntimeException e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempt.whenComplete((result, error) -> {
+                try {
+                    if (error != null) {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        fail(sink, feed, String.valueOf(cause));
+                    } else if (result == null) {
+                        fail(sink, feed, "non-2xx response");
+                    } else {
+                        sink.accept(feed, result);
+                        ok.incrementAndGet();
+                        items.addAndGet(result.size());
+                    }
+                } catch (Exception e) {
+                    fail(sink, feed, "write failed: " + e);
+                } finally {
+                    frontier.done(feed);
+                    slots.release();
+                    finished.release();
+                }
+            });
+        }
+
+        return new Summary(feeds.size(), ok.get(), sink.failureCount(), items.get(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void fail(CategorySink sink, FeedSpec feed, String reason) {
+        System.err.println("Feed failed: " + feed + " (" + reason + ")");
+        sink.fail(feed, reason);
+    }
+
+    private static CompletableFuture<List<HotItem>> fetch(FeedSpec feed) {
+        HttpRequest request = HttpFetcher.request(feed.getUrl())
+                .header("User-Agent", USER_AGENT)
+                .header("Accept", ACCEPT)
+                .header("Accept-Language", "zh-CN,zh;q=0.9,en;q=0.7")
+                .build();
+        return HttpFetcher.fetchAsync(feed.host(), request, in -> FeedParser.parse(in, feed));
+    }
+
+    /**
+     * 一次批量抓取的汇总
+     */
+    public static final class Summary {
+        private final int feeds;
+        private final int succeeded;
+        private final int failed;
+        private final long items;
+        private final long elapsedMillis;
+
+        Summary(int feeds, int succeeded, int failed, long items, long elapsedMillis) {
+            this.feeds = feeds;
+            this.succeeded = succeeded;
+            this.failed = failed;
+            this.items = items;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public int getFeeds() {
+            return feeds;
+        }
+
+        public int getSucceeded() {
+            return succeeded;
+        }
+
+        public int getFailed() {
+            return failed;
+        }
+
+        public long getItems() {
+            return items;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        @Override
+        public String toString() {
+            return feeds + " feed(s): " + succeeded + " ok, " + failed + " failed, " + items + " item(s) in "
+                    + elapsedMillis + " ms";
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hioss.spider.bulk;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.Json;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量模式的输出：每个订阅源抓完就追加到所属栏目的文件，不在内存中攒结果
+ *
+ * <pre>
+ * &lt;dir&gt;/&lt;n&gt;.jsonl   一个栏目一个文件（按栏目第一次出现的顺序编号），
+ *                     每行一个订阅源：{"url":..., "fetchedAt":毫秒, "items":[{"title","link"}, ...]}
+ * &lt;dir&gt;/index.json  结束时写出：各栏目的文件名、订阅源数、条目数，以及失败的订阅源
+ * </pre>
+ * 每行写完即 flush，运行中途也能读到已完成的部分。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class CategorySink implements AutoCloseable {
+
+    private static final String INDEX = "index.json";
+
+    private final Path dir;
+    private final Map<String, Column> columns = new LinkedHashMap<>();
+    private final List<String[]> failures = new ArrayList<>();
+
+    public CategorySink(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * 追加一个订阅源的结果（多个线程可同时调用，同一栏目的写入互斥）
+     */
+    public void accept(FeedSpec feed, List<HotItem> items) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256 + items.size() * 128);
+        try (JsonGenerator g = Json.FACTORY.createGenerator(line)) {
+            g.writeStartObject();
+            g.writeStringField("url", feed.getUrl());
+            g.writeNumberField("fetchedAt", System.currentTimeMillis());
+            g.writeFieldName("items");
+            NewsPageWriter.writeItems(g, items);
+            g.writeEndObject();
+        }
+        line.write('\n');
+
+        Column column = column(feed.getCategory());
+        synchronized (column) {
+            line.writeTo(column.out);
+            column.out.flush();
+            column.feeds++;
+            column.items += items.size();
+        }
+    }
+
+    /**
+     * 记录一个失败的订阅源
+     */
+    public synchronized void fail(FeedSpec feed, String reason) {
+        failures.add(new String[]{feed.getUrl(), feed.getCategory(), reason});
+    }
+
+    public synchronized int failureCount() {
+        return failures.size();
+    }
+
+    private synchronized Column column(String category) throws IOException {
+        Column c = columns.get(category);
+        if (c == null) {
+            String file = columns.size() + ".jsonl";
+            c = new Column(file, new BufferedOutputStream(Files.newOutputStream(dir.resolve(file))));
+            columns.put(category, c);
+        }
+        return c;
+    }
+
+    /**
+     * 关闭各栏目文件并写出 index.json
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        IOException error = null;
+        for (Column c : columns.values()) {
+            synchronized (c) {
+                try {
+                    c.out.close();
+                } catch (IOException e) {
+                    error = e;
+                }
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+
+        AtomicFiles.write(dir.resolve(INDEX), out -> {
+            try (JsonGenerator g = NewsPageWriter.newGenerator(out)) {
+                g.writeStartObject();
+                g.writeArrayFieldStart("categories");
+                for (Map.Entry<String, Column> e : columns.entrySet()) {
+                    g.writeStartObject();
+                    g.writeStringField("name", e.getKey());
+                    g.writeStringField("file", e.getValue().file);
+                    g.writeNumberField("feeds", e.getValue().feeds);
+                    g.writeNumberField("items", e.getValue().items);
+                    g.writeEndObject();
+                }
+                g.writeEndArray();
+                g.writeArrayFieldStart("failed");
+                for (String[] f : failures) {
+                    g.writeStartObject();
+                    g.writeStringField("url", f[0]);
+                    g.writeStringField("category", f[1]);
+                    g.writeStringField("error", f[2]);
+                    g.writeEndObject();
+                }
+                g.writeEndArray();
+                g.writeEndObject();
+            }
+        });
+    }
+
+    private static final class Column {
+        final String file;
+        final OutputStream out;
+        int feeds;
+        long items;
+
+        Column(String file, OutputStream out) {
+            this.file = file;
+            this.out = out;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.hioss.spider.bulk;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 批量模式的抓取边界：按优先级出队，同时保证按域名公平
+ *
+ * <p>每个域名一个按优先级排序的队列，同一域名同时在抓的订阅源不超过 perHost 个。
+ * 出队时在「还能再抓」的域名中，先比较各自队首的优先级，优先级相同的轮到最久没被选中的域名，
+ * 所以一个有几百个订阅源的域名不会把其他域名挤到最后，也不会同时向它发出大量请求
+ * （请求本身仍经过 {@link com.hioss.spider.common.HostRateLimiter} 限速）。
+ *
+ * <p>线程安全：{@link #poll()} 与 {@link #done(FeedSpec)} 可在不同线程调用。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class CrawlFrontier {
+
+    // 同优先级的订阅源按加入顺序出队
+    private static final Comparator<Entry> BY_PRIORITY = Comparator
+            .comparingInt((Entry e) -> -e.feed.getPriority())
+            .thenComparingLong(e -> e.seq);
+
+    private final int perHost;
+    private final Map<String, HostQueue> hosts = new HashMap<>();
+    // 可以出队的域名：队首优先级高者优先，相同时上次被选中早者优先，再相同按域名首次出现的顺序
+    private final PriorityQueue<HostQueue> ready = new PriorityQueue<>(Comparator
+            .comparingInt((HostQueue h) -> -h.queue.peek().feed.getPriority())
+            .thenComparingLong(h -> h.lastTurn)
+            .thenComparingLong(h -> h.order));
+    private long seq;
+    private long turn;
+    private int queued;
+    private int inFlight;
+
+    /**
+     * @param perHost 同一域名同时在抓的上限
+     */
+    public CrawlFrontier(int perHost) {
+        if (perHost < 1) {
+            throw new IllegalArgumentException("perHost must be at least 1");
+        }
+        this.perHost = perHost;
+    }
+
+    public synchronized void add(FeedSpec feed) {
+        HostQueue h = hosts.computeIfAbsent(feed.host(), host -> new HostQueue(host, seq));
+        if (isReady(h)) {
+            // 队首可能变化，先移出堆，加入后再按新的队首排序
+            ready.remove(h);
+        }
+        h.queue.add(new Entry(feed, seq++));
+        queued++;
+        if (isReady(h)) {
+            ready.add(h);
+        }
+    }
+
+    /**
+     * 取出下一个要抓的订阅源；所有域名都已到达并发上限或已抓完时返回 null
+     */
+    public synchronized FeedSpec poll() {
+        HostQueue h = ready.poll();
+        if (h == null) {
+            return null;
+        }
+        FeedSpec feed = h.queue.poll().feed;
+        h.inFlight++;
+        h.lastTurn = ++turn;
+        queued--;
+        inFlight++;
+        if (isReady(h)) {
+            ready.add(h);
+        }
+        return feed;
+    }
+
+    /**
+     * 一个订阅源抓取结束（无论成败），释放它所在域名的并发名额
+     */
+    public synchronized void done(FeedSpec feed) {
+        HostQueue h = hosts.get(feed.host());
+        if (h == null || h.inFlight == 0) {
+            throw new IllegalStateException("Feed was not polled from this frontier: " + feed);
+        }
+        boolean wasReady = isReady(h);
+        h.inFlight--;
+        inFlight--;
+        if (!wasReady && isReady(h)) {
+            ready.add(h);
+        }
+        if (h.queue.isEmpty() && h.inFlight == 0) {
+            hosts.remove(h.host);
+        }
+    }
+
+    /**
+     * 尚未出队的订阅源数
+     */
+    public synchronized int queued() {
+        return queued;
+    }
+
+    /**
+     * 已出队、尚未 {@link #done(FeedSpec)} 的订阅源数
+     */
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    public synchronized boolean isFinished() {
+        return queued == 0 && inFlight == 0;
+    }
+
+    private boolean isReady(HostQueue h) {
+        return !h.queue.isEmpty() && h.inFlight < perHost;
+    }
+
+    private static final class Entry {
+        final FeedSpec feed;
+        final long seq;
+
+        Entry(FeedSpec feed, long seq) {
+            this.feed = feed;
+            this.seq = seq;
+        }
+    }
+
+    private static final class HostQueue {
+        final String host;
+        final long order;
+        final PriorityQueue<Entry> queue = new PriorityQueue<>(BY_PRIORITY);
+        int inFlight;
+        long lastTurn;
+
+        HostQueue(String host, long order) {
+            this.host = host;
+            this.order = order;
+        }
+    }
+}
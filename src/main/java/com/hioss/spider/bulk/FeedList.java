@@ -0,0 +1,76 @@
+package com.hioss.spider.bulk;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.hioss.spider.common.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 批量模式的订阅列表
+ *
+ * <p>JSON 数组，每项见 {@link FeedSpec}：
+ * <pre>
+ * [
+ *   {"url": "https://example.com/hot.json", "category": "示例热榜", "limit": 20, "priority": 1},
+ *   {"url": "https://example.com/feed.xml", "category": "示例资讯", "format": "rss"}
+ * ]
+ * </pre>
+ * 加载时校验：url 必须是 http(s) 地址、category 不能为空、limit 至少为 1、format 只能是 auto / json / rss。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class FeedList {
+
+    private static final Set<String> FORMATS = Set.of(FeedSpec.FORMAT_AUTO, FeedSpec.FORMAT_JSON, FeedSpec.FORMAT_RSS);
+
+    private FeedList() {
+    }
+
+    public static List<FeedSpec> load(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    public static List<FeedSpec> load(InputStream in) throws IOException {
+        List<FeedSpec> feeds = Json.MAPPER.readValue(in, new TypeReference<List<FeedSpec>>() {
+        });
+        for (int i = 0; i < feeds.size(); i++) {
+            validate(i, feeds.get(i));
+        }
+        return feeds;
+    }
+
+    private static void validate(int i, FeedSpec feed) {
+        String where = "Feed #" + i + " (" + feed.getUrl() + ")";
+        if (feed.getUrl() == null) {
+            throw new IllegalArgumentException("Feed #" + i + " has no url");
+        }
+        URI uri;
+        try {
+            uri = URI.create(feed.getUrl());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(where + " has an invalid url", e);
+        }
+        if (uri.getHost() == null || !("http".equals(uri.getScheme()) || "https".equals(uri.getScheme()))) {
+            throw new IllegalArgumentException(where + " must be an http(s) url");
+        }
+        if (feed.getCategory() == null || feed.getCategory().isBlank()) {
+            throw new IllegalArgumentException(where + " has no category");
+        }
+        if (feed.getLimit() < 1) {
+            throw new IllegalArgumentException(where + " has limit " + feed.getLimit() + "; must be at least 1");
+        }
+        if (!FORMATS.contains(feed.getFormat())) {
+            throw new IllegalArgumentException(where + " has unknown format " + feed.getFormat());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.hioss.spider.bulk;
+
+import com.hioss.spider.common.Json;
+import com.hioss.spider.common.NewsJsonUtils;
+import com.hioss.spider.dto.HotItem;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量模式的响应解析：JSON 接口交给 {@link NewsJsonUtils#parseItems} 的启发式解析，
+ * RSS（item）与 Atom（entry）按 XML 解析。format=auto 时看响应的第一个非空白字符：'&lt;' 为 XML，否则为 JSON。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class FeedParser {
+
+    private FeedParser() {
+    }
+
+    public static List<HotItem> parse(InputStream in, FeedSpec feed) throws IOException {
+        BufferedInputStream buf = new BufferedInputStream(in);
+        String format = feed.getFormat();
+        if (FeedSpec.FORMAT_AUTO.equals(format)) {
+            format = firstNonBlank(buf) == '<' ? FeedSpec.FORMAT_RSS : FeedSpec.FORMAT_JSON;
+        }
+        if (FeedSpec.FORMAT_RSS.equals(format)) {
+            return parseXml(buf, feed.getUrl(), feed.getLimit());
+        }
+        return NewsJsonUtils.parseItems(Json.readTree(buf), feed.getLimit());
+    }
+
+    /**
+     * RSS 2.0 的 item（title / link）与 Atom 的 entry（title / link@href，优先 rel=alternate）
+     */
+    static List<HotItem> parseXml(InputStream in, String baseUri, int limit) throws IOException {
+        Document doc = Jsoup.parse(in, null, baseUri, Parser.xmlParser());
+        List<HotItem> out = new ArrayList<>();
+        for (Element item : doc.select("item, entry")) {
+            if (out.size() >= limit) {
+                break;
+            }
+            Element title = item.selectFirst("> title");
+            if (title == null || title.text().isBlank()) {
+                continue;
+            }
+            out.add(new HotItem(title.text().trim(), link(item)));
+        }
+        return out;
+    }
+
+    private static String link(Element item) {
+        Element alternate = item.selectFirst("> link[rel=alternate][href]");
+        Element link = alternate != null ? alternate : item.selectFirst("> link");
+        if (link == null) {
+            return "";
+        }
+        return link.hasAttr("href") ? link.absUrl("href") : link.text().trim();
+    }
+
+    /**
+     * 预读第一个非空白字节（含 UTF-8 BOM 的跳过），不消耗输入
+     */
+    private static int firstNonBlank(BufferedInputStream in) throws IOException {
+        int peek = 512;
+        in.mark(peek);
+        try {
+            for (int i = 0; i < peek; i++) {
+                int b = in.read();
+                if (b < 0) {
+                    return -1;
+                }
+                if (!Character.isWhitespace(b) && b != 0xEF && b != 0xBB && b != 0xBF) {
+                    return b;
+                }
+            }
+            return -1;
+        } finally {
+            in.reset();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.hioss.spider.bulk;
+
+import java.net.URI;
+import java.util.Locale;
+
+/**
+ * 批量模式中的一个订阅源（对应订阅列表中的一项）
+ *
+ * <pre>
+ * url       接口或 RSS / Atom 地址
+ * category  结果写入的栏目名，多个源可以写入同一栏目
+ * limit     最多保留条数，默认 10
+ * priority  越大越先抓取，默认 0
+ * format    auto / json / rss，默认 auto（按响应的第一个非空白字符判断）
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class FeedSpec {
+
+    public static final String FORMAT_AUTO = "auto";
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_RSS = "rss";
+
+    private String url;
+    private String category;
+    private int limit = 10;
+    private int priority;
+    private String format = FORMAT_AUTO;
+
+    public FeedSpec() {
+    }
+
+    public FeedSpec(String url, String category, int limit, int priority) {
+        this.url = url;
+        this.category = category;
+        this.limit = limit;
+        this.priority = priority;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(String url) {
+        this.url = url;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public void setPriority(int priority) {
+        this.priority = priority;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+    }
+
+    /**
+     * 域名（小写），抓取边界据此做按域名的公平调度
+     */
+    public String host() {
+        String host = URI.create(url).getHost();
+        return host == null ? "" : host.toLowerCase(Locale.ROOT);
+    }
+
+    @Override
+    public String toString() {
+        return category + " <- " + url;
+    }
+}
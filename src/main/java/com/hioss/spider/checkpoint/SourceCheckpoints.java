@@ -0,0 +1,153 @@
+package com.hioss.spider.checkpoint;
+
+import com.hioss.spider.common.SourceResultFiles;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 单进程抓取的来源检查点（某一天）
+ *
+ * <pre>
+ * &lt;base&gt;/&lt;date&gt;/&lt;key&gt;.json   某来源的抓取结果与抓取时间（格式见 {@link SourceResultFiles}，原子写入）
+ * </pre>
+ *
+ * <p>每个来源抓取完成后立即写出，不等其他来源；进程被杀或任务被取消后重新运行同一天时，
+ * 未超过最长有效期的检查点直接复用，只抓取缺失或过期的来源。
+ * 抓取失败（空结果）不写检查点，下次照常重抓；读不出的检查点视为不存在。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SourceCheckpoints {
+
+    public static final Path DEFAULT_DIR = Paths.get("checkpoints");
+
+    private final Path base;
+    private final Path root;
+    private final Duration maxAge;
+    private final Set<String> reused = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxAge 检查点的最长有效期（按抓取时间计）
+     */
+    public SourceCheckpoints(Path base, String date, Duration maxAge) {
+        this.base = base;
+        this.root = base.resolve(date);
+        this.maxAge = maxAge;
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Path file(String key) {
+        return root.resolve(key + ".json");
+    }
+
+    /**
+     * 未过期的检查点；不存在、已过期或读不出时返回 null
+     */
+    public SourceResult fresh(String key) {
+        Path file = file(key);
+        SourceResult result;
+        try {
+            result = SourceResultFiles.read(file);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable checkpoint " + file + ": " + e.getMessage());
+            return null;
+        }
+        if (result == null || !key.equals(result.getKey())) {
+            return null;
+        }
+        long age = System.currentTimeMillis() - result.getFetchedAt();
+        return age >= 0 && age <= maxAge.toMillis() ? result : null;
+    }
+
+    /**
+     * 原子写出一个来源的检查点
+     */
+    public void save(SourceResult result) throws IOException {
+        try (StageTimer t = StageTimer.start(Stage.SERIALIZE, "checkpoint/" + result.getKey(), null)) {
+            SourceResultFiles.write(file(result.getKey()), result);
+            t.items(result.getItems().size());
+        }
+    }
+
+    /**
+     * 包装抓取方法：有未过期的检查点时直接返回其中的条目，否则抓取，成功后立即写出检查点。
+     * 写检查点失败只打印警告，不影响本次抓取
+     *
+     * @param fetcher 来源短名 -> 抓取结果
+     */
+    public Function<String, List<HotItem>> wrap(Function<String, List<HotItem>> fetcher) {
+        return key -> {
+            SourceResult cached = fresh(key);
+            if (cached != null) {
+                reused.add(key);
+                System.out.println("Reusing checkpoint for " + key + " (fetched "
+                        + Instant.ofEpochMilli(cached.getFetchedAt()) + ")");
+                return cached.getItems();
+            }
+
+            List<HotItem> items = fetcher.apply(key);
+            if (!items.isEmpty()) {
+                try {
+                    save(new SourceResult(key, NewsSources.get(key).getCategory(), System.currentTimeMillis(), items));
+                } catch (IOException e) {
+                    System.err.println("Failed to write checkpoint for " + key + ": " + e.getMessage());
+                }
+            }
+            return items;
+        };
+    }
+
+    /**
+     * 本次运行中复用了检查点的来源
+     */
+    public Set<String> getReused() {
+        return Set.copyOf(reused);
+    }
+
+    /**
+     * 删除其他日期的检查点目录（换日后旧检查点不会再被复用）
+     *
+     * @return 删除的目录数
+     */
+    public int pruneOtherDates() throws IOException {
+        if (!Files.isDirectory(base)) {
+            return 0;
+        }
+        final List<Path> dirs;
+        try (var stream = Files.list(base)) {
+            dirs = stream.filter(Files::isDirectory)
+                    .filter(d -> !d.getFileName().equals(root.getFileName()))
+                    .toList();
+        }
+        for (Path d : dirs) {
+            final List<Path> paths;
+            try (var stream = Files.walk(d)) {
+                paths = stream.sorted(Comparator.reverseOrder()).toList();
+            }
+            for (Path p : paths) {
+                Files.deleteIfExists(p);
+            }
+        }
+        return dirs.size();
+    }
+}
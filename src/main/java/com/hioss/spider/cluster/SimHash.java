@@ -0,0 +1,105 @@
+package com.hioss.spider.cluster;
+
+/**
+ * 64 位 SimHash
+ *
+ * <p>特征（shingle）：汉字等表意文字取相邻两字的二元组；连续的字母/数字作为一个词。
+ * 每个特征先做 64 位哈希（FNV-1a + splitmix64 混合），再按位投票得到指纹。
+ * 输入应是 {@link TitleNormalizer#key(String)} 的结果。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SimHash {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SimHash() {
+    }
+
+    /**
+     * 计算指纹；空串返回 0
+     */
+    public static long fingerprint(String key) {
+        int[] votes = new int[64];
+        int features = 0;
+
+        int n = key.length();
+        int i = 0;
+        int prevIdeo = -1;
+        while (i < n) {
+            int cp = key.codePointAt(i);
+            int len = Character.charCount(cp);
+            if (Character.isIdeographic(cp)) {
+                if (prevIdeo >= 0) {
+                    vote(votes, hash(prevIdeo, cp));
+                    features++;
+                }
+                prevIdeo = cp;
+                i += len;
+            } else {
+                // 连续的字母 / 数字作为一个词
+                int end = i;
+                long h = FNV_OFFSET;
+                while (end < n) {
+                    int c = key.codePointAt(end);
+                    if (Character.isIdeographic(c)) {
+                        break;
+                    }
+                    h = (h ^ c) * FNV_PRIME;
+                    end += Character.charCount(c);
+                }
+                vote(votes, mix(h));
+                features++;
+                prevIdeo = -1;
+                i = end;
+            }
+        }
+
+        // 只有一个汉字时没有二元组，退化为单字
+        if (features == 0 && n > 0) {
+            vote(votes, hash(key.codePointAt(0), 0));
+        } else if (features == 0) {
+            return 0;
+        }
+
+        long fp = 0;
+        for (int b = 0; b < 64; b++) {
+            if (votes[b] > 0) {
+                fp |= 1L << b;
+            }
+        }
+        return fp;
+    }
+
+    /**
+     * 两个指纹的海明距离
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    private static long hash(int a, int b) {
+        long h = FNV_OFFSET;
+        h = (h ^ a) * FNV_PRIME;
+        h = (h ^ b) * FNV_PRIME;
+        return mix(h);
+    }
+
+    /**
+     * splitmix64 的收尾混合：让相近输入的哈希在各位上充分打散
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static void vote(int[] votes, long h) {
+        for (int b = 0; b < 64; b++) {
+            votes[b] += ((h >>> b) & 1L) != 0 ? 1 : -1;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.hioss.spider.cluster;
+
+import com.hioss.spider.dto.HotItem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 跨来源的近似重复新闻聚类
+ *
+ * <p>每条标题先规范化（{@link TitleNormalizer}）并计算 SimHash 指纹，再用分段（banded）LSH
+ * 找候选：64 位指纹切成 maxDistance + 1 段，海明距离不超过 maxDistance 的两个指纹
+ * 至少有一段完全相同（抽屉原理），所以只需比较落在同一个桶里的条目，不必两两比较；
+ * 每条只与同桶的少数条目比较，总成本随条目数近似线性增长。候选对再核对海明距离，命中的用并查集合并。
+ *
+ * <p>结果写回条目：展示标题去掉首尾空白，{@link HotItem#getCluster()} 为簇编号（按首次出现顺序从 1 开始），
+ * {@link HotItem#getSources()} 为簇内出现的不同栏目数。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class StoryClusterer {
+
+    // 标题很短，指纹对措辞变化较敏感：按已有数据，同一事件的不同写法（如「致5人死亡」/「5死17伤」）
+    // 大多在 9 以内；10 段每段 6~7 位，单个桶内的条目数约为总数的 1/100
+    public static final int DEFAULT_MAX_DISTANCE = 9;
+
+    private final int maxDistance;
+    private final int[] bandShift;
+    private final long[] bandMask;
+
+    public StoryClusterer() {
+        this(DEFAULT_MAX_DISTANCE);
+    }
+
+    /**
+     * @param maxDistance 视为同一事件的最大海明距离（0 ~ 63）
+     */
+    public StoryClusterer(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 63) {
+            throw new IllegalArgumentException("maxDistance must be in [0, 63]: " + maxDistance);
+        }
+        this.maxDistance = maxDistance;
+
+        int bands = maxDistance + 1;
+        this.bandShift = new int[bands];
+        this.bandMask = new long[bands];
+        int shift = 0;
+        for (int b = 0; b < bands; b++) {
+            // 64 位尽量均分，前面的段多分一位
+            int width = 64 / bands + (b < 64 % bands ? 1 : 0);
+            bandShift[b] = shift;
+            bandMask[b] = width == 64 ? -1L : (1L << width) - 1;
+            shift += width;
+        }
+    }
+
+    /**
+     * 聚类并把结果写回条目
+     *
+     * @param categories 栏目名 -> 条目
+     * @return 簇的数量
+     */
+    public int annotate(Map<String, ? extends List<HotItem>> categories) {
+        List<HotItem> items = new ArrayList<>();
+        List<Integer> categoryOf = new ArrayList<>();
+        int c = 0;
+        for (List<HotItem> list : categories.values()) {
+            for (HotItem item : list) {
+                item.setTitle(TitleNormalizer.display(item.getTitle()));
+                items.add(item);
+                categoryOf.add(c);
+            }
+            c++;
+        }
+
+        int n = items.size();
+        long[] fp = new long[n];
+        boolean[] comparable = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            String key = TitleNormalizer.key(items.get(i).getTitle());
+            comparable[i] = !key.isEmpty();
+            fp[i] = SimHash.fingerprint(key);
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+
+        // 每段一个桶表：段值 -> 落在该桶的条目
+        for (int b = 0; b < bandShift.length; b++) {
+            Map<Long, List<Integer>> buckets = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) {
+                if (!comparable[i]) {
+                    continue;
+                }
+                long band = (fp[i] >>> bandShift[b]) & bandMask[b];
+                List<Integer> bucket = buckets.computeIfAbsent(band, k -> new ArrayList<>(2));
+                for (int j : bucket) {
+                    if (find(parent, i) != find(parent, j) && SimHash.distance(fp[i], fp[j]) <= maxDistance) {
+                        union(parent, i, j);
+                    }
+                }
+                bucket.add(i);
+            }
+        }
+
+        // 簇编号按首次出现顺序分配；统计每簇涉及的栏目数
+        Map<Integer, Integer> clusterIds = new HashMap<>();
+        Map<Integer, Set<Integer>> clusterCategories = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            clusterIds.putIfAbsent(root, clusterIds.size() + 1);
+            clusterCategories.computeIfAbsent(root, k -> new HashSet<>()).add(categoryOf.get(i));
+        }
+        for (int i = 0; i < n; i++) {
+            int root = find(parent, i);
+            HotItem item = items.get(i);
+            item.setCluster(clusterIds.get(root));
+            item.setSources(clusterCategories.get(root).size());
+        }
+        return clusterIds.size();
+    }
+
+    /**
+     * 只重新标注部分栏目（局部刷新用）：fixed 中的栏目保留已有的簇编号与栏目数，条目不被修改；
+     * 其余栏目与 fixed 中同一事件的条目沿用其簇编号（命中多个时取最小的），
+     * 不与任何已有条目相同的簇从已有最大编号之后继续编号
+     *
+     * @param categories 栏目名 -> 条目
+     * @param fixed      不重新标注的栏目名
+     * @return 重新标注的栏目所涉及的簇的数量
+     */
+    public int annotate(Map<String, ? extends List<HotItem>> categories, Set<String> fixed) {
+        // 已有栏目用副本参与聚类，聚类会改写标题与标注
+        Map<String, List<HotItem>> work = new LinkedHashMap<>();
+        List<HotItem> kept = new ArrayList<>();
+        List<HotItem> copies = new ArrayList<>();
+        int maxCluster = 0;
+        for (Map.Entry<String, ? extends List<HotItem>> e : categories.entrySet()) {
+            if (!fixed.contains(e.getKey())) {
+                work.put(e.getKey(), new ArrayList<>(e.getValue()));
+                continue;
+            }
+            List<HotItem> list = new ArrayList<>(e.getValue().size());
+            for (HotItem item : e.getValue()) {
+                HotItem copy = new HotItem(item.getTitle(), item.getLink());
+                list.add(copy);
+                kept.add(item);
+                copies.add(copy);
+                maxCluster = Math.max(maxCluster, item.getCluster());
+            }
+            work.put(e.getKey(), list);
+        }
+        annotate(work);
+
+        // 新簇编号 -> 已有簇编号
+        Map<Integer, Integer> ids = new HashMap<>();
+        for (int i = 0; i < kept.size(); i++) {
+            int old = kept.get(i).getCluster();
+            if (old > 0) {
+                ids.merge(copies.get(i).getCluster(), old, Math::min);
+            }
+        }
+        Set<Integer> touched = new HashSet<>();
+        for (Map.Entry<String, List<HotItem>> e : work.entrySet()) {
+            if (fixed.contains(e.getKey())) {
+                continue;
+            }
+            for (HotItem item : e.getValue()) {
+                Integer id = ids.get(item.getCluster());
+                if (id == null) {
+                    id = ++maxCluster;
+                    ids.put(item.getCluster(), id);
+                }
+                item.setCluster(id);
+                touched.add(id);
+            }
+        }
+        return touched.size();
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int ra = find(parent, a);
+        int rb = find(parent, b);
+        // 小编号做根，簇编号与首次出现顺序一致
+        if (ra < rb) {
+            parent[rb] = ra;
+        } else if (rb < ra) {
+            parent[ra] = rb;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hioss.spider.cluster;
+
+import java.text.Normalizer;
+
+/**
+ * 标题规范化
+ *
+ * <p>{@link #display(String)} 只去掉首尾空白（百度标题前后带空格），用于页面展示；
+ * {@link #key(String)} 生成用于比对的键：NFKC（全角转半角、兼容字符归一）、转小写，
+ * 并去掉所有标点、空白与符号，只保留文字和数字。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class TitleNormalizer {
+
+    private TitleNormalizer() {
+    }
+
+    /**
+     * 展示用标题：去掉首尾空白（含全角空格）
+     */
+    public static String display(String title) {
+        return title == null ? null : title.strip();
+    }
+
+    /**
+     * 比对用的键
+     */
+    public static String key(String title) {
+        if (title == null) {
+            return "";
+        }
+        String s = Normalizer.normalize(title, Normalizer.Form.NFKC);
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                sb.appendCodePoint(Character.toLowerCase(cp));
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,50 @@
+package com.hioss.spider.common;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 简单的命令行参数解析：--name=value 或 --flag
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class CliArgs {
+
+    private final Map<String, String> options = new LinkedHashMap<>();
+
+    private CliArgs() {
+    }
+
+    public static CliArgs parse(String[] args) {
+        CliArgs cli = new CliArgs();
+        for (String a : args) {
+            if (!a.startsWith("--")) {
+                throw new IllegalArgumentException("Unrecognized argument: " + a);
+            }
+            String body = a.substring(2);
+            int eq = body.indexOf('=');
+            if (eq < 0) {
+                cli.options.put(body, "");
+            } else {
+                cli.options.put(body.substring(0, eq), body.substring(eq + 1));
+            }
+        }
+        return cli;
+    }
+
+    public boolean has(String name) {
+        return options.containsKey(name);
+    }
+
+    public String get(String name, String defaultValue) {
+        String v = options.get(name);
+        return v == null || v.isEmpty() ? defaultValue : v;
+    }
+
+    public long getLong(String name, long defaultValue) {
+        String v = options.get(name);
+        return v == null || v.isEmpty() ? defaultValue : Long.parseLong(v);
+    }
+}
@@ -0,0 +1,47 @@
+package com.hioss.spider.common;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+
+/**
+ * 来源地址的重定向：基准测试时把各来源的请求指到本地的样本服务器
+ *
+ * <p>设置系统属性 {@code -Dspider.fixtureBase=http://127.0.0.1:8099} 后，
+ * 来源 key 的请求一律改为 {@code <fixtureBase>/<key>}（请求头不变）；未设置时原样返回。
+ * HttpClient 类来源在 {@link HttpFetcher} 中统一改写，WebMagic 类来源在 addUrl 时调用 {@link #url}。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Endpoints {
+
+    public static final String FIXTURE_BASE_PROPERTY = "spider.fixtureBase";
+
+    private Endpoints() {
+    }
+
+    /**
+     * 来源实际请求的地址
+     */
+    public static String url(String source, String url) {
+        String base = System.getProperty(FIXTURE_BASE_PROPERTY);
+        if (base == null || base.isBlank()) {
+            return url;
+        }
+        return (base.endsWith("/") ? base : base + "/") + source;
+    }
+
+    /**
+     * 来源实际发送的请求；没有重定向时返回原请求
+     */
+    public static HttpRequest request(String source, HttpRequest request) {
+        String url = url(source, request.uri().toString());
+        if (url.equals(request.uri().toString())) {
+            return request;
+        }
+        return HttpRequest.newBuilder(request, (name, value) -> true)
+                .uri(URI.create(url))
+                .build();
+    }
+}
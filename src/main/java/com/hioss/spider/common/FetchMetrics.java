@@ -0,0 +1,70 @@
+package com.hioss.spider.common;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 每个来源的抓取统计：请求次数、传输字节数（压缩后）、解压后字节数
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class FetchMetrics {
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+
+    private FetchMetrics() {
+    }
+
+    /**
+     * 记录一次抓取
+     *
+     * @param source 来源名称
+     * @param wireBytes 实际传输（压缩后）字节数
+     * @param decodedBytes 解压后字节数
+     */
+    public static void record(String source, long wireBytes, long decodedBytes) {
+        Counter c = COUNTERS.computeIfAbsent(source, k -> new Counter());
+        c.requests.increment();
+        c.wireBytes.add(wireBytes);
+        c.decodedBytes.add(decodedBytes);
+    }
+
+    public static long wireBytes(String source) {
+        Counter c = COUNTERS.get(source);
+        return c == null ? 0 : c.wireBytes.sum();
+    }
+
+    public static long decodedBytes(String source) {
+        Counter c = COUNTERS.get(source);
+        return c == null ? 0 : c.decodedBytes.sum();
+    }
+
+    public static void reset() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * 按来源名称输出统计表
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Counter> e : new TreeMap<>(COUNTERS).entrySet()) {
+            Counter c = e.getValue();
+            long wire = c.wireBytes.sum();
+            long decoded = c.decodedBytes.sum();
+            sb.append(String.format("[fetch] %-22s %3d req  %10d B wire  %10d B decoded  x%.2f%n",
+                    e.getKey(), c.requests.sum(), wire, decoded, wire == 0 ? 0.0 : (double) decoded / wire));
+        }
+        return sb.toString();
+    }
+
+    private static final class Counter {
+        final LongAdder requests = new LongAdder();
+        final LongAdder wireBytes = new LongAdder();
+        final LongAdder decodedBytes = new LongAdder();
+    }
+}
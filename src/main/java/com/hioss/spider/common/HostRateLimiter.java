@@ -0,0 +1,170 @@
+package com.hioss.spider.common;
+
+import java.net.URI;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按域名的令牌桶限速器（礼貌抓取）
+ *
+ * <p>取代 WebMagic 的 setSleepTime：原做法每抓一页就让线程睡 1.5~5 秒，
+ * 且不同来源访问同一域名时互不知情，HttpClient 类来源则完全没有限速。
+ * 这里所有抓取路径共用一个限速器，{@link #acquire(String)} 立即返回一个 future，
+ * 需要等待时由 JDK 的延迟调度器到点完成，限速器自身不让任何线程 sleep。
+ * 是否占线程取决于调用方：批量模式（{@link HttpFetcher#fetchAsync} 之后接续）不占线程；
+ * 单进程抓取中 WebMagic 类来源 join 这个 future、接口类来源经同步的 {@link HttpFetcher#fetch}，
+ * 等待期间都会阻塞该来源自己的抓取线程（各来源各用一个线程，不影响其他来源）。
+ *
+ * <p>速率配置（每秒令牌数 / 桶容量）：
+ * <pre>
+ * 环境变量  SPIDER_RATES="default=2/2,top.baidu.com=0.2/1,weibo.com=1"
+ * 系统属性  -Dspider.rate.default=2/2  -Dspider.rate.top.baidu.com=0.2/1（优先于环境变量）
+ * </pre>
+ * 域名按后缀匹配：weibo.com 的配置同样作用于 s.weibo.com。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class HostRateLimiter {
+
+    private static final String ENV = "SPIDER_RATES";
+    private static final String PROPERTY_PREFIX = "spider.rate.";
+    private static final double[] BUILTIN_DEFAULT = {2.0, 2.0};
+
+    private static final HostRateLimiter SHARED = new HostRateLimiter(loadConfig());
+
+    private final Map<String, double[]> config;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    HostRateLimiter(Map<String, double[]> config) {
+        this.config = config;
+    }
+
+    /**
+     * 按给定配置创建（与环境变量同一格式，如 "default=2/2,weibo.com=1"），不读环境变量与系统属性
+     */
+    public HostRateLimiter(String spec) {
+        this(parseSpec(spec));
+    }
+
+    /**
+     * 进程内共享的限速器
+     */
+    public static HostRateLimiter shared() {
+        return SHARED;
+    }
+
+    /**
+     * 申请一个访问某域名的许可
+     *
+     * @param host 域名（也可传完整 URL）
+     * @return 许可可用时完成的 future；桶内有令牌时立即完成
+     */
+    public CompletableFuture<Void> acquire(String host) {
+        String h = normalize(host);
+        long delayNanos = buckets.computeIfAbsent(h, k -> new Bucket(rateFor(k))).reserve();
+        if (delayNanos <= 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Executor delayed = CompletableFuture.delayedExecutor(delayNanos, TimeUnit.NANOSECONDS, Runnable::run);
+        return CompletableFuture.runAsync(() -> { }, delayed);
+    }
+
+    private double[] rateFor(String host) {
+        // 按后缀匹配：a.b.c -> b.c -> c
+        String h = host;
+        while (true) {
+            double[] r = config.get(h);
+            if (r != null) {
+                return r;
+            }
+            int dot = h.indexOf('.');
+            if (dot < 0) {
+                break;
+            }
+            h = h.substring(dot + 1);
+        }
+        return config.getOrDefault("default", BUILTIN_DEFAULT);
+    }
+
+    private static String normalize(String hostOrUrl) {
+        String s = hostOrUrl.trim().toLowerCase(Locale.ROOT);
+        if (s.contains("://")) {
+            String host = URI.create(s).getHost();
+            return host == null ? s : host;
+        }
+        return s;
+    }
+
+    private static Map<String, double[]> loadConfig() {
+        Map<String, double[]> config = parseSpec(System.getenv(ENV));
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith(PROPERTY_PREFIX)) {
+                config.put(name.substring(PROPERTY_PREFIX.length()).toLowerCase(Locale.ROOT),
+                        parseRate(System.getProperty(name)));
+            }
+        }
+        return config;
+    }
+
+    /**
+     * "域名=速率[/容量],..."
+     */
+    private static Map<String, double[]> parseSpec(String spec) {
+        Map<String, double[]> config = new ConcurrentHashMap<>();
+        if (spec != null && !spec.isBlank()) {
+            for (String part : spec.split(",")) {
+                int eq = part.indexOf('=');
+                if (eq > 0) {
+                    config.put(part.substring(0, eq).trim().toLowerCase(Locale.ROOT), parseRate(part.substring(eq + 1)));
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * "速率[/容量]"，容量缺省为 max(1, 速率)
+     */
+    static double[] parseRate(String spec) {
+        String[] parts = spec.trim().split("/");
+        double rate = Double.parseDouble(parts[0].trim());
+        double burst = parts.length > 1 ? Double.parseDouble(parts[1].trim()) : Math.max(1.0, rate);
+        if (rate <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Invalid rate spec: " + spec);
+        }
+        return new double[]{rate, burst};
+    }
+
+    /**
+     * 令牌桶：令牌不足时允许「预支」成负数，返回需要等待的时间，
+     * 后来的请求自然排在前面的预约之后
+     */
+    private static final class Bucket {
+        private final double ratePerNano;
+        private final double burst;
+        private double tokens;
+        private long last;
+
+        Bucket(double[] rate) {
+            this.ratePerNano = rate[0] / TimeUnit.SECONDS.toNanos(1);
+            this.burst = rate[1];
+            this.tokens = burst;
+            this.last = System.nanoTime();
+        }
+
+        synchronized long reserve() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - last) * ratePerNano);
+            last = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / ratePerNano);
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.hioss.spider.common;
+
+import com.hioss.spider.raw.RawCapture;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 基于 java.net.http.HttpClient 的统一抓取工具
+ *
+ * 说明：
+ * - 所有接口类爬虫共用同一个 HttpClient（连接池、TLS 会话可复用）
+ * - 请求时声明 Accept-Encoding: gzip, deflate，按响应的 Content-Encoding 流式解压
+ * - 解压后的 InputStream 直接交给解析器（如 Jackson），中间不再拼出完整的 String
+ * - 每次抓取都会把「传输字节数 / 解压后字节数」记到 {@link FetchMetrics}
+ * - 发送前按域名向 {@link HostRateLimiter} 申请许可（礼貌抓取）
+ * - 请求与解析分别记为 JFR 的 fetch / parse 阶段事件（{@link StageTimer}）
+ * - 设置了 -Dspider.fixtureBase 时请求改发到本地样本服务器（{@link Endpoints}）
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class HttpFetcher {
+
+    private static final String ACCEPT_ENCODING = "gzip, deflate";
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .build();
+
+    private HttpFetcher() {
+    }
+
+    /**
+     * 响应体解析器：从（已解压的）输入流读取并返回解析结果
+     */
+    @FunctionalInterface
+    public interface BodyParser<T> {
+        T parse(InputStream in) throws IOException;
+    }
+
+    /**
+     * 创建带默认超时与 Accept-Encoding 的请求构造器，调用方再追加各自的请求头
+     */
+    public static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(Duration.ofSeconds(15))
+                .header("Accept-Encoding", ACCEPT_ENCODING)
+                .GET();
+    }
+
+    /**
+     * 发送请求并把解压后的响应流交给解析器（同步版本）
+     *
+     * <p>阻塞调用线程直到完成，包括在 {@link HostRateLimiter} 排队等待许可的时间。
+     *
+     * @param source 来源名称（用于统计）
+     * @param request 请求
+     * @param parser 响应体解析器
+     * @return 解析结果；非 2xx 响应返回 null
+     */
+    public static <T> T fetch(String source, HttpRequest request, BodyParser<T> parser)
+            throws IOException, InterruptedException {
+        try {
+            return fetchAsync(source, request, parser).get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * 异步抓取：先向 {@link HostRateLimiter} 申请该域名的许可（本方法不阻塞；调用方 join 或 get 时仍会在此等待），
+     * 再异步发送请求；响应到达后把解压后的流交给解析器
+     */
+    public static <T> CompletableFuture<T> fetchAsync(String source, HttpRequest request, BodyParser<T> parser) {
+        HttpRequest target = Endpoints.request(source, request);
+        HttpRequest req = target.headers().firstValue("Accept-Encoding").isPresent()
+                ? target
+                : HttpRequest.newBuilder(target, (name, value) -> true)
+                        .header("Accept-Encoding", ACCEPT_ENCODING)
+                        .build();
+
+        String host = req.uri().getHost();
+        return HostRateLimiter.shared().acquire(host)
+                .thenCompose(v -> {
+                    // fetch 阶段：发送到拿到响应头；响应体是边读边解析的，计入 parse 阶段
+                    StageTimer fetch = StageTimer.start(Stage.FETCH, source, host);
+                    return CLIENT.sendAsync(req, HttpResponse.BodyHandlers.ofInputStream())
+                            .whenComplete((r, t) -> fetch.close());
+                })
+                .thenApply(response -> {
+                    try {
+                        return read(source, host, response, parser);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private static <T> T read(String source, String host, HttpResponse<InputStream> response,
+                              BodyParser<T> parser) throws IOException {
+        try (InputStream body = response.body()) {
+            int code = response.statusCode();
+            if (code < 200 || code >= 300) {
+                return null;
+            }
+
+            String encoding = response.headers().firstValue("Content-Encoding").orElse("");
+            CountingInputStream wire = new CountingInputStream(body);
+            CountingInputStream decoded = new CountingInputStream(decode(wire, encoding));
+            try (decoded; StageTimer parse = StageTimer.start(Stage.PARSE, source, host)) {
+                if (!RawCapture.isActive()) {
+                    try {
+                        return parser.parse(decoded);
+                    } finally {
+                        parse.bytes(decoded.getCount());
+                    }
+                }
+                // 采集原始响应：解析器边读，读过的字节边复制一份；解析器提前停下时把剩余部分读完，
+                // 存下的是完整响应体。解析失败也保留
+                TeeInputStream tee = new TeeInputStream(decoded);
+                try {
+                    return parser.parse(tee);
+                } finally {
+                    try {
+                        tee.drain();
+                    } finally {
+                        parse.bytes(decoded.getCount());
+                        RawCapture.record(source, response.uri().toString(), tee.copy());
+                    }
+                }
+            } finally {
+                FetchMetrics.record(source, wire.getCount(), decoded.getCount());
+            }
+        }
+    }
+
+    /**
+     * 按 Content-Encoding 包装解压流
+     */
+    static InputStream decode(InputStream in, String contentEncoding) throws IOException {
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        switch (encoding) {
+            case "":
+            case "identity":
+                return in;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(in, BUFFER_SIZE);
+            case "deflate":
+                return inflate(in);
+            default:
+                throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+        }
+    }
+
+    /**
+     * deflate 响应：标准是 zlib 包装，但不少服务器直接发裸 deflate 流，这里按头两个字节判断
+     */
+    private static InputStream inflate(InputStream in) throws IOException {
+        PushbackInputStream pb = new PushbackInputStream(in, 2);
+        byte[] head = new byte[2];
+        int n = pb.readNBytes(head, 0, 2);
+        if (n > 0) {
+            pb.unread(head, 0, n);
+        }
+
+        boolean zlibWrapped = n == 2
+                && (head[0] & 0x0F) == 8
+                && (((head[0] & 0xFF) << 8) | (head[1] & 0xFF)) % 31 == 0;
+
+        Inflater inflater = new Inflater(!zlibWrapped);
+        return new InflaterInputStream(pb, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    // 自带的 Inflater 不会被 InflaterInputStream 释放，这里手动 end
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    /**
+     * 把读过的字节复制一份的输入流（原始响应采集用）；close 不关闭底层流，由调用方关闭
+     */
+    static final class TeeInputStream extends FilterInputStream {
+        private final ByteArrayOutputStream copy = new ByteArrayOutputStream(BUFFER_SIZE);
+
+        TeeInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                copy.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                copy.write(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // 跳过的字节也要复制，按读取处理
+            if (n <= 0) {
+                return 0;
+            }
+            byte[] buf = new byte[(int) Math.min(n, BUFFER_SIZE)];
+            int r = read(buf, 0, buf.length);
+            return Math.max(r, 0);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            // 解析器（如 Jackson）会关闭传入的流；底层流由 read 外层的 try 关闭，读剩余部分时仍要用到
+        }
+
+        /**
+         * 读完解析器没读的部分
+         */
+        void drain() throws IOException {
+            byte[] buf = new byte[BUFFER_SIZE];
+            while (read(buf, 0, buf.length) >= 0) {
+                // 只为复制
+            }
+        }
+
+        byte[] copy() {
+            return copy.toByteArray();
+        }
+    }
+
+    /**
+     * 统计读取字节数的输入流
+     */
+    static final class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long getCount() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            count += skipped;
+            return skipped;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.hioss.spider.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 全局共用的 Jackson 实例
+ *
+ * 说明：
+ * - ObjectMapper 配置完成后是线程安全的，创建成本（序列化器缓存、符号表）却不低，整个进程只建一个
+ * - 接口类爬虫通过 {@link #readTree(InputStream)} 直接从 {@link HttpFetcher} 给出的解压流解析，
+ *   不经过 String / byte[] 中转
+ * - 流式读写（NewsPage、SSE 帧）使用同一个 {@link #FACTORY}，共享字段名符号表与缓冲区回收
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Json {
+
+    public static final ObjectMapper MAPPER = JsonMapper.builder()
+            // 解析出错时异常信息里不带原始响应内容（接口响应可能很大）
+            .disable(StreamReadFeature.INCLUDE_SOURCE_IN_LOCATION)
+            .build();
+
+    public static final JsonFactory FACTORY = MAPPER.getFactory();
+
+    private static final ObjectReader TREE_READER = MAPPER.reader();
+
+    private Json() {
+    }
+
+    /**
+     * 从输入流解析 JSON 树；空输入返回 MissingNode
+     */
+    public static JsonNode readTree(InputStream in) throws IOException {
+        return TREE_READER.readTree(in);
+    }
+}
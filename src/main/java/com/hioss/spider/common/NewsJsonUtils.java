@@ -1,16 +1,12 @@
 package com.hioss.spider.common;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hioss.spider.dto.HotItem;
 
 import javax.net.ssl.SSLHandshakeException;
 import java.io.IOException;
 import java.net.URI;
-import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
@@ -31,28 +27,20 @@ public class NewsJsonUtils {
     private final List<HotItem> list = new ArrayList<>();
 
     /**
-     * 调用API接口，返回原始JSON字符串
+     * 调用API接口，返回解析后的JSON树（响应按 gzip/deflate 流式解压后直接交给 Jackson）
      */
-    public static String fetchHotSearch(String api_url) throws IOException, InterruptedException {
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(api_url))
-                .timeout(Duration.ofSeconds(15))
+    public static JsonNode fetchHotSearch(String api_url) throws IOException, InterruptedException {
+        HttpRequest request = HttpFetcher.request(api_url)
                 .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
                 .header("Accept", "application/json,text/plain,*/*")
                 .header("Accept-Language", "zh-CN,zh;q=0.9,en;q=0.7")
-                .GET()
                 .build();
 
-        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-        return response.body();
+        return HttpFetcher.fetch(URI.create(api_url).getHost(), request, Json::readTree);
     }
 
     /**
-     * 原始JSON字符串解析，提取标题与链接
+     * 解析接口返回的JSON，提取标题与链接
      */
     public List<HotItem> getTitleUrl(String api_url) {
 
@@ -60,49 +48,12 @@ public class NewsJsonUtils {
         this.list.clear();
 
         try {
-            String json = fetchHotSearch(api_url);
-            if (json == null || json.isBlank()) {
+            JsonNode root = fetchHotSearch(api_url);
+            if (root == null || root.isMissingNode()) {
                 return this.list;
             }
 
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode root = mapper.readTree(json);
-
-            JsonNode arrayNode = findBestItemsArray(root);
-            if (arrayNode != null && arrayNode.isArray()) {
-                int limit = Math.min(10, arrayNode.size());
-                for (int i = 0; i < limit; i++) {
-                    JsonNode item = arrayNode.get(i);
-                    if (item == null || !item.isObject()) {
-                        continue;
-                    }
-
-                    String title = firstText(item,
-                            "title", "name", "hotword", "word", "keyword", "hotTitle", "hot_word");
-                    String link = firstText(item,
-                            "url", "link", "href", "shareUrl", "share_url", "jumpUrl", "jump_url");
-
-                    // 有些接口把链接放在更深层结构里（例如 item.data.url）
-                    if ((link == null || link.isBlank())) {
-                        JsonNode nested = item.get("data");
-                        if (nested != null && nested.isObject()) {
-                            link = firstText(nested, "url", "link", "href");
-                        }
-                    }
-
-                    if (title == null || title.isBlank()) {
-                        continue;
-                    }
-                    if (link == null) {
-                        link = "";
-                    }
-
-                    HotItem dto = new HotItem();
-                    dto.setTitle(title);
-                    dto.setLink(link);
-                    list.add(dto);
-                }
-            }
+            list.addAll(parseItems(root, 10));
 
         } catch (SSLHandshakeException e) {
             // 证书域名问题：直接返回空列表，避免影响其他爬虫
@@ -117,6 +68,50 @@ public class NewsJsonUtils {
         return this.list;
     }
 
+    /**
+     * 从任意热榜接口的 JSON 树中提取标题与链接（只看列表的前 limit 项；批量模式对每个接口直接调用）
+     */
+    public static List<HotItem> parseItems(JsonNode root, int limit) {
+        List<HotItem> out = new ArrayList<>();
+        JsonNode arrayNode = findBestItemsArray(root);
+        if (arrayNode == null || !arrayNode.isArray()) {
+            return out;
+        }
+        int n = Math.min(limit, arrayNode.size());
+        for (int i = 0; i < n; i++) {
+            JsonNode item = arrayNode.get(i);
+            if (item == null || !item.isObject()) {
+                continue;
+            }
+
+            String title = firstText(item,
+                    "title", "name", "hotword", "word", "keyword", "hotTitle", "hot_word");
+            String link = firstText(item,
+                    "url", "link", "href", "shareUrl", "share_url", "jumpUrl", "jump_url");
+
+            // 有些接口把链接放在更深层结构里（例如 item.data.url）
+            if ((link == null || link.isBlank())) {
+                JsonNode nested = item.get("data");
+                if (nested != null && nested.isObject()) {
+                    link = firstText(nested, "url", "link", "href");
+                }
+            }
+
+            if (title == null || title.isBlank()) {
+                continue;
+            }
+            if (link == null) {
+                link = "";
+            }
+
+            HotItem dto = new HotItem();
+            dto.setTitle(title);
+            dto.setLink(link);
+            out.add(dto);
+        }
+        return out;
+    }
+
     /**
      * 在 JSON 树里寻找“最像热榜 items”的数组节点。
      * 优先顺序：常见 key（data/list/result/items...） -> 全树扫描匹配。
@@ -0,0 +1,143 @@
+package com.hioss.spider.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * NewsPage 格式的流式读取（与 {@link NewsPageWriter} 对应），不构建 Jackson 树
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class NewsPageReader {
+
+    private static final JsonFactory JSON = Json.FACTORY;
+
+    private NewsPageReader() {
+    }
+
+    /**
+     * 读取 NewsPage 文件：栏目名 -> 条目；date 等非数组字段忽略
+     */
+    public static Map<String, List<HotItem>> read(Path file) throws IOException {
+        return read(file, null);
+    }
+
+    /**
+     * 读取 NewsPage 文件，同时取出沿用旧结果的栏目（meta.stale）
+     *
+     * @param stale 不为 null 时放入 栏目名 -> 所沿用结果的抓取时间
+     */
+    public static Map<String, List<HotItem>> read(Path file, Map<String, Long> stale) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, stale);
+        }
+    }
+
+    /**
+     * 从输入流读取 NewsPage 文档（不关闭流）
+     */
+    public static Map<String, List<HotItem>> read(InputStream in) throws IOException {
+        return read(in, null);
+    }
+
+    /**
+     * 从输入流读取 NewsPage 文档（不关闭流），同时取出 meta.stale
+     */
+    public static Map<String, List<HotItem>> read(InputStream in, Map<String, Long> stale) throws IOException {
+        Map<String, List<HotItem>> categories = new LinkedHashMap<>();
+        try (JsonParser p = newParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("NewsPage root must be an object");
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String category = p.getCurrentName();
+                JsonToken t = p.nextToken();
+                if (stale != null && t == JsonToken.START_OBJECT && category.equals("meta")) {
+                    readStale(p, stale);
+                    continue;
+                }
+                if (t != JsonToken.START_ARRAY) {
+                    p.skipChildren();
+                    continue;
+                }
+                categories.put(category, readItems(p));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * meta 对象中的 stale：栏目名 -> 抓取时间；调用时停在 meta 的 START_OBJECT 上
+     */
+    private static void readStale(JsonParser p, Map<String, Long> stale) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            if (p.nextToken() == JsonToken.START_OBJECT && field.equals("stale")) {
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String category = p.getCurrentName();
+                    p.nextToken();
+                    stale.put(category, p.getValueAsLong());
+                }
+            } else {
+                p.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * 读取条目数组；调用时解析器应停在 START_ARRAY 上，返回时停在 END_ARRAY 上
+     */
+    public static List<HotItem> readItems(JsonParser p) throws IOException {
+        List<HotItem> items = new ArrayList<>();
+        while (p.nextToken() == JsonToken.START_OBJECT) {
+            HotItem item = new HotItem();
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                p.nextToken();
+                switch (field) {
+                    case "title":
+                        item.setTitle(p.getValueAsString());
+                        break;
+                    case "link":
+                        item.setLink(p.getValueAsString());
+                        break;
+                    case "cluster":
+                        item.setCluster(p.getValueAsInt());
+                        break;
+                    case "sources":
+                        item.setSources(p.getValueAsInt());
+                        break;
+                    case "heat":
+                        item.setHeat(p.getValueAsLong());
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+            items.add(item);
+        }
+        return items;
+    }
+
+    /**
+     * 解析器；关闭解析器不会关闭底层输入流
+     */
+    public static JsonParser newParser(InputStream in) throws IOException {
+        JsonParser p = JSON.createParser(in);
+        p.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+        return p;
+    }
+}
@@ -0,0 +1,258 @@
+package com.hioss.spider.common;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * NewsPage-&lt;date&gt;.json 与 date.json 的流式写出
+ *
+ * <p>直接用 JsonGenerator 从结果列表逐条写出，不再先构建 ObjectNode 树；
+ * 输出格式（缩进、字段顺序）与原先 writerWithDefaultPrettyPrinter 一致。
+ * 文件通过 {@link AtomicFiles} 原子发布。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class NewsPageWriter {
+
+    private static final JsonFactory JSON = Json.FACTORY;
+
+    private NewsPageWriter() {
+    }
+
+    /**
+     * 写出当天的 NewsPage 文件
+     *
+     * @param file 目标文件
+     * @param date 日期字符串
+     * @param categories 栏目名 -> 条目（按输出顺序）
+     */
+    public static void writeNewsPage(Path file, String date, Map<String, ? extends List<HotItem>> categories)
+            throws IOException {
+        writeNewsPage(file, date, categories, Map.of());
+    }
+
+    /**
+     * 写出当天的 NewsPage 文件，并标注沿用旧结果的栏目
+     *
+     * @param stale 栏目名 -> 所沿用结果的抓取时间（epoch 毫秒）；为空时不写 meta
+     */
+    public static void writeNewsPage(Path file, String date, Map<String, ? extends List<HotItem>> categories,
+                                     Map<String, Long> stale) throws IOException {
+        AtomicFiles.write(file, out -> writeNewsPage(out, date, categories, stale));
+    }
+
+    /**
+     * 把 NewsPage 文档写到输出流（不关闭流）
+     */
+    public static void writeNewsPage(OutputStream out, String date, Map<String, ? extends List<HotItem>> categories)
+            throws IOException {
+        writeNewsPage(out, date, categories, Map.of());
+    }
+
+    /**
+     * 把 NewsPage 文档写到输出流（不关闭流）；有栏目沿用旧结果时，在 date 之后写
+     * "meta": {"stale": {栏目名: 抓取时间}}（前端与 {@link NewsPageReader} 都不把它当作栏目）
+     */
+    public static void writeNewsPage(OutputStream out, String date, Map<String, ? extends List<HotItem>> categories,
+                                     Map<String, Long> stale) throws IOException {
+        try (JsonGenerator g = newGenerator(out)) {
+            g.writeStartObject();
+            g.writeStringField("date", date);
+            if (!stale.isEmpty()) {
+                g.writeObjectFieldStart("meta");
+                g.writeObjectFieldStart("stale");
+                for (Map.Entry<String, Long> e : stale.entrySet()) {
+                    g.writeNumberField(e.getKey(), e.getValue());
+                }
+                g.writeEndObject();
+                g.writeEndObject();
+            }
+            for (Map.Entry<String, ? extends List<HotItem>> e : categories.entrySet()) {
+                g.writeFieldName(e.getKey());
+                writeItems(g, e.getValue());
+            }
+            g.writeEndObject();
+        }
+    }
+
+    /**
+     * 把新的栏目合并进已有的 NewsPage 文档（不关闭流）：unchanged 中的栏目从 previous 中逐个 token 原样复制，
+     * 不经过条目对象，输出与原文件中的这一段完全相同；其余栏目用 categories 中的条目写出。
+     * 按 categories 的顺序输出，previous 只顺序读一遍；某个 unchanged 栏目在 previous 中不存在或顺序不一致时，
+     * 改用 categories 中的条目写出（应为从 previous 读出的同一份内容）
+     *
+     * @param previous  已有的 NewsPage 文档；unchanged 为空时不读取，可以为 null
+     * @param unchanged 原样复制的栏目名
+     */
+    public static void mergeNewsPage(OutputStream out, String date, Map<String, ? extends List<HotItem>> categories,
+                                     Map<String, Long> stale, InputStream previous, Set<String> unchanged)
+            throws IOException {
+        JsonParser p = null;
+        if (!unchanged.isEmpty()) {
+            p = NewsPageReader.newParser(previous);
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("NewsPage root must be an object");
+            }
+        }
+        try (JsonGenerator g = newGenerator(out)) {
+            g.writeStartObject();
+            g.writeStringField("date", date);
+            if (!stale.isEmpty()) {
+                g.writeObjectFieldStart("meta");
+                g.writeObjectFieldStart("stale");
+                for (Map.Entry<String, Long> e : stale.entrySet()) {
+                    g.writeNumberField(e.getKey(), e.getValue());
+                }
+                g.writeEndObject();
+                g.writeEndObject();
+            }
+            for (Map.Entry<String, ? extends List<HotItem>> e : categories.entrySet()) {
+                g.writeFieldName(e.getKey());
+                if (unchanged.contains(e.getKey()) && seek(p, e.getKey())) {
+                    g.copyCurrentStructure(p);
+                } else {
+                    writeItems(g, e.getValue());
+                }
+            }
+            g.writeEndObject();
+        } finally {
+            if (p != null) {
+                p.close();
+            }
+        }
+    }
+
+    /**
+     * 向后跳到顶层字段 name 的条目数组上（跳过途中其他字段的值）；到达文档末尾时返回 false
+     */
+    private static boolean seek(JsonParser p, String name) throws IOException {
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            if (p.nextToken() == JsonToken.START_ARRAY && field.equals(name)) {
+                return true;
+            }
+            p.skipChildren();
+        }
+        return false;
+    }
+
+    /**
+     * 按栏目分片写出：每个栏目一个小文件（0.json、1.json ...，内容为条目数组），
+     * 最后写 index.json 列出栏目名、分片文件与条数。
+     * 前端先取 index，再并行取各栏目，先到先渲染。
+     *
+     * @param shardDir 分片目录（如 docs/data/shards/2026-08-22）
+     * @param date 日期字符串
+     * @param categories 栏目名 -> 条目（按输出顺序）
+     */
+    public static void writeShards(Path shardDir, String date, Map<String, ? extends List<HotItem>> categories)
+            throws IOException {
+        writeShards(shardDir, date, categories, Map.of());
+    }
+
+    /**
+     * 按栏目分片写出；沿用旧结果的栏目在 index.json 中带 staleSince（抓取时间，epoch 毫秒）
+     */
+    public static void writeShards(Path shardDir, String date, Map<String, ? extends List<HotItem>> categories,
+                                   Map<String, Long> stale) throws IOException {
+        // 先写分片、最后写 index：读者看到 index 时分片已经齐全
+        int i = 0;
+        for (List<HotItem> items : categories.values()) {
+            AtomicFiles.write(shardDir.resolve(i + ".json"), out -> {
+                try (JsonGenerator g = newGenerator(out)) {
+                    writeItems(g, items);
+                }
+            });
+            i++;
+        }
+
+        AtomicFiles.write(shardDir.resolve("index.json"), out -> {
+            try (JsonGenerator g = newGenerator(out)) {
+                g.writeStartObject();
+                g.writeStringField("date", date);
+                g.writeArrayFieldStart("categories");
+                int n = 0;
+                for (Map.Entry<String, ? extends List<HotItem>> e : categories.entrySet()) {
+                    g.writeStartObject();
+                    g.writeStringField("name", e.getKey());
+                    g.writeStringField("file", n + ".json");
+                    g.writeNumberField("count", e.getValue().size());
+                    Long since = stale.get(e.getKey());
+                    if (since != null) {
+                        g.writeNumberField("staleSince", since);
+                    }
+                    g.writeEndObject();
+                    n++;
+                }
+                g.writeEndArray();
+                g.writeEndObject();
+            }
+        });
+    }
+
+    /**
+     * 写出条目数组：[{title, link[, cluster, sources][, heat]}, ...]；只在多个栏目同时上榜（sources &gt; 1）时写 cluster / sources，
+     * 只出现在一个栏目的条目读回时簇编号为 0（各自成簇）；没有热度值的不写 heat
+     */
+    public static void writeItems(JsonGenerator g, List<HotItem> items) throws IOException {
+        g.writeStartArray();
+        for (HotItem i : items) {
+            g.writeStartObject();
+            g.writeStringField("title", i.getTitle());
+            g.writeStringField("link", i.getLink());
+            if (i.getCluster() > 0 && i.getSources() > 1) {
+                g.writeNumberField("cluster", i.getCluster());
+                g.writeNumberField("sources", i.getSources());
+            }
+            if (i.getHeat() > 0) {
+                g.writeNumberField("heat", i.getHeat());
+            }
+            g.writeEndObject();
+        }
+        g.writeEndArray();
+    }
+
+    /**
+     * 写出 date.json
+     *
+     * @param file 目标文件
+     * @param dates 日期列表（新 -> 旧）
+     */
+    public static void writeDates(Path file, List<String> dates) throws IOException {
+        AtomicFiles.write(file, out -> {
+            try (JsonGenerator g = newGenerator(out)) {
+                g.writeStartObject();
+                g.writeArrayFieldStart("dates");
+                for (String d : dates) {
+                    g.writeString(d);
+                }
+                g.writeEndArray();
+                g.writeEndObject();
+            }
+        });
+    }
+
+    /**
+     * 带默认缩进的生成器；关闭生成器不会关闭底层输出流
+     */
+    public static JsonGenerator newGenerator(OutputStream out) throws IOException {
+        JsonGenerator g = JSON.createGenerator(out, JsonEncoding.UTF8);
+        g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        g.useDefaultPrettyPrinter();
+        return g;
+    }
+}
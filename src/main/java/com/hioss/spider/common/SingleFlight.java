@@ -0,0 +1,53 @@
+package com.hioss.spider.common;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 同一个 key 只加载一次（singleflight）
+ *
+ * <p>第一个调用者负责加载，同时到达的调用者等待同一个结果；加载完成后结果保留在本对象中，
+ * 之后的调用直接返回。失败也会保留（同一次运行内各调用方看到一致的结果），不会重试。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> calls = new ConcurrentHashMap<>();
+
+    /**
+     * 取得 key 对应的结果；尚未加载时由当前线程调用 loader 加载
+     */
+    public V get(K key, Supplier<V> loader) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> call = calls.putIfAbsent(key, mine);
+        if (call == null) {
+            // 在 map 之外加载，不占用 ConcurrentHashMap 的桶锁
+            call = mine;
+            try {
+                mine.complete(loader.get());
+            } catch (Throwable t) {
+                mine.completeExceptionally(t);
+            }
+        }
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 已加载（或正在加载）的 key 数
+     */
+    public int size() {
+        return calls.size();
+    }
+}
@@ -0,0 +1,87 @@
+package com.hioss.spider.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hioss.spider.dto.SourceResult;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 单来源结果文件的读写（多进程分片结果等场景共用）
+ *
+ * <pre>
+ * { "key": "weibo", "category": "新浪微博热搜", "fetchedAt": 1755840000000, "items": [ {title, link}, ... ] }
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SourceResultFiles {
+
+    private SourceResultFiles() {
+    }
+
+    /**
+     * 原子写入结果文件
+     */
+    public static void write(Path file, SourceResult result) throws IOException {
+        AtomicFiles.write(file, out -> {
+            try (JsonGenerator g = NewsPageWriter.newGenerator(out)) {
+                g.writeStartObject();
+                g.writeStringField("key", result.getKey());
+                g.writeStringField("category", result.getCategory());
+                g.writeNumberField("fetchedAt", result.getFetchedAt());
+                g.writeFieldName("items");
+                NewsPageWriter.writeItems(g, result.getItems());
+                g.writeEndObject();
+            }
+        });
+    }
+
+    /**
+     * 读取结果文件；文件不存在时返回 null
+     */
+    public static SourceResult read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        SourceResult result = new SourceResult();
+        try (InputStream in = Files.newInputStream(file);
+             JsonParser p = NewsPageReader.newParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Malformed source result: " + file);
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                JsonToken t = p.nextToken();
+                switch (field) {
+                    case "key":
+                        result.setKey(p.getValueAsString());
+                        break;
+                    case "category":
+                        result.setCategory(p.getValueAsString());
+                        break;
+                    case "fetchedAt":
+                        result.setFetchedAt(p.getValueAsLong());
+                        break;
+                    case "items":
+                        if (t == JsonToken.START_ARRAY) {
+                            result.setItems(NewsPageReader.readItems(p));
+                        } else {
+                            p.skipChildren();
+                        }
+                        break;
+                    default:
+                        p.skipChildren();
+                }
+            }
+        }
+        return result;
+    }
+}
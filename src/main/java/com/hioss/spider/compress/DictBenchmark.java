@@ -0,0 +1,179 @@
+package com.hioss.spider.compress;
+
+import com.hioss.spider.archive.HeadlineArchive;
+import com.hioss.spider.common.CliArgs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 预置字典压缩与 gzip 的对比：压缩率、编码 / 解码吞吐
+ *
+ * <pre>
+ * java -cp ... com.hioss.spider.compress.DictBenchmark [--archive=archive] [--holdout=0.3] [--size=32768] [--seconds=2]
+ * </pre>
+ *
+ * 归档页面按日期排序，前面的用来训练字典，最后 holdout 比例的页面只用来测量（模拟用旧数据训练、压缩新数据），
+ * 另外给出训练集上的压缩率，两者差距大说明字典过拟合。吞吐按未压缩字节计算。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class DictBenchmark {
+
+    /**
+     * 被比较的一种编码
+     */
+    private interface Codec {
+        byte[] encode(byte[] data);
+
+        byte[] decode(byte[] data) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        CliArgs cli = CliArgs.parse(args);
+        HeadlineArchive archive = new HeadlineArchive(Paths.get(cli.get("archive", HeadlineArchive.DEFAULT_DIR.toString())));
+        double holdout = Double.parseDouble(cli.get("holdout", "0.3"));
+        int size = (int) cli.getLong("size", DictionaryTrainer.MAX_SIZE);
+        long seconds = cli.getLong("seconds", 2);
+
+        List<byte[]> pages = new ArrayList<>();
+        for (Path p : archive.pages().values()) {
+            pages.add(archive.load(p));
+        }
+        if (pages.size() < 2) {
+            System.err.println("Need at least 2 archived pages in " + archive.getDir());
+            System.exit(2);
+        }
+        int test = Math.max(1, (int) Math.round(pages.size() * holdout));
+        List<byte[]> training = pages.subList(0, pages.size() - test);
+        List<byte[]> measured = pages.subList(pages.size() - test, pages.size());
+
+        long t0 = System.nanoTime();
+        PresetDictionary dict = new PresetDictionary(1, DictionaryTrainer.train(training, size));
+        System.out.printf("Dictionary: %d bytes trained from %d page(s) in %.0f ms; measuring %d held-out page(s), %d bytes%n",
+                dict.size(), training.size(), (System.nanoTime() - t0) / 1e6, measured.size(), total(measured));
+
+        Codec gzip = gzip();
+        Codec zlib = new Codec() {
+            public byte[] encode(byte[] data) {
+                return DictCodec.encode(data, null);
+            }
+
+            public byte[] decode(byte[] data) throws IOException {
+                return DictCodec.decode(data, v -> null);
+            }
+        };
+        Codec preset = new Codec() {
+            public byte[] encode(byte[] data) {
+                return DictCodec.encode(data, dict);
+            }
+
+            public byte[] decode(byte[] data) throws IOException {
+                return DictCodec.decode(data, v -> dict);
+            }
+        };
+
+        System.out.printf("%n%-22s %10s %7s %10s %12s %12s %12s%n",
+                "codec", "bytes", "ratio", "avg/file", "train ratio", "enc MB/s", "dec MB/s");
+        run("gzip (level 6)", gzip, training, measured, seconds);
+        run("deflate -9, no dict", zlib, training, measured, seconds);
+        run("deflate -9, preset dict", preset, training, measured, seconds);
+    }
+
+    private static void run(String name, Codec codec, List<byte[]> training, List<byte[]> measured, long seconds)
+            throws IOException {
+        long raw = total(measured);
+        List<byte[]> encoded = new ArrayList<>();
+        for (byte[] page : measured) {
+            byte[] e = codec.encode(page);
+            if (!Arrays.equals(codec.decode(e), page)) {
+                throw new IllegalStateException(name + " round trip failed");
+            }
+            encoded.add(e);
+        }
+        long compressed = total(encoded);
+        long trainCompressed = 0;
+        for (byte[] page : training) {
+            trainCompressed += codec.encode(page).length;
+        }
+
+        double enc = throughput(seconds, () -> {
+            for (byte[] page : measured) {
+                codec.encode(page);
+            }
+        }, raw);
+        double dec = throughput(seconds, () -> {
+            for (byte[] e : encoded) {
+                try {
+                    codec.decode(e);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }
+        }, raw);
+
+        System.out.printf("%-22s %10d %6.2fx %10d %11.2fx %12.1f %12.1f%n",
+                name, compressed, (double) raw / compressed, compressed / measured.size(),
+                training.isEmpty() ? 0.0 : (double) total(training) / trainCompressed, enc, dec);
+    }
+
+    /**
+     * 预热一轮后反复执行约 seconds 秒，返回 MB/s（按 bytesPerRound 计）
+     */
+    private static double throughput(long seconds, Runnable round, long bytesPerRound) {
+        long warmupEnd = System.nanoTime() + seconds * 500_000_000L;
+        while (System.nanoTime() < warmupEnd) {
+            round.run();
+        }
+        long rounds = 0;
+        long start = System.nanoTime();
+        long end = start + seconds * 1_000_000_000L;
+        long now;
+        do {
+            round.run();
+            rounds++;
+            now = System.nanoTime();
+        } while (now < end);
+        return rounds * bytesPerRound / 1e6 / ((now - start) / 1e9);
+    }
+
+    private static Codec gzip() {
+        return new Codec() {
+            public byte[] encode(byte[] data) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+                try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                    gz.write(data);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return out.toByteArray();
+            }
+
+            public byte[] decode(byte[] data) throws IOException {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(data))) {
+                    return in.readAllBytes();
+                }
+            }
+        };
+    }
+
+    private static long total(List<byte[]> list) {
+        long n = 0;
+        for (byte[] b : list) {
+            n += b.length;
+        }
+        return n;
+    }
+}
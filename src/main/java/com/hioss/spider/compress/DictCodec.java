@@ -0,0 +1,126 @@
+package com.hioss.spider.compress;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.function.IntFunction;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 带预置字典的 Deflate 编码
+ *
+ * <pre>
+ * "WPZ" 1        魔数 + 格式版本
+ * int32          字典版本（大端；0 表示不用字典）
+ * zlib 流        Deflater 输出；用字典时 zlib 头带 FDICT 标志与字典的 Adler-32
+ * </pre>
+ *
+ * 每天的 NewsPage 只有十几 KB，gzip 从空窗口开始，还没积累出重复就结束了；
+ * 预置字典里放着链接前缀、JSON 键与常见标题片段，第一个条目就能引用。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class DictCodec {
+
+    private static final byte[] MAGIC = {'W', 'P', 'Z'};
+    private static final int FORMAT = 1;
+    private static final int HEADER_SIZE = 8;
+
+    private DictCodec() {
+    }
+
+    /**
+     * 编码
+     *
+     * @param dict 预置字典；null 时只做普通 zlib 压缩（字典版本记为 0）
+     */
+    public static byte[] encode(byte[] data, PresetDictionary dict) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            if (dict != null) {
+                deflater.setDictionary(dict.bytes());
+            }
+            deflater.setInput(data);
+            deflater.finish();
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+            out.write(MAGIC, 0, MAGIC.length);
+            out.write(FORMAT);
+            int version = dict == null ? 0 : dict.getVersion();
+            out.write(version >>> 24);
+            out.write(version >>> 16);
+            out.write(version >>> 8);
+            out.write(version);
+
+            byte[] buf = new byte[8192];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(buf);
+                out.write(buf, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * 解码
+     *
+     * @param dictionaries 字典版本 -> 字典（找不到时返回 null）
+     */
+    public static byte[] decode(byte[] data, IntFunction<PresetDictionary> dictionaries) throws IOException {
+        int version = version(data);
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data, HEADER_SIZE, data.length - HEADER_SIZE);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length * 6);
+            byte[] buf = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buf);
+                if (n > 0) {
+                    out.write(buf, 0, n);
+                } else if (inflater.needsDictionary()) {
+                    PresetDictionary dict = version == 0 ? null : dictionaries.apply(version);
+                    if (dict == null) {
+                        throw new IOException("Preset dictionary v" + version + " not found");
+                    }
+                    if (dict.getAdler() != inflater.getAdler()) {
+                        throw new IOException("Preset dictionary v" + version + " does not match the data (Adler-32)");
+                    }
+                    inflater.setDictionary(dict.bytes());
+                } else if (inflater.needsInput() && !inflater.finished()) {
+                    throw new EOFException("Truncated compressed data");
+                }
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt compressed data: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 是否为本格式的数据（只看魔数）
+     */
+    public static boolean isEncoded(byte[] data) {
+        return data.length >= HEADER_SIZE && data[0] == MAGIC[0] && data[1] == MAGIC[1] && data[2] == MAGIC[2];
+    }
+
+    /**
+     * 压缩数据使用的字典版本（0 表示不用字典）
+     */
+    public static int version(byte[] data) throws IOException {
+        if (!isEncoded(data)) {
+            throw new IOException("Not WPZ-encoded data");
+        }
+        if (data[3] != FORMAT) {
+            throw new IOException("Unsupported WPZ format version " + data[3]);
+        }
+        return ((data[4] & 0xFF) << 24) | ((data[5] & 0xFF) << 16) | ((data[6] & 0xFF) << 8) | (data[7] & 0xFF);
+    }
+}
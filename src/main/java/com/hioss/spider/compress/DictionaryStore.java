@@ -0,0 +1,98 @@
+package com.hioss.spider.compress;
+
+import com.hioss.spider.common.AtomicFiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 预置字典目录：每个版本一个文件 headlines-v&lt;N&gt;.dict，只增不改
+ *
+ * <p>重新训练时写出下一个版本，之后的压缩使用新版本；旧数据头部记着旧版本号，照旧可以解压。
+ * 读到的字典按版本缓存。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class DictionaryStore {
+
+    private static final Pattern FILE_NAME = Pattern.compile("^headlines-v(\\d+)\\.dict$");
+
+    private final Path dir;
+    private final Map<Integer, PresetDictionary> cache = new ConcurrentHashMap<>();
+
+    public DictionaryStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * 最新版本的字典；还没有字典时返回 null
+     */
+    public PresetDictionary latest() throws IOException {
+        int max = latestVersion();
+        return max == 0 ? null : get(max);
+    }
+
+    /**
+     * 按版本取字典；不存在时返回 null
+     */
+    public PresetDictionary get(int version) {
+        PresetDictionary d = cache.get(version);
+        if (d != null) {
+            return d;
+        }
+        Path file = file(version);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            d = new PresetDictionary(version, Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        cache.put(version, d);
+        return d;
+    }
+
+    /**
+     * 发布一份新字典（版本号为现有最大版本 + 1）
+     */
+    public PresetDictionary add(byte[] bytes) throws IOException {
+        int version = latestVersion() + 1;
+        AtomicFiles.write(file(version), bytes);
+        PresetDictionary d = new PresetDictionary(version, bytes);
+        cache.put(version, d);
+        return d;
+    }
+
+    private int latestVersion() throws IOException {
+        int max = 0;
+        if (!Files.isDirectory(dir)) {
+            return max;
+        }
+        try (var stream = Files.list(dir)) {
+            for (Path p : stream.toList()) {
+                Matcher m = FILE_NAME.matcher(p.getFileName().toString());
+                if (m.matches()) {
+                    max = Math.max(max, Integer.parseInt(m.group(1)));
+                }
+            }
+        }
+        return max;
+    }
+
+    private Path file(int version) {
+        return dir.resolve("headlines-v" + version + ".dict");
+    }
+}
@@ -0,0 +1,166 @@
+package com.hioss.spider.compress;
+
+import com.hioss.spider.archive.HeadlineArchive;
+import com.hioss.spider.common.CliArgs;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 从历史 NewsPage 训练 Deflate 预置字典
+ *
+ * <p>做法接近 zstd 的 COVER：以 8 字节片段（d-mer）为单位统计“在多少份样本中出现过”，
+ * 只出现在一份样本里的片段 Deflate 自己就能在文件内找到，不值得占字典空间。
+ * 把全部样本首尾相接后切成若干段（epoch），每段里找出片段得分之和最高的 96 字节窗口收入字典，
+ * 收入后把其中片段的得分清零，避免后面的段重复收入同样的内容。
+ * 得分高的窗口放在字典末尾：Deflate 的回溯距离有限，离正文越近越容易被引用。
+ *
+ * <pre>
+ * java -cp ... com.hioss.spider.compress.DictionaryTrainer [--archive=archive] [--size=32768] [--recompress]
+ * </pre>
+ * 从归档训练并发布下一个版本的字典；--recompress 再用新字典重写全部归档页面。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class DictionaryTrainer {
+
+    /**
+     * Deflate 窗口为 32 KiB，更大的字典只有最后 32 KiB 有用
+     */
+    public static final int MAX_SIZE = 32 * 1024;
+
+    // 片段长度与候选窗口长度
+    private static final int D = 8;
+    private static final int K = 96;
+    private static final int TABLE_BITS = 20;
+
+    private DictionaryTrainer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        CliArgs cli = CliArgs.parse(args);
+        HeadlineArchive archive = new HeadlineArchive(Paths.get(cli.get("archive", HeadlineArchive.DEFAULT_DIR.toString())));
+        int size = (int) cli.getLong("size", MAX_SIZE);
+
+        long t0 = System.nanoTime();
+        PresetDictionary dict = archive.train(size);
+        System.out.printf("Trained dictionary v%d (%d bytes) from %d page(s) in %.0f ms%n",
+                dict.getVersion(), dict.size(), archive.pages().size(), (System.nanoTime() - t0) / 1e6);
+
+        if (cli.has("recompress")) {
+            System.out.println("Recompressed " + archive.recompress() + " page(s) with v" + dict.getVersion());
+        }
+    }
+
+    /**
+     * 训练字典
+     *
+     * @param samples 样本（每份一个文件的内容）
+     * @param size 字典大小上限（不超过 {@link #MAX_SIZE}）
+     */
+    public static byte[] train(List<byte[]> samples, int size) {
+        size = Math.min(size, MAX_SIZE);
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        for (byte[] s : samples) {
+            all.write(s, 0, s.length);
+        }
+        byte[] corpus = all.toByteArray();
+        if (corpus.length <= size) {
+            return corpus;
+        }
+
+        // 1) 每个片段在多少份样本中出现过；只出现在一份中的记 0 分
+        int[] score = new int[1 << TABLE_BITS];
+        int[] lastSample = new int[1 << TABLE_BITS];
+        Arrays.fill(lastSample, -1);
+        for (int i = 0; i < samples.size(); i++) {
+            byte[] s = samples.get(i);
+            for (int p = 0; p + D <= s.length; p++) {
+                int h = hash(s, p);
+                if (lastSample[h] != i) {
+                    lastSample[h] = i;
+                    score[h]++;
+                }
+            }
+        }
+        for (int h = 0; h < score.length; h++) {
+            if (score[h] < 2) {
+                score[h] = 0;
+            }
+        }
+
+        // 2) 每个 epoch 取得分最高的窗口（窗口内重复的片段只算一次）
+        int segments = Math.max(1, size / K);
+        int epoch = Math.max(K, corpus.length / segments);
+        int[] active = new int[1 << TABLE_BITS];
+        List<long[]> picked = new ArrayList<>();
+        for (int start = 0; start + K <= corpus.length; start += epoch) {
+            int end = Math.min(corpus.length, start + epoch);
+            int windows = end - K - start + 1;
+            if (windows <= 0) {
+                break;
+            }
+            long cur = 0;
+            for (int p = start; p <= start + K - D; p++) {
+                int h = hash(corpus, p);
+                if (active[h]++ == 0) {
+                    cur += score[h];
+                }
+            }
+            long best = cur;
+            int bestAt = start;
+            for (int b = start + 1; b < start + windows; b++) {
+                int out = hash(corpus, b - 1);
+                if (--active[out] == 0) {
+                    cur -= score[out];
+                }
+                int in = hash(corpus, b + K - D);
+                if (active[in]++ == 0) {
+                    cur += score[in];
+                }
+                if (cur > best) {
+                    best = cur;
+                    bestAt = b;
+                }
+            }
+            // 清空本 epoch 的窗口计数
+            for (int p = start + windows - 1; p <= start + windows - 1 + K - D; p++) {
+                active[hash(corpus, p)]--;
+            }
+            if (best > 0) {
+                picked.add(new long[]{best, bestAt});
+                for (int p = bestAt; p <= bestAt + K - D; p++) {
+                    score[hash(corpus, p)] = 0;
+                }
+            }
+        }
+
+        // 3) 得分低的在前、高的在后，超出大小时从前面截掉
+        picked.sort(Comparator.comparingLong(a -> a[0]));
+        ByteArrayOutputStream dict = new ByteArrayOutputStream(size);
+        for (long[] seg : picked) {
+            dict.write(corpus, (int) seg[1], K);
+        }
+        byte[] out = dict.toByteArray();
+        return out.length <= size ? out : Arrays.copyOfRange(out, out.length - size, out.length);
+    }
+
+    private static int hash(byte[] b, int p) {
+        long v = (b[p] & 0xFFL)
+                | (b[p + 1] & 0xFFL) << 8
+                | (b[p + 2] & 0xFFL) << 16
+                | (b[p + 3] & 0xFFL) << 24
+                | (b[p + 4] & 0xFFL) << 32
+                | (b[p + 5] & 0xFFL) << 40
+                | (b[p + 6] & 0xFFL) << 48
+                | (b[p + 7] & 0xFFL) << 56;
+        return (int) ((v * 0x9E3779B97F4A7C15L) >>> (64 - TABLE_BITS));
+    }
+}
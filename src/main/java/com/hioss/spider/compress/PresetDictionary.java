@@ -0,0 +1,53 @@
+package com.hioss.spider.compress;
+
+import java.util.zip.Adler32;
+
+/**
+ * 一个版本的 Deflate 预置字典
+ *
+ * <p>字典一经发布不再修改：压缩数据只在头部记录字典版本，解压时按版本找回同一份字典，
+ * 并用 zlib 头中的 Adler-32 校验找回的字典确实是压缩时用的那份。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class PresetDictionary {
+
+    private final int version;
+    private final byte[] bytes;
+    private final int adler;
+
+    public PresetDictionary(int version, byte[] bytes) {
+        if (version <= 0) {
+            throw new IllegalArgumentException("Dictionary version must be positive: " + version);
+        }
+        this.version = version;
+        this.bytes = bytes.clone();
+        Adler32 a = new Adler32();
+        a.update(bytes);
+        this.adler = (int) a.getValue();
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * 字典内容（内部数组，调用方不得修改）
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    public int size() {
+        return bytes.length;
+    }
+
+    /**
+     * 字典的 Adler-32（即 zlib 头中 DICTID 的值）
+     */
+    public int getAdler() {
+        return adler;
+    }
+}
@@ -0,0 +1,128 @@
+package com.hioss.spider.coord;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+
+/**
+ * 多进程协同抓取的共享目录（某一天）
+ *
+ * <pre>
+ * &lt;base&gt;/&lt;date&gt;/leases/&lt;key&gt;.lock   来源租约：持有该文件的排他锁即持有租约
+ * &lt;base&gt;/&lt;date&gt;/parts/&lt;key&gt;.json   来源的抓取结果（原子写入）
+ * &lt;base&gt;/&lt;date&gt;/merge.lock          合并进程的互斥锁
+ * </pre>
+ *
+ * <p>租约使用操作系统文件锁：进程被 kill（包括 kill -9）时锁由内核释放，
+ * 其他 worker 下一轮即可接手，不需要等待过期时间。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class CoordDir {
+
+    private final Path root;
+
+    public CoordDir(Path base, String date) {
+        this.root = base.resolve(date);
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public Path partFile(String key) {
+        return root.resolve("parts").resolve(key + ".json");
+    }
+
+    public boolean hasPart(String key) {
+        return Files.isRegularFile(partFile(key));
+    }
+
+    /**
+     * 尝试领取某个来源的租约
+     *
+     * @return 领取成功返回租约（用完必须 close），已被其他进程持有时返回 null
+     */
+    public Lease tryClaim(String key, String workerId) throws IOException {
+        return tryLock(root.resolve("leases").resolve(key + ".lock"), workerId);
+    }
+
+    /**
+     * 尝试成为唯一的合并进程
+     */
+    public Lease tryClaimMerge(String workerId) throws IOException {
+        return tryLock(root.resolve("merge.lock"), workerId);
+    }
+
+    /**
+     * 租约文件中记录的持有者（仅用于排查）
+     */
+    public String holderOf(String key) {
+        try {
+            return Files.readString(root.resolve("leases").resolve(key + ".lock")).trim();
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static Lease tryLock(Path file, String workerId) throws IOException {
+        Files.createDirectories(file.getParent());
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileLock lock;
+        try {
+            lock = ch.tryLock();
+        } catch (OverlappingFileLockException e) {
+            // 同一 JVM 内已持有
+            lock = null;
+        }
+        if (lock == null) {
+            ch.close();
+            return null;
+        }
+
+        // 记录持有者，便于排查卡住的租约
+        String info = workerId + " pid=" + ProcessHandle.current().pid() + " since=" + Instant.now() + "\n";
+        ch.truncate(0);
+        ch.write(ByteBuffer.wrap(info.getBytes(StandardCharsets.UTF_8)), 0);
+        return new Lease(ch, lock);
+    }
+
+    /**
+     * 默认的 worker 标识：主机名 + 进程号
+     */
+    public static String defaultWorkerId() {
+        return ManagementFactory.getRuntimeMXBean().getName();
+    }
+
+    /**
+     * 租约：关闭即释放
+     */
+    public static final class Lease implements AutoCloseable {
+        private final FileChannel channel;
+        private final FileLock lock;
+
+        private Lease(FileChannel channel, FileLock lock) {
+            this.channel = channel;
+            this.lock = lock;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                lock.release();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
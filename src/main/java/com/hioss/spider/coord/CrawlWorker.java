@@ -0,0 +1,89 @@
+package com.hioss.spider.coord;
+
+import com.hioss.spider.common.SourceResultFiles;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+import com.hioss.spider.news.NewsSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 协同抓取的 worker
+ *
+ * <p>轮询所有来源：没有结果文件、且租约可领取的来源由本 worker 抓取并写出结果文件。
+ * 其他 worker 正在抓的来源先跳过；若那个 worker 中途被杀，锁被释放，
+ * 本 worker 在下一轮接手。全部来源都有结果（或超过等待上限）后退出。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class CrawlWorker {
+
+    private static final long POLL_MILLIS = 500;
+
+    private final CoordDir dir;
+    private final String workerId;
+    private final List<NewsSource> sources;
+    private final Duration maxWait;
+
+    public CrawlWorker(CoordDir dir, String workerId, List<NewsSource> sources, Duration maxWait) {
+        this.dir = dir;
+        this.workerId = workerId;
+        this.sources = sources;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * 运行到所有来源都有结果为止
+     *
+     * @return 本 worker 抓取的来源数
+     */
+    public int run() throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + maxWait.toMillis();
+        int n = sources.size();
+        // 不同 worker 从不同位置开始，减少一开始的锁竞争
+        int offset = Math.floorMod(workerId.hashCode(), Math.max(1, n));
+        int fetched = 0;
+
+        while (true) {
+            int pending = 0;
+            for (int i = 0; i < n; i++) {
+                NewsSource source = sources.get((offset + i) % n);
+                if (dir.hasPart(source.getKey())) {
+                    continue;
+                }
+                pending++;
+
+                try (CoordDir.Lease lease = dir.tryClaim(source.getKey(), workerId)) {
+                    if (lease == null) {
+                        continue;
+                    }
+                    // 拿到锁之前，可能已被别的 worker 完成
+                    if (dir.hasPart(source.getKey())) {
+                        pending--;
+                        continue;
+                    }
+
+                    System.out.println("[" + workerId + "] fetching " + source.getKey());
+                    List<HotItem> items = source.fetch();
+                    SourceResultFiles.write(dir.partFile(source.getKey()),
+                            new SourceResult(source.getKey(), source.getCategory(), System.currentTimeMillis(), items));
+                    fetched++;
+                    pending--;
+                }
+            }
+
+            if (pending == 0) {
+                return fetched;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                System.err.println("[" + workerId + "] giving up with " + pending + " source(s) still leased elsewhere");
+                return fetched;
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+}
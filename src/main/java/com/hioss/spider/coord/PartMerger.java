@@ -0,0 +1,61 @@
+package com.hioss.spider.coord;
+
+import com.hioss.spider.common.SourceResultFiles;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+import com.hioss.spider.news.NewsSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 合并各 worker 写出的结果文件，组装成 NewsPage 的栏目
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class PartMerger {
+
+    private static final long POLL_MILLIS = 500;
+
+    private PartMerger() {
+    }
+
+    /**
+     * 等待所有来源的结果文件出现（最多 maxWait），按来源顺序组装栏目；
+     * 超时仍缺失的来源输出空列表
+     */
+    public static Map<String, List<HotItem>> merge(CoordDir dir, List<NewsSource> sources, Duration maxWait)
+            throws IOException, InterruptedException {
+        long deadline = System.currentTimeMillis() + maxWait.toMillis();
+        while (!allPresent(dir, sources) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(POLL_MILLIS);
+        }
+
+        Map<String, List<HotItem>> categories = new LinkedHashMap<>();
+        for (NewsSource source : sources) {
+            SourceResult part = SourceResultFiles.read(dir.partFile(source.getKey()));
+            if (part == null) {
+                System.err.println("[merge] missing " + source.getKey()
+                        + " (lease holder: " + dir.holderOf(source.getKey()) + ")");
+                categories.put(source.getCategory(), List.of());
+            } else {
+                categories.put(source.getCategory(), part.getItems());
+            }
+        }
+        return categories;
+    }
+
+    private static boolean allPresent(CoordDir dir, List<NewsSource> sources) {
+        for (NewsSource s : sources) {
+            if (!dir.hasPart(s.getKey())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -11,6 +11,11 @@ package com.hioss.spider.dto;
 public class HotItem {
     private String title;
     private String link;
+    // 跨来源聚类结果：簇编号（0 表示未聚类）与簇内出现的栏目数
+    private int cluster;
+    private int sources;
+    // 来源自带的热度值（微博 num、头条 HotValue、百度热搜指数），0 表示该来源不提供
+    private long heat;
 
     public HotItem() {
     }
@@ -35,4 +40,28 @@ public class HotItem {
     public void setLink(String link) {
         this.link = link;
     }
+
+    public int getCluster() {
+        return cluster;
+    }
+
+    public void setCluster(int cluster) {
+        this.cluster = cluster;
+    }
+
+    public int getSources() {
+        return sources;
+    }
+
+    public void setSources(int sources) {
+        this.sources = sources;
+    }
+
+    public long getHeat() {
+        return heat;
+    }
+
+    public void setHeat(long heat) {
+        this.heat = heat;
+    }
 }
\ No newline at end of file
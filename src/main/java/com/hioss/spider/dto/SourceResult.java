@@ -0,0 +1,64 @@
+package com.hioss.spider.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 单个来源的抓取结果：来源短名、栏目名、抓取时间与条目
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ *
+ */
+public class SourceResult {
+    private String key;
+    private String category;
+    private long fetchedAt;
+    private List<HotItem> items = new ArrayList<>();
+
+    public SourceResult() {
+    }
+
+    public SourceResult(String key, String category, long fetchedAt, List<HotItem> items) {
+        this.key = key;
+        this.category = category;
+        this.fetchedAt = fetchedAt;
+        this.items = items;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public void setKey(String key) {
+        this.key = key;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    /**
+     * 抓取完成时间（epoch 毫秒）
+     */
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public void setFetchedAt(long fetchedAt) {
+        this.fetchedAt = fetchedAt;
+    }
+
+    public List<HotItem> getItems() {
+        return items;
+    }
+
+    public void setItems(List<HotItem> items) {
+        this.items = items;
+    }
+}
@@ -0,0 +1,135 @@
+package com.hioss.spider.edition;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSources;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 一个版面（对应 editions.json 中的一项）
+ *
+ * <pre>
+ * title    页面上显示的版面名
+ * dir      输出目录（docs/data 下的子目录）；空串为默认版面，直接写在 docs/data
+ * sources  来源短名列表，顺序即栏目顺序
+ * limit    每个栏目最多条数，0 表示不另行限制（沿用来源自身的条数）
+ * limits   按来源覆盖 limit，如 { "bbc": 5 }
+ * combined 综合热榜的条数（见 {@link com.hioss.spider.rank.HeatRanking}），0 表示不生成
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class Edition {
+
+    private String name;
+    private String title;
+    private String dir = "";
+    private List<String> sources = new ArrayList<>();
+    private int limit;
+    private Map<String, Integer> limits = new LinkedHashMap<>();
+    private int combined;
+
+    /**
+     * 默认版面：写在 docs/data，负责归档与上传
+     */
+    public boolean isDefault() {
+        return dir == null || dir.isEmpty();
+    }
+
+    /**
+     * 从各来源的抓取结果组装本版面的栏目
+     *
+     * <p>条目逐个复制：同一来源的结果会分发给多个版面，而发布时的聚类会改写条目（标题、簇编号），
+     * 各版面必须各用一份。热度值随条目复制，供综合热榜使用。
+     *
+     * @param results 来源短名 -> 条目（不会被修改）
+     * @return 栏目名 -> 条目
+     */
+    public Map<String, List<HotItem>> categories(Function<String, List<HotItem>> results) {
+        Map<String, List<HotItem>> out = new LinkedHashMap<>();
+        for (String key : sources) {
+            List<HotItem> items = results.apply(key);
+            int n = items == null ? 0 : items.size();
+            int max = limitFor(key);
+            if (max > 0) {
+                n = Math.min(n, max);
+            }
+            List<HotItem> copy = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                HotItem src = items.get(i);
+                HotItem item = new HotItem(src.getTitle(), src.getLink());
+                item.setHeat(src.getHeat());
+                copy.add(item);
+            }
+            out.put(NewsSources.get(key).getCategory(), copy);
+        }
+        return out;
+    }
+
+    public int limitFor(String key) {
+        Integer v = limits == null ? null : limits.get(key);
+        return v != null ? v : limit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getDir() {
+        return dir;
+    }
+
+    public void setDir(String dir) {
+        this.dir = dir;
+    }
+
+    public List<String> getSources() {
+        return sources;
+    }
+
+    public void setSources(List<String> sources) {
+        this.sources = sources;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    public Map<String, Integer> getLimits() {
+        return limits;
+    }
+
+    public void setLimits(Map<String, Integer> limits) {
+        this.limits = limits;
+    }
+
+    public int getCombined() {
+        return combined;
+    }
+
+    public void setCombined(int combined) {
+        this.combined = combined;
+    }
+}
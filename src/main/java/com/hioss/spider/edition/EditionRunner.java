@@ -0,0 +1,84 @@
+package com.hioss.spider.edition;
+
+import com.hioss.spider.common.SingleFlight;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSources;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 一次抓取、多个版面
+ *
+ * <p>各版面并发组装，按自己的来源顺序取数据；所有取数都经过同一个 {@link SingleFlight}：
+ * 每个来源在一次运行中只抓一次，两个版面同时需要同一来源时，后到的等待先到的结果。
+ * 抓取结果再按版面复制、截断（见 {@link Edition#categories}）分发给各版面。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class EditionRunner {
+
+    private final SingleFlight<String, List<HotItem>> flight = new SingleFlight<>();
+    private final Function<String, List<HotItem>> fetcher;
+
+    public EditionRunner() {
+        this(key -> NewsSources.get(key).fetch());
+    }
+
+    /**
+     * @param fetcher 来源短名 -> 抓取结果
+     */
+    public EditionRunner(Function<String, List<HotItem>> fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * 抓取并组装全部版面
+     *
+     * @return 版面 -> (栏目名 -> 条目)，顺序与参数一致
+     */
+    public Map<Edition, Map<String, List<HotItem>>> run(List<Edition> editions) {
+        AtomicInteger seq = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, editions.size()), r -> {
+            Thread t = new Thread(r, "edition-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            List<CompletableFuture<Map<String, List<HotItem>>>> futures = new ArrayList<>();
+            for (Edition e : editions) {
+                futures.add(CompletableFuture.supplyAsync(() -> e.categories(this::get), pool));
+            }
+            Map<Edition, Map<String, List<HotItem>>> out = new LinkedHashMap<>();
+            for (int i = 0; i < editions.size(); i++) {
+                out.put(editions.get(i), futures.get(i).join());
+            }
+            return out;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * 取得某来源的结果（必要时抓取）
+     */
+    public List<HotItem> get(String key) {
+        return flight.get(key, () -> fetcher.apply(key));
+    }
+
+    /**
+     * 本次运行实际抓取的来源数
+     */
+    public int getFetchCount() {
+        return flight.size();
+    }
+}
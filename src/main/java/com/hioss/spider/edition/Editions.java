@@ -0,0 +1,123 @@
+package com.hioss.spider.edition;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.Json;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.news.NewsSources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 版面配置
+ *
+ * <p>来自 classpath 下的 editions.json，以版面名为 key，顺序即发布顺序。
+ * 加载时校验：来源短名必须存在、目录名只能是小写字母 / 数字 / 连字符、恰好一个默认版面（dir 为空）。
+ * 新增版面只需加一条配置；抓取按来源去重，新版面只增加组装与写文件的开销。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Editions {
+
+    private static final String RESOURCE = "/editions.json";
+
+    public static final List<Edition> ALL = load();
+
+    private Editions() {
+    }
+
+    /**
+     * 默认版面（写在 docs/data）
+     */
+    public static Edition defaultEdition() {
+        for (Edition e : ALL) {
+            if (e.isDefault()) {
+                return e;
+            }
+        }
+        throw new IllegalStateException("No default edition");
+    }
+
+    /**
+     * 全部版面用到的来源短名（去重，按首次出现顺序）
+     */
+    public static List<String> sourceKeys(List<Edition> editions) {
+        List<String> out = new ArrayList<>();
+        for (Edition e : editions) {
+            for (String key : e.getSources()) {
+                if (!out.contains(key)) {
+                    out.add(key);
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 写出版面列表，供前端切换：{"editions":[{"name":"tech","title":"科技","dir":"tech"}, ...]}
+     */
+    public static void writeIndex(Path file, List<Edition> editions) throws IOException {
+        AtomicFiles.write(file, out -> {
+            try (JsonGenerator g = NewsPageWriter.newGenerator(out)) {
+                g.writeStartObject();
+                g.writeArrayFieldStart("editions");
+                for (Edition e : editions) {
+                    g.writeStartObject();
+                    g.writeStringField("name", e.getName());
+                    g.writeStringField("title", e.getTitle() == null ? e.getName() : e.getTitle());
+                    g.writeStringField("dir", e.getDir() == null ? "" : e.getDir());
+                    g.writeEndObject();
+                }
+                g.writeEndArray();
+                g.writeEndObject();
+            }
+        });
+    }
+
+    private static List<Edition> load() {
+        final Map<String, Edition> map;
+        try (InputStream in = Editions.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on classpath");
+            }
+            map = Json.MAPPER.readValue(in, new TypeReference<LinkedHashMap<String, Edition>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        List<Edition> out = new ArrayList<>();
+        int defaults = 0;
+        for (Map.Entry<String, Edition> entry : map.entrySet()) {
+            Edition e = entry.getValue();
+            e.setName(entry.getKey());
+            if (e.getDir() == null) {
+                e.setDir("");
+            }
+            if (!e.getDir().matches("[a-z0-9-]*") || e.getDir().equals("shards")) {
+                throw new IllegalStateException("Edition " + e.getName() + " has invalid dir: " + e.getDir());
+            }
+            if (e.isDefault()) {
+                defaults++;
+            }
+            for (String key : e.getSources()) {
+                NewsSources.get(key);
+            }
+            out.add(e);
+        }
+        if (defaults != 1) {
+            throw new IllegalStateException(RESOURCE + " must define exactly one edition with an empty dir");
+        }
+        return List.copyOf(out);
+    }
+}
@@ -0,0 +1,117 @@
+package com.hioss.spider.edition;
+
+import com.hioss.spider.cluster.StoryClusterer;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSources;
+import com.hioss.spider.rank.HeatRanking;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 把部分来源的新结果合并进某版面已有的 NewsPage（回填与局部刷新共用）
+ *
+ * <p>只有重抓了的栏目和综合热榜重新计算：重抓的栏目与其余栏目一起聚类，沿用其余栏目已有的簇编号
+ * （见 {@link StoryClusterer#annotate(Map, Set)}），综合热榜按新的栏目重新归并；
+ * 其余栏目从旧页面逐个 token 原样复制（见 {@link NewsPageWriter#mergeNewsPage}），字节不变，
+ * 其中条目的同时上榜栏目数也保持原值，到下一次完整抓取时再更新。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class PageMerge {
+
+    /**
+     * 打开旧页面（未压缩的 NewsPage 文档）；每次调用返回一个新的输入流
+     */
+    public interface Previous {
+        InputStream open() throws IOException;
+    }
+
+    private final Map<String, List<HotItem>> categories;
+    private final Map<String, Long> stale;
+    private final byte[] bytes;
+
+    private PageMerge(Map<String, List<HotItem>> categories, Map<String, Long> stale, byte[] bytes) {
+        this.categories = categories;
+        this.stale = stale;
+        this.bytes = bytes;
+    }
+
+    /**
+     * @param edition  版面
+     * @param date     日期字符串
+     * @param results  来源短名 -> 新结果；不属于该版面的来源忽略
+     * @param previous 旧页面；没有时为 null（只写出新结果的栏目，其余栏目为空）
+     */
+    public static PageMerge merge(Edition edition, String date, Map<String, List<HotItem>> results,
+                                  Previous previous) throws IOException {
+        Map<String, Long> stale = new LinkedHashMap<>();
+        Map<String, List<HotItem>> old = Map.of();
+        if (previous != null) {
+            try (InputStream in = previous.open()) {
+                old = NewsPageReader.read(in, stale);
+            }
+        }
+
+        Map<String, List<HotItem>> fresh = edition.categories(results::get);
+        Map<String, List<HotItem>> categories = new LinkedHashMap<>();
+        Set<String> unchanged = new HashSet<>();
+        for (String key : edition.getSources()) {
+            String category = NewsSources.get(key).getCategory();
+            if (results.containsKey(key)) {
+                categories.put(category, fresh.get(category));
+                // 重新抓取了的栏目不再是旧结果
+                stale.remove(category);
+            } else if (old.containsKey(category)) {
+                categories.put(category, old.get(category));
+                unchanged.add(category);
+            } else {
+                categories.put(category, new ArrayList<>());
+            }
+        }
+        new StoryClusterer().annotate(categories, unchanged);
+        categories = HeatRanking.withCombined(categories, edition.getCombined());
+
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        if (unchanged.isEmpty()) {
+            NewsPageWriter.mergeNewsPage(buf, date, categories, stale, null, unchanged);
+        } else {
+            try (InputStream in = previous.open()) {
+                NewsPageWriter.mergeNewsPage(buf, date, categories, stale, in, unchanged);
+            }
+        }
+        return new PageMerge(categories, stale, buf.toByteArray());
+    }
+
+    /**
+     * 合并后的栏目（含综合热榜），用于写分片
+     */
+    public Map<String, List<HotItem>> getCategories() {
+        return categories;
+    }
+
+    /**
+     * 合并后仍沿用旧结果的栏目：栏目名 -> 抓取时间
+     */
+    public Map<String, Long> getStale() {
+        return stale;
+    }
+
+    /**
+     * 合并后的 NewsPage 文档
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+}
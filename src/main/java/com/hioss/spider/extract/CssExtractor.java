@@ -0,0 +1,134 @@
+package com.hioss.spider.extract;
+
+import com.hioss.spider.dto.HotItem;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+import org.jsoup.select.Selector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 由 {@link ExtractRule}（type=css）编译得到的抽取器
+ *
+ * <p>选择器在构造时编译成 jsoup 的 Evaluator；抽取时先找条目容器，
+ * 再在每个容器内部取标题与链接，标题和链接天然成对，不再按下标拼接两次查询结果。
+ * 实例不可变，可在线程间共享。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class CssExtractor {
+
+    private final Evaluator items;
+    private final Field[] titleFields;
+    private final Field[] linkFields;
+    private final Field[] heatFields;
+    private final ValueTemplate titleTemplate;
+    private final ValueTemplate linkTemplate;
+    private final String linkContains;
+    private final int limit;
+
+    CssExtractor(ExtractRule rule) {
+        this.items = QueryParser.parse(rule.getItems());
+        this.titleFields = compileAll(rule.getTitle().getPaths());
+        this.linkFields = compileAll(rule.getLink().getPaths());
+        this.heatFields = compileAll(rule.getHeat().getPaths());
+        this.titleTemplate = ValueTemplate.compile(rule.getTitle());
+        this.linkTemplate = ValueTemplate.compile(rule.getLink());
+        this.linkContains = rule.getLinkContains() == null ? null : rule.getLinkContains().toLowerCase(Locale.ROOT);
+        this.limit = rule.getLimit();
+    }
+
+    /**
+     * 从 HTML 文档（或任意子元素）抽取条目
+     */
+    public List<HotItem> extract(Element root) {
+        List<HotItem> out = new ArrayList<>(limit);
+        if (root == null) {
+            return out;
+        }
+
+        for (Element item : Selector.select(items, root)) {
+            if (out.size() >= limit) {
+                break;
+            }
+
+            String title = firstValue(item, titleFields);
+            if (title == null) {
+                continue;
+            }
+            String link = firstValue(item, linkFields);
+            if (link == null) {
+                continue;
+            }
+            if (linkContains != null && !link.toLowerCase(Locale.ROOT).contains(linkContains)) {
+                continue;
+            }
+
+            HotItem dto = new HotItem(titleTemplate.apply(title), linkTemplate.apply(link));
+            if (heatFields.length > 0) {
+                dto.setHeat(HeatValue.parse(firstValue(item, heatFields)));
+            }
+            out.add(dto);
+        }
+        return out;
+    }
+
+    private static String firstValue(Element item, Field[] fields) {
+        for (Field f : fields) {
+            Element el = item;
+            if (f.selector != null) {
+                Elements found = Selector.select(f.selector, item);
+                if (found.isEmpty()) {
+                    continue;
+                }
+                el = found.first();
+            }
+            String v = f.attr == null ? el.text() : el.attr(f.attr);
+            if (v != null && !v.isBlank()) {
+                return v.trim();
+            }
+        }
+        return null;
+    }
+
+    private static Field[] compileAll(List<String> exprs) {
+        Field[] fields = new Field[exprs.size()];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = Field.compile(exprs.get(i));
+        }
+        return fields;
+    }
+
+    /**
+     * 「选择器@属性」：选择器为空表示容器本身，属性为空或 text 表示取文本
+     */
+    private static final class Field {
+        final Evaluator selector;
+        final String attr;
+
+        private Field(Evaluator selector, String attr) {
+            this.selector = selector;
+            this.attr = attr;
+        }
+
+        static Field compile(String expr) {
+            String css = expr.trim();
+            String attr = null;
+            int at = css.lastIndexOf('@');
+            if (at >= 0) {
+                attr = css.substring(at + 1).trim();
+                css = css.substring(0, at).trim();
+                if (attr.isEmpty() || "text".equals(attr)) {
+                    attr = null;
+                }
+            }
+            return new Field(css.isEmpty() ? null : QueryParser.parse(css), attr);
+        }
+    }
+}
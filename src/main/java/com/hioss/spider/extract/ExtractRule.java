@@ -0,0 +1,139 @@
+package com.hioss.spider.extract;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 声明式抽取规则（对应 extract-rules.json 中的一项）
+ *
+ * <pre>
+ * type        json / css
+ * items       json：条目数组路径，如 data.realtime、contents[*].articles
+ *             css ：条目容器选择器，如 div.category-wrap_iQLoo
+ * title/link  字段候选列表，按顺序取第一个非空值
+ *             json：相对条目的字段路径，如 note、data.url
+ *             css ：相对容器的「选择器@属性」，省略 @ 时取文本，如 .title_dIF3B@href
+ * template    可选，用 {} 占位拼接字段值（urlEncode=true 时先做 URL 编码）
+ * heat        可选，热度值的字段候选列表，写法同 title；取到的文本按 {@link HeatValue} 解析，解析不出时记为 0
+ * skipIf      json 专用：字段值等于给定值时跳过该条目（如广告位）；给定值为整数时按数值比较（true、1.0 也算 1）
+ * linkContains 可选：链接必须包含的片段（忽略大小写）
+ * limit       最多保留条数，默认 10
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class ExtractRule {
+
+    public static final String TYPE_JSON = "json";
+    public static final String TYPE_CSS = "css";
+
+    private String type = TYPE_JSON;
+    private String items;
+    private Field title = new Field();
+    private Field link = new Field();
+    private Field heat = new Field();
+    private Map<String, String> skipIf = new LinkedHashMap<>();
+    private String linkContains;
+    private int limit = 10;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getItems() {
+        return items;
+    }
+
+    public void setItems(String items) {
+        this.items = items;
+    }
+
+    public Field getTitle() {
+        return title;
+    }
+
+    public void setTitle(Field title) {
+        this.title = title;
+    }
+
+    public Field getLink() {
+        return link;
+    }
+
+    public void setLink(Field link) {
+        this.link = link;
+    }
+
+    public Field getHeat() {
+        return heat;
+    }
+
+    public void setHeat(Field heat) {
+        this.heat = heat;
+    }
+
+    public Map<String, String> getSkipIf() {
+        return skipIf;
+    }
+
+    public void setSkipIf(Map<String, String> skipIf) {
+        this.skipIf = skipIf;
+    }
+
+    public String getLinkContains() {
+        return linkContains;
+    }
+
+    public void setLinkContains(String linkContains) {
+        this.linkContains = linkContains;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 字段映射：候选路径 + 可选模板
+     */
+    public static class Field {
+        private List<String> paths = new ArrayList<>();
+        private String template;
+        private boolean urlEncode;
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public String getTemplate() {
+            return template;
+        }
+
+        public void setTemplate(String template) {
+            this.template = template;
+        }
+
+        public boolean isUrlEncode() {
+            return urlEncode;
+        }
+
+        public void setUrlEncode(boolean urlEncode) {
+            this.urlEncode = urlEncode;
+        }
+    }
+}
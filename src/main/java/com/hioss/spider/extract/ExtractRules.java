@@ -0,0 +1,77 @@
+package com.hioss.spider.extract;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.hioss.spider.common.Json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 抽取规则注册表
+ *
+ * <p>规则来自 classpath 下的 extract-rules.json，以来源名为 key。
+ * 新增一个结构规整的榜单，只需在配置中加一条规则即可，不必再手写解析代码。
+ * 编译后的抽取器按名称缓存，每条规则只编译一次。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class ExtractRules {
+
+    private static final String RESOURCE = "/extract-rules.json";
+
+    private static final Map<String, ExtractRule> RULES = load();
+    private static final Map<String, Object> COMPILED = new ConcurrentHashMap<>();
+
+    private ExtractRules() {
+    }
+
+    /**
+     * 取得 type=json 规则的抽取器
+     */
+    public static JsonExtractor json(String name) {
+        return (JsonExtractor) COMPILED.computeIfAbsent(name, n -> new JsonExtractor(rule(n, ExtractRule.TYPE_JSON)));
+    }
+
+    /**
+     * 取得 type=css 规则的抽取器
+     */
+    public static CssExtractor css(String name) {
+        return (CssExtractor) COMPILED.computeIfAbsent(name, n -> new CssExtractor(rule(n, ExtractRule.TYPE_CSS)));
+    }
+
+    /**
+     * 全部规则（按配置顺序）
+     */
+    public static Map<String, ExtractRule> all() {
+        return RULES;
+    }
+
+    private static ExtractRule rule(String name, String type) {
+        ExtractRule rule = RULES.get(name);
+        if (rule == null) {
+            throw new IllegalArgumentException("No extract rule named " + name);
+        }
+        if (!type.equals(rule.getType())) {
+            throw new IllegalArgumentException("Extract rule " + name + " is " + rule.getType() + ", not " + type);
+        }
+        return rule;
+    }
+
+    private static Map<String, ExtractRule> load() {
+        try (InputStream in = ExtractRules.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " not found on classpath");
+            }
+            return Json.MAPPER.readValue(in, new TypeReference<LinkedHashMap<String, ExtractRule>>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.hioss.spider.extract;
+
+/**
+ * 热度文本解析：「4900000」「1,234」「356.2万」「1.2亿」「热度 98万」等，取第一段数字及其后的万 / 亿单位
+ */
+final class HeatValue {
+
+    private HeatValue() {
+    }
+
+    /**
+     * @return 热度值；为空或没有数字时返回 0
+     */
+    static long parse(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int n = text.length();
+        int i = 0;
+        while (i < n && !isDigit(text.charAt(i))) {
+            i++;
+        }
+        if (i == n) {
+            return 0;
+        }
+
+        StringBuilder digits = new StringBuilder();
+        boolean dot = false;
+        for (; i < n; i++) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                digits.append(c);
+            } else if (c == ',') {
+                // 千分位
+            } else if (c == '.' && !dot && i + 1 < n && isDigit(text.charAt(i + 1))) {
+                digits.append(c);
+                dot = true;
+            } else {
+                break;
+            }
+        }
+        while (i < n && Character.isWhitespace(text.charAt(i))) {
+            i++;
+        }
+
+        double value = Double.parseDouble(digits.toString());
+        if (i < n) {
+            char unit = text.charAt(i);
+            if (unit == '万' || unit == 'w' || unit == 'W') {
+                value *= 1e4;
+            } else if (unit == '亿') {
+                value *= 1e8;
+            }
+        }
+        return value >= Long.MAX_VALUE ? Long.MAX_VALUE : Math.round(value);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
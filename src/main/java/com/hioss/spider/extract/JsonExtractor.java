@@ -0,0 +1,234 @@
+package com.hioss.spider.extract;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.hioss.spider.dto.HotItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 由 {@link ExtractRule}（type=json）编译得到的抽取器
+ *
+ * <p>路径、模板、过滤条件在构造时一次性编译，抽取时只沿条目路径走一遍 JSON 树，
+ * 凑够 limit 条即停止。实例不可变，可在线程间共享。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class JsonExtractor {
+
+    private final Path items;
+    private final Path[] titlePaths;
+    private final Path[] linkPaths;
+    private final Path[] heatPaths;
+    private final ValueTemplate titleTemplate;
+    private final ValueTemplate linkTemplate;
+    private final Skip[] skips;
+    private final String linkContains;
+    private final int limit;
+
+    JsonExtractor(ExtractRule rule) {
+        this.items = Path.compile(rule.getItems(), true);
+        this.titlePaths = compileAll(rule.getTitle().getPaths());
+        this.linkPaths = compileAll(rule.getLink().getPaths());
+        this.heatPaths = compileAll(rule.getHeat().getPaths());
+        this.titleTemplate = ValueTemplate.compile(rule.getTitle());
+        this.linkTemplate = ValueTemplate.compile(rule.getLink());
+
+        Map<String, String> skipIf = rule.getSkipIf();
+        this.skips = new Skip[skipIf.size()];
+        int i = 0;
+        for (Map.Entry<String, String> e : skipIf.entrySet()) {
+            skips[i++] = new Skip(Path.compile(e.getKey(), false), e.getValue());
+        }
+
+        this.linkContains = rule.getLinkContains() == null ? null : rule.getLinkContains().toLowerCase(Locale.ROOT);
+        this.limit = rule.getLimit();
+    }
+
+    /**
+     * 从 JSON 根节点抽取条目
+     */
+    public List<HotItem> extract(JsonNode root) {
+        List<HotItem> out = new ArrayList<>(limit);
+        if (root == null || root.isMissingNode()) {
+            return out;
+        }
+        walk(root, 0, out);
+        return out;
+    }
+
+    /**
+     * 沿条目路径遍历；返回 false 表示已经凑够条数
+     */
+    private boolean walk(JsonNode node, int seg, List<HotItem> out) {
+        if (seg == items.names.length) {
+            if (!node.isArray()) {
+                return true;
+            }
+            for (JsonNode item : node) {
+                if (out.size() >= limit) {
+                    return false;
+                }
+                HotItem dto = toItem(item);
+                if (dto != null) {
+                    out.add(dto);
+                }
+            }
+            return out.size() < limit;
+        }
+
+        JsonNode child = items.names[seg].isEmpty() ? node : node.get(items.names[seg]);
+        if (child == null) {
+            return true;
+        }
+        if (!items.expand[seg]) {
+            return walk(child, seg + 1, out);
+        }
+        if (child.isArray()) {
+            for (JsonNode element : child) {
+                if (!walk(element, seg + 1, out)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private HotItem toItem(JsonNode item) {
+        if (item == null || !item.isObject()) {
+            return null;
+        }
+
+        for (Skip skip : skips) {
+            if (skip.matches(item)) {
+                return null;
+            }
+        }
+
+        String title = firstText(item, titlePaths);
+        if (title == null) {
+            return null;
+        }
+        String link = firstText(item, linkPaths);
+        if (link == null) {
+            return null;
+        }
+        if (linkContains != null && !link.toLowerCase(Locale.ROOT).contains(linkContains)) {
+            return null;
+        }
+
+        HotItem dto = new HotItem(titleTemplate.apply(title), linkTemplate.apply(link));
+        if (heatPaths.length > 0) {
+            dto.setHeat(HeatValue.parse(firstText(item, heatPaths)));
+        }
+        return dto;
+    }
+
+    private static String firstText(JsonNode item, Path[] paths) {
+        for (Path p : paths) {
+            JsonNode v = p.first(item);
+            if (v != null && !v.isNull() && v.isValueNode()) {
+                String s = v.asText();
+                if (s != null && !s.isBlank()) {
+                    return s.trim();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Path[] compileAll(List<String> exprs) {
+        Path[] paths = new Path[exprs.size()];
+        for (int i = 0; i < paths.length; i++) {
+            paths[i] = Path.compile(exprs.get(i), false);
+        }
+        return paths;
+    }
+
+    /**
+     * 预编译的 skipIf 条件
+     *
+     * <p>给定值为整数时按 {@link JsonNode#asInt(int)} 比较（与原先 item.path("is_ad").asInt(0) == 1 的写法一致，
+     * true、1.0、"1" 都算 1），为 true / false 时按 {@link JsonNode#asBoolean(boolean)} 比较，其余按文本比较。
+     */
+    static final class Skip {
+        final Path path;
+        final String text;
+        final Integer number;
+        final Boolean bool;
+
+        Skip(Path path, String value) {
+            this.path = path;
+            this.text = value;
+            this.number = parseInt(value);
+            this.bool = "true".equals(value) ? Boolean.TRUE : "false".equals(value) ? Boolean.FALSE : null;
+        }
+
+        boolean matches(JsonNode item) {
+            JsonNode v = path.first(item);
+            if (v == null || !v.isValueNode() || v.isNull()) {
+                return false;
+            }
+            if (number != null) {
+                return v.asInt(0) == number;
+            }
+            if (bool != null) {
+                return v.asBoolean(!bool) == bool;
+            }
+            return text.equals(v.asText());
+        }
+
+        private static Integer parseInt(String value) {
+            try {
+                return Integer.valueOf(value.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * 预编译的点号路径：a.b[*].c，[*] 表示展开数组
+     */
+    static final class Path {
+        final String[] names;
+        final boolean[] expand;
+
+        private Path(String[] names, boolean[] expand) {
+            this.names = names;
+            this.expand = expand;
+        }
+
+        static Path compile(String expr, boolean allowExpand) {
+            if (expr == null || expr.isBlank()) {
+                return new Path(new String[0], new boolean[0]);
+            }
+            String[] parts = expr.trim().split("\\.");
+            boolean[] expand = new boolean[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                if (parts[i].endsWith("[*]")) {
+                    if (!allowExpand) {
+                        throw new IllegalArgumentException("[*] is only allowed in items path: " + expr);
+                    }
+                    parts[i] = parts[i].substring(0, parts[i].length() - 3);
+                    expand[i] = true;
+                }
+            }
+            return new Path(parts, expand);
+        }
+
+        JsonNode first(JsonNode node) {
+            for (String name : names) {
+                if (node == null) {
+                    return null;
+                }
+                node = node.get(name);
+            }
+            return node;
+        }
+    }
+}
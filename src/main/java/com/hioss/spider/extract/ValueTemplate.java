@@ -0,0 +1,43 @@
+package com.hioss.spider.extract;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 预编译的字段模板：把 "前缀{}后缀" 拆成两段，运行时只做一次拼接
+ */
+final class ValueTemplate {
+
+    private static final ValueTemplate IDENTITY = new ValueTemplate("", "", false);
+
+    private final String prefix;
+    private final String suffix;
+    private final boolean urlEncode;
+
+    private ValueTemplate(String prefix, String suffix, boolean urlEncode) {
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.urlEncode = urlEncode;
+    }
+
+    static ValueTemplate compile(ExtractRule.Field field) {
+        String template = field.getTemplate();
+        if (template == null || template.isEmpty()) {
+            return field.isUrlEncode() ? new ValueTemplate("", "", true) : IDENTITY;
+        }
+
+        int at = template.indexOf("{}");
+        if (at < 0) {
+            throw new IllegalArgumentException("template must contain {}: " + template);
+        }
+        return new ValueTemplate(template.substring(0, at), template.substring(at + 2), field.isUrlEncode());
+    }
+
+    String apply(String value) {
+        if (this == IDENTITY) {
+            return value;
+        }
+        String v = urlEncode ? URLEncoder.encode(value, StandardCharsets.UTF_8) : value;
+        return prefix + v + suffix;
+    }
+}
@@ -0,0 +1,65 @@
+package com.hioss.spider.fallback;
+
+import com.hioss.spider.common.SourceResultFiles;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 各来源最近一次成功的抓取结果
+ *
+ * <pre>
+ * &lt;dir&gt;/&lt;key&gt;.json   来源的最近一次非空结果与抓取时间（格式见 {@link SourceResultFiles}，原子写入）
+ * </pre>
+ *
+ * 与按天的检查点不同，这里不分日期、只保留最新一份，随数据一起提交，下一次运行（换了机器）也能读到。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class LastKnownGood {
+
+    public static final Path DEFAULT_DIR = Paths.get("last-known-good");
+
+    private final Path dir;
+
+    public LastKnownGood(Path dir) {
+        this.dir = dir;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    public Path file(String key) {
+        return dir.resolve(key + ".json");
+    }
+
+    /**
+     * 某来源最近一次成功的结果；没有或读不出时返回 null
+     */
+    public SourceResult get(String key) {
+        try {
+            SourceResult r = SourceResultFiles.read(file(key));
+            return r == null || !key.equals(r.getKey()) || r.getItems().isEmpty() ? null : r;
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable last-known-good result " + file(key) + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 记录一次成功的抓取（空结果不记录）
+     */
+    public void put(String key, String category, List<HotItem> items) throws IOException {
+        if (items.isEmpty()) {
+            return;
+        }
+        SourceResultFiles.write(file(key), new SourceResult(key, category, System.currentTimeMillis(), items));
+    }
+}
@@ -0,0 +1,190 @@
+package com.hioss.spider.fallback;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.dto.SourceResult;
+import com.hioss.spider.news.NewsSources;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 抓取失败或超时时先用最近一次成功的结果（stale-while-revalidate）
+ *
+ * <p>每次抓取最多等待 latencyBudget：按时拿到非空结果就记入 {@link LastKnownGood} 并返回；
+ * 返回空结果、抛异常或超时，则立即返回该来源最近一次成功的结果，并记下它的抓取时间（页面据此标注“非最新”）。
+ * 同时在后台继续刷新：超时的那次抓取继续等，失败了每隔 retryInterval 重试，直到成功或超过 refreshWindow。
+ * 发布不等待失败的来源；发布后调用 {@link #awaitRefreshes()} 取回刷新成功的来源，重新发布一次。
+ *
+ * <p>没有旧结果的来源只能返回空列表（与原先行为相同）。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class StaleWhileRevalidate implements AutoCloseable {
+
+    private final LastKnownGood store;
+    private final Duration latencyBudget;
+    private final Duration retryInterval;
+    private final ExecutorService executor;
+    private final Map<String, Long> stale = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<List<HotItem>>> refreshes = new ConcurrentHashMap<>();
+    private final long refreshDeadline;
+
+    /**
+     * @param latencyBudget 每个来源等待的上限，超过即先用旧结果
+     * @param retryInterval 后台刷新失败后的重试间隔
+     * @param refreshWindow 后台刷新的总时长上限（从构造时算起）
+     */
+    public StaleWhileRevalidate(LastKnownGood store, Duration latencyBudget, Duration retryInterval,
+                                Duration refreshWindow) {
+        this.store = store;
+        this.latencyBudget = latencyBudget;
+        this.retryInterval = retryInterval;
+        this.refreshDeadline = System.nanoTime() + refreshWindow.toNanos();
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "swr-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * 包装抓取方法
+     *
+     * @param fetcher 来源短名 -> 抓取结果（失败时返回空列表或抛异常）
+     */
+    public Function<String, List<HotItem>> wrap(Function<String, List<HotItem>> fetcher) {
+        return key -> {
+            CompletableFuture<List<HotItem>> attempt = CompletableFuture.supplyAsync(() -> fetcher.apply(key), executor);
+            String reason;
+            try {
+                List<HotItem> items = attempt.get(latencyBudget.toMillis(), TimeUnit.MILLISECONDS);
+                if (!items.isEmpty()) {
+                    remember(key, items);
+                    return items;
+                }
+                reason = "empty result";
+            } catch (TimeoutException e) {
+                reason = "no result within " + latencyBudget.toMillis() + " ms";
+            } catch (ExecutionException e) {
+                reason = String.valueOf(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reason = "interrupted";
+            }
+
+            refreshes.put(key, CompletableFuture.supplyAsync(() -> refresh(key, fetcher, attempt), executor));
+            SourceResult last = store.get(key);
+            if (last == null) {
+                System.err.println("Source " + key + " failed (" + reason + ") and has no last-known-good result.");
+                return List.of();
+            }
+            stale.put(key, last.getFetchedAt());
+            System.err.println("Source " + key + " failed (" + reason + "); serving last-known-good result from "
+                    + Instant.ofEpochMilli(last.getFetchedAt()) + ", refreshing in background.");
+            return last.getItems();
+        };
+    }
+
+    /**
+     * 当前沿用旧结果的来源：来源短名 -> 旧结果的抓取时间
+     */
+    public Map<String, Long> getStale() {
+        return new TreeMap<>(stale);
+    }
+
+    /**
+     * 等待后台刷新结束（最多到 refreshWindow），返回刷新成功的来源：来源短名 -> 新结果。
+     * 刷新成功的来源不再算作沿用旧结果
+     */
+    public Map<String, List<HotItem>> awaitRefreshes() throws InterruptedException {
+        Map<String, List<HotItem>> out = new LinkedHashMap<>();
+        for (Map.Entry<String, CompletableFuture<List<HotItem>>> e : refreshes.entrySet()) {
+            try {
+                List<HotItem> items = e.getValue().get();
+                if (items != null) {
+                    out.put(e.getKey(), items);
+                    stale.remove(e.getKey());
+                }
+            } catch (ExecutionException ex) {
+                System.err.println("Background refresh of " + e.getKey() + " failed: " + ex.getCause());
+            }
+        }
+        refreshes.clear();
+        return out;
+    }
+
+    /**
+     * 后台刷新：先等仍在进行的那次抓取，失败后按间隔重试
+     *
+     * @return 新结果；在时限内没有成功时返回 null
+     */
+    private List<HotItem> refresh(String key, Function<String, List<HotItem>> fetcher,
+                                  CompletableFuture<List<HotItem>> first) {
+        CompletableFuture<List<HotItem>> attempt = first;
+        while (true) {
+            long remaining = refreshDeadline - System.nanoTime();
+            if (remaining <= 0) {
+                attempt.cancel(true);
+                return null;
+            }
+            try {
+                List<HotItem> items = attempt.get(remaining, TimeUnit.NANOSECONDS);
+                if (!items.isEmpty()) {
+                    remember(key, items);
+                    System.out.println("Background refresh of " + key + " succeeded (" + items.size() + " item(s)).");
+                    return items;
+                }
+            } catch (TimeoutException e) {
+                attempt.cancel(true);
+                return null;
+            } catch (ExecutionException ignored) {
+                // 与空结果一样，稍后重试
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+
+            long pause = Math.min(retryInterval.toNanos(), refreshDeadline - System.nanoTime());
+            if (pause <= 0) {
+                return null;
+            }
+            try {
+                TimeUnit.NANOSECONDS.sleep(pause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            attempt = CompletableFuture.supplyAsync(() -> fetcher.apply(key), executor);
+        }
+    }
+
+    private void remember(String key, List<HotItem> items) {
+        try {
+            store.put(key, NewsSources.get(key).getCategory(), items);
+        } catch (IOException e) {
+            System.err.println("Failed to record last-known-good result for " + key + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -1,12 +1,22 @@
 package com.hioss.spider.news;
 
+import com.hioss.spider.common.Endpoints;
+import com.hioss.spider.common.HostRateLimiter;
 import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.extract.CssExtractor;
+import com.hioss.spider.extract.ExtractRules;
+import com.hioss.spider.raw.RawCapture;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
 
+import org.jsoup.Jsoup;
 import us.codecraft.webmagic.Page;
 import us.codecraft.webmagic.Site;
 import us.codecraft.webmagic.Spider;
 import us.codecraft.webmagic.processor.PageProcessor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -20,43 +30,47 @@ import java.util.List;
  */
 public class GetBaiduNews implements PageProcessor {
 
+    //热搜榜地址
+    private static final String BOARD_URL = "https://top.baidu.com/board?tab=realtime";
+
+    //预编译的抽取规则
+    private static final CssExtractor EXTRACTOR = ExtractRules.css("baidu");
+
     //爬虫结果
     private final List<HotItem> list = new ArrayList<>();
 
+    //下载阶段计时（start 中开始，process 被调用时结束）
+    private StageTimer fetchTimer;
+
     //模拟浏览器的反爬虫设置
     private Site site = Site.me()
             .setCharset("UTF-8")  //设置网页编码
             .setRetryTimes(2)     //设置请求失败重试次数
-            .setSleepTime(5000)   //设置每次请求的间隔时间（毫秒）
+            .setSleepTime(0)      //不再 sleep，访问间隔由 HostRateLimiter 按域名控制
             .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36");
 
     /**
      * 主要业务逻辑
+     * <p>按 extract-rules.json 中的 "baidu" 规则，在每个热搜条目容器内一次性取出标题与链接
      */
     @Override
     public void process(Page page) {
-        // 标题列表
-        List<String> titles = page.getHtml()
-                .css("div.c-single-text-ellipsis", "text")
-                .all();
-
-        // 链接列表
-        List<String> links = page.getHtml()
-                .css("div.category-wrap_iQLoo .title_dIF3B", "href")
-                .all();
-
-        // 保留前 10 条
-        int count = Math.min(10, titles.size());
-
-        for (int i = 0; i < count; i++) {
-            HotItem dto = new HotItem();
-            dto.setTitle(titles.get(i));
-            dto.setLink(links.get(i));
+        fetchTimer.bytes(page.getBytes() == null ? 0 : page.getBytes().length).close();
+        RawCapture.record("baidu", BOARD_URL, page.getBytes());
 
-            list.add(dto);
+        try (StageTimer t = StageTimer.start(Stage.PARSE, "baidu", BOARD_URL)) {
+            list.addAll(EXTRACTOR.extract(page.getHtml().getDocument()));
+            t.items(list.size());
         }
     }
 
+    /**
+     * 从热搜页原始 HTML 解析条目（与 process 中的解析相同，供离线样本使用）
+     */
+    public static List<HotItem> parse(InputStream in) throws IOException {
+        return EXTRACTOR.extract(Jsoup.parse(in, "UTF-8", BOARD_URL));
+    }
+
     @Override
     public Site getSite() {
         return site;
@@ -66,10 +80,16 @@ public class GetBaiduNews implements PageProcessor {
      * 提供给外部调用的方法
      */
     public List<HotItem> start() {
+        // WebMagic 是同步下载：先拿到该域名的许可再启动；排队期间阻塞本来源的抓取线程
+        HostRateLimiter.shared().acquire(BOARD_URL).join();
+
+        fetchTimer = StageTimer.start(Stage.FETCH, "baidu", BOARD_URL);
         Spider.create(this)
-                .addUrl("https://top.baidu.com/board?tab=realtime")
+                .addUrl(Endpoints.url("baidu", BOARD_URL))
                 .thread(1)
                 .run();
+        // 下载失败时 process 不会被调用，在这里结束计时
+        fetchTimer.close();
 
         return this.list;
     }
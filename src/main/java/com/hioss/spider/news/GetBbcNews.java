@@ -1,36 +1,32 @@
 package com.hioss.spider.news;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.hioss.spider.common.HttpFetcher;
 import com.hioss.spider.dto.HotItem;
 
-import us.codecraft.webmagic.Page;
-import us.codecraft.webmagic.Site;
-import us.codecraft.webmagic.Spider;
-import us.codecraft.webmagic.processor.PageProcessor;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-
-import java.io.StringReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpRequest;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 
 /**
  * BBC中文网 热门内容
  * 说明：改为抓取 RSS（繁体）前 10 条新闻
  *
+ * <p>RSS 经 {@link HttpFetcher} 抓取，解压后的字节流直接交给 StAX 逐个事件读取：
+ * 编码按 XML 声明识别，不先拼成 String，也不构建 DOM；取满 10 条即停止读取。
+ *
  * @author      程春海
  * @version     1.0
  * @since       2025-11-18
  *
  */
-public class GetBbcNews implements PageProcessor {
+public class GetBbcNews {
 
     // 目标：取 10 条
     private static final int LIMIT = 10;
@@ -38,142 +34,93 @@ public class GetBbcNews implements PageProcessor {
     // RSS（繁体）
     private static final String RSS_URL = "https://feeds.bbci.co.uk/zhongwen/trad/rss.xml";
 
+    // 安全配置：不处理 DTD、不解析外部实体（防 XXE）；配置完成后只用于创建读取器，可多线程共用
+    private static final XMLInputFactory XML = newInputFactory();
+
     // 爬虫结果（⚠️ List 格式不变：仍然返回 List<HotItem>）
     private final List<HotItem> list = new ArrayList<>();
 
-    // 模拟浏览器的反爬虫设置
-    private Site site = Site.me()
-            .setCharset("UTF-8")  // 设置网页编码
-            .setRetryTimes(2)     // 设置请求失败重试次数
-            .setSleepTime(1500)   // 设置每次请求的间隔时间（毫秒）
-            .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36")
-            .addHeader("Accept", "application/rss+xml,application/xml;q=0.9,*/*;q=0.8")
-            .addHeader("Accept-Language", "zh-CN,zh;q=0.9,en;q=0.8");
-
-    /**
-     * 找到JSON中items层级（网页中唯一的关键字【"items":】）
-     *
-     * @param node 待处理JSON
-     * @return 完整的JSON字符串
-     */
-    public static List<JsonNode> findItems(JsonNode node) {
-        List<JsonNode> result = new ArrayList<>();
-
-        if (node != null && node.has("items")) {
-            result.add(node.get("items"));
-        }
-
-        // 遍历所有子节点继续找
-        if (node != null) {
-            Iterator<JsonNode> it = node.elements();
-            while (it.hasNext()) {
-                result.addAll(findItems(it.next()));
-            }
-        }
-
-        return result;
+    private static XMLInputFactory newInputFactory() {
+        XMLInputFactory f = XMLInputFactory.newFactory();
+        f.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        f.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // CDATA 与普通文本合并成一段，标题常用 CDATA 包裹
+        f.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return f;
     }
 
     /**
-     * 找到 JSON 对象的完整结束位置
+     * 解析 RSS，取前 10 条 item 的 title / link
      *
-     * @param text 待处理字符串
-     * @param startIndex 开始位置
-     * @return 完整的JSON字符串
+     * @param in RSS 字节流（编码由 XML 声明决定）
      */
-    private String extractJsonObject(String text, int startIndex) {
-        int braceCount = 0;
-        int endIndex = startIndex;
-
-        for (int i = startIndex; i < text.length(); i++) {
-            char c = text.charAt(i);
-
-            if (c == '{') braceCount++;
-            else if (c == '}') braceCount--;
-
-            if (braceCount == 0 && i > startIndex) {
-                endIndex = i + 1;
-                break;
+    public static List<HotItem> parse(InputStream in) throws IOException {
+        List<HotItem> items = new ArrayList<>(LIMIT);
+        XMLStreamReader r = null;
+        try {
+            r = XML.createXMLStreamReader(in);
+            boolean inItem = false;
+            String title = null;
+            String link = null;
+
+            while (r.hasNext() && items.size() < LIMIT) {
+                int event = r.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String name = r.getLocalName();
+                    // 只认无命名空间的元素（频道里的 atom:link 等忽略）
+                    boolean plain = r.getNamespaceURI() == null || r.getNamespaceURI().isEmpty();
+                    if ("item".equals(name)) {
+                        inItem = true;
+                        title = null;
+                        link = null;
+                    } else if (inItem && plain && "title".equals(name)) {
+                        title = r.getElementText();
+                    } else if (inItem && plain && "link".equals(name)) {
+                        link = r.getElementText();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "item".equals(r.getLocalName())) {
+                    inItem = false;
+                    if (title == null || title.trim().isEmpty()) continue;
+                    if (link == null || link.trim().isEmpty()) continue;
+
+                    HotItem dto = new HotItem();
+                    dto.setTitle(title.trim());
+                    dto.setLink(link.trim());
+                    items.add(dto);
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException("Malformed RSS: " + e.getMessage(), e);
+        } finally {
+            if (r != null) {
+                try {
+                    r.close();
+                } catch (XMLStreamException ignored) {
+                }
             }
         }
-
-        return text.substring(startIndex, endIndex);
+        return items;
     }
 
     /**
-     * 主要业务逻辑：解析 RSS XML，取前 10 条
+     * 提供给外部调用的方法（⚠️ 返回 List<HotItem> 不变）
      */
-    @Override
-    public void process(Page page) {
-        String xml = page.getRawText();
-        if (xml == null || xml.trim().isEmpty()) {
-            return;
-        }
-
+    public List<HotItem> start() {
         try {
-            // 安全配置：禁止外部实体（防 XXE）
-            DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-            try {
-                dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-                dbf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-                dbf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-                dbf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            } catch (Exception ignored) {
-                // 某些 JRE/实现不支持特性时忽略
-            }
-            dbf.setXIncludeAware(false);
-            dbf.setExpandEntityReferences(false);
-
-            DocumentBuilder builder = dbf.newDocumentBuilder();
-            org.w3c.dom.Document doc = builder.parse(new InputSource(new StringReader(xml)));
-
-            NodeList items = doc.getElementsByTagName("item");
-            int count = 0;
-
-            for (int i = 0; i < items.getLength() && count < LIMIT; i++) {
-                Node n = items.item(i);
-                if (n.getNodeType() != Node.ELEMENT_NODE) continue;
-
-                Element item = (Element) n;
-
-                String title = getText(item, "title");
-                String link = getText(item, "link");
-
-                if (title == null || title.trim().isEmpty()) continue;
-                if (link == null || link.trim().isEmpty()) continue;
-
-                HotItem dto = new HotItem();
-                dto.setTitle(title.trim());
-                dto.setLink(link.trim());
-                list.add(dto);
-
-                count++;
+            HttpRequest request = HttpFetcher.request(RSS_URL)
+                    .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36")
+                    .header("Accept", "application/rss+xml,application/xml;q=0.9,*/*;q=0.8")
+                    .header("Accept-Language", "zh-CN,zh;q=0.9,en;q=0.8")
+                    .build();
+
+            // 限速、fetch / parse 阶段计时与字节统计都在 HttpFetcher 中完成
+            List<HotItem> items = HttpFetcher.fetch("bbc", request, GetBbcNews::parse);
+            if (items != null) {
+                list.addAll(items);
             }
         } catch (Exception e) {
             e.printStackTrace();
         }
-    }
-
-    private String getText(Element parent, String tagName) {
-        NodeList nl = parent.getElementsByTagName(tagName);
-        if (nl == null || nl.getLength() == 0) return null;
-        Node n = nl.item(0);
-        return n != null ? n.getTextContent() : null;
-    }
-
-    @Override
-    public Site getSite() {
-        return site;
-    }
-
-    /**
-     * 提供给外部调用的方法（⚠️ 返回 List<HotItem> 不变）
-     */
-    public List<HotItem> start() {
-        Spider.create(this)
-                .addUrl(RSS_URL)
-                .thread(1)
-                .run();
 
         return this.list;
     }
@@ -1,18 +1,18 @@
 package com.hioss.spider.news;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hioss.spider.common.HttpFetcher;
+import com.hioss.spider.common.Json;
 import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.extract.ExtractRules;
+import com.hioss.spider.extract.JsonExtractor;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
 
-import java.net.URI;
-import java.net.http.HttpClient;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
 /**
  * 懂球帝：抓取「热门推荐/热门」前 10 条（接口版，更稳定）
@@ -23,8 +23,6 @@ import java.util.Locale;
  */
 public class GetDongqiudiHotNews {
 
-    private static final int LIMIT = 10;
-
     // 备用多个 URL：有的环境/version 参数可能要求不同，逐个尝试
     private static final String[] CANDIDATE_URLS = new String[]{
             "https://api.dongqiudi.com/app/tabs/iphone/104.json?mark=gif&version=500",
@@ -32,88 +30,48 @@ public class GetDongqiudiHotNews {
             "https://api.dongqiudi.com/app/tabs/iphone/104.json?version=500"
     };
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonExtractor EXTRACTOR = ExtractRules.json("dongqiudi");
+
+    /**
+     * 从接口原始响应体解析条目（与 start 中的解析相同，供离线样本使用）
+     */
+    public static List<HotItem> parse(InputStream in) throws IOException {
+        return EXTRACTOR.extract(Json.readTree(in));
+    }
 
     public List<HotItem> start() {
-        String json = fetchJson();
-        if (json == null || json.isBlank()) return List.of();
+        JsonNode root = fetchJson();
+        if (root == null) {
+            return List.of();
+        }
 
         try {
-            JsonNode root = mapper.readTree(json);
-
-            // 数据结构（常见）：root.contents[0].articles[*].title / share
-            JsonNode contents = root.path("contents");
-            if (!contents.isArray() || contents.isEmpty()) return List.of();
-
-            List<HotItem> out = new ArrayList<>(LIMIT);
-
-            // 有时 articles 在多天分组里：contents[i].articles
-            for (int i = 0; i < contents.size() && out.size() < LIMIT; i++) {
-                JsonNode articles = contents.get(i).path("articles");
-                if (!articles.isArray()) continue;
-
-                for (JsonNode a : articles) {
-                    if (out.size() >= LIMIT) break;
-
-                    String title = textOrNull(a, "title");
-                    String share = textOrNull(a, "share");
-
-                    // 有些字段可能叫 url / url1（但 share 通常就是可打开的文章链接）
-                    if (share == null || share.isBlank()) {
-                        share = textOrNull(a, "url");
-                    }
-                    if (share == null || share.isBlank()) {
-                        share = textOrNull(a, "url1");
-                    }
-
-                    if (title == null || title.isBlank()) continue;
-                    if (share == null || share.isBlank()) continue;
-
-                    // 只保留懂球帝文章链接
-                    String lower = share.toLowerCase(Locale.ROOT);
-                    if (!lower.contains("dongqiudi.com")) continue;
-
-                    HotItem item = new HotItem();
-                    item.setTitle(title.trim());
-                    item.setLink(share.trim());
-                    out.add(item);
-                }
+            // 字段映射、过滤条件见 extract-rules.json 中的 "dongqiudi"
+            try (StageTimer t = StageTimer.start(Stage.PARSE, "dongqiudi", null)) {
+                List<HotItem> items = EXTRACTOR.extract(root);
+                t.items(items.size());
+                return items;
             }
-
-            return out;
         } catch (Exception e) {
-            // 解析失败就返回空，避免影响主流程
             return List.of();
         }
     }
 
-    private String fetchJson() {
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .build();
-
+    private JsonNode fetchJson() {
         for (String url : CANDIDATE_URLS) {
             try {
-                HttpRequest req = HttpRequest.newBuilder()
-                        .uri(URI.create(url))
-                        .timeout(Duration.ofSeconds(15))
+                HttpRequest req = HttpFetcher.request(url)
                         // 模拟常见客户端请求头
                         .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36")
                         .header("Accept", "application/json,text/plain,*/*")
                         .header("Accept-Language", "zh-CN,zh;q=0.9")
                         .header("Referer", "https://www.dongqiudi.com/")
-                        .GET()
                         .build();
 
-                HttpResponse<byte[]> resp = client.send(req, HttpResponse.BodyHandlers.ofByteArray());
-
-                int code = resp.statusCode();
-                if (code >= 200 && code < 300) {
-                    byte[] body = resp.body();
-                    if (body != null && body.length > 0) {
-                        return new String(body, StandardCharsets.UTF_8);
-                    }
+                // 响应按 gzip/deflate 流式解压后直接交给 Jackson
+                JsonNode root = HttpFetcher.fetch("dongqiudi", req, Json::readTree);
+                if (root != null && !root.isMissingNode()) {
+                    return root;
                 }
             } catch (Exception ignored) {
                 // 换下一个候选 URL
@@ -121,11 +79,4 @@ public class GetDongqiudiHotNews {
         }
         return null;
     }
-
-    private String textOrNull(JsonNode node, String field) {
-        JsonNode v = node.get(field);
-        if (v == null || v.isNull()) return null;
-        String s = v.asText();
-        return (s == null || s.isBlank()) ? null : s;
-    }
 }
@@ -1,22 +1,32 @@
 package com.hioss.spider.news;
 
+import com.hioss.spider.common.Endpoints;
+import com.hioss.spider.common.HostRateLimiter;
 import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.raw.RawCapture;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
 import us.codecraft.webmagic.Page;
 import us.codecraft.webmagic.Site;
 import us.codecraft.webmagic.Spider;
 import us.codecraft.webmagic.processor.PageProcessor;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * IT之家（ithome.com）日榜
- * 说明：参照 GetBbcNews.java 的写法，用 WebMagic 抓取首页的“日榜”列表前 N 条。
+ * IT之家（ithome.com）日榜 / 周榜 / 月榜
+ * 说明：参照 GetBbcNews.java 的写法，用 WebMagic 抓取首页；首页右侧排行榜的三个分栏
+ * （&lt;ul id="d-1"&gt; / d-2 / d-3）在一次解析中各取前 N 条，分别作为三个来源的结果（见 {@link PageBoards}）。
  *
  * @author      程春海
  * @version     1.0
@@ -30,62 +40,148 @@ public class GetIthomeDailyNews implements PageProcessor {
     // IT之家首页
     private static final String HOME_URL = "https://www.ithome.com/";
 
-    // 结果（⚠️ List 格式不变：仍然返回 List<HotItem>）
-    private final List<HotItem> list = new ArrayList<>();
-
-    // 用于去重（避免抓到重复链接/标题）
-    private final Set<String> seen = new HashSet<>();
+    // 三个榜单对应的来源短名
+    public static final String DAILY = "ithome";
+    public static final String WEEKLY = "ithome-week";
+    public static final String MONTHLY = "ithome-month";
+
+    // 排行榜分栏 id -> 来源短名
+    private static final Map<String, String> BOARD_IDS = Map.of("d-1", DAILY, "d-2", WEEKLY, "d-3", MONTHLY);
+
+    // 正则只编译一次（原先每次调用都会重新 Pattern.compile）
+    // 排行榜区域内依次出现的三种记号：分栏开始 <ul id="...">、分栏结束 </ul>、链接 <a href="...">title</a>
+    private static final Pattern RANK_TOKEN = Pattern.compile(
+            "<ul\\b[^>]*\\bid\\s*=\\s*\"([^\"]+)\"[^>]*>"
+                    + "|</ul\\s*>"
+                    + "|<a\\s+[^>]*href\\s*=\\s*\"([^\"]+)\"[^>]*>(.*?)</a>",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL
+    );
+    private static final Pattern SECTION_ID = Pattern.compile("<ul\\b[^>]*\\bid\\s*=\\s*\"d-\\d+\"",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern SCRIPT_TAG = Pattern.compile("(?is)<script.*?>.*?</script>");
+    private static final Pattern STYLE_TAG = Pattern.compile("(?is)<style.*?>.*?</style>");
+    private static final Pattern ANY_TAG = Pattern.compile("(?is)<[^>]+>");
+    private static final Pattern WHITESPACE = Pattern.compile("[ \\t\\r\\n]+");
+    private static final Pattern DEC_ENTITY = Pattern.compile("&#(\\d+);");
+    private static final Pattern HEX_ENTITY = Pattern.compile("&#x([0-9a-fA-F]+);");
+
+    // 结果：来源短名 -> 条目（⚠️ 每个榜单仍然是 List<HotItem>）
+    private final Map<String, List<HotItem>> boards = new LinkedHashMap<>();
+
+    // 下载阶段计时（start 中开始，process 被调用时结束）
+    private StageTimer fetchTimer;
 
     // 模拟浏览器的反爬虫设置
     private final Site site = Site.me()
             .setCharset("UTF-8")
             .setRetryTimes(2)
-            .setSleepTime(1500)
+            .setSleepTime(0)      // 不再 sleep，访问间隔由 HostRateLimiter 按域名控制
             .addHeader("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/121.0.0.0 Safari/537.36")
             .addHeader("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
             .addHeader("Accept-Language", "zh-CN,zh;q=0.9,en;q=0.8")
             .addHeader("Referer", "https://www.ithome.com/");
 
-    /**
-     * 解析首页 HTML：定位“日榜”区域后，抓取其后的链接标题
-     */
     @Override
     public void process(Page page) {
-        String html = page.getRawText();
-        if (html == null || html.trim().isEmpty()) return;
+        fetchTimer.bytes(page.getBytes() == null ? 0 : page.getBytes().length).close();
+        // 同一份响应体记在每个榜单名下（内容相同只存一份），各榜单都能单独回填
+        for (String key : BOARD_IDS.values()) {
+            RawCapture.record(key, HOME_URL, page.getBytes());
+        }
 
-        // 1) 找到“日榜”出现的位置（首页会同时出现“日榜/周榜/月榜”）
-        int start = indexOfIgnoreCase(html);
-        if (start < 0) return;
+        try (StageTimer t = StageTimer.start(Stage.PARSE, "ithome", HOME_URL)) {
+            boards.putAll(parseBoards(page.getRawText()));
+            t.items(boards.values().stream().mapToInt(List::size).sum());
+        }
+    }
 
-        // 2) 从“日榜”附近开始，用正则扫 <a href="...">title</a>
-        //    （不依赖具体 DOM class，适配页面结构轻微变动）
-        String sub = html.substring(start);
+    /**
+     * 从首页原始 HTML 解析日榜（与 process 中的解析相同，供离线样本使用）
+     */
+    public static List<HotItem> parse(InputStream in) throws IOException {
+        return parse(in, DAILY);
+    }
 
-        Pattern aTag = Pattern.compile(
-                "<a\\s+[^>]*href\\s*=\\s*\"([^\"]+)\"[^>]*>(.*?)</a>",
-                Pattern.CASE_INSENSITIVE | Pattern.DOTALL
-        );
+    /**
+     * 从首页原始 HTML 解析某个榜单
+     *
+     * @param board {@link #DAILY} / {@link #WEEKLY} / {@link #MONTHLY}
+     */
+    public static List<HotItem> parse(InputStream in, String board) throws IOException {
+        return parseBoards(new String(in.readAllBytes(), StandardCharsets.UTF_8)).get(board);
+    }
 
-        Matcher m = aTag.matcher(sub);
-        while (m.find() && list.size() < LIMIT) {
-            String href = m.group(1);
-            String titleHtml = m.group(2);
+    /**
+     * 解析首页 HTML 的日榜
+     */
+    static List<HotItem> parse(String html) {
+        return parseBoards(html).get(DAILY);
+    }
 
-            String title = cleanText(titleHtml);
-            String link = normalizeUrl(href);
+    /**
+     * 解析首页 HTML：定位“日榜”区域后，一次扫描按分栏取出三个榜单
+     *
+     * @return 来源短名 -> 条目，三个榜单都在（没有条目时为空列表）
+     */
+    static Map<String, List<HotItem>> parseBoards(String html) {
+        Map<String, List<HotItem>> boards = new LinkedHashMap<>();
+        boards.put(DAILY, new ArrayList<>());
+        boards.put(WEEKLY, new ArrayList<>());
+        boards.put(MONTHLY, new ArrayList<>());
+        if (html == null || html.isBlank()) return boards;
+
+        // 1) 找到“日榜”出现的位置（首页会同时出现“日榜/周榜/月榜”）
+        //    中文没有大小写，直接 indexOf，不再把整页转小写复制一份
+        int start = html.indexOf("日榜");
+        if (start < 0) return boards;
+
+        // 2) 从“日榜”附近开始，用正则依次扫分栏与 <a href="...">title</a>
+        //    （不依赖具体 DOM class，适配页面结构轻微变动）
+        //    用 region 限定扫描范围，不截取子串。
+        //    找不到分栏 id 时（页面改版）沿用旧做法：“日榜”之后的链接都算日榜
+        boolean sectioned = SECTION_ID.matcher(html).region(start, html.length()).find();
+        String board = sectioned ? null : DAILY;
+        int closed = 0;
+
+        // 用于去重（避免抓到重复链接/标题），各榜单分别去重
+        Set<String> seen = new HashSet<>();
+
+        Matcher m = RANK_TOKEN.matcher(html).region(start, html.length());
+        while (m.find()) {
+            if (m.group(1) != null) {
+                // 分栏开始；不认识的分栏跳过
+                board = BOARD_IDS.get(m.group(1));
+                continue;
+            }
+            if (m.group(2) == null) {
+                // 分栏结束；三个分栏都读完即停止
+                if (!sectioned) continue;
+                if (board != null && ++closed == BOARD_IDS.size()) break;
+                board = null;
+                continue;
+            }
+            if (board == null) continue;
+            List<HotItem> list = boards.get(board);
+            if (list.size() >= LIMIT) {
+                // 没有分栏时只有日榜，取够即停止
+                if (!sectioned) break;
+                continue;
+            }
+
+            String title = cleanText(m.group(3));
+            String link = normalizeUrl(m.group(2));
 
             if (!isValidItem(title, link)) continue;
 
-            String key = title + "||" + link;
-            if (seen.contains(key)) continue;
-            seen.add(key);
+            String key = board + "||" + title + "||" + link;
+            if (!seen.add(key)) continue;
 
             HotItem dto = new HotItem();
             dto.setTitle(title);
             dto.setLink(link);
             list.add(dto);
         }
+        return boards;
     }
 
     @Override
@@ -94,20 +190,33 @@ public class GetIthomeDailyNews implements PageProcessor {
     }
 
     /**
-     * 提供给外部调用的方法（⚠️ 返回 List<HotItem> 不变）
+     * 提供给外部调用的方法：日榜（⚠️ 返回 List<HotItem> 不变；下载失败时为空列表）
      */
     public List<HotItem> start() {
+        return startBoards().getOrDefault(DAILY, new ArrayList<>());
+    }
+
+    /**
+     * 下载一次首页，返回全部榜单：来源短名 -> 条目（下载失败时为空 Map）
+     */
+    public Map<String, List<HotItem>> startBoards() {
+        // WebMagic 是同步下载：先拿到该域名的许可再启动；排队期间阻塞本来源的抓取线程
+        HostRateLimiter.shared().acquire(HOME_URL).join();
+
+        fetchTimer = StageTimer.start(Stage.FETCH, "ithome", HOME_URL);
         Spider.create(this)
-                .addUrl(HOME_URL)
+                .addUrl(Endpoints.url("ithome", HOME_URL))
                 .thread(1)
                 .run();
+        // 下载失败时 process 不会被调用，在这里结束计时
+        fetchTimer.close();
 
-        return this.list;
+        return this.boards;
     }
 
     // ----------------- 工具方法 -----------------
 
-    private boolean isValidItem(String title, String link) {
+    private static boolean isValidItem(String title, String link) {
         if (title == null || title.isEmpty()) return false;
         if (link == null || link.isEmpty()) return false;
 
@@ -124,7 +233,7 @@ public class GetIthomeDailyNews implements PageProcessor {
         return l.contains("ithome.com");
     }
 
-    private String normalizeUrl(String href) {
+    private static String normalizeUrl(String href) {
         if (href == null) return null;
         href = href.trim();
         if (href.isEmpty()) return href;
@@ -139,34 +248,30 @@ public class GetIthomeDailyNews implements PageProcessor {
         return href;
     }
 
-    private String cleanText(String htmlFragment) {
+    private static String cleanText(String htmlFragment) {
         if (htmlFragment == null) return null;
 
         // 去掉标签
-        String s = htmlFragment.replaceAll("(?is)<script.*?>.*?</script>", "");
-        s = s.replaceAll("(?is)<style.*?>.*?</style>", "");
-        s = s.replaceAll("(?is)<[^>]+>", "");
+        String s = SCRIPT_TAG.matcher(htmlFragment).replaceAll("");
+        s = STYLE_TAG.matcher(s).replaceAll("");
+        s = ANY_TAG.matcher(s).replaceAll("");
 
         // HTML 实体解码（基础 + 数字实体）
         s = unescapeHtml(s);
 
         // 压缩空白
         s = s.replace('\u00A0', ' '); // &nbsp;
-        s = s.replaceAll("[ \\t\\r\\n]+", " ").trim();
+        s = WHITESPACE.matcher(s).replaceAll(" ").trim();
 
         return s;
     }
 
-    private int indexOfIgnoreCase(String text) {
-        if (text == null) return -1;
-        String t = text.toLowerCase();
-        String n = "日榜".toLowerCase();
-        return t.indexOf(n);
-    }
-
-    private String unescapeHtml(String s) {
+    private static String unescapeHtml(String s) {
         if (s == null) return null;
 
+        // 绝大多数标题不含实体：跳过下面的逐个替换与编码往返
+        if (s.indexOf('&') < 0) return s.trim();
+
         // 常见实体
         s = s.replace("&amp;", "&")
                 .replace("&lt;", "<")
@@ -178,8 +283,7 @@ public class GetIthomeDailyNews implements PageProcessor {
                 .replace("&nbsp;", " ");
 
         // 数字实体：&#12345;
-        Pattern dec = Pattern.compile("&#(\\d+);");
-        Matcher mDec = dec.matcher(s);
+        Matcher mDec = DEC_ENTITY.matcher(s);
         StringBuilder sbDec = new StringBuilder();
         while (mDec.find()) {
             try {
@@ -193,8 +297,7 @@ public class GetIthomeDailyNews implements PageProcessor {
         s = sbDec.toString();
 
         // 十六进制实体：&#x1F600;
-        Pattern hex = Pattern.compile("&#x([0-9a-fA-F]+);");
-        Matcher mHex = hex.matcher(s);
+        Matcher mHex = HEX_ENTITY.matcher(s);
         StringBuilder sbHex = new StringBuilder();
         while (mHex.find()) {
             try {
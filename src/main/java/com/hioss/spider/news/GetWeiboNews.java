@@ -1,17 +1,17 @@
 package com.hioss.spider.news;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hioss.spider.common.HttpFetcher;
+import com.hioss.spider.common.Json;
 import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.extract.ExtractRules;
+import com.hioss.spider.extract.JsonExtractor;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
 
-import java.net.URI;
-import java.net.URLEncoder;
-import java.net.http.HttpClient;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.nio.charset.StandardCharsets;
-import java.time.Duration;
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -25,109 +25,54 @@ import java.util.List;
  */
 public class GetWeiboNews {
 
-    private static final int LIMIT = 10;
     private static final String HOT_SEARCH_URL = "https://weibo.com/ajax/side/hotSearch";
     private static final String REFERER_URL = "https://weibo.com/hot/search";
-    private static final String SEARCH_LINK_PREFIX = "https://s.weibo.com/weibo?q=";
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    private static final JsonExtractor EXTRACTOR = ExtractRules.json("weibo");
+
+    /**
+     * 从接口原始响应体解析条目（与 start 中的解析相同，供离线样本使用）
+     */
+    public static List<HotItem> parse(InputStream in) throws IOException {
+        return EXTRACTOR.extract(Json.readTree(in));
+    }
 
     /**
      * 提供给外部调用的方法
      */
     public List<HotItem> start() {
-        String json = fetchHotSearchJson();
-        if (json == null || json.isBlank()) {
+        JsonNode root = fetchHotSearch();
+        if (root == null) {
             return List.of();
         }
 
         try {
-            JsonNode root = mapper.readTree(json);
-            JsonNode realtime = root.path("data").path("realtime");
-            if (!realtime.isArray() || realtime.isEmpty()) {
-                return List.of();
-            }
-
-            List<HotItem> list = new ArrayList<>(LIMIT);
-            for (JsonNode item : realtime) {
-                if (list.size() >= LIMIT) {
-                    break;
-                }
-                if (item == null || !item.isObject()) {
-                    continue;
-                }
-
-                // 跳过广告项
-                if (item.path("is_ad").asInt(0) == 1 || item.path("topic_ad").asInt(0) == 1) {
-                    continue;
-                }
-
-                String title = textOrNull(item, "note");
-                if (title == null) {
-                    title = textOrNull(item, "word");
-                }
-                if (title == null) {
-                    continue;
-                }
-
-                String wordScheme = textOrNull(item, "word_scheme");
-                String link = buildLink(wordScheme, title);
-
-                HotItem dto = new HotItem();
-                dto.setTitle(title.trim());
-                dto.setLink(link);
-                list.add(dto);
+            // 字段映射、过滤条件见 extract-rules.json 中的 "weibo"
+            try (StageTimer t = StageTimer.start(Stage.PARSE, "weibo", null)) {
+                List<HotItem> items = EXTRACTOR.extract(root);
+                t.items(items.size());
+                return items;
             }
-
-            return list;
         } catch (Exception e) {
             return List.of();
         }
     }
 
-    private String fetchHotSearchJson() {
-        HttpClient client = HttpClient.newBuilder()
-                .connectTimeout(Duration.ofSeconds(10))
-                .followRedirects(HttpClient.Redirect.NORMAL)
-                .build();
-
+    private JsonNode fetchHotSearch() {
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(HOT_SEARCH_URL))
-                    .timeout(Duration.ofSeconds(15))
+            HttpRequest request = HttpFetcher.request(HOT_SEARCH_URL)
                     .header("User-Agent", "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/123.0.0.0 Safari/537.36")
                     .header("Accept", "application/json,text/plain,*/*")
                     .header("Accept-Language", "zh-CN,zh;q=0.9")
                     .header("Referer", REFERER_URL)
-                    .GET()
                     .build();
 
-            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
-            if (response.statusCode() >= 200 && response.statusCode() < 300) {
-                byte[] body = response.body();
-                if (body != null && body.length > 0) {
-                    return new String(body, StandardCharsets.UTF_8);
-                }
-            }
+            // 响应按 gzip/deflate 流式解压后直接交给 Jackson
+            return HttpFetcher.fetch("weibo", request, Json::readTree);
         } catch (Exception ignored) {
             // 获取失败时返回空，避免影响其他爬虫
         }
 
         return null;
     }
-
-    private String buildLink(String wordScheme, String fallbackTitle) {
-        String keyword = (wordScheme == null || wordScheme.isBlank()) ? fallbackTitle : wordScheme;
-        return SEARCH_LINK_PREFIX + URLEncoder.encode(keyword, StandardCharsets.UTF_8);
-    }
-
-    private String textOrNull(JsonNode node, String field) {
-        JsonNode value = node.get(field);
-        if (value == null || value.isNull()) {
-            return null;
-        }
-
-        String text = value.asText();
-        return (text == null || text.isBlank()) ? null : text;
-    }
 }
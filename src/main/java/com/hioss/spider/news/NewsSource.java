@@ -0,0 +1,82 @@
+package com.hioss.spider.news;
+
+import com.hioss.spider.common.HttpFetcher;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 一个新闻来源：短名（用于命令行、文件名）、栏目名（用于页面输出）、抓取方法，
+ * 以及从原始响应体解析条目的方法（用于固定样本的分配预算测试等离线场景）。
+ * 同一页面上的几个榜单（见 {@link PageBoards}）各是一个来源，page 为它们共用的页面短名，
+ * 请求重定向（{@link com.hioss.spider.common.Endpoints}）与固定样本都按它命名；单独成页的来源 page 即 key。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class NewsSource {
+
+    private final String key;
+    private final String page;
+    private final String category;
+    private final Supplier<List<HotItem>> fetcher;
+    private final HttpFetcher.BodyParser<List<HotItem>> parser;
+
+    /**
+     * 没有离线解析方法的来源（如测试里的模拟来源）
+     */
+    public NewsSource(String key, String category, Supplier<List<HotItem>> fetcher) {
+        this(key, category, fetcher, in -> {
+            throw new UnsupportedOperationException("Source " + key + " has no offline parser");
+        });
+    }
+
+    public NewsSource(String key, String category, Supplier<List<HotItem>> fetcher,
+                      HttpFetcher.BodyParser<List<HotItem>> parser) {
+        this(key, key, category, fetcher, parser);
+    }
+
+    /**
+     * 与其他来源共用一个页面的来源
+     *
+     * @param page 页面短名
+     */
+    public NewsSource(String key, String page, String category, Supplier<List<HotItem>> fetcher,
+                      HttpFetcher.BodyParser<List<HotItem>> parser) {
+        this.key = key;
+        this.page = page;
+        this.category = category;
+        this.fetcher = fetcher;
+        this.parser = parser;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getPage() {
+        return page;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    /**
+     * 抓取该来源；各爬虫内部已兜底异常，失败时返回空列表
+     */
+    public List<HotItem> fetch() {
+        return fetcher.get();
+    }
+
+    /**
+     * 从一份原始响应体（已解压）解析条目，结果与在线抓取时的解析一致
+     */
+    public List<HotItem> parse(InputStream in) throws IOException {
+        return parser.parse(in);
+    }
+}
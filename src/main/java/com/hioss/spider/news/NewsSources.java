@@ -0,0 +1,76 @@
+package com.hioss.spider.news;
+
+import com.github.houbb.opencc4j.util.ZhConverterUtil;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * 全部新闻来源（顺序即页面栏目顺序）
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class NewsSources {
+
+    // IT之家首页的三个榜单共用一次下载
+    private static final PageBoards ITHOME = new PageBoards(() -> new GetIthomeDailyNews().startBoards());
+
+    public static final List<NewsSource> ALL = List.of(
+            // ===== 百度热搜 =====
+            new NewsSource("baidu", "百度热搜", () -> new GetBaiduNews().start(), GetBaiduNews::parse),
+            // ===== 微博热搜 =====
+            new NewsSource("weibo", "新浪微博热搜", () -> new GetWeiboNews().start(), GetWeiboNews::parse),
+            // ===== 头条热榜 =====
+            new NewsSource("toutiao", "今日头条热榜", () -> new GetToutiaoNews().start(), GetToutiaoNews::parse),
+            // ===== BBC 中文网（繁体转简体） =====
+            new NewsSource("bbc", "BBC中文网热点", NewsSources::fetchBbc, NewsSources::parseBbc),
+            // ===== IT之家日榜 / 周榜 / 月榜（同一页面） =====
+            new NewsSource(GetIthomeDailyNews.DAILY, "IT之家日榜", () -> ITHOME.board(GetIthomeDailyNews.DAILY),
+                    in -> GetIthomeDailyNews.parse(in, GetIthomeDailyNews.DAILY)),
+            new NewsSource(GetIthomeDailyNews.WEEKLY, GetIthomeDailyNews.DAILY, "IT之家周榜", () -> ITHOME.board(GetIthomeDailyNews.WEEKLY),
+                    in -> GetIthomeDailyNews.parse(in, GetIthomeDailyNews.WEEKLY)),
+            new NewsSource(GetIthomeDailyNews.MONTHLY, GetIthomeDailyNews.DAILY, "IT之家月榜", () -> ITHOME.board(GetIthomeDailyNews.MONTHLY),
+                    in -> GetIthomeDailyNews.parse(in, GetIthomeDailyNews.MONTHLY)),
+            // ===== 懂球帝热门推荐 =====
+            new NewsSource("dongqiudi", "懂球帝热门推荐", () -> new GetDongqiudiHotNews().start(), GetDongqiudiHotNews::parse)
+    );
+
+    private NewsSources() {
+    }
+
+    /**
+     * 按短名查找来源
+     */
+    public static NewsSource get(String key) {
+        for (NewsSource s : ALL) {
+            if (s.getKey().equals(key)) {
+                return s;
+            }
+        }
+        throw new IllegalArgumentException("Unknown source: " + key);
+    }
+
+    private static List<HotItem> fetchBbc() {
+        List<HotItem> list = new GetBbcNews().start();
+        try (StageTimer t = StageTimer.start(Stage.CONVERT, "bbc", null)) {
+            toSimple(list);
+            t.items(list.size());
+        }
+        return list;
+    }
+
+    private static List<HotItem> parseBbc(InputStream in) throws IOException {
+        return toSimple(GetBbcNews.parse(in));
+    }
+
+    private static List<HotItem> toSimple(List<HotItem> list) {
+        list.forEach(item -> item.setTitle(ZhConverterUtil.toSimple(item.getTitle())));
+        return list;
+    }
+}
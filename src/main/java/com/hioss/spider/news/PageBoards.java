@@ -0,0 +1,85 @@
+package com.hioss.spider.news;
+
+import com.hioss.spider.dto.HotItem;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * 一次下载、多个栏目：同一页面上的几个榜单（如 IT之家首页的日榜 / 周榜 / 月榜）各是一个来源，
+ * 共用一次下载与一次解析
+ *
+ * <p>第一个取数的来源负责下载并解析出全部榜单，同时到达的来源等待同一个结果；结果保留 ttl，
+ * 同一次运行中稍后才取数的来源（版面按来源顺序组装）直接取用，不再请求。
+ * 全部榜单都为空（下载失败）时不保留，之后的重试（如后台刷新）会重新下载。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class PageBoards {
+
+    // 一次运行内各来源先后取数的间隔远小于此
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(2);
+
+    private final Supplier<Map<String, List<HotItem>>> loader;
+    private final long ttlNanos;
+
+    private CompletableFuture<Map<String, List<HotItem>>> current;
+    private long loadedAt;
+
+    /**
+     * @param loader 下载并解析页面：来源短名 -> 条目
+     */
+    public PageBoards(Supplier<Map<String, List<HotItem>>> loader) {
+        this(loader, DEFAULT_TTL);
+    }
+
+    public PageBoards(Supplier<Map<String, List<HotItem>>> loader, Duration ttl) {
+        this.loader = loader;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * 取得某个榜单（必要时下载页面）；返回新的列表，调用方可以修改
+     */
+    public List<HotItem> board(String key) {
+        CompletableFuture<Map<String, List<HotItem>>> call;
+        boolean mine = false;
+        synchronized (this) {
+            if (current == null || current.isDone() && System.nanoTime() - loadedAt > ttlNanos) {
+                current = new CompletableFuture<>();
+                mine = true;
+            }
+            call = current;
+        }
+
+        if (mine) {
+            Map<String, List<HotItem>> boards;
+            try {
+                boards = loader.get();
+                if (boards == null) {
+                    boards = Map.of();
+                }
+            } catch (RuntimeException e) {
+                // 各爬虫内部已兜底异常；万一漏出，按下载失败处理
+                System.err.println("Page download failed: " + e);
+                boards = Map.of();
+            }
+            synchronized (this) {
+                loadedAt = System.nanoTime();
+                if (boards.values().stream().allMatch(List::isEmpty) && current == call) {
+                    current = null;
+                }
+            }
+            call.complete(boards);
+        }
+
+        // 页面上没有该榜单（下载失败、改版）时为空列表，与单页来源失败时一致
+        return new ArrayList<>(call.join().getOrDefault(key, List.of()));
+    }
+}
@@ -0,0 +1,162 @@
+package com.hioss.spider.rank;
+
+import com.hioss.spider.dto.HotItem;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 跨来源的「综合热榜」：把各栏目的条目换算到同一个分数尺度上，取全局前 K 条
+ *
+ * <p>各来源的热度量纲不同（微博是讨论量、头条是热度值、百度是热搜指数，BBC、IT之家等没有热度），
+ * 不能直接比较原始值，先在栏目内部校准：
+ * <pre>
+ * 名次分  1 - i / n（i 为栏目内名次，从 0 开始；n 为栏目条数），所有来源都有
+ * 热度分  log10(heat) 在本栏目有热度的条目中做 min-max 归一化，全部相同时为 1
+ * 分数    有热度：(1 - HEAT_WEIGHT) × 名次分 + HEAT_WEIGHT × 热度分；没有热度：名次分
+ *         同一事件出现在多个栏目（{@link HotItem#getSources()} &gt; 1）时再乘 1 + CROSS_BOOST × (栏目数 - 1)
+ * </pre>
+ *
+ * <p>每个栏目按分数排好序后当作一路有序输入，用堆（堆顶为当前队首分数最高的一路）做 k 路归并，
+ * 取够 K 条即停止，不把所有条目放在一起排序；同一簇（{@link HotItem#getCluster()}）只保留分数最高的一条。
+ * 需在聚类（{@link com.hioss.spider.cluster.StoryClusterer#annotate}）之后调用。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class HeatRanking {
+
+    public static final String CATEGORY = "综合热榜";
+
+    static final double HEAT_WEIGHT = 0.5;
+    static final double CROSS_BOOST = 0.1;
+
+    private HeatRanking() {
+    }
+
+    /**
+     * 在栏目最前面加上综合热榜
+     *
+     * @param categories 栏目名 -> 条目（已聚类，不会被修改）
+     * @param k          综合热榜的条数；不大于 0 时原样返回
+     * @return 新的栏目表：综合热榜在前，其余栏目顺序不变
+     */
+    public static Map<String, List<HotItem>> withCombined(Map<String, List<HotItem>> categories, int k) {
+        if (k <= 0) {
+            return categories;
+        }
+        Map<String, List<HotItem>> out = new LinkedHashMap<>();
+        out.put(CATEGORY, topK(categories, k));
+        for (Map.Entry<String, List<HotItem>> e : categories.entrySet()) {
+            if (!CATEGORY.equals(e.getKey())) {
+                out.put(e.getKey(), e.getValue());
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 全局前 K 条（条目为副本：保留标题、链接与聚类信息，热度清零——各来源的原始热度不可比）
+     */
+    public static List<HotItem> topK(Map<String, List<HotItem>> categories, int k) {
+        PriorityQueue<Cursor> heap = new PriorityQueue<>();
+        int board = 0;
+        for (Map.Entry<String, List<HotItem>> e : categories.entrySet()) {
+            if (CATEGORY.equals(e.getKey()) || e.getValue().isEmpty()) {
+                continue;
+            }
+            heap.add(new Cursor(score(e.getValue()), board++));
+        }
+
+        List<HotItem> out = new ArrayList<>(k);
+        Set<Integer> clusters = new HashSet<>();
+        while (out.size() < k && !heap.isEmpty()) {
+            Cursor c = heap.poll();
+            Scored s = c.items.get(c.next++);
+            if (c.next < c.items.size()) {
+                heap.add(c);
+            }
+            HotItem item = s.item;
+            // 未聚类（簇编号 0）的条目各自成簇
+            if (item.getCluster() > 0 && !clusters.add(item.getCluster())) {
+                continue;
+            }
+            HotItem copy = new HotItem(item.getTitle(), item.getLink());
+            copy.setCluster(item.getCluster());
+            copy.setSources(item.getSources());
+            out.add(copy);
+        }
+        return out;
+    }
+
+    /**
+     * 一个栏目内的校准分数，按分数从高到低排序（同分保持原名次）
+     */
+    static List<Scored> score(List<HotItem> items) {
+        int n = items.size();
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (HotItem item : items) {
+            if (item.getHeat() > 0) {
+                double h = Math.log10(item.getHeat());
+                min = Math.min(min, h);
+                max = Math.max(max, h);
+            }
+        }
+
+        List<Scored> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            HotItem item = items.get(i);
+            double score = 1 - (double) i / n;
+            if (item.getHeat() > 0) {
+                double heat = max > min ? (Math.log10(item.getHeat()) - min) / (max - min) : 1;
+                score = (1 - HEAT_WEIGHT) * score + HEAT_WEIGHT * heat;
+            }
+            if (item.getSources() > 1) {
+                score *= 1 + CROSS_BOOST * (item.getSources() - 1);
+            }
+            out.add(new Scored(item, score, i));
+        }
+        out.sort(Comparator.comparingDouble((Scored s) -> s.score).reversed().thenComparingInt(s -> s.rank));
+        return out;
+    }
+
+    static final class Scored {
+        final HotItem item;
+        final double score;
+        final int rank;
+
+        Scored(HotItem item, double score, int rank) {
+            this.item = item;
+            this.score = score;
+            this.rank = rank;
+        }
+    }
+
+    /**
+     * 一路有序输入的读取位置；堆顶是当前队首分数最高的一路，同分时栏目靠前的优先
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        final List<Scored> items;
+        final int board;
+        int next;
+
+        Cursor(List<Scored> items, int board) {
+            this.items = items;
+            this.board = board;
+        }
+
+        @Override
+        public int compareTo(Cursor o) {
+            int c = Double.compare(o.items.get(o.next).score, items.get(next).score);
+            return c != 0 ? c : Integer.compare(board, o.board);
+        }
+    }
+}
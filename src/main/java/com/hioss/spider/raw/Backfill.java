@@ -0,0 +1,125 @@
+package com.hioss.spider.raw;
+
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.news.NewsSource;
+import com.hioss.spider.news.NewsSources;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * 回填：用当前的解析器重新解析存下的原始响应，不访问网络
+ *
+ * <p>在 fork/join 池上执行：每天一个任务，每天再按来源拆成子任务（fork 后 join），
+ * 空闲线程会从别的日期偷来源任务，日期多、来源解析耗时不均时也能把核用满。
+ * 某来源解析失败只打印警告，该来源不出现在结果中（由调用方沿用原有数据）。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Backfill {
+
+    private Backfill() {
+    }
+
+    /**
+     * 重新解析若干天的原始响应
+     *
+     * @param dates 日期（没有清单的日期结果为空 Map）
+     * @param parallelism fork/join 池的并行度
+     * @return 日期 -> (来源短名 -> 条目)，日期顺序与参数一致，来源顺序与 {@link NewsSources#ALL} 一致
+     */
+    public static Map<LocalDate, Map<String, List<HotItem>>> reparse(RawStore store, List<LocalDate> dates,
+                                                                      int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            List<ForkJoinTask<Map<String, List<HotItem>>>> days = new ArrayList<>(dates.size());
+            for (LocalDate date : dates) {
+                days.add(pool.submit(new DayTask(store, date)));
+            }
+            Map<LocalDate, Map<String, List<HotItem>>> out = new LinkedHashMap<>();
+            for (int i = 0; i < dates.size(); i++) {
+                out.put(dates.get(i), days.get(i).join());
+            }
+            return out;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static final class DayTask extends RecursiveTask<Map<String, List<HotItem>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final RawStore store;
+        private final LocalDate date;
+
+        DayTask(RawStore store, LocalDate date) {
+            this.store = store;
+            this.date = date;
+        }
+
+        @Override
+        protected Map<String, List<HotItem>> compute() {
+            final Map<String, RawEntry> entries;
+            try {
+                entries = store.latest(date);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            List<SourceTask> tasks = new ArrayList<>();
+            for (NewsSource source : NewsSources.ALL) {
+                RawEntry e = entries.get(source.getKey());
+                if (e != null) {
+                    tasks.add(new SourceTask(store, date, source, e));
+                }
+            }
+            ForkJoinTask.invokeAll(tasks);
+
+            Map<String, List<HotItem>> out = new LinkedHashMap<>();
+            for (SourceTask t : tasks) {
+                List<HotItem> items = t.join();
+                if (items != null) {
+                    out.put(t.source.getKey(), items);
+                }
+            }
+            return out;
+        }
+    }
+
+    private static final class SourceTask extends RecursiveTask<List<HotItem>> {
+        private static final long serialVersionUID = 1L;
+
+        private final RawStore store;
+        private final LocalDate date;
+        private final NewsSource source;
+        private final RawEntry entry;
+
+        SourceTask(RawStore store, LocalDate date, NewsSource source, RawEntry entry) {
+            this.store = store;
+            this.date = date;
+            this.source = source;
+            this.entry = entry;
+        }
+
+        @Override
+        protected List<HotItem> compute() {
+            try (InputStream in = store.open(entry.getSha256())) {
+                return source.parse(in);
+            } catch (IOException | RuntimeException e) {
+                System.err.println("Backfill " + date + " " + source.getKey() + " failed: " + e);
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.hioss.spider.raw;
+
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 一次运行的原始响应采集
+ *
+ * <p>抓取开始前 {@link #begin}，各爬虫拿到响应体后调用 {@link #record}（没有进行中的采集时什么都不做），
+ * 结束时 {@link #finish} 写出本次运行的清单。响应体在解析之前就存下，解析器出错的那天也有原始数据可以回填。
+ * 存储失败只打印警告，不影响抓取与发布。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class RawCapture {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+
+    private static volatile RawCapture active;
+
+    private final RawStore store;
+    private final String date;
+    private final String run;
+    private final Map<String, RawEntry> entries = new ConcurrentHashMap<>();
+
+    private RawCapture(RawStore store, String date) {
+        this.store = store;
+        this.date = date;
+        // 运行编号：UTC 时间 + 进程号；同一天多次运行（或多个 worker）各写各的清单，按编号排序即时间顺序
+        this.run = ZonedDateTime.now(ZoneOffset.UTC).format(RUN_ID) + "-" + ProcessHandle.current().pid();
+    }
+
+    /**
+     * 开始采集（替换之前未结束的采集）
+     *
+     * @param date 热榜日期（清单按它分目录）
+     */
+    public static RawCapture begin(RawStore store, String date) {
+        RawCapture c = new RawCapture(store, date);
+        active = c;
+        return c;
+    }
+
+    public static boolean isActive() {
+        return active != null;
+    }
+
+    /**
+     * 记录一份原始响应；同一来源记录多次时（如换候选地址重试）保留最后一次
+     *
+     * @param source 来源短名
+     * @param url 请求地址
+     * @param body 响应体（已解压）
+     */
+    public static void record(String source, String url, byte[] body) {
+        RawCapture c = active;
+        if (c == null || body == null) {
+            return;
+        }
+        try (StageTimer t = StageTimer.start(Stage.SERIALIZE, "raw/" + source, null)) {
+            t.bytes(body.length);
+            String sha256 = c.store.put(body);
+            c.entries.put(source, new RawEntry(source, url, sha256, body.length, System.currentTimeMillis()));
+        } catch (IOException e) {
+            System.err.println("Raw capture failed for " + source + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * 结束采集并写出清单
+     *
+     * @return 清单文件；本次没有采到任何响应时不写，返回 null
+     */
+    public Path finish() throws IOException {
+        if (active == this) {
+            active = null;
+        }
+        if (entries.isEmpty()) {
+            return null;
+        }
+        return store.writeManifest(date, run, new TreeMap<>(entries));
+    }
+
+    public String getRun() {
+        return run;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
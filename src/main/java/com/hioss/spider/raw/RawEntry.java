@@ -0,0 +1,54 @@
+package com.hioss.spider.raw;
+
+/**
+ * 一次运行中某来源的原始响应：请求地址、内容摘要（即对象名）、字节数与抓取时间
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class RawEntry {
+
+    private final String source;
+    private final String url;
+    private final String sha256;
+    private final long bytes;
+    private final long fetchedAt;
+
+    public RawEntry(String source, String url, String sha256, long bytes, long fetchedAt) {
+        this.source = source;
+        this.url = url;
+        this.sha256 = sha256;
+        this.bytes = bytes;
+        this.fetchedAt = fetchedAt;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * 响应体（解压后）的 SHA-256，十六进制小写
+     */
+    public String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * 响应体（解压后）字节数
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * 抓取时间（epoch 毫秒）
+     */
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+}
@@ -0,0 +1,238 @@
+package com.hioss.spider.raw;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.common.NewsPageWriter;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 原始响应存储：按内容寻址、gzip 压缩，每次运行一份清单
+ *
+ * <pre>
+ * raw/
+ *   objects/ab/ab12...ef.gz             响应体（解压后内容的 SHA-256 命名），内容相同只存一份
+ *   runs/YYYY-MM-DD/&lt;run&gt;.json         一次运行的清单：来源 -> { url, sha256, bytes, fetchedAt }
+ * </pre>
+ *
+ * 清单与对象都原子写入；对象一旦写出不再改变，多个进程同时写同一对象也只是覆盖成相同内容。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class RawStore {
+
+    public static final Path DEFAULT_DIR = Paths.get("raw");
+
+    private static final String OBJECTS_DIR = "objects";
+    private static final String RUNS_DIR = "runs";
+    private static final String OBJECT_SUFFIX = ".gz";
+    private static final String MANIFEST_SUFFIX = ".json";
+
+    private final Path dir;
+
+    public RawStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public Path getDir() {
+        return dir;
+    }
+
+    /**
+     * 存入一份响应体（已存在相同内容时不写）
+     *
+     * @return 内容的 SHA-256（十六进制小写）
+     */
+    public String put(byte[] body) throws IOException {
+        String sha256 = sha256(body);
+        Path file = object(sha256);
+        if (!Files.exists(file)) {
+            AtomicFiles.write(file, out -> {
+                GZIPOutputStream gz = new GZIPOutputStream(out);
+                gz.write(body);
+                gz.finish();
+            });
+        }
+        return sha256;
+    }
+
+    /**
+     * 读取一份响应体（解压后的流，调用方负责关闭）
+     */
+    public InputStream open(String sha256) throws IOException {
+        Path file = object(sha256);
+        if (!Files.exists(file)) {
+            throw new NoSuchFileException(file.toString());
+        }
+        return new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file)));
+    }
+
+    public boolean contains(String sha256) {
+        return Files.exists(object(sha256));
+    }
+
+    /**
+     * 写出一次运行的清单
+     */
+    public Path writeManifest(String date, String run, Map<String, RawEntry> entries) throws IOException {
+        Path file = dir.resolve(RUNS_DIR).resolve(date).resolve(run + MANIFEST_SUFFIX);
+        AtomicFiles.write(file, out -> {
+            try (JsonGenerator g = NewsPageWriter.newGenerator(out)) {
+                g.writeStartObject();
+                g.writeStringField("date", date);
+                g.writeStringField("run", run);
+                g.writeObjectFieldStart("sources");
+                for (RawEntry e : entries.values()) {
+                    g.writeObjectFieldStart(e.getSource());
+                    g.writeStringField("url", e.getUrl());
+                    g.writeStringField("sha256", e.getSha256());
+                    g.writeNumberField("bytes", e.getBytes());
+                    g.writeNumberField("fetchedAt", e.getFetchedAt());
+                    g.writeEndObject();
+                }
+                g.writeEndObject();
+                g.writeEndObject();
+            }
+        });
+        return file;
+    }
+
+    /**
+     * 存有清单的日期（升序）
+     */
+    public List<LocalDate> dates() throws IOException {
+        Path runs = dir.resolve(RUNS_DIR);
+        List<LocalDate> out = new ArrayList<>();
+        if (!Files.isDirectory(runs)) {
+            return out;
+        }
+        try (var stream = Files.list(runs)) {
+            for (Path p : stream.filter(Files::isDirectory).toList()) {
+                try {
+                    out.add(LocalDate.parse(p.getFileName().toString()));
+                } catch (DateTimeParseException ignored) {
+                    // 不是日期目录
+                }
+            }
+        }
+        out.sort(null);
+        return out;
+    }
+
+    /**
+     * 某天各来源最后一次抓到的原始响应：按运行编号顺序合并清单，后面的覆盖前面的
+     *
+     * @return 来源短名 -> 条目；当天没有清单时为空
+     */
+    public Map<String, RawEntry> latest(LocalDate date) throws IOException {
+        Map<String, RawEntry> out = new LinkedHashMap<>();
+        Path day = dir.resolve(RUNS_DIR).resolve(date.toString());
+        if (!Files.isDirectory(day)) {
+            return out;
+        }
+        final List<Path> manifests;
+        try (var stream = Files.list(day)) {
+            manifests = stream
+                    .filter(p -> p.getFileName().toString().endsWith(MANIFEST_SUFFIX)
+                            && !p.getFileName().toString().startsWith("."))
+                    .sorted()
+                    .toList();
+        }
+        for (Path m : manifests) {
+            out.putAll(readManifest(m));
+        }
+        return out;
+    }
+
+    private static Map<String, RawEntry> readManifest(Path file) throws IOException {
+        Map<String, RawEntry> out = new LinkedHashMap<>();
+        try (InputStream in = Files.newInputStream(file);
+             JsonParser p = NewsPageReader.newParser(in)) {
+            if (p.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Malformed raw manifest: " + file);
+            }
+            while (p.nextToken() == JsonToken.FIELD_NAME) {
+                String field = p.getCurrentName();
+                JsonToken t = p.nextToken();
+                if (!"sources".equals(field) || t != JsonToken.START_OBJECT) {
+                    p.skipChildren();
+                    continue;
+                }
+                while (p.nextToken() == JsonToken.FIELD_NAME) {
+                    String source = p.getCurrentName();
+                    p.nextToken();
+                    RawEntry e = readEntry(source, p);
+                    if (e.getSha256() != null) {
+                        out.put(source, e);
+                    }
+                }
+            }
+        }
+        return out;
+    }
+
+    private static RawEntry readEntry(String source, JsonParser p) throws IOException {
+        String url = null;
+        String sha256 = null;
+        long bytes = 0;
+        long fetchedAt = 0;
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.getCurrentName();
+            p.nextToken();
+            switch (field) {
+                case "url":
+                    url = p.getValueAsString();
+                    break;
+                case "sha256":
+                    sha256 = p.getValueAsString();
+                    break;
+                case "bytes":
+                    bytes = p.getValueAsLong();
+                    break;
+                case "fetchedAt":
+                    fetchedAt = p.getValueAsLong();
+                    break;
+                default:
+                    p.skipChildren();
+            }
+        }
+        return new RawEntry(source, url, sha256, bytes, fetchedAt);
+    }
+
+    private Path object(String sha256) {
+        if (!sha256.matches("[0-9a-f]{64}")) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + sha256);
+        }
+        return dir.resolve(OBJECTS_DIR).resolve(sha256.substring(0, 2)).resolve(sha256 + OBJECT_SUFFIX);
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
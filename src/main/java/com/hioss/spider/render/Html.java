@@ -0,0 +1,68 @@
+package com.hioss.spider.render;
+
+/**
+ * HTML 转义，与 docs/script.js 中的 escapeHtml / escapeAttr 逐字符一致：
+ * 预渲染的静态页与前端渲染出的 DOM 相同，脚本接管时不会有差异
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Html {
+
+    private Html() {
+    }
+
+    /**
+     * 文本内容：转义 &amp; &lt; &gt;
+     */
+    public static String escapeHtml(String s) {
+        return escape(s, false);
+    }
+
+    /**
+     * 属性值（双引号包围）：另外转义 "
+     */
+    public static String escapeAttr(String s) {
+        return escape(s, true);
+    }
+
+    private static String escape(String s, boolean attr) {
+        if (s == null) {
+            return "null";
+        }
+        int i = 0;
+        int n = s.length();
+        while (i < n && !special(s.charAt(i), attr)) {
+            i++;
+        }
+        if (i == n) {
+            return s;
+        }
+        StringBuilder sb = new StringBuilder(n + 16).append(s, 0, i);
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '&':
+                    sb.append("&amp;");
+                    break;
+                case '<':
+                    sb.append("&lt;");
+                    break;
+                case '>':
+                    sb.append("&gt;");
+                    break;
+                case '"':
+                    sb.append(attr ? "&quot;" : "\"");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static boolean special(char c, boolean attr) {
+        return c == '&' || c == '<' || c == '>' || (attr && c == '"');
+    }
+}
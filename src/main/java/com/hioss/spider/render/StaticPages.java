@@ -0,0 +1,275 @@
+package com.hioss.spider.render;
+
+import com.hioss.spider.common.AtomicFiles;
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.dto.HotItem;
+import com.hioss.spider.edition.Edition;
+import com.hioss.spider.trace.Stage;
+import com.hioss.spider.trace.StageTimer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 预渲染的静态页
+ *
+ * <pre>
+ * docs/static/YYYY-MM-DD.html         默认版面某天的完整页面（与 docs/data 中保留的日期一一对应）
+ * docs/static/index.html              最新一天的页面（内容相同，canonical 指向对应日期）
+ * docs/static/&lt;dir&gt;/...             其他版面，结构相同
+ * </pre>
+ *
+ * 首屏只需要一次请求、不依赖脚本；页面仍引用 script.js，脚本加载后接管已有的栏目（切换日期、实时更新）。
+ * 每次发布按 docs/data 中现有的 NewsPage 重新渲染全部日期（日期列表会变），内容不变的文件不重写，
+ * 已不再保留的日期删除对应页面。
+ *
+ * <p>{@link #submit} 在后台单线程中渲染，不占用发布路径（写 JSON、上传）；进程退出前调用 {@link #await}。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class StaticPages implements AutoCloseable {
+
+    public static final String DIR = "static";
+
+    private static final Template PAGE = Template.load("/site/page.html");
+    private static final Pattern NEWS_PAGE = Pattern.compile("^NewsPage-(\\d{4}-\\d{2}-\\d{2})\\.json$");
+    private static final Pattern HTML_PAGE = Pattern.compile("^\\d{4}-\\d{2}-\\d{2}\\.html$");
+    private static final String INDEX = "index.html";
+    // 与 script.js 的 formatTime 一致（东京时间）
+    private static final DateTimeFormatter STALE_TIME = DateTimeFormatter.ofPattern("MM/dd HH:mm")
+            .withZone(ZoneId.of("Asia/Tokyo"));
+
+    private final Path docsRoot;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "static-render");
+        t.setDaemon(true);
+        return t;
+    });
+    private final List<Future<Integer>> pending = new ArrayList<>();
+
+    /**
+     * @param docsRoot 站点根目录（docs），页面写在其下的 static/
+     */
+    public StaticPages(Path docsRoot) {
+        this.docsRoot = docsRoot;
+    }
+
+    /**
+     * 某版面静态页所在目录
+     */
+    public Path dir(Edition edition) {
+        Path base = docsRoot.resolve(DIR);
+        return edition.isDefault() ? base : base.resolve(edition.getDir());
+    }
+
+    /**
+     * 在后台渲染某版面（dataDir 中的 JSON 应已写好）
+     *
+     * @param editions 全部版面（用于版面切换链接）
+     */
+    public synchronized void submit(Edition edition, Path dataDir, List<Edition> editions) {
+        pending.add(executor.submit(() -> render(edition, dataDir, editions)));
+    }
+
+    /**
+     * 等待已提交的渲染全部完成；渲染失败只打印警告（静态页是附加产物，不影响发布）
+     *
+     * @return 写入的页面数
+     */
+    public synchronized int await() throws InterruptedException {
+        int written = 0;
+        for (Future<Integer> f : pending) {
+            try {
+                written += f.get();
+            } catch (ExecutionException e) {
+                System.err.println("Static page rendering failed: " + e.getCause());
+            }
+        }
+        pending.clear();
+        return written;
+    }
+
+    /**
+     * 渲染某版面的全部日期与 index.html
+     *
+     * @param editions 全部版面；版面切换中只列出已有静态页的版面
+     * @return 写入（新增或内容变化）的页面数，删除的不计
+     */
+    public int render(Edition edition, Path dataDir, List<Edition> editions) throws IOException {
+        Map<LocalDate, Path> days = newsPages(dataDir);
+        Path out = dir(edition);
+        String label = edition.isDefault() ? DIR : DIR + "/" + edition.getDir();
+        List<Edition> linked = linked(edition, editions);
+        int written = 0;
+        try (StageTimer t = StageTimer.start(Stage.SERIALIZE, label, null)) {
+            List<LocalDate> dates = new ArrayList<>(days.keySet());
+            dates.sort((a, b) -> b.compareTo(a));
+            long bytes = 0;
+            for (LocalDate date : dates) {
+                Map<String, Long> stale = new HashMap<>();
+                Map<String, List<HotItem>> categories = NewsPageReader.read(days.get(date), stale);
+                String name = date + ".html";
+                byte[] html = render(edition, linked, date, dates, categories, stale, null);
+                written += writeIfChanged(out.resolve(name), html);
+                bytes += html.length;
+                if (date.equals(dates.get(0))) {
+                    written += writeIfChanged(out.resolve(INDEX), render(edition, linked, date, dates, categories, stale, name));
+                }
+            }
+            removeStale(out, dates);
+            t.bytes(bytes).items(dates.size());
+        }
+        return written;
+    }
+
+    /**
+     * 版面切换中列出的版面：当前版面，以及静态 index.html 已存在的其他版面。
+     * 还没有静态页的版面（尚未发布过）不列出，免得链接到不存在的页面；它第一次渲染后，
+     * 下一次发布其他版面时再加上。
+     */
+    private List<Edition> linked(Edition edition, List<Edition> editions) {
+        List<Edition> out = new ArrayList<>();
+        for (Edition e : editions) {
+            if (e.getDir().equals(edition.getDir()) || Files.isRegularFile(dir(e).resolve(INDEX))) {
+                out.add(e);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 渲染一天的页面
+     *
+     * @param stale     沿用旧结果的栏目 -> 旧结果的抓取时间，在栏目标题下注明
+     * @param canonical 不为 null 时写出 canonical 链接（index.html 指向对应日期的页面）
+     */
+    static byte[] render(Edition edition, List<Edition> editions, LocalDate date, List<LocalDate> dates,
+                         Map<String, List<HotItem>> categories, Map<String, Long> stale, String canonical) {
+        String root = edition.isDefault() ? "../" : "../../";
+        Map<String, Object> page = new HashMap<>();
+        page.put("root", root);
+        page.put("edition", edition.getDir());
+        page.put("editionTitle", edition.isDefault() ? "" : edition.getTitle() == null ? edition.getName() : edition.getTitle());
+        page.put("date", date.toString());
+        page.put("canonical", canonical);
+
+        // 版面切换：与 script.js 一样，只有一个版面时不显示
+        List<Map<String, Object>> editionLinks = new ArrayList<>();
+        if (editions.size() > 1) {
+            for (Edition e : editions) {
+                Map<String, Object> link = new HashMap<>();
+                link.put("href", root + DIR + "/" + (e.isDefault() ? "" : e.getDir() + "/") + INDEX);
+                link.put("title", e.getTitle() == null ? e.getName() : e.getTitle());
+                link.put("active", e.getDir().equals(edition.getDir()));
+                editionLinks.add(link);
+            }
+        }
+        page.put("editions", editionLinks);
+
+        List<Map<String, Object>> dateLinks = new ArrayList<>();
+        for (LocalDate d : dates) {
+            Map<String, Object> link = new HashMap<>();
+            link.put("date", d.toString());
+            link.put("href", d + ".html");
+            link.put("selected", d.equals(date));
+            dateLinks.add(link);
+        }
+        page.put("dates", dateLinks);
+
+        List<Map<String, Object>> columns = new ArrayList<>();
+        for (Map.Entry<String, List<HotItem>> c : categories.entrySet()) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            int index = 0;
+            for (HotItem item : c.getValue()) {
+                Map<String, Object> card = new HashMap<>();
+                card.put("index", ++index);
+                card.put("title", item.getTitle());
+                card.put("link", item.getLink());
+                card.put("badge", item.getSources() > 1);
+                card.put("sources", item.getSources());
+                items.add(card);
+            }
+            Map<String, Object> column = new LinkedHashMap<>();
+            column.put("name", c.getKey());
+            column.put("items", items);
+            if (stale.containsKey(c.getKey())) {
+                column.put("stale", STALE_TIME.format(Instant.ofEpochMilli(stale.get(c.getKey()))));
+            }
+            columns.add(column);
+        }
+        page.put("columns", columns);
+
+        return PAGE.render(page).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int writeIfChanged(Path file, byte[] content) throws IOException {
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), content)) {
+            return 0;
+        }
+        AtomicFiles.write(file, content);
+        return 1;
+    }
+
+    private static void removeStale(Path dir, List<LocalDate> dates) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        final List<Path> files;
+        try (var stream = Files.list(dir)) {
+            files = stream.filter(p -> HTML_PAGE.matcher(p.getFileName().toString()).matches()).toList();
+        }
+        for (Path p : files) {
+            String name = p.getFileName().toString();
+            if (!dates.contains(LocalDate.parse(name.substring(0, 10)))) {
+                Files.deleteIfExists(p);
+            }
+        }
+    }
+
+    private static Map<LocalDate, Path> newsPages(Path dataDir) throws IOException {
+        Map<LocalDate, Path> out = new TreeMap<>();
+        if (!Files.isDirectory(dataDir)) {
+            return out;
+        }
+        final List<Path> files;
+        try (var stream = Files.list(dataDir)) {
+            files = stream.toList();
+        }
+        for (Path p : files) {
+            Matcher m = NEWS_PAGE.matcher(p.getFileName().toString());
+            if (m.matches()) {
+                try {
+                    out.put(LocalDate.parse(m.group(1)), p);
+                } catch (Exception ignored) {
+                }
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,236 @@
+package com.hioss.spider.render;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 预编译的 HTML 模板（Mustache 的一个子集）
+ *
+ * <pre>
+ * {{name}}              取值并转义
+ * {{#name}}...{{/name}} 区块：值为列表时逐项渲染（每项是一个 Map），为 true / 非空字符串 / Map 时渲染一次
+ * {{^name}}...{{/name}} 反向区块：值为 null / false / 空列表 / 空字符串时渲染
+ * </pre>
+ *
+ * 模板只在加载时解析一次，渲染时按节点数组顺序拼接，不再扫描模板文本。
+ * 转义方式在编译时按位置决定：标签内（属性值）用 {@link Html#escapeAttr}，标签外（文本）用 {@link Html#escapeHtml}。
+ * 取值时先查当前区块的 Map，找不到再逐层向外查。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Template {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final List<Node> nodes;
+
+    private Template(List<Node> nodes) {
+        this.nodes = nodes;
+    }
+
+    /**
+     * 从 classpath 资源编译模板
+     */
+    public static Template load(String resource) {
+        try (InputStream in = Template.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException(resource + " not found on classpath");
+            }
+            return compile(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 编译模板文本；区块不配对时抛出 IllegalArgumentException
+     */
+    public static Template compile(String text) {
+        Deque<Section> open = new ArrayDeque<>();
+        List<Node> root = new ArrayList<>();
+        List<Node> current = root;
+        boolean inTag = false;
+        int pos = 0;
+        while (pos < text.length()) {
+            int start = text.indexOf(OPEN, pos);
+            String literal = start < 0 ? text.substring(pos) : text.substring(pos, start);
+            if (!literal.isEmpty()) {
+                current.add(new Literal(literal));
+                inTag = inTag(literal, inTag);
+            }
+            if (start < 0) {
+                break;
+            }
+            int end = text.indexOf(CLOSE, start + OPEN.length());
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed tag at offset " + start);
+            }
+            String tag = text.substring(start + OPEN.length(), end).trim();
+            pos = end + CLOSE.length();
+            if (tag.isEmpty()) {
+                throw new IllegalArgumentException("Empty tag at offset " + start);
+            }
+
+            char kind = tag.charAt(0);
+            if (kind == '#' || kind == '^') {
+                Section s = new Section(tag.substring(1).trim(), kind == '^');
+                current.add(s);
+                open.push(s);
+                current = s.children;
+            } else if (kind == '/') {
+                String name = tag.substring(1).trim();
+                if (open.isEmpty() || !open.peek().name.equals(name)) {
+                    throw new IllegalArgumentException("Unexpected {{/" + name + "}} at offset " + start);
+                }
+                open.pop();
+                current = open.isEmpty() ? root : open.peek().children;
+            } else {
+                current.add(new Value(tag, inTag));
+            }
+        }
+        if (!open.isEmpty()) {
+            throw new IllegalArgumentException("Unclosed section {{#" + open.peek().name + "}}");
+        }
+        return new Template(root);
+    }
+
+    /**
+     * 渲染
+     */
+    public String render(Map<String, ?> context) {
+        StringBuilder out = new StringBuilder(16 * 1024);
+        Deque<Map<String, ?>> scope = new ArrayDeque<>();
+        scope.push(context);
+        render(nodes, scope, out);
+        return out.toString();
+    }
+
+    private static void render(List<Node> nodes, Deque<Map<String, ?>> scope, StringBuilder out) {
+        for (Node n : nodes) {
+            n.render(scope, out);
+        }
+    }
+
+    private static Object lookup(Deque<Map<String, ?>> scope, String name) {
+        for (Map<String, ?> m : scope) {
+            if (m.containsKey(name)) {
+                return m.get(name);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 扫描一段字面文本后是否处在标签内（&lt; 与 &gt; 之间）
+     */
+    private static boolean inTag(String literal, boolean inTag) {
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if (c == '<') {
+                inTag = true;
+            } else if (c == '>') {
+                inTag = false;
+            }
+        }
+        return inTag;
+    }
+
+    private interface Node {
+        void render(Deque<Map<String, ?>> scope, StringBuilder out);
+    }
+
+    private static final class Literal implements Node {
+        private final String text;
+
+        Literal(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public void render(Deque<Map<String, ?>> scope, StringBuilder out) {
+            out.append(text);
+        }
+    }
+
+    private static final class Value implements Node {
+        private final String name;
+        private final boolean attr;
+
+        Value(String name, boolean attr) {
+            this.name = name;
+            this.attr = attr;
+        }
+
+        @Override
+        public void render(Deque<Map<String, ?>> scope, StringBuilder out) {
+            Object v = lookup(scope, name);
+            if (v == null) {
+                return;
+            }
+            String s = String.valueOf(v);
+            out.append(attr ? Html.escapeAttr(s) : Html.escapeHtml(s));
+        }
+    }
+
+    private static final class Section implements Node {
+        private final String name;
+        private final boolean inverted;
+        private final List<Node> children = new ArrayList<>();
+
+        Section(String name, boolean inverted) {
+            this.name = name;
+            this.inverted = inverted;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void render(Deque<Map<String, ?>> scope, StringBuilder out) {
+            Object v = lookup(scope, name);
+            if (inverted) {
+                if (!truthy(v)) {
+                    Template.render(children, scope, out);
+                }
+                return;
+            }
+            if (v instanceof Collection) {
+                for (Object item : (Collection<?>) v) {
+                    renderWith(item instanceof Map ? (Map<String, ?>) item : Map.of(), scope, out);
+                }
+            } else if (v instanceof Map) {
+                renderWith((Map<String, ?>) v, scope, out);
+            } else if (truthy(v)) {
+                Template.render(children, scope, out);
+            }
+        }
+
+        private void renderWith(Map<String, ?> item, Deque<Map<String, ?>> scope, StringBuilder out) {
+            scope.push(item);
+            try {
+                Template.render(children, scope, out);
+            } finally {
+                scope.pop();
+            }
+        }
+
+        private static boolean truthy(Object v) {
+            if (v == null || Boolean.FALSE.equals(v)) {
+                return false;
+            }
+            if (v instanceof Collection) {
+                return !((Collection<?>) v).isEmpty();
+            }
+            return !(v instanceof String) || !((String) v).isEmpty();
+        }
+    }
+}
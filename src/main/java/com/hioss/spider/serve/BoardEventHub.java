@@ -0,0 +1,426 @@
+package com.hioss.spider.serve;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.hioss.spider.common.Json;
+import com.hioss.spider.store.HeadlineStore;
+import com.hioss.spider.store.SnapshotDiff;
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 热榜变化的 Server-Sent Events 推送（GET /events）
+ *
+ * <p>站点缓存刷新后，若最新一天的 NewsPage 文件有变化，就与上一次的快照做条目级比较
+ * （{@link SnapshotDiff}），每条变化作为一个事件广播：
+ * <pre>
+ * event: added | removed | reranked    data: {"date","category","title","link","rank","oldRank"}
+ * event: published                     data: {"date","changes"}（一批变化结束）
+ * event: reset                         data: {}（要求的断点已不在缓冲区，客户端应整页重载）
+ * </pre>
+ *
+ * <p>连接成本：
+ * - 处理器登记客户端后立即返回且不关闭 exchange，空闲连接不占任何线程
+ * - 每个事件只序列化一次，所有客户端共享同一个 byte[]
+ * - 每个客户端一个有界队列，由小线程池按需发送；队列写满的慢客户端直接断开，
+ *   单次写出卡住超过时限的连接也断开；断开时中断正在写出的发送线程，
+ *   连接随之关闭，卡住的连接不会长期占用发送线程
+ * - 最近的事件保存在环形缓冲区，客户端带 Last-Event-ID 重连时从断点补发
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class BoardEventHub implements AutoCloseable {
+
+    private static final JsonFactory JSON = Json.FACTORY;
+    private static final Pattern NEWS_PAGE = Pattern.compile("^/data/NewsPage-(\\d{4}-\\d{2}-\\d{2})\\.json$");
+    private static final Pattern QUOTED_DATE = Pattern.compile("\"(\\d{4}-\\d{2}-\\d{2})\"");
+
+    private static final int RING_CAPACITY = 4096;
+    private static final int CLIENT_QUEUE_CAPACITY = 256;
+    private static final long HEARTBEAT_SECONDS = 15;
+    private static final long WRITE_TIMEOUT_MILLIS = 10_000;
+    private static final byte[] HEARTBEAT = ": ping\n\n".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PREAMBLE = "retry: 5000\n\n".getBytes(StandardCharsets.UTF_8);
+
+    private final SiteCache cache;
+    private final HeadlineStore store = new HeadlineStore();
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+    private final ScheduledExecutorService timer;
+
+    // 环形缓冲区与事件编号：发布与订阅都在 this 上同步，保证补发与广播之间没有空隙
+    private final byte[][] ring = new byte[RING_CAPACITY][];
+    private long nextId = 1;
+
+    private HeadlineStore.Snapshot current;
+
+    public BoardEventHub(SiteCache cache, int dispatchThreads) {
+        this.cache = cache;
+
+        AtomicInteger seq = new AtomicInteger();
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads, r -> {
+            Thread t = new Thread(r, "sse-dispatch-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-timer");
+            t.setDaemon(true);
+            return t;
+        });
+        this.timer.scheduleAtFixedRate(this::heartbeat, HEARTBEAT_SECONDS, HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+
+        // 启动时以最新一天为基线，之后的变化才推送
+        String latest = latestDate(cache);
+        if (latest != null) {
+            try {
+                current = load(latest);
+            } catch (IOException e) {
+                System.err.println("SSE baseline load failed: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 当前连接数
+     */
+    public int clientCount() {
+        return clients.size();
+    }
+
+    /**
+     * 挂在 {@link SiteServer#addRefreshListener} 上：只关心最新日期的 NewsPage 文件
+     */
+    public void onRefresh(Set<String> changedPaths) {
+        String date = null;
+        for (String p : changedPaths) {
+            Matcher m = NEWS_PAGE.matcher(p);
+            if (m.matches() && (date == null || m.group(1).compareTo(date) > 0)) {
+                date = m.group(1);
+            }
+        }
+        if (date == null || (current != null && date.compareTo(current.getKey()) < 0)
+                || cache.get("/data/NewsPage-" + date + ".json") == null) {
+            return;
+        }
+
+        try {
+            HeadlineStore.Snapshot previous = current;
+            HeadlineStore.Snapshot next = load(date);
+            publish(date, SnapshotDiff.diff(previous, next));
+            current = next;
+            // 只保留当前快照，字符串池随不同标题数增长
+            for (HeadlineStore.Snapshot s : new ArrayList<>(store.snapshots())) {
+                if (!s.getKey().equals(date)) {
+                    store.remove(s.getKey());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("SSE diff failed for " + date + ": " + e.getMessage());
+        }
+    }
+
+    private HeadlineStore.Snapshot load(String date) throws IOException {
+        SiteCache.Entry e = cache.get("/data/NewsPage-" + date + ".json");
+        if (e == null) {
+            throw new IOException("NewsPage-" + date + ".json not cached");
+        }
+        // 同一天重新发布时 put 会替换同 key 快照，但旧 Snapshot 对象仍可用于比较
+        return store.load(date, new ByteArrayInputStream(e.getBody()));
+    }
+
+    private static String latestDate(SiteCache cache) {
+        SiteCache.Entry dates = cache.get("/data/date.json");
+        if (dates == null) {
+            return null;
+        }
+        String json = new String(dates.getBody(), StandardCharsets.UTF_8);
+        Matcher m = QUOTED_DATE.matcher(json);
+        String latest = null;
+        while (m.find()) {
+            if (latest == null || m.group(1).compareTo(latest) > 0) {
+                latest = m.group(1);
+            }
+        }
+        return latest;
+    }
+
+    // ===== 发布 =====
+
+    private void publish(String date, List<SnapshotDiff.Change> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            for (SnapshotDiff.Change c : changes) {
+                broadcast(c.getType().name().toLowerCase(Locale.ROOT), g -> {
+                    g.writeStringField("date", date);
+                    g.writeStringField("category", c.getCategory());
+                    g.writeStringField("title", c.getTitle());
+                    g.writeStringField("link", c.getLink());
+                    g.writeNumberField("rank", c.getRank());
+                    g.writeNumberField("oldRank", c.getOldRank());
+                });
+            }
+            broadcast("published", g -> {
+                g.writeStringField("date", date);
+                g.writeNumberField("changes", changes.size());
+            });
+        }
+        System.out.println("SSE published " + changes.size() + " change(s) for " + date
+                + " to " + clients.size() + " client(s).");
+    }
+
+    private interface Fields {
+        void write(JsonGenerator g) throws IOException;
+    }
+
+    /**
+     * 序列化一帧并放入环形缓冲区，再分发给所有客户端（调用方持有 this 锁）
+     */
+    private void broadcast(String event, Fields fields) throws IOException {
+        long id = nextId++;
+        byte[] frame = frame(id, event, fields);
+        ring[(int) (id % RING_CAPACITY)] = frame;
+        for (Client c : clients) {
+            c.offer(frame);
+        }
+    }
+
+    private static byte[] frame(long id, String event, Fields fields) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(256);
+        bos.write(("id: " + id + "\nevent: " + event + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+        try (JsonGenerator g = JSON.createGenerator(bos)) {
+            g.writeStartObject();
+            fields.write(g);
+            g.writeEndObject();
+        }
+        bos.write('\n');
+        bos.write('\n');
+        return bos.toByteArray();
+    }
+
+    // ===== 订阅 =====
+
+    /**
+     * GET /events：登记客户端后立即返回，不占用处理线程
+     */
+    public void handle(HttpExchange exchange) throws IOException {
+        if (!"GET".equals(exchange.getRequestMethod())) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+            exchange.sendResponseHeaders(405, -1);
+            exchange.close();
+            return;
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream; charset=UTF-8");
+        exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+        exchange.getResponseHeaders().set("X-Accel-Buffering", "no");
+        exchange.sendResponseHeaders(200, 0);
+
+        Client client = new Client(exchange);
+        client.offer(PREAMBLE);
+        long lastId = lastEventId(exchange);
+        synchronized (this) {
+            long lastSent = nextId - 1;
+            if (lastId >= 0 && lastId != lastSent) {
+                if (lastId > lastSent || lastSent - lastId > RING_CAPACITY - 1) {
+                    // 断点太旧（已被环形缓冲区覆盖），或来自重启前的服务器：让客户端整页重载
+                    client.offer(frame(lastSent, "reset", g -> { }));
+                } else {
+                    for (long id = lastId + 1; id < nextId; id++) {
+                        client.offer(ring[(int) (id % RING_CAPACITY)]);
+                    }
+                }
+            }
+            clients.add(client);
+        }
+    }
+
+    private static long lastEventId(HttpExchange exchange) {
+        String v = exchange.getRequestHeaders().getFirst("Last-Event-ID");
+        if (v == null) {
+            // EventSource 首次连接不能带自定义头，允许用查询参数传入
+            String q = exchange.getRequestURI().getRawQuery();
+            if (q != null) {
+                for (String kv : q.split("&")) {
+                    if (kv.startsWith("lastEventId=")) {
+                        v = kv.substring("lastEventId=".length());
+                    }
+                }
+            }
+        }
+        if (v == null || v.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(v.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void heartbeat() {
+        long now = System.currentTimeMillis();
+        for (Client c : clients) {
+            if (c.isStuck(now)) {
+                c.drop();
+            } else {
+                c.offer(HEARTBEAT);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        for (Client c : clients) {
+            c.drop();
+        }
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * 一个 SSE 连接：有界队列 + 至多一个正在执行的发送任务。
+     * 写出与关闭都只在发送任务里进行，广播方和心跳线程从不阻塞在某个连接上；
+     * 断开时若发送任务正阻塞在写出上，由断开方中断它（见 {@link #drop()}）。
+     */
+    private final class Client {
+        private final HttpExchange exchange;
+        private final OutputStream out;
+        private final Queue<byte[]> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger queued = new AtomicInteger();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean dropped = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile long writingSince;
+        // 正在写出的发送线程；在 this 上同步，保证只中断仍在为本连接写出的线程
+        private Thread writer;
+
+        Client(HttpExchange exchange) {
+            this.exchange = exchange;
+            this.out = exchange.getResponseBody();
+        }
+
+        void offer(byte[] frame) {
+            if (dropped.get()) {
+                return;
+            }
+            if (queued.incrementAndGet() > CLIENT_QUEUE_CAPACITY) {
+                // 慢客户端：队列写满直接断开，由它自己带 Last-Event-ID 重连补发
+                drop();
+                return;
+            }
+            queue.add(frame);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                dispatcher.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    byte[] frame;
+                    while (!dropped.get() && (frame = queue.poll()) != null) {
+                        queued.decrementAndGet();
+                        writingSince = System.currentTimeMillis();
+                        write(frame);
+                    }
+                    if (dropped.get()) {
+                        closeExchange();
+                        return;
+                    }
+                    write(null);
+                    writingSince = 0;
+                    scheduled.set(false);
+                    // 放开标记后再检查一次，避免与 offer / drop 竞争丢失唤醒
+                    if ((queue.isEmpty() && !dropped.get()) || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                // 包括被 drop 中断时的 ClosedByInterruptException：连接已随之关闭
+                dropped.set(true);
+                clients.remove(this);
+                closeExchange();
+            }
+        }
+
+        /**
+         * 写出一帧（null 表示 flush）；写出期间登记当前线程，供 drop 中断
+         */
+        private void write(byte[] frame) throws IOException {
+            synchronized (this) {
+                writer = Thread.currentThread();
+            }
+            try {
+                if (frame == null) {
+                    out.flush();
+                } else {
+                    out.write(frame);
+                }
+            } finally {
+                synchronized (this) {
+                    writer = null;
+                }
+            }
+        }
+
+        boolean isStuck(long now) {
+            long since = writingSince;
+            return since != 0 && now - since > WRITE_TIMEOUT_MILLIS;
+        }
+
+        /**
+         * 停止向该连接分发；实际关闭交给发送任务。
+         * 发送任务正阻塞在写出上时中断它：exchange 底层是可中断的阻塞 SocketChannel，
+         * 中断会关闭连接并让写出抛出异常，发送线程随即释放（直接 close exchange 做不到这一点，
+         * 它要先 flush，会和发送线程一起卡在同一个连接上）。
+         * 中断标记由线程池在执行下一个任务前清除。
+         */
+        void drop() {
+            if (dropped.compareAndSet(false, true)) {
+                clients.remove(this);
+                queue.clear();
+                synchronized (this) {
+                    if (writer != null) {
+                        writer.interrupt();
+                    }
+                }
+                schedule();
+            }
+        }
+
+        private void closeExchange() {
+            if (closed.compareAndSet(false, true)) {
+                exchange.close();
+            }
+        }
+    }
+}
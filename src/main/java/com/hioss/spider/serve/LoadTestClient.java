@@ -0,0 +1,192 @@
+package com.hioss.spider.serve;
+
+import com.hioss.spider.common.CliArgs;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 内置站点服务器的压测客户端
+ *
+ * <p>固定数量的并发连接在指定时长内循环请求一组路径，结束后输出
+ * 每秒请求数与延迟分位（p50 / p99 / max）。
+ *
+ * <pre>
+ * --url=http://localhost:8080      目标地址；不指定时在本进程内以随机端口启动一个服务器
+ * --root=docs                      本进程内启动服务器时的站点目录
+ * --paths=/,/script.js,/data/date.json
+ * --concurrency=16 --duration=10 --warmup=2
+ * --gzip                           声明 Accept-Encoding: gzip
+ * --revalidate                     带上 If-None-Match（测 304 路径）
+ * </pre>
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class LoadTestClient {
+
+    private static final String DEFAULT_PATHS = "/,/script.js,/style.css,/data/date.json";
+
+    public static void main(String[] args) throws Exception {
+        CliArgs cli = CliArgs.parse(args);
+        int concurrency = (int) cli.getLong("concurrency", 16);
+        long durationSec = cli.getLong("duration", 10);
+        long warmupSec = cli.getLong("warmup", 2);
+        boolean gzip = cli.has("gzip");
+        boolean revalidate = cli.has("revalidate");
+        List<String> paths = Arrays.asList(cli.get("paths", DEFAULT_PATHS).split(","));
+
+        SiteServer local = null;
+        String base = cli.get("url", null);
+        if (base == null) {
+            local = new SiteServer(Paths.get(cli.get("root", "docs")), 0,
+                    Runtime.getRuntime().availableProcessors() * 2).start();
+            base = "http://localhost:" + local.getPort();
+            System.out.println("Started in-process server on " + base);
+        }
+        if (base.endsWith("/")) {
+            base = base.substring(0, base.length() - 1);
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        Map<String, String> etags = new ConcurrentHashMap<>();
+        try {
+            System.out.println("Warming up for " + warmupSec + "s ...");
+            run(client, base, paths, concurrency, warmupSec, gzip, revalidate, etags);
+
+            System.out.println("Running " + concurrency + " connection(s) for " + durationSec + "s ...");
+            Result r = run(client, base, paths, concurrency, durationSec, gzip, revalidate, etags);
+            r.print();
+        } finally {
+            if (local != null) {
+                local.close();
+            }
+        }
+    }
+
+    private static Result run(HttpClient client, String base, List<String> paths, int concurrency,
+                              long durationSec, boolean gzip, boolean revalidate,
+                              Map<String, String> etags) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(durationSec).toNanos();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        LongAdder errors = new LongAdder();
+        LongAdder bytes = new LongAdder();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        long start = System.nanoTime();
+        for (int w = 0; w < concurrency; w++) {
+            final int id = w;
+            Thread t = new Thread(() -> {
+                long[] lat = new long[1 << 14];
+                int n = 0;
+                int next = id;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        String path = paths.get(next++ % paths.size());
+                        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + path))
+                                .timeout(Duration.ofSeconds(10));
+                        if (gzip) {
+                            b.header("Accept-Encoding", "gzip");
+                        }
+                        String etag = etags.get(path);
+                        if (revalidate && etag != null) {
+                            b.header("If-None-Match", etag);
+                        }
+
+                        long t0 = System.nanoTime();
+                        try {
+                            HttpResponse<InputStream> resp = client.send(b.build(),
+                                    HttpResponse.BodyHandlers.ofInputStream());
+                            try (InputStream in = resp.body()) {
+                                bytes.add(in.transferTo(OutputStream.nullOutputStream()));
+                            }
+                            int code = resp.statusCode();
+                            if (code != 200 && code != 304) {
+                                errors.increment();
+                            }
+                            resp.headers().firstValue("ETag").ifPresent(v -> etags.put(path, v));
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        if (n == lat.length) {
+                            lat = Arrays.copyOf(lat, n * 2);
+                        }
+                        lat[n++] = System.nanoTime() - t0;
+                    }
+                } finally {
+                    latencies[id] = lat;
+                    counts[id] = n;
+                    done.countDown();
+                }
+            }, "load-" + w);
+            t.start();
+        }
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        int total = 0;
+        for (int c : counts) {
+            total += c;
+        }
+        long[] all = new long[total];
+        int pos = 0;
+        for (int w = 0; w < concurrency; w++) {
+            System.arraycopy(latencies[w], 0, all, pos, counts[w]);
+            pos += counts[w];
+        }
+        Arrays.sort(all);
+        return new Result(all, elapsed, errors.sum(), bytes.sum());
+    }
+
+    private static final class Result {
+        private final long[] sorted;
+        private final long elapsedNanos;
+        private final long errors;
+        private final long bytes;
+
+        Result(long[] sorted, long elapsedNanos, long errors, long bytes) {
+            this.sorted = sorted;
+            this.elapsedNanos = elapsedNanos;
+            this.errors = errors;
+            this.bytes = bytes;
+        }
+
+        private double percentileMillis(double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int idx = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(idx, sorted.length - 1))] / 1e6;
+        }
+
+        void print() {
+            double seconds = elapsedNanos / 1e9;
+            System.out.println("--------------------------------------------------");
+            System.out.printf("requests  %d (%d error(s))%n", sorted.length, errors);
+            System.out.printf("rps       %.1f%n", sorted.length / seconds);
+            System.out.printf("body      %.1f MB/s%n", bytes / seconds / (1024 * 1024));
+            System.out.printf("p50       %.3f ms%n", percentileMillis(50));
+            System.out.printf("p99       %.3f ms%n", percentileMillis(99));
+            System.out.printf("max       %.3f ms%n", percentileMillis(100));
+            System.out.println("--------------------------------------------------");
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.hioss.spider.serve;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * docs/ 目录的内存缓存
+ *
+ * <p>每个文件读入一次，同时算好强 ETag，文本类文件预先压缩一份 gzip；
+ * 请求时只做一次 Map 查找，不再读盘。{@link #refresh()} 按大小与修改时间
+ * 只重新加载变化过的文件，并整体替换快照，请求线程看到的总是一致的版本。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SiteCache {
+
+    private final Path root;
+    private volatile Map<String, Entry> entries = Map.of();
+
+    public SiteCache(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * 按 URL 路径取缓存条目（如 /index.html、/data/date.json）
+     *
+     * @return 不存在时返回 null
+     */
+    public Entry get(String urlPath) {
+        return entries.get(urlPath);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 重新扫描目录，只加载新增或变化的文件
+     *
+     * @return 新增、变化或删除的 URL 路径
+     */
+    public synchronized Set<String> refresh() throws IOException {
+        Map<String, Entry> old = entries;
+        Map<String, Entry> next = new HashMap<>(Math.max(16, old.size() * 2));
+        Set<String> changed = new HashSet<>();
+
+        final List<Path> files;
+        try (var stream = Files.walk(root)) {
+            files = stream.filter(Files::isRegularFile).toList();
+        }
+
+        for (Path file : files) {
+            String urlPath = toUrlPath(file);
+            if (urlPath == null) {
+                continue;
+            }
+            BasicFileAttributes attrs;
+            try {
+                attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            } catch (IOException e) {
+                // 扫描期间被删除（如清理旧文件）
+                continue;
+            }
+            long mtime = attrs.lastModifiedTime().toMillis();
+
+            Entry e = old.get(urlPath);
+            if (e == null || e.size != attrs.size() || e.modified != mtime) {
+                try {
+                    e = load(file, mtime);
+                } catch (IOException ex) {
+                    continue;
+                }
+                changed.add(urlPath);
+            }
+            next.put(urlPath, e);
+        }
+
+        for (String urlPath : old.keySet()) {
+            if (!next.containsKey(urlPath)) {
+                changed.add(urlPath);
+            }
+        }
+
+        entries = Collections.unmodifiableMap(next);
+        return changed;
+    }
+
+    /**
+     * 文件路径 -> URL 路径；隐藏文件（包括 AtomicFiles 的临时文件）不对外提供
+     */
+    private String toUrlPath(Path file) {
+        Path rel = root.relativize(file);
+        StringBuilder sb = new StringBuilder();
+        for (Path part : rel) {
+            String name = part.toString();
+            if (name.startsWith(".")) {
+                return null;
+            }
+            sb.append('/').append(name);
+        }
+        return sb.toString();
+    }
+
+    private static Entry load(Path file, long mtime) throws IOException {
+        byte[] body = Files.readAllBytes(file);
+        String name = file.getFileName().toString();
+        String ext = extension(name);
+
+        String hash = sha256Prefix(body);
+        byte[] gzip = null;
+        if (isCompressible(ext)) {
+            byte[] gz = gzip(body);
+            // 压缩后反而更大（很小的文件）就不提供 gzip 版本
+            if (gz.length < body.length) {
+                gzip = gz;
+            }
+        }
+
+        return new Entry(body, gzip, "\"" + hash + "\"", "\"" + hash + "-gz\"",
+                contentType(ext), cacheControl(ext), body.length, mtime);
+    }
+
+    private static String extension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot < 0 ? "" : name.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isCompressible(String ext) {
+        switch (ext) {
+            case "html":
+            case "js":
+            case "css":
+            case "json":
+            case "svg":
+            case "txt":
+            case "xml":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String contentType(String ext) {
+        switch (ext) {
+            case "html":
+                return "text/html; charset=UTF-8";
+            case "js":
+                return "text/javascript; charset=UTF-8";
+            case "css":
+                return "text/css; charset=UTF-8";
+            case "json":
+                return "application/json; charset=UTF-8";
+            case "svg":
+                return "image/svg+xml";
+            case "txt":
+                return "text/plain; charset=UTF-8";
+            case "xml":
+                return "application/xml; charset=UTF-8";
+            case "png":
+                return "image/png";
+            case "jpg":
+            case "jpeg":
+                return "image/jpeg";
+            case "gif":
+                return "image/gif";
+            case "ico":
+                return "image/x-icon";
+            case "webp":
+                return "image/webp";
+            default:
+                return "application/octet-stream";
+        }
+    }
+
+    /**
+     * 缓存策略：
+     * - 页面与数据每次发布都会变，浏览器可缓存但每次都要用 ETag 重新验证（命中时只回 304）
+     * - 脚本与样式随部署变化，短期缓存
+     * - 图片等静态资源基本不变，长期缓存
+     */
+    private static String cacheControl(String ext) {
+        switch (ext) {
+            case "html":
+            case "json":
+                return "no-cache";
+            case "js":
+            case "css":
+                return "public, max-age=300";
+            default:
+                return "public, max-age=86400";
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(body.length / 3 + 64);
+        try (GZIPOutputStream out = new GZIPOutputStream(bos) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(body);
+        }
+        return bos.toByteArray();
+    }
+
+    private static String sha256Prefix(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 一个缓存文件：原文、可选的 gzip 版本及响应头
+     */
+    public static final class Entry {
+        private final byte[] body;
+        private final byte[] gzipBody;
+        private final String etag;
+        private final String gzipEtag;
+        private final String contentType;
+        private final String cacheControl;
+        private final long size;
+        private final long modified;
+
+        Entry(byte[] body, byte[] gzipBody, String etag, String gzipEtag,
+              String contentType, String cacheControl, long size, long modified) {
+            this.body = body;
+            this.gzipBody = gzipBody;
+            this.etag = etag;
+            this.gzipEtag = gzipEtag;
+            this.contentType = contentType;
+            this.cacheControl = cacheControl;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        public byte[] getBody() {
+            return body;
+        }
+
+        /**
+         * 预压缩的 gzip 内容；不可压缩或压缩无收益时为 null
+         */
+        public byte[] getGzipBody() {
+            return gzipBody;
+        }
+
+        public boolean hasGzip() {
+            return gzipBody != null;
+        }
+
+        /**
+         * 原文的强 ETag
+         */
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * gzip 版本的强 ETag（字节不同，ETag 也必须不同）
+         */
+        public String getGzipEtag() {
+            return gzipEtag;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getCacheControl() {
+            return cacheControl;
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.hioss.spider.serve;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 内置静态站点服务器（基于 JDK 自带的 com.sun.net.httpserver）
+ *
+ * <p>所有响应都来自 {@link SiteCache}：支持 GET/HEAD、强 ETag（If-None-Match 命中返回 304）、
+ * 预压缩的 gzip 响应与按文件类型的 Cache-Control。
+ * 一个后台线程通过 WatchService 监听目录，SpiderMain 发布（原子改名写入）后
+ * 稍作合并再刷新缓存，无需重启。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SiteServer implements AutoCloseable {
+
+    // 发布时会连续写出多份文件，变更事件合并这么久再刷新
+    private static final long DEBOUNCE_MILLIS = 200;
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay";
+
+    private final SiteCache cache;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<Consumer<Set<String>>> refreshListeners = new CopyOnWriteArrayList<>();
+    private WatchService watcher;
+    private Thread watchThread;
+
+    /**
+     * @param root 站点根目录（一般是 docs）
+     * @param port 监听端口；0 表示随机端口
+     * @param threads 处理请求的线程数
+     */
+    public SiteServer(Path root, int port, int threads) throws IOException {
+        this.cache = new SiteCache(root);
+        this.cache.refresh();
+
+        // Java 17 没有虚拟线程：请求处理全是内存读取，固定大小的线程池足够
+        AtomicInteger seq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "site-http-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        // 响应头与响应体分两次写出，开着 Nagle 会与客户端的延迟 ACK 叠加出约 40ms 的等待
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(executor);
+    }
+
+    public SiteServer start() throws IOException {
+        server.start();
+        startWatcher();
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public SiteCache getCache() {
+        return cache;
+    }
+
+    /**
+     * 在站点之外挂载其他处理器（如 /events）；路径更具体的处理器优先
+     */
+    public void addHandler(String path, HttpHandler handler) {
+        server.createContext(path, handler);
+    }
+
+    /**
+     * 注册缓存刷新回调，参数为发生变化的 URL 路径
+     */
+    public void addRefreshListener(Consumer<Set<String>> listener) {
+        refreshListeners.add(listener);
+    }
+
+    /**
+     * 立即重新扫描站点目录（同进程发布后可直接调用）
+     */
+    public Set<String> refresh() throws IOException {
+        Set<String> changed = cache.refresh();
+        if (!changed.isEmpty()) {
+            for (Consumer<Set<String>> l : refreshListeners) {
+                l.accept(changed);
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdownNow();
+        if (watcher != null) {
+            try {
+                watcher.close();
+            } catch (IOException ignored) {
+            }
+        }
+        if (watchThread != null) {
+            watchThread.interrupt();
+        }
+    }
+
+    // ===== 请求处理 =====
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            boolean head = "HEAD".equals(method);
+            if (!head && !"GET".equals(method)) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            if (path == null || path.isEmpty() || path.endsWith("/")) {
+                path = (path == null || path.isEmpty() ? "/" : path) + "index.html";
+            }
+
+            SiteCache.Entry entry = cache.get(path);
+            if (entry == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            Headers req = exchange.getRequestHeaders();
+            boolean gzip = entry.hasGzip() && acceptsGzip(req.getFirst("Accept-Encoding"));
+            String etag = gzip ? entry.getGzipEtag() : entry.getEtag();
+
+            Headers resp = exchange.getResponseHeaders();
+            resp.set("ETag", etag);
+            resp.set("Cache-Control", entry.getCacheControl());
+            if (entry.hasGzip()) {
+                resp.set("Vary", "Accept-Encoding");
+            }
+
+            if (matches(req.getFirst("If-None-Match"), entry)) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+
+            byte[] body = gzip ? entry.getGzipBody() : entry.getBody();
+            resp.set("Content-Type", entry.getContentType());
+            if (gzip) {
+                resp.set("Content-Encoding", "gzip");
+            }
+
+            if (head) {
+                resp.set("Content-Length", String.valueOf(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+
+    /**
+     * If-None-Match 用弱比较：原文与 gzip 版本内容相同，任一 ETag 命中都算未修改
+     */
+    private static boolean matches(String ifNoneMatch, SiteCache.Entry entry) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String tag : ifNoneMatch.split(",")) {
+            String t = tag.trim();
+            if (t.equals("*")) {
+                return true;
+            }
+            if (t.startsWith("W/")) {
+                t = t.substring(2);
+            }
+            if (t.equals(entry.getEtag()) || t.equals(entry.getGzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String part : acceptEncoding.split(",")) {
+            String[] kv = part.trim().split(";");
+            String coding = kv[0].trim().toLowerCase(Locale.ROOT);
+            if (!coding.equals("gzip") && !coding.equals("*")) {
+                continue;
+            }
+            for (int i = 1; i < kv.length; i++) {
+                String p = kv[i].trim();
+                if (p.startsWith("q=")) {
+                    try {
+                        if (Double.parseDouble(p.substring(2)) == 0) {
+                            return false;
+                        }
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    // ===== 目录监听 =====
+
+    private void startWatcher() throws IOException {
+        watcher = FileSystems.getDefault().newWatchService();
+        registerAll(cache.getRoot());
+
+        watchThread = new Thread(this::watchLoop, "site-watch");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void registerAll(Path dir) throws IOException {
+        final List<Path> dirs;
+        try (var stream = Files.walk(dir)) {
+            dirs = stream.filter(Files::isDirectory).toList();
+        }
+        for (Path d : dirs) {
+            d.register(watcher,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        }
+    }
+
+    private void watchLoop() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                // 合并一次发布产生的连串事件
+                do {
+                    key.pollEvents();
+                    key.reset();
+                    key = watcher.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+                } while (key != null);
+
+                try {
+                    // 新建的子目录（如新一天的分片目录）也要监听
+                    registerAll(cache.getRoot());
+                    Set<String> changed = refresh();
+                    if (!changed.isEmpty()) {
+                        System.out.println("Site cache refreshed: " + changed.size() + " file(s) changed.");
+                    }
+                } catch (IOException e) {
+                    System.err.println("Site cache refresh failed: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // 服务器关闭
+        }
+    }
+}
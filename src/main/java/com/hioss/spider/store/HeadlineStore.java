@@ -0,0 +1,396 @@
+package com.hioss.spider.store;
+
+import com.hioss.spider.common.NewsPageReader;
+import com.hioss.spider.dto.HotItem;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 列式、字符串池化的内存热榜存储
+ *
+ * <p>标题、链接、栏目名分别放在去重字符串池中；每个快照（一次抓取/一天的数据）
+ * 只保存几列数组：栏目编号、名次、标题编号、链接编号，以及聚类结果（簇编号、同时上榜栏目数）与热度值。
+ * 同一标题在多天、多次快照中重复出现时只占一份字符串，内存随「不同标题数」增长，
+ * 而不是随「快照数 × 条目数」增长。
+ *
+ * <p>{@link Snapshot#items(String)} 返回只读视图，不复制数组，
+ * 元素仍以 {@link HotItem} 的形式提供给调用方。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class HeadlineStore {
+
+    private final StringPool titles = new StringPool();
+    private final StringPool links = new StringPool();
+    private final StringPool sources = new StringPool();
+
+    // key（通常是日期）-> 快照，按 key 排序
+    private final ConcurrentSkipListMap<String, Snapshot> snapshots = new ConcurrentSkipListMap<>();
+
+    /**
+     * 写入一个快照；同 key 的旧快照会被替换
+     *
+     * @param key 快照标识（如 2026-08-22）
+     * @param categories 栏目名 -> 条目列表（按名次排列）
+     */
+    public Snapshot put(String key, Map<String, ? extends Collection<HotItem>> categories) {
+        int total = 0;
+        for (Collection<HotItem> c : categories.values()) {
+            total += c.size();
+        }
+
+        int[] source = new int[total];
+        int[] rank = new int[total];
+        int[] title = new int[total];
+        int[] link = new int[total];
+        int[] cluster = new int[total];
+        int[] spread = new int[total];
+        long[] heat = new long[total];
+        int[] groupSource = new int[categories.size()];
+        int[] groupStart = new int[categories.size() + 1];
+
+        int row = 0;
+        int group = 0;
+        for (Map.Entry<String, ? extends Collection<HotItem>> e : categories.entrySet()) {
+            int sourceId = sources.intern(e.getKey());
+            groupSource[group] = sourceId;
+            groupStart[group] = row;
+            int r = 1;
+            for (HotItem item : e.getValue()) {
+                source[row] = sourceId;
+                rank[row] = r++;
+                title[row] = titles.intern(item.getTitle());
+                link[row] = links.intern(item.getLink());
+                cluster[row] = item.getCluster();
+                spread[row] = item.getSources();
+                heat[row] = item.getHeat();
+                row++;
+            }
+            group++;
+        }
+        groupStart[group] = row;
+
+        Snapshot s = new Snapshot(key, source, rank, title, link, cluster, spread, heat, groupSource, groupStart);
+        snapshots.put(key, s);
+        return s;
+    }
+
+    /**
+     * 以流式方式读取 NewsPage-*.json 写入快照（不构建 Jackson 树）
+     *
+     * @param key 快照标识
+     * @param file NewsPage 文件
+     */
+    public Snapshot load(String key, Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(key, in);
+        }
+    }
+
+    /**
+     * 从 NewsPage 格式的输入流读取快照：顶层为「栏目名 -> [{title, link[, cluster, sources][, heat]}]」，非数组字段忽略
+     */
+    public Snapshot load(String key, InputStream in) throws IOException {
+        return put(key, NewsPageReader.read(in));
+    }
+
+    public Snapshot get(String key) {
+        return snapshots.get(key);
+    }
+
+    public Snapshot remove(String key) {
+        return snapshots.remove(key);
+    }
+
+    /**
+     * 全部快照，按 key 升序
+     */
+    public Collection<Snapshot> snapshots() {
+        return snapshots.values();
+    }
+
+    /**
+     * key 最大的快照（通常是最新一天）；没有快照时返回 null
+     */
+    public Snapshot latest() {
+        Map.Entry<String, Snapshot> e = snapshots.lastEntry();
+        return e == null ? null : e.getValue();
+    }
+
+    /**
+     * key 小于给定值的最近一个快照（如「前一天」）
+     */
+    public Snapshot previous(String key) {
+        Map.Entry<String, Snapshot> e = snapshots.lowerEntry(key);
+        return e == null ? null : e.getValue();
+    }
+
+    public int uniqueTitles() {
+        return titles.size();
+    }
+
+    public int uniqueLinks() {
+        return links.size();
+    }
+
+    public int totalItems() {
+        int n = 0;
+        for (Snapshot s : snapshots.values()) {
+            n += s.size();
+        }
+        return n;
+    }
+
+    /**
+     * 一个快照：几列等长的数组，按栏目连续存放
+     */
+    public final class Snapshot {
+        private final String key;
+        private final int[] source;
+        private final int[] rank;
+        private final int[] title;
+        private final int[] link;
+        private final int[] cluster;
+        private final int[] spread;
+        private final long[] heat;
+        private final int[] groupSource;
+        private final int[] groupStart;
+
+        private Snapshot(String key, int[] source, int[] rank, int[] title, int[] link,
+                         int[] cluster, int[] spread, long[] heat, int[] groupSource, int[] groupStart) {
+            this.key = key;
+            this.source = source;
+            this.rank = rank;
+            this.title = title;
+            this.link = link;
+            this.cluster = cluster;
+            this.spread = spread;
+            this.heat = heat;
+            this.groupSource = groupSource;
+            this.groupStart = groupStart;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public int size() {
+            return title.length;
+        }
+
+        public String source(int row) {
+            return sources.get(source[row]);
+        }
+
+        public int rank(int row) {
+            return rank[row];
+        }
+
+        public String title(int row) {
+            return titles.get(title[row]);
+        }
+
+        public String link(int row) {
+            return links.get(link[row]);
+        }
+
+        public int titleId(int row) {
+            return title[row];
+        }
+
+        public int linkId(int row) {
+            return link[row];
+        }
+
+        /**
+         * 簇编号（0 表示未聚类）
+         */
+        public int cluster(int row) {
+            return cluster[row];
+        }
+
+        /**
+         * 所在簇同时上榜的栏目数
+         */
+        public int spread(int row) {
+            return spread[row];
+        }
+
+        /**
+         * 热度值（0 表示来源不提供）
+         */
+        public long heat(int row) {
+            return heat[row];
+        }
+
+        /**
+         * 栏目数
+         */
+        public int groupCount() {
+            return groupSource.length;
+        }
+
+        /**
+         * 第 g 个栏目的名称
+         */
+        public String groupName(int g) {
+            return sources.get(groupSource[g]);
+        }
+
+        /**
+         * 第 g 个栏目的起始行（含）
+         */
+        public int groupStart(int g) {
+            return groupStart[g];
+        }
+
+        /**
+         * 第 g 个栏目的结束行（不含）
+         */
+        public int groupEnd(int g) {
+            return groupStart[g + 1];
+        }
+
+        /**
+         * 栏目名（按写入顺序）
+         */
+        public List<String> categories() {
+            List<String> out = new ArrayList<>(groupSource.length);
+            for (int id : groupSource) {
+                out.add(sources.get(id));
+            }
+            return out;
+        }
+
+        /**
+         * 某个栏目的只读视图；栏目不存在时返回空列表
+         */
+        public List<HotItem> items(String category) {
+            int id = sources.find(category);
+            for (int g = 0; g < groupSource.length; g++) {
+                if (groupSource[g] == id) {
+                    return new ItemView(groupStart[g], groupStart[g + 1]);
+                }
+            }
+            return List.of();
+        }
+
+        /**
+         * 全部栏目的只读视图（栏目名 -> 条目）
+         */
+        public Map<String, List<HotItem>> asMap() {
+            Map<String, List<HotItem>> out = new LinkedHashMap<>();
+            for (int g = 0; g < groupSource.length; g++) {
+                out.put(sources.get(groupSource[g]), new ItemView(groupStart[g], groupStart[g + 1]));
+            }
+            return out;
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" + key + ", " + size() + " items, groups=" + Arrays.toString(groupStart) + "}";
+        }
+
+        private final class ItemView extends AbstractList<HotItem> implements RandomAccess {
+            private final int from;
+            private final int to;
+
+            ItemView(int from, int to) {
+                this.from = from;
+                this.to = to;
+            }
+
+            @Override
+            public HotItem get(int index) {
+                if (index < 0 || index >= to - from) {
+                    throw new IndexOutOfBoundsException("index " + index + " of " + (to - from));
+                }
+                return new PooledItem(from + index);
+            }
+
+            @Override
+            public int size() {
+                return to - from;
+            }
+        }
+
+        /**
+         * 只读的 HotItem：不持有字符串，按行号回查字符串池
+         */
+        private final class PooledItem extends HotItem {
+            private final int row;
+
+            PooledItem(int row) {
+                this.row = row;
+            }
+
+            @Override
+            public String getTitle() {
+                return titles.get(title[row]);
+            }
+
+            @Override
+            public String getLink() {
+                return links.get(link[row]);
+            }
+
+            @Override
+            public int getCluster() {
+                return cluster[row];
+            }
+
+            @Override
+            public int getSources() {
+                return spread[row];
+            }
+
+            @Override
+            public long getHeat() {
+                return heat[row];
+            }
+
+            @Override
+            public void setTitle(String title) {
+                throw readOnly();
+            }
+
+            @Override
+            public void setLink(String link) {
+                throw readOnly();
+            }
+
+            @Override
+            public void setCluster(int cluster) {
+                throw readOnly();
+            }
+
+            @Override
+            public void setSources(int sources) {
+                throw readOnly();
+            }
+
+            @Override
+            public void setHeat(long heat) {
+                throw readOnly();
+            }
+
+            private UnsupportedOperationException readOnly() {
+                return new UnsupportedOperationException("HeadlineStore views are read-only");
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.hioss.spider.store;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 两个快照之间按栏目的条目级差异：新增、移除、名次变化
+ *
+ * <p>同一个 {@link HeadlineStore} 中的快照共用字符串池，条目按标题编号（int）比较，
+ * 不做字符串比较。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class SnapshotDiff {
+
+    public enum Type {
+        ADDED, REMOVED, RERANKED
+    }
+
+    private SnapshotDiff() {
+    }
+
+    /**
+     * 计算差异
+     *
+     * @param before 旧快照；null 表示没有旧数据（全部视为新增）
+     * @param after 新快照
+     * @return 变化列表：按栏目分组，栏目内先移除、再新增与名次变化（按新名次）
+     */
+    public static List<Change> diff(HeadlineStore.Snapshot before, HeadlineStore.Snapshot after) {
+        Map<String, int[]> oldGroups = before == null ? Map.of() : groups(before);
+        Map<String, int[]> newGroups = groups(after);
+        List<Change> out = new ArrayList<>();
+
+        for (Map.Entry<String, int[]> e : newGroups.entrySet()) {
+            String category = e.getKey();
+            int[] range = e.getValue();
+            int[] oldRange = oldGroups.get(category);
+
+            // 旧栏目：标题编号 -> 行号
+            Map<Integer, Integer> oldRows = new HashMap<>();
+            if (oldRange != null) {
+                for (int row = oldRange[0]; row < oldRange[1]; row++) {
+                    oldRows.putIfAbsent(before.titleId(row), row);
+                }
+            }
+
+            List<Change> addedOrMoved = new ArrayList<>();
+            for (int row = range[0]; row < range[1]; row++) {
+                Integer oldRow = oldRows.remove(after.titleId(row));
+                if (oldRow == null) {
+                    addedOrMoved.add(new Change(Type.ADDED, category, after.title(row), after.link(row),
+                            after.rank(row), 0));
+                } else if (before.rank(oldRow) != after.rank(row)) {
+                    addedOrMoved.add(new Change(Type.RERANKED, category, after.title(row), after.link(row),
+                            after.rank(row), before.rank(oldRow)));
+                }
+            }
+
+            // 剩下的旧条目就是被移除的
+            if (oldRange != null) {
+                for (int row = oldRange[0]; row < oldRange[1]; row++) {
+                    Integer r = oldRows.get(before.titleId(row));
+                    if (r != null && r == row) {
+                        out.add(new Change(Type.REMOVED, category, before.title(row), before.link(row),
+                                0, before.rank(row)));
+                    }
+                }
+            }
+            out.addAll(addedOrMoved);
+        }
+
+        // 整个栏目消失
+        for (Map.Entry<String, int[]> e : oldGroups.entrySet()) {
+            if (!newGroups.containsKey(e.getKey())) {
+                for (int row = e.getValue()[0]; row < e.getValue()[1]; row++) {
+                    out.add(new Change(Type.REMOVED, e.getKey(), before.title(row), before.link(row),
+                            0, before.rank(row)));
+                }
+            }
+        }
+        return out;
+    }
+
+    /**
+     * 栏目名 -> [起始行, 结束行)
+     */
+    private static Map<String, int[]> groups(HeadlineStore.Snapshot s) {
+        Map<String, int[]> out = new LinkedHashMap<>();
+        for (int g = 0; g < s.groupCount(); g++) {
+            out.put(s.groupName(g), new int[]{s.groupStart(g), s.groupEnd(g)});
+        }
+        return out;
+    }
+
+    /**
+     * 一条变化；rank 为新名次（移除时为 0），oldRank 为旧名次（新增时为 0）
+     */
+    public static final class Change {
+        private final Type type;
+        private final String category;
+        private final String title;
+        private final String link;
+        private final int rank;
+        private final int oldRank;
+
+        Change(Type type, String category, String title, String link, int rank, int oldRank) {
+            this.type = type;
+            this.category = category;
+            this.title = title;
+            this.link = link;
+            this.rank = rank;
+            this.oldRank = oldRank;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getLink() {
+            return link;
+        }
+
+        public int getRank() {
+            return rank;
+        }
+
+        public int getOldRank() {
+            return oldRank;
+        }
+
+        @Override
+        public String toString() {
+            return type + " " + category + " #" + oldRank + "->#" + rank + " " + title;
+        }
+    }
+}
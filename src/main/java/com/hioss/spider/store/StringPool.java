@@ -0,0 +1,64 @@
+package com.hioss.spider.store;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 去重字符串池：相同内容只保存一份，对外用 int 编号引用
+ *
+ * <p>写入（intern）加锁；读取（get）无锁，通过 volatile 数组发布。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class StringPool {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private volatile String[] values = new String[64];
+    private volatile int size;
+
+    /**
+     * 返回字符串的编号；首次出现时加入池中
+     */
+    public synchronized int intern(String s) {
+        if (s == null) {
+            s = "";
+        }
+        Integer id = ids.get(s);
+        if (id != null) {
+            return id;
+        }
+
+        int next = size;
+        String[] arr = values;
+        if (next == arr.length) {
+            arr = Arrays.copyOf(arr, arr.length * 2);
+        }
+        arr[next] = s;
+        ids.put(s, next);
+        values = arr;
+        size = next + 1;
+        return next;
+    }
+
+    /**
+     * 已存在时返回编号，否则返回 -1（不会写入）
+     */
+    public synchronized int find(String s) {
+        Integer id = ids.get(s == null ? "" : s);
+        return id == null ? -1 : id;
+    }
+
+    public String get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("id " + id + " of " + size);
+        }
+        return values[id];
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,111 @@
+package com.hioss.spider.trace;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 各阶段的堆分配统计（按来源、阶段累计）
+ *
+ * <p>用 HotSpot 的 {@code ThreadMXBean.getThreadAllocatedBytes} 取当前线程累计分配的字节数，
+ * 阶段开始、结束各取一次求差。只统计在同一线程内开始和结束的阶段：
+ * 分配计数是按线程的，跨线程结束的阶段（如异步抓取的 fetch）差值没有意义，直接跳过。
+ *
+ * <p>和 JFR 记录不同，这里始终开启：每个阶段只多两次计数器读取，运行结束时随抓取统计一起输出。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class Allocations {
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private static final Map<String, Map<Stage, LongAdder>> COUNTERS = new ConcurrentHashMap<>();
+
+    private Allocations() {
+    }
+
+    /**
+     * 当前 JVM 是否支持按线程统计分配
+     */
+    public static boolean isSupported() {
+        return THREADS != null;
+    }
+
+    /**
+     * 当前线程至今累计分配的字节数；不支持时返回 -1
+     */
+    public static long current() {
+        return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * 记录一个阶段的分配量
+     *
+     * @param stage 阶段
+     * @param source 来源名称（或输出文件名）
+     * @param bytes 阶段内当前线程分配的字节数
+     */
+    public static void record(Stage stage, String source, long bytes) {
+        COUNTERS.computeIfAbsent(String.valueOf(source), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(stage, s -> new LongAdder())
+                .add(bytes);
+    }
+
+    /**
+     * 某来源某阶段累计分配的字节数
+     */
+    public static long bytes(Stage stage, String source) {
+        Map<Stage, LongAdder> m = COUNTERS.get(source);
+        LongAdder c = m == null ? null : m.get(stage);
+        return c == null ? 0 : c.sum();
+    }
+
+    public static void reset() {
+        COUNTERS.clear();
+    }
+
+    /**
+     * 按来源名称输出统计表，每个来源一行，列出各阶段的分配量
+     */
+    public static String summary() {
+        if (THREADS == null) {
+            return "[alloc] per-thread allocation accounting not supported by this JVM" + System.lineSeparator();
+        }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Map<Stage, LongAdder>> e : new TreeMap<>(COUNTERS).entrySet()) {
+            long total = 0;
+            StringBuilder stages = new StringBuilder();
+            for (Map.Entry<Stage, LongAdder> s : new EnumMap<>(e.getValue()).entrySet()) {
+                long bytes = s.getValue().sum();
+                total += bytes;
+                stages.append(String.format("  %s %s", s.getKey().getLabel(), kib(bytes)));
+            }
+            sb.append(String.format("[alloc] %-34s %12s total%s%n", e.getKey(), kib(total), stages));
+        }
+        return sb.toString();
+    }
+
+    private static String kib(long bytes) {
+        return String.format("%.1f KiB", bytes / 1024.0);
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                    && bean.isThreadAllocatedMemorySupported()) {
+                if (!bean.isThreadAllocatedMemoryEnabled()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+                return bean;
+            }
+        } catch (UnsupportedOperationException | SecurityException ignored) {
+            // 非 HotSpot 或被禁用：不做统计
+        }
+        return null;
+    }
+}
@@ -0,0 +1,32 @@
+package com.hioss.spider.trace;
+
+/**
+ * 一次抓取运行中的阶段
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public enum Stage {
+
+    // 网络：发送请求到拿到响应（HttpClient）/ 下载完成（WebMagic）
+    FETCH("fetch"),
+    // 解析：解压 + Jackson / DOM / 正则，以及按规则抽取条目
+    PARSE("parse"),
+    // 转换：繁体转简体等后处理
+    CONVERT("convert"),
+    // 序列化：写出 NewsPage、分片、date.json
+    SERIALIZE("serialize"),
+    // 上传：推送到 R2
+    UPLOAD("upload");
+
+    private final String label;
+
+    Stage(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,47 @@
+package com.hioss.spider.trace;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR 自定义事件：一次阶段执行（持续时间由 JFR 记录）
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+@Name(StageEvent.NAME)
+@Label("Spider Stage")
+@Description("One fetch / parse / convert / serialize / upload step of a crawl run")
+@Category({"WorldPages", "Spider"})
+@StackTrace(false)
+public class StageEvent extends Event {
+
+    public static final String NAME = "com.hioss.spider.Stage";
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Source")
+    String source;
+
+    @Label("Host")
+    String host;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Items")
+    int items;
+
+    @Label("Allocated")
+    @Description("Heap bytes allocated by the stage's thread; 0 when the stage ended on another thread")
+    @DataAmount
+    long allocated;
+}
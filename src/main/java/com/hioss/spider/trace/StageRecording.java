@@ -0,0 +1,43 @@
+package com.hioss.spider.trace;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+
+/**
+ * 开启一次 JFR 记录：JDK 默认配置（GC、线程、I/O 等，开销约 1%）加上 {@link StageEvent}
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class StageRecording {
+
+    private StageRecording() {
+    }
+
+    /**
+     * 开始记录；停止（{@link Recording#stop()}）时写入目标文件
+     *
+     * @param file 目标 .jfr 文件
+     */
+    public static Recording start(Path file) throws IOException {
+        Configuration config;
+        try {
+            config = Configuration.getConfiguration("default");
+        } catch (ParseException e) {
+            throw new IOException(e);
+        }
+
+        Recording recording = new Recording(config);
+        recording.setName("worldpages-crawl");
+        recording.enable(StageEvent.class);
+        recording.setToDisk(true);
+        recording.setDestination(file);
+        recording.start();
+        return recording;
+    }
+}
@@ -0,0 +1,168 @@
+package com.hioss.spider.trace;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 读取 --jfr 生成的记录，按阶段、来源输出耗时分布
+ *
+ * <pre>
+ * java -cp ... com.hioss.spider.trace.StageSummary spider.jfr
+ * </pre>
+ *
+ * 抓取是并发的，各阶段耗时之和可能大于整次运行的墙钟时间。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public class StageSummary {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: StageSummary <recording.jfr>");
+            System.exit(2);
+        }
+        System.out.print(summarize(Paths.get(args[0])));
+    }
+
+    /**
+     * 汇总一个 .jfr 文件中的 {@link StageEvent}
+     */
+    public static String summarize(Path jfrFile) throws IOException {
+        Map<Stage, Map<String, Totals>> byStage = new EnumMap<>(Stage.class);
+        Map<Stage, Totals> stageTotals = new EnumMap<>(Stage.class);
+        Instant first = null;
+        Instant last = null;
+
+        try (RecordingFile file = new RecordingFile(jfrFile)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent e = file.readEvent();
+                if (!StageEvent.NAME.equals(e.getEventType().getName())) {
+                    continue;
+                }
+                Stage stage = stageOf(e.getString("stage"));
+                if (stage == null) {
+                    continue;
+                }
+                String source = e.getString("source");
+                String host = e.getString("host");
+                String key = host == null || host.isEmpty() ? String.valueOf(source) : source + " (" + host + ")";
+
+                byStage.computeIfAbsent(stage, s -> new LinkedHashMap<>())
+                        .computeIfAbsent(key, k -> new Totals())
+                        .add(e);
+                stageTotals.computeIfAbsent(stage, s -> new Totals()).add(e);
+
+                if (first == null || e.getStartTime().isBefore(first)) {
+                    first = e.getStartTime();
+                }
+                if (last == null || e.getEndTime().isAfter(last)) {
+                    last = e.getEndTime();
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        if (first == null) {
+            return "No " + StageEvent.NAME + " events in " + jfrFile + "\n";
+        }
+
+        long wallNanos = Duration.between(first, last).toNanos();
+        long sumNanos = 0;
+        for (Totals t : stageTotals.values()) {
+            sumNanos += t.nanos;
+        }
+
+        sb.append(String.format("Stages in %s (wall %.1f ms, sum of stages %.1f ms)%n",
+                jfrFile.getFileName(), ms(wallNanos), ms(sumNanos)));
+        sb.append(String.format("%-10s %6s %10s %6s %10s %12s %6s %12s%n",
+                "stage", "count", "total ms", "share", "max ms", "bytes", "items", "alloc B"));
+        for (Map.Entry<Stage, Totals> e : stageTotals.entrySet()) {
+            Totals t = e.getValue();
+            sb.append(String.format("%-10s %6d %10.1f %5.1f%% %10.1f %12d %6d %12d%n",
+                    e.getKey().getLabel(), t.count, ms(t.nanos), 100.0 * t.nanos / Math.max(1, sumNanos),
+                    ms(t.maxNanos), t.bytes, t.items, t.allocated));
+        }
+
+        for (Map.Entry<Stage, Map<String, Totals>> e : byStage.entrySet()) {
+            sb.append(System.lineSeparator()).append('[').append(e.getKey().getLabel()).append(']')
+                    .append(System.lineSeparator());
+            List<Map.Entry<String, Totals>> rows = new ArrayList<>(e.getValue().entrySet());
+            rows.sort(Comparator.comparingLong((Map.Entry<String, Totals> r) -> r.getValue().nanos).reversed());
+            for (Map.Entry<String, Totals> r : rows) {
+                Totals t = r.getValue();
+                sb.append(String.format("  %-40s %4dx %10.1f ms %12d B %5d items %12d B alloc%n",
+                        r.getKey(), t.count, ms(t.nanos), t.bytes, t.items, t.allocated));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 各阶段耗时之和（纳秒），没有事件的阶段不出现（供基准测试按阶段比较）
+     */
+    public static Map<Stage, Long> stageNanos(Path jfrFile) throws IOException {
+        Map<Stage, Long> out = new EnumMap<>(Stage.class);
+        try (RecordingFile file = new RecordingFile(jfrFile)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent e = file.readEvent();
+                if (!StageEvent.NAME.equals(e.getEventType().getName())) {
+                    continue;
+                }
+                Stage stage = stageOf(e.getString("stage"));
+                if (stage != null) {
+                    out.merge(stage, e.getDuration().toNanos(), Long::sum);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static Stage stageOf(String label) {
+        for (Stage s : Stage.values()) {
+            if (s.getLabel().equals(label)) {
+                return s;
+            }
+        }
+        return null;
+    }
+
+    private static double ms(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Totals {
+        private int count;
+        private long nanos;
+        private long maxNanos;
+        private long bytes;
+        private long items;
+        private long allocated;
+
+        void add(RecordedEvent e) {
+            long d = e.getDuration().toNanos();
+            count++;
+            nanos += d;
+            maxNanos = Math.max(maxNanos, d);
+            bytes += e.getLong("bytes");
+            items += e.getInt("items");
+            // 旧记录没有 allocated 字段
+            if (e.hasField("allocated")) {
+                allocated += e.getLong("allocated");
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.hioss.spider.trace;
+
+import java.net.URI;
+
+/**
+ * 阶段计时：包装 {@link StageEvent}，用 try-with-resources 标出一个阶段
+ *
+ * <pre>
+ * try (StageTimer t = StageTimer.start(Stage.PARSE, "weibo", url)) {
+ *     ...
+ *     t.items(list.size());
+ * }
+ * </pre>
+ *
+ * 未开启 JFR 记录时事件不会提交，开销可以忽略。
+ * 阶段内当前线程的堆分配量总是记入 {@link Allocations}（跨线程结束的阶段除外）。
+ * {@link #close()} 可重复调用，只有第一次生效（便于跨方法结束 WebMagic 的下载阶段）。
+ *
+ * @author      程春海
+ * @version     1.0
+ * @since       2026-10-19
+ */
+public final class StageTimer implements AutoCloseable {
+
+    private final StageEvent event;
+    private final Stage stage;
+    private final String source;
+    private final Thread thread = Thread.currentThread();
+    private final long allocatedAtStart = Allocations.current();
+    private boolean closed;
+
+    private StageTimer(StageEvent event, Stage stage, String source) {
+        this.event = event;
+        this.stage = stage;
+        this.source = source;
+    }
+
+    /**
+     * 开始一个阶段
+     *
+     * @param stage 阶段
+     * @param source 来源名称（或输出文件名）
+     * @param hostOrUrl 域名或完整 URL；可为 null
+     */
+    public static StageTimer start(Stage stage, String source, String hostOrUrl) {
+        StageEvent e = new StageEvent();
+        if (e.isEnabled()) {
+            e.stage = stage.getLabel();
+            e.source = source;
+            e.host = host(hostOrUrl);
+            e.begin();
+        }
+        return new StageTimer(e, stage, source);
+    }
+
+    public StageTimer bytes(long bytes) {
+        event.bytes = bytes;
+        return this;
+    }
+
+    public StageTimer items(int items) {
+        event.items = items;
+        return this;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (allocatedAtStart >= 0 && Thread.currentThread() == thread) {
+            long allocated = Allocations.current() - allocatedAtStart;
+            event.allocated = allocated;
+            Allocations.record(stage, source, allocated);
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+
+    private static String host(String hostOrUrl) {
+        if (hostOrUrl == null || !hostOrUrl.contains("://")) {
+            return hostOrUrl;
+        }
+        String h = URI.create(hostOrUrl).getHost();
+        return h == null ? hostOrUrl : h;
+    }
+}